@@ -0,0 +1,77 @@
+package com.invoiceme.benchmarks;
+
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceLineItem;
+import com.invoiceme.domain.money.Money;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.domain.payment.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Detached domain objects shaped like production data, built without a database.
+ */
+final class BenchmarkFixtures {
+    private BenchmarkFixtures() {
+    }
+
+    static Company company() {
+        Company company = new Company();
+        company.setId(UUID.randomUUID());
+        company.setName("Benchmark Co");
+        return company;
+    }
+
+    static Customer customer(Company company) {
+        Customer customer = Customer.create("Acme Corporation", "billing@acme.example.com",
+                "1 Main Street, Springfield", "555-0100", company);
+        customer.setId(UUID.randomUUID());
+        customer.setVersion(0L);
+        return customer;
+    }
+
+    static Invoice invoice(Customer customer, int lines) {
+        Invoice invoice = Invoice.create(customer, "INV-" + UUID.randomUUID().toString().substring(0, 8),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), customer.getCompany());
+        invoice.setId(UUID.randomUUID());
+        invoice.setVersion(0L);
+        invoice.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        invoice.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        for (InvoiceLineItem item : lineItems(invoice, lines)) {
+            invoice.addLineItem(item);
+        }
+        return invoice;
+    }
+
+    static List<InvoiceLineItem> lineItems(Invoice invoice, int lines) {
+        List<InvoiceLineItem> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            InvoiceLineItem item = InvoiceLineItem.create(invoice, "Consulting hours, week " + i,
+                    1 + (i % 40), Money.ofMinor(12_550 + (i % 7) * 100L, Money.DEFAULT_CURRENCY));
+            item.setId(UUID.randomUUID());
+            item.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+            items.add(item);
+        }
+        return items;
+    }
+
+    static List<Payment> payments(Invoice invoice, int count) {
+        List<Payment> payments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Payment payment = Payment.create(invoice, Money.of(new BigDecimal("10.00")), LocalDate.of(2024, 1, 15),
+                    PaymentMethod.BANK_TRANSFER, "REF-" + i);
+            payment.setId(UUID.randomUUID());
+            payment.setVersion(0L);
+            payment.setCreatedAt(LocalDateTime.of(2024, 1, 15, 12, 0));
+            payments.add(payment);
+        }
+        return payments;
+    }
+}
@@ -0,0 +1,88 @@
+package com.invoiceme.benchmarks;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceLineItem;
+import com.invoiceme.domain.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building an invoice line by line ({@code addLineItem} adds to the running total),
+ * replacing all lines at once, computing a single line amount, and summing line amounts as
+ * {@link Money} against the {@code BigDecimal} stream-reduce it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvoiceTotalsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int lines;
+
+    private Customer customer;
+    private List<InvoiceLineItem> template;
+    private List<BigDecimal> decimalAmounts;
+
+    @Setup
+    public void setUp() {
+        customer = BenchmarkFixtures.customer(BenchmarkFixtures.company());
+        template = BenchmarkFixtures.lineItems(null, lines);
+        decimalAmounts = template.stream().map(item -> item.getAmount().toBigDecimal()).toList();
+    }
+
+    @Benchmark
+    public Invoice addLineItems() {
+        Invoice invoice = newInvoice();
+        for (InvoiceLineItem item : template) {
+            invoice.addLineItem(InvoiceLineItem.create(invoice, item.getDescription(), item.getQuantity(), item.getUnitPrice()));
+        }
+        return invoice;
+    }
+
+    @Benchmark
+    public Invoice updateLineItems() {
+        Invoice invoice = newInvoice();
+        invoice.updateLineItems(template.stream()
+                .map(item -> InvoiceLineItem.create(invoice, item.getDescription(), item.getQuantity(), item.getUnitPrice()))
+                .toList());
+        return invoice;
+    }
+
+    @Benchmark
+    public Money lineItemAmount() {
+        return InvoiceLineItem.create(null, "Consulting", 37, Money.ofMinor(12_550, Money.DEFAULT_CURRENCY)).getAmount();
+    }
+
+    @Benchmark
+    public Money sumMoney() {
+        return Money.sum(Money.DEFAULT_CURRENCY, template, InvoiceLineItem::getAmount);
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        return decimalAmounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private Invoice newInvoice() {
+        return Invoice.create(customer, "INV-BENCH", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                customer.getCompany());
+    }
+}
@@ -0,0 +1,62 @@
+package com.invoiceme.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.infrastructure.api.dto.common.PageResponseDTO;
+import com.invoiceme.infrastructure.api.dto.invoice.InvoiceResponseDTO;
+import com.invoiceme.infrastructure.api.mapper.InvoiceMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a {@code GET /api/invoices} response page with an ObjectMapper configured
+ * the way Spring Boot configures the application's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageResponseDTO<InvoiceResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Customer customer = BenchmarkFixtures.customer(BenchmarkFixtures.company());
+        InvoiceMapperImpl mapper = new InvoiceMapperImpl();
+        List<InvoiceResponseDTO> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Invoice invoice = BenchmarkFixtures.invoice(customer, 5);
+            content.add(mapper.toResponseDTO(invoice));
+        }
+        page = new PageResponseDTO<>(content, 0, pageSize, 1_000, 1_000 / pageSize, true, false);
+    }
+
+    @Benchmark
+    public byte[] invoicePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,74 @@
+package com.invoiceme.benchmarks;
+
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.user.CompanyMembership;
+import com.invoiceme.domain.user.User;
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
+import com.invoiceme.infrastructure.config.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing at login and the verification done by the auth filter on every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider("benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256", 86_400_000L);
+
+        Company company = BenchmarkFixtures.company();
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("benchmark");
+        user.setPassword("{noop}secret");
+        user.setEmail("benchmark@example.com");
+        user.setDisplayName("Benchmark User");
+        CompanyMembership membership = CompanyMembership.builder()
+                .user(user)
+                .company(company)
+                .role(CompanyMembership.Role.ADMIN)
+                .build();
+        CustomUserDetails userDetails = new CustomUserDetails(user, List.of(membership));
+        authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        token = tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String sign() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String parseUsername() {
+        return tokenProvider.getUsernameFromToken(token);
+    }
+}
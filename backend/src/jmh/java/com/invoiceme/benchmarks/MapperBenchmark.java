@@ -0,0 +1,73 @@
+package com.invoiceme.benchmarks;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.infrastructure.api.dto.invoice.InvoiceResponseDTO;
+import com.invoiceme.infrastructure.api.dto.payment.PaymentResponseDTO;
+import com.invoiceme.infrastructure.api.mapper.InvoiceMapper;
+import com.invoiceme.infrastructure.api.mapper.InvoiceMapperImpl;
+import com.invoiceme.infrastructure.api.mapper.PaymentMapper;
+import com.invoiceme.infrastructure.api.mapper.PaymentMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct-generated mappers on a list page: 20 invoices with their line items, and the
+ * payments of one invoice.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"5", "50"})
+    private int linesPerInvoice;
+
+    private final InvoiceMapper invoiceMapper = new InvoiceMapperImpl();
+    private final PaymentMapper paymentMapper = new PaymentMapperImpl();
+    private List<Invoice> invoices;
+    private List<Payment> payments;
+
+    @Setup
+    public void setUp() {
+        Customer customer = BenchmarkFixtures.customer(BenchmarkFixtures.company());
+        invoices = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            invoices.add(BenchmarkFixtures.invoice(customer, linesPerInvoice));
+        }
+        payments = BenchmarkFixtures.payments(invoices.get(0), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<InvoiceResponseDTO> invoicePage() {
+        return invoiceMapper.toResponseDTOList(invoices);
+    }
+
+    @Benchmark
+    public InvoiceResponseDTO singleInvoice() {
+        return invoiceMapper.toResponseDTO(invoices.get(0));
+    }
+
+    @Benchmark
+    public List<PaymentResponseDTO> paymentList() {
+        return paymentMapper.toResponseDTOList(payments);
+    }
+}
@@ -0,0 +1,125 @@
+package com.invoiceme.benchmarks;
+
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceLineItem;
+import com.invoiceme.domain.money.Money;
+import com.invoiceme.domain.tax.TaxRule;
+import com.invoiceme.domain.tax.TaxRuleSet;
+import com.invoiceme.domain.tax.TaxSchedule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Taxing every line of an invoice with a compiled {@link TaxSchedule} against evaluating the
+ * company's rules (exemption check, compounding, rounding) for each line, plus the one-off
+ * cost of compiling the rules and of building a taxed invoice.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaxBenchmark {
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Param({"10", "500"})
+    private int lines;
+
+    private Customer customer;
+    private List<TaxRule> rules;
+    private TaxRuleSet ruleSet;
+    private List<InvoiceLineItem> template;
+
+    @Setup
+    public void setUp() {
+        Company company = BenchmarkFixtures.company();
+        customer = BenchmarkFixtures.customer(company);
+        rules = new ArrayList<>();
+        rules.add(rule(company, "State", "6.25", false, 0));
+        rules.add(rule(company, "County", "1.5", false, 1));
+        rules.add(rule(company, "City", "0.75", false, 2));
+        rules.add(rule(company, "Provincial", "9.975", true, 3));
+        // Exemptions for other customers, so the rule set is not trivially uniform
+        for (int i = 0; i < 50; i++) {
+            rules.get(i % rules.size()).exempt(UUID.randomUUID());
+        }
+        ruleSet = TaxRuleSet.compile(rules);
+        template = BenchmarkFixtures.lineItems(null, lines);
+    }
+
+    @Benchmark
+    public TaxRuleSet compile() {
+        return TaxRuleSet.compile(rules);
+    }
+
+    @Benchmark
+    public Money taxCompiled() {
+        TaxSchedule taxes = ruleSet.forCustomer(customer.getId());
+        Money total = Money.ZERO;
+        for (InvoiceLineItem item : template) {
+            total = total.plus(taxes.taxOn(item.getAmount()));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money taxPerRule() {
+        List<TaxRule> ordered = rules.stream()
+                .filter(TaxRule::isActive)
+                .sorted(Comparator.comparingInt(TaxRule::getPriority))
+                .toList();
+        Money total = Money.ZERO;
+        for (InvoiceLineItem item : template) {
+            BigDecimal amount = item.getAmount().toBigDecimal();
+            BigDecimal tax = BigDecimal.ZERO;
+            for (TaxRule rule : ordered) {
+                if (rule.getExemptCustomerIds().contains(customer.getId())) {
+                    continue;
+                }
+                BigDecimal base = rule.isCompound() ? amount.add(tax) : amount;
+                tax = tax.add(base.multiply(rule.getRate()).divide(HUNDRED));
+            }
+            total = total.plus(Money.of(tax.setScale(Money.SCALE, RoundingMode.HALF_UP)));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Invoice addTaxedLineItems() {
+        Invoice invoice = Invoice.create(customer, "INV-BENCH", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                customer.getCompany());
+        TaxSchedule taxes = ruleSet.forCustomer(customer.getId());
+        for (InvoiceLineItem item : template) {
+            invoice.addLineItem(InvoiceLineItem.create(invoice, item.getDescription(), item.getQuantity(),
+                    item.getUnitPrice()), taxes);
+        }
+        return invoice;
+    }
+
+    private static TaxRule rule(Company company, String name, String rate, boolean compound, int priority) {
+        TaxRule rule = TaxRule.create(company, name, new BigDecimal(rate), compound, priority);
+        rule.setId(UUID.randomUUID());
+        return rule;
+    }
+}
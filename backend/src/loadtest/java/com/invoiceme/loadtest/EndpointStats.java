@@ -0,0 +1,54 @@
+package com.invoiceme.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and error count for one endpoint, in microseconds with three
+ * significant digits up to one minute.
+ */
+final class EndpointStats {
+    private final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long nanos, boolean success) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), latency.getHighestTrackableValue()));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        latency.reset();
+        errors.reset();
+    }
+
+    Map<String, Object> summarize(double seconds) {
+        long count = latency.getTotalCount();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("errors", errors.sum());
+        summary.put("errorRate", count == 0 ? 0.0 : round(errors.sum() / (double) count));
+        summary.put("throughputPerSecond", round(count / seconds));
+        summary.put("meanMs", round(latency.getMean() / 1000.0));
+        summary.put("p50Ms", millis(50.0));
+        summary.put("p90Ms", millis(90.0));
+        summary.put("p99Ms", millis(99.0));
+        summary.put("p999Ms", millis(99.9));
+        summary.put("maxMs", round(latency.getMaxValue() / 1000.0));
+        return summary;
+    }
+
+    private double millis(double percentile) {
+        return round(latency.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,111 @@
+package com.invoiceme.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Harness options, given as {@code --key=value} arguments. Any argument the harness does not
+ * recognise is passed on to the Spring application, so {@code --spring.profiles.active=local}
+ * or {@code --spring.datasource.url=...} point the run at a real Postgres.
+ */
+final class LoadTestConfig {
+    int companies = 20;
+    int customers = 2_000;
+    int invoices = 20_000;
+    int seedThreads = 4;
+    int concurrency = 32;
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    Map<String, Integer> mix = new TreeMap<>(Map.of(
+            "login", 5,
+            "list", 50,
+            "create", 20,
+            "mark-sent", 13,
+            "pay", 12));
+    Path report = Path.of("target", "loadtest", "report.json");
+    Path baseline = Path.of("loadtest", "baseline.json");
+    boolean saveBaseline;
+    double tolerancePercent = 10.0;
+    boolean failOnRegression;
+    List<String> threads = List.of("platform");
+    List<String> applicationArgs = new ArrayList<>();
+
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        boolean profileGiven = false;
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "companies" -> config.companies = Integer.parseInt(value);
+                case "customers" -> config.customers = Integer.parseInt(value);
+                case "invoices" -> config.invoices = Integer.parseInt(value);
+                case "seed-threads" -> config.seedThreads = Integer.parseInt(value);
+                case "concurrency" -> config.concurrency = Integer.parseInt(value);
+                case "warmup" -> config.warmupSeconds = Integer.parseInt(value);
+                case "duration" -> config.durationSeconds = Integer.parseInt(value);
+                case "mix" -> config.mix = parseMix(value);
+                case "report" -> config.report = Path.of(value);
+                case "baseline" -> config.baseline = Path.of(value);
+                case "save-baseline" -> config.saveBaseline = Boolean.parseBoolean(value);
+                case "tolerance" -> config.tolerancePercent = Double.parseDouble(value);
+                case "fail-on-regression" -> config.failOnRegression = Boolean.parseBoolean(value);
+                case "threads" -> config.threads = parseThreads(value);
+                default -> {
+                    profileGiven |= key.equals("spring.profiles.active");
+                    config.applicationArgs.add(arg);
+                }
+            }
+        }
+        if (!profileGiven) {
+            config.applicationArgs.add("--spring.profiles.active=dev");
+        }
+        if (config.customers < config.companies || config.invoices < config.companies) {
+            throw new IllegalArgumentException("Need at least one customer and one invoice per company");
+        }
+        return config;
+    }
+
+    // platform, virtual, or platform,virtual to compare both
+    private static List<String> parseThreads(String value) {
+        List<String> modes = new ArrayList<>();
+        for (String mode : value.split(",")) {
+            mode = mode.trim();
+            if (!mode.equals("platform") && !mode.equals("virtual")) {
+                throw new IllegalArgumentException("Unknown thread mode: " + mode);
+            }
+            modes.add(mode);
+        }
+        return modes;
+    }
+
+    // e.g. list=50,create=20,pay=10
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new TreeMap<>();
+        for (String part : value.split(",")) {
+            String[] weight = part.split("=");
+            mix.put(weight[0].trim(), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+
+    Map<String, Object> describe() {
+        Map<String, Object> description = new TreeMap<>();
+        description.put("companies", companies);
+        description.put("customers", customers);
+        description.put("invoices", invoices);
+        description.put("concurrency", concurrency);
+        description.put("warmupSeconds", warmupSeconds);
+        description.put("durationSeconds", durationSeconds);
+        description.put("mix", mix);
+        description.put("threads", threads);
+        description.put("applicationArgs", applicationArgs);
+        return description;
+    }
+}
@@ -0,0 +1,87 @@
+package com.invoiceme.loadtest;
+
+import com.invoiceme.InvoiceMeApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the application in-process on a random port, seeds synthetic tenants, drives mixed
+ * traffic through the REST API and writes a JSON report. Run through the {@code loadtest}
+ * Maven profile; see the backend README for options.
+ */
+public final class LoadTestMain {
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.invoiceme=INFO",
+                "--logging.level.org.springframework.security=WARN",
+                "--server-timing.log-threshold-ms=10000",
+                // Measures capacity, not the limits a single tenant is held to
+                "--rate-limit.enabled=false"));
+        applicationArgs.addAll(config.applicationArgs);
+
+        // Comparing thread modes boots the application once per mode; baselines only apply to single-mode runs
+        boolean comparing = config.threads.size() > 1;
+        Map<String, LoadTestReport> reports = new LinkedHashMap<>();
+        int exitCode = 0;
+        for (String threads : config.threads) {
+            List<String> modeArgs = new ArrayList<>(applicationArgs);
+            modeArgs.add("--spring.threads.virtual.enabled=" + threads.equals("virtual"));
+            try (ConfigurableApplicationContext context =
+                         SpringApplication.run(InvoiceMeApplication.class, modeArgs.toArray(String[]::new))) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+                System.out.printf("Seeding %d companies, %d customers, %d invoices...%n",
+                        config.companies, config.customers, config.invoices);
+                long seedStart = System.currentTimeMillis();
+                SeededData data = new TenantSeeder(context.getBean(DataSource.class), config).seed();
+                long seedMillis = System.currentTimeMillis() - seedStart;
+                System.out.printf("Seeded in %.1fs%n", seedMillis / 1000.0);
+
+                System.out.printf("Driving traffic on %s threads: %d workers, %ds warmup, %ds measured%n",
+                        threads, config.concurrency, config.warmupSeconds, config.durationSeconds);
+                ResourceSampler resources = new ResourceSampler();
+                Map<String, EndpointStats> stats =
+                        new TrafficDriver("http://localhost:" + port, data, config).run(resources);
+
+                LoadTestReport report = new LoadTestReport(config, threads, seedMillis, stats, resources);
+                reports.put(threads, report);
+                if (comparing) {
+                    report.write(withSuffix(config.report, threads));
+                    continue;
+                }
+                report.write(config.report);
+                boolean regressed = report.compareWith(config.baseline, config.tolerancePercent);
+                if (config.saveBaseline) {
+                    report.saveAsBaseline(config.report, config.baseline);
+                }
+                exitCode = regressed && config.failOnRegression ? 1 : 0;
+            }
+        }
+        if (comparing) {
+            LoadTestReport.printModeComparison(reports);
+        }
+        System.exit(exitCode);
+    }
+
+    private static Path withSuffix(Path report, String suffix) {
+        String name = report.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String renamed = dot < 0 ? name + "-" + suffix : name.substring(0, dot) + "-" + suffix + name.substring(dot);
+        return report.resolveSibling(renamed);
+    }
+}
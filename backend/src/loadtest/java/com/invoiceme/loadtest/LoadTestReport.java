@@ -0,0 +1,111 @@
+package com.invoiceme.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes the run as JSON and compares it with a stored baseline. A regression is a p99 that
+ * grew, or a throughput that shrank, by more than the tolerance.
+ */
+final class LoadTestReport {
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<String, Object> report = new LinkedHashMap<>();
+
+    LoadTestReport(LoadTestConfig config, String threads, long seedMillis, Map<String, EndpointStats> stats,
+                   ResourceSampler resources) {
+        report.put("finishedAt", Instant.now().toString());
+        report.put("config", config.describe());
+        report.put("threads", threads);
+        report.put("seedSeconds", seedMillis / 1000.0);
+        report.put("resources", resources.summarize());
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((operation, endpoint) -> {
+            Map<String, Object> summary = endpoint.summarize(config.durationSeconds);
+            if ((long) summary.get("count") > 0) {
+                endpoints.put(operation, summary);
+            }
+        });
+        report.put("endpoints", endpoints);
+    }
+
+    void write(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        objectMapper.writeValue(path.toFile(), report);
+        System.out.println("Load test report written to " + path.toAbsolutePath());
+    }
+
+    void saveAsBaseline(Path report, Path baseline) throws IOException {
+        Files.createDirectories(baseline.toAbsolutePath().getParent());
+        Files.copy(report, baseline, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("Baseline updated: " + baseline.toAbsolutePath());
+    }
+
+    /**
+     * Prints a per-endpoint comparison and returns whether any endpoint regressed.
+     */
+    boolean compareWith(Path baseline, double tolerancePercent) throws IOException {
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline at " + baseline.toAbsolutePath() + "; nothing to compare");
+            return false;
+        }
+        JsonNode previous = objectMapper.readTree(baseline.toFile()).path("endpoints");
+        JsonNode current = objectMapper.valueToTree(report).path("endpoints");
+        boolean regressed = false;
+        System.out.printf("%-10s %12s %12s %9s %14s %14s %9s%n",
+                "endpoint", "p99 base", "p99 now", "delta", "rps base", "rps now", "delta");
+        for (Iterator<String> names = current.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            JsonNode now = current.get(name);
+            JsonNode before = previous.path(name);
+            if (before.isMissingNode()) {
+                System.out.printf("%-10s (not in baseline)%n", name);
+                continue;
+            }
+            double p99Delta = percentChange(before.get("p99Ms").asDouble(), now.get("p99Ms").asDouble());
+            double rpsDelta = percentChange(before.get("throughputPerSecond").asDouble(),
+                    now.get("throughputPerSecond").asDouble());
+            boolean endpointRegressed = p99Delta > tolerancePercent || rpsDelta < -tolerancePercent;
+            regressed |= endpointRegressed;
+            System.out.printf("%-10s %10.2fms %10.2fms %+8.1f%% %14.1f %14.1f %+8.1f%%%s%n", name,
+                    before.get("p99Ms").asDouble(), now.get("p99Ms").asDouble(), p99Delta,
+                    before.get("throughputPerSecond").asDouble(), now.get("throughputPerSecond").asDouble(), rpsDelta,
+                    endpointRegressed ? "  REGRESSION" : "");
+        }
+        return regressed;
+    }
+
+    /**
+     * Prints total throughput, worst p99 and resource use of each thread mode side by side.
+     */
+    static void printModeComparison(Map<String, LoadTestReport> reports) {
+        System.out.printf("%-10s %12s %12s %14s %14s %14s%n",
+                "threads", "total rps", "worst p99", "heap avg", "heap peak", "threads peak");
+        reports.forEach((mode, run) -> {
+            JsonNode json = run.objectMapper.valueToTree(run.report);
+            double throughput = 0;
+            double worstP99 = 0;
+            for (JsonNode endpoint : json.path("endpoints")) {
+                throughput += endpoint.get("throughputPerSecond").asDouble();
+                worstP99 = Math.max(worstP99, endpoint.get("p99Ms").asDouble());
+            }
+            JsonNode resources = json.path("resources");
+            System.out.printf("%-10s %12.1f %10.2fms %12.1fMB %12.1fMB %14d%n", mode, throughput, worstP99,
+                    resources.get("heapAvgMb").asDouble(), resources.get("heapPeakMb").asDouble(),
+                    resources.get("liveThreadsPeak").asInt());
+        });
+    }
+
+    private static double percentChange(double before, double now) {
+        return before == 0 ? 0 : (now - before) / before * 100.0;
+    }
+}
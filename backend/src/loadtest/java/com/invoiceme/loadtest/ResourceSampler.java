@@ -0,0 +1,60 @@
+package com.invoiceme.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Samples heap use and live platform threads of this JVM (the application runs in-process)
+ * while traffic is measured. Virtual threads are not counted by the thread MXBean, so the
+ * thread figures show how many carrier and pool threads the mode needs.
+ */
+final class ResourceSampler {
+    private static final long INTERVAL_MS = 100;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private volatile boolean running;
+    private Thread sampler;
+    private long samples;
+    private long heapTotal;
+    private long heapPeak;
+    private long threadTotal;
+    private int threadPeak;
+
+    void start() {
+        running = true;
+        sampler = Thread.ofPlatform().daemon().name("resource-sampler").start(() -> {
+            while (running) {
+                long heap = memory.getHeapMemoryUsage().getUsed();
+                int live = threads.getThreadCount();
+                samples++;
+                heapTotal += heap;
+                heapPeak = Math.max(heapPeak, heap);
+                threadTotal += live;
+                threadPeak = Math.max(threadPeak, live);
+                try {
+                    Thread.sleep(INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        sampler.join();
+    }
+
+    Map<String, Object> summarize() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("heapAvgMb", samples == 0 ? 0 : heapTotal / samples / (1024.0 * 1024.0));
+        summary.put("heapPeakMb", heapPeak / (1024.0 * 1024.0));
+        summary.put("liveThreadsAvg", samples == 0 ? 0 : (double) threadTotal / samples);
+        summary.put("liveThreadsPeak", threadPeak);
+        return summary;
+    }
+}
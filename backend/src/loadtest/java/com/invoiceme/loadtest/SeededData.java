@@ -0,0 +1,40 @@
+package com.invoiceme.loadtest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * What the traffic driver needs to know about each seeded tenant: a login and a sample of
+ * customers and open invoices to create against and pay.
+ */
+final class SeededData {
+    static final String PASSWORD = "loadtest-password";
+
+    final List<Tenant> tenants;
+
+    SeededData(List<Tenant> tenants) {
+        this.tenants = tenants;
+    }
+
+    static final class Tenant {
+        final UUID companyId;
+        final String username;
+        final List<UUID> customerIds;
+        // Drafts created during the run, waiting to be marked as sent
+        final ConcurrentLinkedDeque<UUID> drafts = new ConcurrentLinkedDeque<>();
+        // Sent invoices with an outstanding balance, seeded and created during the run
+        final ConcurrentLinkedDeque<OpenInvoice> open = new ConcurrentLinkedDeque<>();
+        volatile String token;
+
+        Tenant(UUID companyId, String username, List<UUID> customerIds) {
+            this.companyId = companyId;
+            this.username = username;
+            this.customerIds = customerIds;
+        }
+    }
+
+    record OpenInvoice(UUID id, BigDecimal balance) {
+    }
+}
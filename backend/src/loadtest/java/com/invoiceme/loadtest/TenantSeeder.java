@@ -0,0 +1,283 @@
+package com.invoiceme.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk loads synthetic tenants straight into the database, bypassing the API. Postgres is
+ * loaded with {@code COPY ... FROM STDIN}; other databases with JDBC batches. Companies are
+ * split across {@code seed-threads} connections and each company is committed on its own.
+ *
+ * <p>Shape of the data: invoices pick customers with a skew towards a few large accounts,
+ * have 1-20 lines (mostly 1-4), and are spread over the last year. Past-due invoices are
+ * mostly paid, recent ones mostly sent, with a share of partial payments.
+ */
+final class TenantSeeder {
+    private static final int SAMPLE_SIZE = 50;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final DataSource dataSource;
+    private final LoadTestConfig config;
+    private final String passwordHash = new BCryptPasswordEncoder().encode(SeededData.PASSWORD);
+
+    TenantSeeder(DataSource dataSource, LoadTestConfig config) {
+        this.dataSource = dataSource;
+        this.config = config;
+    }
+
+    SeededData seed() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(config.seedThreads);
+        try {
+            List<Future<List<SeededData.Tenant>>> slices = new ArrayList<>();
+            int perSlice = (config.companies + config.seedThreads - 1) / config.seedThreads;
+            for (int from = 0; from < config.companies; from += perSlice) {
+                int start = from;
+                int end = Math.min(config.companies, from + perSlice);
+                slices.add(pool.submit(() -> seedSlice(start, end)));
+            }
+            List<SeededData.Tenant> tenants = new ArrayList<>(config.companies);
+            for (Future<List<SeededData.Tenant>> slice : slices) {
+                tenants.addAll(slice.get());
+            }
+            return new SeededData(tenants);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<SeededData.Tenant> seedSlice(int fromCompany, int toCompany) throws SQLException {
+        List<SeededData.Tenant> tenants = new ArrayList<>(toCompany - fromCompany);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            for (int company = fromCompany; company < toCompany; company++) {
+                tenants.add(seedCompany(connection, company));
+                connection.commit();
+            }
+        }
+        return tenants;
+    }
+
+    private SeededData.Tenant seedCompany(Connection connection, int index) throws SQLException {
+        SplittableRandom random = new SplittableRandom(index);
+        LocalDateTime now = LocalDateTime.now();
+        UUID companyId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        String username = "loadtest-" + index;
+
+        write(connection, "companies", new String[]{"id", "name", "company_code", "created_at", "updated_at", "version"},
+                List.<Object[]>of(row(companyId, "Load Test Company " + index, UUID.randomUUID(), now, now, 0L)));
+        write(connection, "users", new String[]{"id", "username", "password", "email", "display_name", "created_at", "updated_at"},
+                List.<Object[]>of(row(userId, username, passwordHash, username + "@loadtest.example.com", "Load Test " + index, now, now)));
+        write(connection, "company_memberships", new String[]{"id", "user_id", "company_id", "role", "created_at", "updated_at"},
+                List.<Object[]>of(row(UUID.randomUUID(), userId, companyId, "ADMIN", now, now)));
+
+        int customerCount = share(config.customers, index);
+        List<UUID> customerIds = new ArrayList<>(customerCount);
+        List<Object[]> customers = new ArrayList<>(customerCount);
+        for (int i = 0; i < customerCount; i++) {
+            UUID customerId = UUID.randomUUID();
+            customerIds.add(customerId);
+            customers.add(row(customerId, "Customer " + index + "-" + i, "customer-" + index + "-" + i + "@loadtest.example.com",
+                    i + " Market Street", "555-" + (1000 + i % 9000), companyId, now, now, 0L));
+        }
+        write(connection, "customers",
+                new String[]{"id", "name", "email", "address", "phone", "company_id", "created_at", "updated_at", "version"},
+                customers);
+
+        int invoiceCount = share(config.invoices, index);
+        List<Object[]> invoices = new ArrayList<>(invoiceCount);
+        List<Object[]> lineItems = new ArrayList<>(invoiceCount * 4);
+        List<Object[]> payments = new ArrayList<>(invoiceCount / 2);
+        SeededData.Tenant tenant = new SeededData.Tenant(companyId, username,
+                List.copyOf(customerIds.subList(0, Math.min(SAMPLE_SIZE, customerIds.size()))));
+
+        for (int i = 0; i < invoiceCount; i++) {
+            UUID invoiceId = UUID.randomUUID();
+            // Squaring a uniform draw skews invoices towards the first customers
+            double skew = random.nextDouble();
+            UUID customerId = customerIds.get((int) (skew * skew * customerCount));
+            LocalDate issueDate = TODAY.minusDays(random.nextInt(365));
+            LocalDate dueDate = issueDate.plusDays(30);
+            LocalDateTime createdAt = issueDate.atTime(9, 0).plusSeconds(random.nextInt(8 * 3600));
+
+            BigDecimal total = BigDecimal.ZERO;
+            int lines = lineCount(random);
+            for (int line = 0; line < lines; line++) {
+                int quantity = 1 + random.nextInt(10);
+                BigDecimal unitPrice = BigDecimal.valueOf(500 + random.nextInt(50_000), 2);
+                BigDecimal amount = unitPrice.multiply(BigDecimal.valueOf(quantity));
+                total = total.add(amount);
+                lineItems.add(row(UUID.randomUUID(), invoiceId, "Service line " + line, quantity, unitPrice, amount, createdAt));
+            }
+
+            String status = status(random, dueDate);
+            BigDecimal paid = BigDecimal.ZERO;
+            if (status.equals("PAID")) {
+                paid = total;
+                if (random.nextInt(5) == 0) {
+                    BigDecimal first = total.divide(BigDecimal.valueOf(2), 2, RoundingMode.DOWN);
+                    payments.add(payment(invoiceId, companyId, first, dueDate.minusDays(10), createdAt, random));
+                    payments.add(payment(invoiceId, companyId, total.subtract(first), dueDate.minusDays(2), createdAt, random));
+                } else {
+                    payments.add(payment(invoiceId, companyId, total, dueDate.minusDays(random.nextInt(30)), createdAt, random));
+                }
+            } else if (status.equals("SENT") && random.nextInt(10) < 4) {
+                paid = total.multiply(BigDecimal.valueOf(10 + random.nextInt(50), 2)).setScale(2, RoundingMode.DOWN);
+                payments.add(payment(invoiceId, companyId, paid, issueDate.plusDays(random.nextInt(30)), createdAt, random));
+            }
+            BigDecimal balance = total.subtract(paid);
+            if (status.equals("SENT") && tenant.open.size() < SAMPLE_SIZE) {
+                tenant.open.add(new SeededData.OpenInvoice(invoiceId, balance));
+            }
+
+            invoices.add(row(invoiceId, customerId, "LT-" + index + "-" + i, status, issueDate, dueDate,
+                    total, balance, companyId, createdAt, createdAt, 0L));
+        }
+        write(connection, "invoices",
+                new String[]{"id", "customer_id", "invoice_number", "status", "issue_date", "due_date",
+                        "total_amount", "balance", "company_id", "created_at", "updated_at", "version"},
+                invoices);
+        write(connection, "invoice_line_items",
+                new String[]{"id", "invoice_id", "description", "quantity", "unit_price", "amount", "created_at"},
+                lineItems);
+        write(connection, "payments",
+                new String[]{"id", "invoice_id", "company_id", "amount", "payment_date", "payment_method", "reference_number",
+                        "created_at", "version"},
+                payments);
+        return tenant;
+    }
+
+    private int share(int total, int index) {
+        return total / config.companies + (index < total % config.companies ? 1 : 0);
+    }
+
+    private static int lineCount(SplittableRandom random) {
+        // Geometric: most invoices are short, a long tail reaches 20 lines
+        int lines = 1;
+        while (lines < 20 && random.nextInt(100) < 55) {
+            lines++;
+        }
+        return lines;
+    }
+
+    private static String status(SplittableRandom random, LocalDate dueDate) {
+        int roll = random.nextInt(100);
+        if (dueDate.isBefore(TODAY)) {
+            return roll < 70 ? "PAID" : roll < 95 ? "SENT" : "DRAFT";
+        }
+        return roll < 20 ? "DRAFT" : roll < 80 ? "SENT" : "PAID";
+    }
+
+    private static Object[] payment(UUID invoiceId, UUID companyId, BigDecimal amount, LocalDate date, LocalDateTime invoiceCreatedAt,
+                                    SplittableRandom random) {
+        String[] methods = {"BANK_TRANSFER", "CARD", "CASH"};
+        LocalDateTime createdAt = date.atTime(12, 0);
+        if (createdAt.isBefore(invoiceCreatedAt)) {
+            createdAt = invoiceCreatedAt.plusHours(1);
+        }
+        return row(UUID.randomUUID(), invoiceId, companyId, amount, date, methods[random.nextInt(methods.length)],
+                "REF-" + random.nextInt(1_000_000), createdAt, 0L);
+    }
+
+    private static Object[] row(Object... values) {
+        return values;
+    }
+
+    private static void write(Connection connection, String table, String[] columns, List<Object[]> rows)
+            throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (connection.isWrapperFor(PGConnection.class)) {
+            copy(connection.unwrap(PGConnection.class), table, columns, rows);
+        } else {
+            batchInsert(connection, table, columns, rows);
+        }
+    }
+
+    private static void copy(PGConnection connection, String table, String[] columns, List<Object[]> rows)
+            throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(
+                "COPY " + table + " (" + String.join(",", columns) + ") FROM STDIN WITH (FORMAT csv)");
+        try {
+            StringBuilder buffer = new StringBuilder(64 * 1024);
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) {
+                        buffer.append(',');
+                    }
+                    appendCsv(buffer, row[i]);
+                }
+                buffer.append('\n');
+                if (buffer.length() >= 60 * 1024) {
+                    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                    buffer.setLength(0);
+                }
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void appendCsv(StringBuilder buffer, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String text) {
+            buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+        } else if (value instanceof LocalDateTime timestamp) {
+            buffer.append(Timestamp.valueOf(timestamp));
+        } else if (value instanceof BigDecimal decimal) {
+            buffer.append(decimal.toPlainString());
+        } else {
+            buffer.append(value);
+        }
+    }
+
+    private static void batchInsert(Connection connection, String table, String[] columns, List<Object[]> rows)
+            throws SQLException {
+        String placeholders = String.join(",", java.util.Collections.nCopies(columns.length, "?"));
+        String sql = "INSERT INTO " + table + " (" + String.join(",", columns) + ") VALUES (" + placeholders + ")";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    statement.setObject(i + 1, row[i]);
+                }
+                statement.addBatch();
+                if (++pending == 1_000) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+}
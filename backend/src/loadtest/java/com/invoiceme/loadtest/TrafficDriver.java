@@ -0,0 +1,205 @@
+package com.invoiceme.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop traffic through the real REST endpoints: each worker picks a tenant and an
+ * operation by weight, sends it, records the latency and immediately picks the next one.
+ * Work that depends on earlier results (marking a draft as sent, paying an open invoice)
+ * falls back to a list request when nothing is queued for that tenant yet.
+ */
+final class TrafficDriver {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final SeededData data;
+    private final LoadTestConfig config;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new TreeMap<>();
+    private final String[] weightedOperations;
+
+    TrafficDriver(String baseUrl, SeededData data, LoadTestConfig config) {
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.config = config;
+        for (String operation : List.of("login", "list", "create", "mark-sent", "pay")) {
+            stats.put(operation, new EndpointStats());
+        }
+        List<String> operations = new ArrayList<>();
+        config.mix.forEach((operation, weight) -> {
+            if (!stats.containsKey(operation)) {
+                throw new IllegalArgumentException("Unknown operation in mix: " + operation);
+            }
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        this.weightedOperations = operations.toArray(String[]::new);
+    }
+
+    Map<String, EndpointStats> run(ResourceSampler sampler) throws InterruptedException {
+        if (config.warmupSeconds > 0) {
+            drive(config.warmupSeconds);
+            stats.values().forEach(EndpointStats::reset);
+        }
+        sampler.start();
+        try {
+            drive(config.durationSeconds);
+        } finally {
+            sampler.stop();
+        }
+        return stats;
+    }
+
+    private void drive(int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        // Virtual workers, so the client adds no platform threads to the sampled thread count
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < config.concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    step();
+                }
+            });
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(seconds + REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private void step() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SeededData.Tenant tenant = data.tenants.get(random.nextInt(data.tenants.size()));
+        // A tenant logs in the first time it is picked
+        String operation = tenant.token == null ? "login" : weightedOperations[random.nextInt(weightedOperations.length)];
+        switch (operation) {
+            case "login" -> login(tenant);
+            case "list" -> list(tenant);
+            case "create" -> create(tenant);
+            case "mark-sent" -> markSent(tenant);
+            case "pay" -> pay(tenant);
+            default -> throw new IllegalStateException(operation);
+        }
+    }
+
+    private void login(SeededData.Tenant tenant) {
+        String body = "{\"username\":\"" + tenant.username + "\",\"password\":\"" + SeededData.PASSWORD + "\"}";
+        JsonNode response = send("login", HttpRequest.newBuilder(uri("/api/auth/login"))
+                .POST(HttpRequest.BodyPublishers.ofString(body)), null);
+        if (response != null) {
+            tenant.token = response.get("token").asText();
+        }
+    }
+
+    private void list(SeededData.Tenant tenant) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String query = "?page=" + random.nextInt(5) + "&size=20";
+        if (random.nextInt(4) == 0) {
+            query += "&status=" + (random.nextBoolean() ? "SENT" : "PAID");
+        }
+        send("list", HttpRequest.newBuilder(uri("/api/invoices" + query)).GET(), tenant);
+    }
+
+    private void create(SeededData.Tenant tenant) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID customerId = tenant.customerIds.get(random.nextInt(tenant.customerIds.size()));
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0, count = 1 + random.nextInt(5); i < count; i++) {
+            if (i > 0) {
+                lines.append(',');
+            }
+            lines.append("{\"description\":\"Load test line ").append(i)
+                    .append("\",\"quantity\":").append(1 + random.nextInt(10))
+                    .append(",\"unitPrice\":").append(BigDecimal.valueOf(500 + random.nextInt(50_000), 2))
+                    .append('}');
+        }
+        String body = "{\"customerId\":\"" + customerId + "\",\"issueDate\":\"" + LocalDate.now()
+                + "\",\"dueDate\":\"" + LocalDate.now().plusDays(30) + "\",\"lineItems\":[" + lines + "]}";
+        JsonNode response = send("create", HttpRequest.newBuilder(uri("/api/invoices"))
+                .POST(HttpRequest.BodyPublishers.ofString(body)), tenant);
+        if (response != null) {
+            tenant.drafts.add(UUID.fromString(response.get("id").asText()));
+        }
+    }
+
+    private void markSent(SeededData.Tenant tenant) {
+        UUID draft = tenant.drafts.pollFirst();
+        if (draft == null) {
+            list(tenant);
+            return;
+        }
+        JsonNode response = send("mark-sent", HttpRequest.newBuilder(uri("/api/invoices/" + draft + "/mark-sent"))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody()), tenant);
+        if (response != null) {
+            tenant.open.add(new SeededData.OpenInvoice(draft, new BigDecimal(response.get("balance").asText())));
+        }
+    }
+
+    private void pay(SeededData.Tenant tenant) {
+        SeededData.OpenInvoice invoice = tenant.open.pollFirst();
+        if (invoice == null) {
+            list(tenant);
+            return;
+        }
+        BigDecimal amount = invoice.balance().min(new BigDecimal("25.00"));
+        if (amount.signum() <= 0) {
+            list(tenant);
+            return;
+        }
+        String body = "{\"invoiceId\":\"" + invoice.id() + "\",\"amount\":" + amount.toPlainString()
+                + ",\"paymentDate\":\"" + LocalDate.now() + "\",\"paymentMethod\":\"CARD\"}";
+        JsonNode response = send("pay", HttpRequest.newBuilder(uri("/api/payments"))
+                .POST(HttpRequest.BodyPublishers.ofString(body)), tenant);
+        BigDecimal remaining = invoice.balance().subtract(amount);
+        if (response != null && remaining.signum() > 0) {
+            tenant.open.addLast(new SeededData.OpenInvoice(invoice.id(), remaining));
+        }
+    }
+
+    private JsonNode send(String operation, HttpRequest.Builder request, SeededData.Tenant tenant) {
+        request.timeout(REQUEST_TIMEOUT).header("Content-Type", "application/json");
+        if (tenant != null && tenant.token != null) {
+            request.header("Authorization", "Bearer " + tenant.token);
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            success = response.statusCode() / 100 == 2;
+            return success ? objectMapper.readTree(response.body()) : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        } finally {
+            stats.get(operation).record(System.nanoTime() - start, success);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
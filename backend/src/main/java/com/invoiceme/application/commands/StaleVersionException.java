@@ -0,0 +1,25 @@
+package com.invoiceme.application.commands;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * A conditional write whose expected version is no longer current. The comparison runs against
+ * the entity loaded in the write's own transaction, and the versioned UPDATE catches a commit
+ * that lands after it, so no concurrent change is overwritten.
+ */
+public class StaleVersionException extends OptimisticLockingFailureException {
+
+    public StaleVersionException(String message) {
+        super(message);
+    }
+
+    /**
+     * Passes when {@code expected} is null (an unconditional write) or equals {@code actual};
+     * entities not yet versioned count as version 0.
+     */
+    public static void check(String entity, Long expected, Long actual) {
+        if (expected != null && expected != (actual == null ? 0L : actual)) {
+            throw new StaleVersionException(entity + " has changed since version " + expected);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.invoiceme.application.commands.customer;
 
 import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.sync.Tombstone;
 import com.invoiceme.infrastructure.persistence.customer.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.sync.TombstoneRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,9 +12,11 @@ import java.util.UUID;
 @Service
 public class DeleteCustomerHandler {
     private final CustomerRepository customerRepository;
+    private final TombstoneRepository tombstoneRepository;
 
-    public DeleteCustomerHandler(CustomerRepository customerRepository) {
+    public DeleteCustomerHandler(CustomerRepository customerRepository, TombstoneRepository tombstoneRepository) {
         this.customerRepository = customerRepository;
+        this.tombstoneRepository = tombstoneRepository;
     }
 
     @Transactional
@@ -20,6 +24,8 @@ public class DeleteCustomerHandler {
         Customer customer = customerRepository.findByIdAndCompanyId(command.getId(), command.getCompanyId())
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + command.getId()));
         customerRepository.delete(customer);
+        // Lets delta-sync clients drop the customer from their local replica
+        tombstoneRepository.save(Tombstone.create(command.getCompanyId(), Tombstone.EntityType.CUSTOMER, customer.getId()));
     }
 }
 
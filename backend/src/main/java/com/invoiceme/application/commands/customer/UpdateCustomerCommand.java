@@ -18,6 +18,8 @@ public class UpdateCustomerCommand {
     private String email;
     private String address;
     private String phone;
+    // If-Match version; the update is unconditional when null
+    private Long expectedVersion;
 }
 
 
@@ -1,5 +1,6 @@
 package com.invoiceme.application.commands.customer;
 
+import com.invoiceme.application.commands.StaleVersionException;
 import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.infrastructure.persistence.customer.CustomerRepository;
 import org.springframework.stereotype.Service;
@@ -19,6 +20,7 @@ public class UpdateCustomerHandler {
     public Customer handle(UpdateCustomerCommand command) {
         Customer customer = customerRepository.findByIdAndCompanyId(command.getId(), command.getCompanyId())
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + command.getId()));
+        StaleVersionException.check("Customer", command.getExpectedVersion(), customer.getVersion());
         
         // Check if email is being changed and if new email already exists
         if (!customer.getEmail().equals(command.getEmail()) && 
@@ -20,6 +20,21 @@ public class CreateInvoiceCommand {
     private LocalDate issueDate;
     private LocalDate dueDate;
     private List<LineItemDto> lineItems;
+    // ISO 4217 code; the company's base currency when absent
+    private String currency;
+    // Set when generated from a recurring template; a second invoice for the same period is rejected
+    private UUID recurringInvoiceId;
+    private LocalDate recurringPeriod;
+
+    public CreateInvoiceCommand(UUID companyId, UUID customerId, LocalDate issueDate, LocalDate dueDate,
+                                List<LineItemDto> lineItems) {
+        this(companyId, customerId, issueDate, dueDate, lineItems, null);
+    }
+
+    public CreateInvoiceCommand(UUID companyId, UUID customerId, LocalDate issueDate, LocalDate dueDate,
+                                List<LineItemDto> lineItems, String currency) {
+        this(companyId, customerId, issueDate, dueDate, lineItems, currency, null, null);
+    }
 
     @Getter
     @Setter
@@ -1,10 +1,16 @@
 package com.invoiceme.application.commands.invoice;
 
+import com.invoiceme.application.events.ChangeEvent;
+import com.invoiceme.application.services.TaxRuleService;
 import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.domain.invoice.Invoice;
 import com.invoiceme.domain.invoice.InvoiceLineItem;
+import com.invoiceme.domain.money.Money;
+import com.invoiceme.domain.tax.TaxSchedule;
+import com.invoiceme.infrastructure.jfr.InvoiceCreatedEvent;
 import com.invoiceme.infrastructure.persistence.customer.CustomerRepository;
 import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,15 +20,32 @@ import java.util.UUID;
 public class CreateInvoiceHandler {
     private final InvoiceRepository invoiceRepository;
     private final CustomerRepository customerRepository;
+    private final TaxRuleService taxRuleService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CreateInvoiceHandler(InvoiceRepository invoiceRepository, CustomerRepository customerRepository) {
+    public CreateInvoiceHandler(InvoiceRepository invoiceRepository, CustomerRepository customerRepository,
+                            TaxRuleService taxRuleService, ApplicationEventPublisher eventPublisher) {
         this.invoiceRepository = invoiceRepository;
         this.customerRepository = customerRepository;
+        this.taxRuleService = taxRuleService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public Invoice handle(CreateInvoiceCommand command) {
-        Customer customer = customerRepository.findByIdAndCompanyId(command.getCustomerId(), command.getCompanyId())
+        InvoiceCreatedEvent event = InvoiceCreatedEvent.start(command.getCompanyId());
+        try {
+            return create(command, event);
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
+
+    private Invoice create(CreateInvoiceCommand command, InvoiceCreatedEvent event) {
+        Customer customer = customerRepository.findWithCompanyByIdAndCompanyId(command.getCustomerId(), command.getCompanyId())
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + command.getCustomerId()));
 
         String invoiceNumber = generateInvoiceNumber();
@@ -31,27 +54,31 @@ public class CreateInvoiceHandler {
                 invoiceNumber,
                 command.getIssueDate(),
                 command.getDueDate(),
-                customer.getCompany()  // Use the company from the customer
+                customer.getCompany(),  // Use the company from the customer
+                command.getCurrency() == null ? customer.getCompany().getBaseCurrency() : Money.currency(command.getCurrency())
         );
+        invoice.setRecurringInvoiceId(command.getRecurringInvoiceId());
+        invoice.setRecurringPeriod(command.getRecurringPeriod());
 
-        // First save the invoice without line items
-        Invoice savedInvoice = invoiceRepository.save(invoice);
-
-        // Then add line items and save again to ensure proper calculation
-        if (command.getLineItems() != null && !command.getLineItems().isEmpty()) {
+        // Compiled once per company and shared by every line
+        TaxSchedule taxes = taxRuleService.rulesFor(command.getCompanyId()).forCustomer(customer.getId());
+        if (command.getLineItems() != null) {
             for (CreateInvoiceCommand.LineItemDto itemDto : command.getLineItems()) {
                 InvoiceLineItem lineItem = InvoiceLineItem.create(
-                        savedInvoice,
+                        invoice,
                         itemDto.getDescription(),
                         itemDto.getQuantity(),
-                        itemDto.getUnitPrice()
+                        Money.of(itemDto.getUnitPrice(), invoice.getCurrency())
                 );
-                savedInvoice.addLineItem(lineItem);
+                invoice.addLineItem(lineItem, taxes);
             }
-            // Save again with line items to persist the calculated total
-            savedInvoice = invoiceRepository.save(savedInvoice);
         }
 
+        // Line items cascade with the invoice, so the totals go out in the initial insert
+        Invoice savedInvoice = invoiceRepository.save(invoice);
+        event.created(savedInvoice.getId(), invoice.getLineItems().size());
+
+        eventPublisher.publishEvent(ChangeEvent.invoice(command.getCompanyId(), ChangeEvent.Type.INVOICE_CREATED, savedInvoice.getId()));
         return savedInvoice;
     }
 
@@ -1,18 +1,30 @@
 package com.invoiceme.application.commands.invoice;
 
+import com.invoiceme.application.events.ChangeEvent;
+import com.invoiceme.application.services.MailQueueService;
 import com.invoiceme.domain.invoice.Invoice;
 import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
+/**
+ * Marks a draft as sent and queues its delivery to the customer; the mail goes out after the
+ * transaction commits, from a mail worker.
+ */
 @Service
 public class MarkInvoiceAsSentHandler {
     private final InvoiceRepository invoiceRepository;
+    private final MailQueueService mailQueueService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MarkInvoiceAsSentHandler(InvoiceRepository invoiceRepository) {
+    public MarkInvoiceAsSentHandler(InvoiceRepository invoiceRepository, MailQueueService mailQueueService,
+                                    ApplicationEventPublisher eventPublisher) {
         this.invoiceRepository = invoiceRepository;
+        this.mailQueueService = mailQueueService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -21,7 +33,10 @@ public class MarkInvoiceAsSentHandler {
                 .orElseThrow(() -> new IllegalArgumentException("Invoice not found with id: " + command.getId()));
         
         invoice.markAsSent();
-        return invoiceRepository.save(invoice);
+        Invoice saved = invoiceRepository.save(invoice);
+        mailQueueService.enqueueDelivery(saved);
+        eventPublisher.publishEvent(ChangeEvent.invoice(command.getCompanyId(), ChangeEvent.Type.INVOICE_SENT, saved.getId()));
+        return saved;
     }
 }
 
@@ -0,0 +1,33 @@
+package com.invoiceme.application.commands.invoice;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkOverdueInvoicesCommand {
+    // Keyset position before the first invoice
+    public static final LocalDate FIRST_DUE_DATE = LocalDate.of(1, 1, 1);
+    public static final UUID FIRST_ID = new UUID(0, 0);
+
+    private LocalDate today;
+    // Only invoices after this (dueDate, id) position are checked
+    private LocalDate afterDueDate;
+    private UUID afterId;
+    private int batchSize;
+
+    public static MarkOverdueInvoicesCommand first(LocalDate today, int batchSize) {
+        return new MarkOverdueInvoicesCommand(today, FIRST_DUE_DATE, FIRST_ID, batchSize);
+    }
+
+    public MarkOverdueInvoicesCommand next(MarkOverdueInvoicesResult result) {
+        return new MarkOverdueInvoicesCommand(today, result.lastDueDate(), result.lastId(), batchSize);
+    }
+}
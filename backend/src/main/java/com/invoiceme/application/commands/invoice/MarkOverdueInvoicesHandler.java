@@ -0,0 +1,67 @@
+package com.invoiceme.application.commands.invoice;
+
+import com.invoiceme.application.events.ChangeEvent;
+import com.invoiceme.infrastructure.persistence.AdvisoryLocks;
+import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.invoice.OverdueCandidate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Marks one batch of sent invoices past their due date as OVERDUE with a single bulk update,
+ * so each transaction locks at most {@code batchSize} rows. Invoices paid in the meantime are
+ * left alone by the update's guard, and only invoices actually transitioned get an
+ * {@link ChangeEvent.Type#INVOICE_OVERDUE} event.
+ */
+@Service
+public class MarkOverdueInvoicesHandler {
+    // Every node runs the job; the lease keeps them from updating the same rows at once
+    private static final UUID LEASE_KEY = new UUID(0, AdvisoryLocks.OVERDUE_INVOICES);
+
+    private final InvoiceRepository invoiceRepository;
+    private final AdvisoryLocks advisoryLocks;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MarkOverdueInvoicesHandler(InvoiceRepository invoiceRepository, AdvisoryLocks advisoryLocks,
+                                      ApplicationEventPublisher eventPublisher) {
+        this.invoiceRepository = invoiceRepository;
+        this.advisoryLocks = advisoryLocks;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public MarkOverdueInvoicesResult handle(MarkOverdueInvoicesCommand command) {
+        if (!advisoryLocks.tryLock(AdvisoryLocks.OVERDUE_INVOICES, LEASE_KEY)) {
+            return MarkOverdueInvoicesResult.NOT_LEASED;
+        }
+        List<OverdueCandidate> candidates = invoiceRepository.findOverdueCandidates(command.getToday(),
+                command.getAfterDueDate(), command.getAfterId(), PageRequest.of(0, command.getBatchSize()));
+        if (candidates.isEmpty()) {
+            return new MarkOverdueInvoicesResult(true, 0, 0, command.getAfterDueDate(), command.getAfterId());
+        }
+
+        List<UUID> ids = new ArrayList<>(candidates.size());
+        candidates.forEach(candidate -> ids.add(candidate.getId()));
+        int transitioned = invoiceRepository.markOverdue(ids, command.getToday(), LocalDateTime.now());
+        // Fewer rows than candidates means some were paid since they were read
+        Set<UUID> overdue = transitioned == ids.size() ? null : new HashSet<>(invoiceRepository.findOverdueIds(ids));
+        for (OverdueCandidate candidate : candidates) {
+            if (overdue == null || overdue.contains(candidate.getId())) {
+                eventPublisher.publishEvent(ChangeEvent.invoice(candidate.getCompanyId(),
+                        ChangeEvent.Type.INVOICE_OVERDUE, candidate.getId()));
+            }
+        }
+
+        OverdueCandidate last = candidates.get(candidates.size() - 1);
+        return new MarkOverdueInvoicesResult(true, candidates.size(), transitioned, last.getDueDate(), last.getId());
+    }
+}
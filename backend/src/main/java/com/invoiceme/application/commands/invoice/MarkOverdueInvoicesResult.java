@@ -0,0 +1,13 @@
+package com.invoiceme.application.commands.invoice;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One batch of the overdue job: how many invoices were checked and transitioned, and the
+ * keyset position to continue from. {@code leased} is false when another node is running the job.
+ */
+public record MarkOverdueInvoicesResult(boolean leased, int checked, int transitioned, LocalDate lastDueDate,
+                                        UUID lastId) {
+    public static final MarkOverdueInvoicesResult NOT_LEASED = new MarkOverdueInvoicesResult(false, 0, 0, null, null);
+}
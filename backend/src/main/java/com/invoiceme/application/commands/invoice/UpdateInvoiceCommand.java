@@ -21,6 +21,11 @@ public class UpdateInvoiceCommand {
     private LocalDate issueDate;
     private LocalDate dueDate;
     private List<LineItemDto> lineItems;
+    // ISO 4217 code; unchanged when absent
+    private String currency;
+    // If-Match versions of the invoice and its customer; the update is unconditional when null
+    private Long expectedVersion;
+    private Long expectedCustomerVersion;
 
     @Getter
     @Setter
@@ -1,10 +1,16 @@
 package com.invoiceme.application.commands.invoice;
 
+import com.invoiceme.application.commands.StaleVersionException;
+import com.invoiceme.application.events.ChangeEvent;
+import com.invoiceme.application.services.TaxRuleService;
 import com.invoiceme.domain.customer.Customer;
 import com.invoiceme.domain.invoice.Invoice;
 import com.invoiceme.domain.invoice.InvoiceLineItem;
+import com.invoiceme.domain.money.Money;
+import com.invoiceme.domain.tax.TaxSchedule;
 import com.invoiceme.infrastructure.persistence.customer.CustomerRepository;
 import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,22 +22,33 @@ import java.util.UUID;
 public class UpdateInvoiceHandler {
     private final InvoiceRepository invoiceRepository;
     private final CustomerRepository customerRepository;
+    private final TaxRuleService taxRuleService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UpdateInvoiceHandler(InvoiceRepository invoiceRepository, CustomerRepository customerRepository) {
+    public UpdateInvoiceHandler(InvoiceRepository invoiceRepository, CustomerRepository customerRepository,
+                            TaxRuleService taxRuleService,
+                            ApplicationEventPublisher eventPublisher) {
         this.invoiceRepository = invoiceRepository;
         this.customerRepository = customerRepository;
+        this.taxRuleService = taxRuleService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public Invoice handle(UpdateInvoiceCommand command) {
         Invoice invoice = invoiceRepository.findByIdAndCompanyId(command.getId(), command.getCompanyId())
                 .orElseThrow(() -> new IllegalArgumentException("Invoice not found with id: " + command.getId()));
+        StaleVersionException.check("Invoice", command.getExpectedVersion(), invoice.getVersion());
+        StaleVersionException.check("Customer", command.getExpectedCustomerVersion(), invoice.getCustomer().getVersion());
 
         Customer customer = customerRepository.findByIdAndCompanyId(command.getCustomerId(), command.getCompanyId())
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + command.getCustomerId()));
 
-        invoice.update(customer, command.getIssueDate(), command.getDueDate());
+        boolean customerChanged = !customer.getId().equals(invoice.getCustomer().getId());
+        invoice.update(customer, command.getIssueDate(), command.getDueDate(),
+                command.getCurrency() == null ? null : Money.currency(command.getCurrency()));
 
+        TaxSchedule taxes = taxRuleService.rulesFor(command.getCompanyId()).forCustomer(customer.getId());
         if (command.getLineItems() != null) {
             List<InvoiceLineItem> newLineItems = new ArrayList<>();
             command.getLineItems().forEach(itemDto -> {
@@ -39,14 +56,18 @@ public class UpdateInvoiceHandler {
                         invoice,
                         itemDto.getDescription(),
                         itemDto.getQuantity(),
-                        itemDto.getUnitPrice()
+                        Money.of(itemDto.getUnitPrice(), invoice.getCurrency())
                 );
                 newLineItems.add(lineItem);
             });
-            invoice.updateLineItems(newLineItems);
+            invoice.updateLineItems(newLineItems, taxes);
+        } else if (customerChanged) {
+            invoice.applyTaxes(taxes);
         }
 
-        return invoiceRepository.save(invoice);
+        Invoice saved = invoiceRepository.save(invoice);
+        eventPublisher.publishEvent(ChangeEvent.invoice(command.getCompanyId(), ChangeEvent.Type.INVOICE_UPDATED, saved.getId()));
+        return saved;
     }
 }
 
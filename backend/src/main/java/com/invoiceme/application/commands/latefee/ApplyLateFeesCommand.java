@@ -0,0 +1,39 @@
+package com.invoiceme.application.commands.latefee;
+
+import com.invoiceme.domain.latefee.LateFeePolicy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplyLateFeesCommand {
+    // Keyset position before the first invoice
+    public static final LocalDate FIRST_DUE_DATE = LocalDate.of(1, 1, 1);
+    public static final UUID FIRST_ID = new UUID(0, 0);
+
+    private UUID companyId;
+    private LateFeePolicy policy;
+    private LocalDate asOf;
+    private boolean dryRun;
+    // Only invoices after this (dueDate, id) position are checked
+    private LocalDate afterDueDate;
+    private UUID afterId;
+    private int batchSize;
+
+    public static ApplyLateFeesCommand first(UUID companyId, LateFeePolicy policy, LocalDate asOf, boolean dryRun,
+                                             int batchSize) {
+        return new ApplyLateFeesCommand(companyId, policy, asOf, dryRun, FIRST_DUE_DATE, FIRST_ID, batchSize);
+    }
+
+    public ApplyLateFeesCommand next(ApplyLateFeesResult result) {
+        return new ApplyLateFeesCommand(companyId, policy, asOf, dryRun, result.lastDueDate(), result.lastId(),
+                batchSize);
+    }
+}
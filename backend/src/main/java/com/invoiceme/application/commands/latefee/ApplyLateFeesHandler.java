@@ -0,0 +1,58 @@
+package com.invoiceme.application.commands.latefee;
+
+import com.invoiceme.domain.latefee.LateFeePolicy;
+import com.invoiceme.infrastructure.persistence.AdvisoryLocks;
+import com.invoiceme.infrastructure.persistence.latefee.LateFeeBatchRepository;
+import com.invoiceme.infrastructure.persistence.latefee.LateFeeBatchRepository.Candidate;
+import com.invoiceme.infrastructure.persistence.latefee.LateFeeBatchRepository.FeeTotal;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies a company's late-fee policy to one batch of its overdue invoices in a single
+ * transaction. A live batch locks its invoices, so payments recorded meanwhile wait for it, and
+ * fees are charged with three statements whatever the batch size. A dry run only computes the
+ * fees and locks nothing.
+ */
+@Service
+public class ApplyLateFeesHandler {
+    private final LateFeeBatchRepository lateFeeBatchRepository;
+    private final AdvisoryLocks advisoryLocks;
+
+    public ApplyLateFeesHandler(LateFeeBatchRepository lateFeeBatchRepository, AdvisoryLocks advisoryLocks) {
+        this.lateFeeBatchRepository = lateFeeBatchRepository;
+        this.advisoryLocks = advisoryLocks;
+    }
+
+    @Transactional
+    public ApplyLateFeesResult handle(ApplyLateFeesCommand command) {
+        boolean live = !command.isDryRun();
+        if (live && !advisoryLocks.tryLock(AdvisoryLocks.LATE_FEES, command.getCompanyId())) {
+            return ApplyLateFeesResult.NOT_LEASED;
+        }
+        LateFeePolicy policy = command.getPolicy();
+        // No invoice due after this date is past its grace period
+        LocalDate lastDueDate = command.getAsOf().minusDays(policy.getGraceDays());
+        List<Candidate> candidates = lateFeeBatchRepository.findCandidates(command.getCompanyId(), lastDueDate,
+                command.getAfterDueDate(), command.getAfterId(), command.getBatchSize(), live);
+        if (candidates.isEmpty()) {
+            return new ApplyLateFeesResult(true, 0, List.of(), command.getAfterDueDate(), command.getAfterId());
+        }
+
+        List<UUID> ids = new ArrayList<>(candidates.size());
+        candidates.forEach(candidate -> ids.add(candidate.id()));
+        List<FeeTotal> fees = lateFeeBatchRepository.preview(policy, command.getAsOf(), ids);
+        if (live && !fees.isEmpty()) {
+            lateFeeBatchRepository.apply(policy, command.getAsOf(), ids, LocalDateTime.now());
+        }
+
+        Candidate last = candidates.get(candidates.size() - 1);
+        return new ApplyLateFeesResult(true, candidates.size(), fees, last.dueDate(), last.id());
+    }
+}
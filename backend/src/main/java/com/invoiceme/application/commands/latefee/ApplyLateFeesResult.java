@@ -0,0 +1,17 @@
+package com.invoiceme.application.commands.latefee;
+
+import com.invoiceme.infrastructure.persistence.latefee.LateFeeBatchRepository.FeeTotal;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One batch of a late-fee run: how many invoices were checked, the fees charged (or, in a dry
+ * run, due) per currency, and the keyset position to continue from. {@code leased} is false when
+ * another live run for the company is in progress.
+ */
+public record ApplyLateFeesResult(boolean leased, int checked, List<FeeTotal> fees, LocalDate lastDueDate,
+                                  UUID lastId) {
+    public static final ApplyLateFeesResult NOT_LEASED = new ApplyLateFeesResult(false, 0, List.of(), null, null);
+}
@@ -1,10 +1,14 @@
 package com.invoiceme.application.commands.payment;
 
+import com.invoiceme.application.events.ChangeEvent;
 import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.money.Money;
 import com.invoiceme.domain.payment.Payment;
 import com.invoiceme.domain.payment.PaymentMethod;
+import com.invoiceme.infrastructure.jfr.PaymentRecordedEvent;
 import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
 import com.invoiceme.infrastructure.persistence.payment.PaymentRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,14 +19,29 @@ import java.util.UUID;
 public class RecordPaymentHandler {
     private final PaymentRepository paymentRepository;
     private final InvoiceRepository invoiceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public RecordPaymentHandler(PaymentRepository paymentRepository, InvoiceRepository invoiceRepository) {
+    public RecordPaymentHandler(PaymentRepository paymentRepository, InvoiceRepository invoiceRepository,
+                                ApplicationEventPublisher eventPublisher) {
         this.paymentRepository = paymentRepository;
         this.invoiceRepository = invoiceRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public Payment handle(RecordPaymentCommand command) {
+        PaymentRecordedEvent event = PaymentRecordedEvent.start(command.getInvoiceId());
+        try {
+            return record(command, event);
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
+
+    private Payment record(RecordPaymentCommand command, PaymentRecordedEvent event) {
         Invoice invoice = invoiceRepository.findById(command.getInvoiceId())
                 .orElseThrow(() -> new IllegalArgumentException("Invoice not found with id: " + command.getInvoiceId()));
 
@@ -35,7 +54,7 @@ public class RecordPaymentHandler {
 
         Payment payment = Payment.create(
                 invoice,
-                command.getAmount(),
+                Money.of(command.getAmount(), invoice.getCurrency()),
                 command.getPaymentDate(),
                 paymentMethod,
                 command.getReferenceNumber()
@@ -45,9 +64,11 @@ public class RecordPaymentHandler {
 
         // Update invoice balance
         BigDecimal totalPayments = paymentRepository.getTotalPaymentsByInvoiceId(command.getInvoiceId());
-        invoice.calculateBalance(totalPayments);
+        invoice.calculateBalance(Money.of(totalPayments, invoice.getCurrency()));
         invoiceRepository.save(invoice);
 
+        eventPublisher.publishEvent(ChangeEvent.payment(invoice.getCompany().getId(), invoice.getId(), payment.getId()));
+        event.recorded(invoice.getCompany().getId(), payment.getId());
         return payment;
     }
 }
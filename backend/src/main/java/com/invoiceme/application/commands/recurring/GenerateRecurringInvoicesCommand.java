@@ -0,0 +1,33 @@
+package com.invoiceme.application.commands.recurring;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenerateRecurringInvoicesCommand {
+    private UUID companyId;
+    // Only this template when set, even if it failed recently; otherwise the next chunk of due templates
+    private UUID templateId;
+    private LocalDate today;
+    private int chunkSize;
+    // Templates that failed since then are left for a later run
+    private LocalDateTime retryAfter;
+
+    public static GenerateRecurringInvoicesCommand chunk(UUID companyId, LocalDate today, int chunkSize,
+                                                         LocalDateTime retryAfter) {
+        return new GenerateRecurringInvoicesCommand(companyId, null, today, chunkSize, retryAfter);
+    }
+
+    public static GenerateRecurringInvoicesCommand template(UUID companyId, UUID templateId, LocalDate today) {
+        return new GenerateRecurringInvoicesCommand(companyId, templateId, today, 1, null);
+    }
+}
@@ -0,0 +1,78 @@
+package com.invoiceme.application.commands.recurring;
+
+import com.invoiceme.application.commands.invoice.CreateInvoiceCommand;
+import com.invoiceme.application.commands.invoice.CreateInvoiceHandler;
+import com.invoiceme.domain.recurring.RecurringInvoice;
+import com.invoiceme.domain.recurring.RecurringInvoiceLine;
+import com.invoiceme.infrastructure.persistence.AdvisoryLocks;
+import com.invoiceme.infrastructure.persistence.recurring.RecurringInvoiceRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the invoices of a chunk of one company's due templates in a single transaction,
+ * holding the company's lease so no other node generates them at the same time. A template
+ * behind by several periods catches up in order. Each invoice goes through
+ * {@link CreateInvoiceHandler}, and the unique (template, period) index rejects a second
+ * invoice for a period however it is attempted.
+ */
+@Service
+public class GenerateRecurringInvoicesHandler {
+    private final RecurringInvoiceRepository recurringInvoiceRepository;
+    private final CreateInvoiceHandler createInvoiceHandler;
+    private final AdvisoryLocks advisoryLocks;
+
+    public GenerateRecurringInvoicesHandler(RecurringInvoiceRepository recurringInvoiceRepository,
+                                            CreateInvoiceHandler createInvoiceHandler,
+                                            AdvisoryLocks advisoryLocks) {
+        this.recurringInvoiceRepository = recurringInvoiceRepository;
+        this.createInvoiceHandler = createInvoiceHandler;
+        this.advisoryLocks = advisoryLocks;
+    }
+
+    @Transactional
+    public GenerateRecurringInvoicesResult handle(GenerateRecurringInvoicesCommand command) {
+        if (!advisoryLocks.tryLock(AdvisoryLocks.RECURRING_INVOICES, command.getCompanyId())) {
+            return GenerateRecurringInvoicesResult.NOT_LEASED;
+        }
+        List<RecurringInvoice> templates = command.getTemplateId() != null
+                ? recurringInvoiceRepository.findByIdAndCompanyId(command.getTemplateId(), command.getCompanyId())
+                        .filter(template -> template.isDue(command.getToday()))
+                        .map(List::of)
+                        .orElse(List.of())
+                : recurringInvoiceRepository.findDue(command.getCompanyId(), command.getToday(),
+                        command.getRetryAfter(), PageRequest.of(0, command.getChunkSize()));
+
+        int invoices = 0;
+        for (RecurringInvoice template : templates) {
+            while (template.isDue(command.getToday())) {
+                createInvoiceHandler.handle(toCreateCommand(template));
+                template.advance();
+                invoices++;
+            }
+        }
+        return new GenerateRecurringInvoicesResult(true, templates.size(), invoices);
+    }
+
+    private CreateInvoiceCommand toCreateCommand(RecurringInvoice template) {
+        LocalDate period = template.getNextRunDate();
+        List<CreateInvoiceCommand.LineItemDto> lines = new ArrayList<>(template.getLines().size());
+        for (RecurringInvoiceLine line : template.getLines()) {
+            lines.add(new CreateInvoiceCommand.LineItemDto(line.getDescription(), line.getQuantity(), line.getUnitPrice()));
+        }
+        return new CreateInvoiceCommand(
+                template.getCompany().getId(),
+                template.getCustomer().getId(),
+                period,
+                template.dueDateFor(period),
+                lines,
+                template.getCurrency() == null ? null : template.getCurrency().getCurrencyCode(),
+                template.getId(),
+                period);
+    }
+}
@@ -0,0 +1,9 @@
+package com.invoiceme.application.commands.recurring;
+
+/**
+ * What one generation transaction did. {@code leased} is false when another node held the
+ * company's lease, in which case nothing was read.
+ */
+public record GenerateRecurringInvoicesResult(boolean leased, int templates, int invoices) {
+    public static final GenerateRecurringInvoicesResult NOT_LEASED = new GenerateRecurringInvoicesResult(false, 0, 0);
+}
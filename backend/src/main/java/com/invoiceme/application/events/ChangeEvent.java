@@ -0,0 +1,45 @@
+package com.invoiceme.application.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published by command handlers inside their transaction and delivered to listeners
+ * only after it commits, so subscribers never see changes that were rolled back.
+ */
+@Getter
+@AllArgsConstructor
+public class ChangeEvent {
+    private final UUID companyId;
+    private final Type type;
+    private final UUID invoiceId;
+    private final UUID paymentId;
+
+    public static ChangeEvent invoice(UUID companyId, Type type, UUID invoiceId) {
+        return new ChangeEvent(companyId, type, invoiceId, null);
+    }
+
+    public static ChangeEvent payment(UUID companyId, UUID invoiceId, UUID paymentId) {
+        return new ChangeEvent(companyId, Type.PAYMENT_RECORDED, invoiceId, paymentId);
+    }
+
+    public enum Type {
+        INVOICE_CREATED("invoice.created"),
+        INVOICE_UPDATED("invoice.updated"),
+        INVOICE_SENT("invoice.sent"),
+        INVOICE_OVERDUE("invoice.overdue"),
+        PAYMENT_RECORDED("payment.recorded");
+
+        private final String eventName;
+
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String getEventName() {
+            return eventName;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.invoiceme.application.events;
+
+import java.util.UUID;
+
+/**
+ * Published when an invoice delivery is queued, so an idle worker sends it once the transaction
+ * commits instead of at its next poll.
+ */
+public record MailQueuedEvent(UUID invoiceId) {
+}
@@ -0,0 +1,20 @@
+package com.invoiceme.application.queries.customer;
+
+import com.invoiceme.infrastructure.persistence.customer.CustomerRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class GetCustomerVersionHandler {
+    private final CustomerRepository customerRepository;
+
+    public GetCustomerVersionHandler(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Long handle(GetCustomerVersionQuery query) {
+        return customerRepository.findVersionByIdAndCompanyId(query.getId(), query.getCompanyId())
+                .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + query.getId()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.invoiceme.application.queries.invoice;
+
+import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.invoice.InvoiceVersion;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class GetInvoiceVersionHandler {
+    private final InvoiceRepository invoiceRepository;
+
+    public GetInvoiceVersionHandler(InvoiceRepository invoiceRepository) {
+        this.invoiceRepository = invoiceRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public InvoiceVersion handle(GetInvoiceVersionQuery query) {
+        return invoiceRepository.findVersionByIdAndCompanyId(query.getId(), query.getCompanyId())
+                .orElseThrow(() -> new IllegalArgumentException("Invoice not found with id: " + query.getId()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.invoiceme.application.queries.invoice;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetInvoiceVersionQuery {
+    private UUID companyId;
+    private UUID id;
+}
@@ -0,0 +1,20 @@
+package com.invoiceme.application.queries.payment;
+
+import com.invoiceme.infrastructure.persistence.payment.PaymentRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class GetPaymentVersionHandler {
+    private final PaymentRepository paymentRepository;
+
+    public GetPaymentVersionHandler(PaymentRepository paymentRepository) {
+        this.paymentRepository = paymentRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Long handle(GetPaymentVersionQuery query) {
+        return paymentRepository.findVersionByIdAndCompanyId(query.getId(), query.getCompanyId())
+                .orElseThrow(() -> new IllegalArgumentException("Payment not found with id: " + query.getId()));
+    }
+}
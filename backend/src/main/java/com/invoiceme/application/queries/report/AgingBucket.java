@@ -0,0 +1,12 @@
+package com.invoiceme.application.queries.report;
+
+/**
+ * Age of an open balance on the report date, by days past the due date.
+ */
+public enum AgingBucket {
+    CURRENT,
+    DAYS_1_30,
+    DAYS_31_60,
+    DAYS_61_90,
+    OVER_90
+}
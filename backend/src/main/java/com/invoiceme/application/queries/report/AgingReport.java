@@ -0,0 +1,26 @@
+package com.invoiceme.application.queries.report;
+
+import com.invoiceme.domain.fx.FxRateSnapshot;
+import com.invoiceme.domain.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Open balances of sent invoices by age, converted into the company's base currency at the
+ * rates in effect on {@code asOf}. Balances in a currency with no rate on that date are left
+ * out of the totals and listed in {@code unconverted}.
+ */
+@Getter
+@AllArgsConstructor
+public class AgingReport {
+    private final LocalDate asOf;
+    private final Map<AgingBucket, Money> buckets;
+    private final Money total;
+    private final long invoices;
+    private final List<FxRateSnapshot.Rate> rates;
+    private final List<Money> unconverted;
+}
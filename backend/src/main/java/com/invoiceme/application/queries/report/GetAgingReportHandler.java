@@ -0,0 +1,79 @@
+package com.invoiceme.application.queries.report;
+
+import com.invoiceme.application.services.FxRateService;
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.fx.FxRateSnapshot;
+import com.invoiceme.domain.money.Money;
+import com.invoiceme.infrastructure.persistence.CompanyRepository;
+import com.invoiceme.infrastructure.persistence.invoice.AgingTotal;
+import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class GetAgingReportHandler {
+    private static final AgingBucket[] BUCKETS = AgingBucket.values();
+
+    private final InvoiceRepository invoiceRepository;
+    private final CompanyRepository companyRepository;
+    private final FxRateService fxRateService;
+
+    public GetAgingReportHandler(InvoiceRepository invoiceRepository,
+                                 CompanyRepository companyRepository,
+                                 FxRateService fxRateService) {
+        this.invoiceRepository = invoiceRepository;
+        this.companyRepository = companyRepository;
+        this.fxRateService = fxRateService;
+    }
+
+    @Transactional(readOnly = true)
+    public AgingReport handle(GetAgingReportQuery query) {
+        Company company = companyRepository.findById(query.getCompanyId())
+                .orElseThrow(() -> new IllegalArgumentException("Company not found with id: " + query.getCompanyId()));
+        Currency base = company.getBaseCurrency();
+        LocalDate asOf = query.getAsOf();
+        List<AgingTotal> totals = invoiceRepository.sumOpenBalancesByAge(company.getId(), asOf,
+                asOf.minusDays(30), asOf.minusDays(60), asOf.minusDays(90));
+
+        // One snapshot for the whole report, so every row is converted at the same rates
+        FxRateSnapshot snapshot = fxRateService.snapshot();
+        Map<Currency, Optional<FxRateSnapshot.Rate>> rates = new HashMap<>();
+        Map<Currency, Money> unconverted = new HashMap<>();
+        Map<AgingBucket, Money> buckets = new EnumMap<>(AgingBucket.class);
+        for (AgingBucket bucket : BUCKETS) {
+            buckets.put(bucket, Money.zero(base));
+        }
+        Money total = Money.zero(base);
+        long invoices = 0;
+        for (AgingTotal row : totals) {
+            Currency currency = Money.currency(row.getCurrency());
+            Money balance = Money.of(row.getBalance(), currency);
+            Optional<FxRateSnapshot.Rate> rate = rates.computeIfAbsent(currency,
+                    from -> snapshot.rate(from, base, asOf));
+            if (rate.isEmpty()) {
+                unconverted.merge(currency, balance, Money::plus);
+                continue;
+            }
+            Money converted = rate.get().convert(balance);
+            buckets.merge(BUCKETS[row.getBucket()], converted, Money::plus);
+            total = total.plus(converted);
+            invoices += row.getInvoices();
+        }
+
+        List<FxRateSnapshot.Rate> applied = new ArrayList<>();
+        rates.values().forEach(rate -> rate.filter(r -> !r.from().equals(base)).ifPresent(applied::add));
+        applied.sort((a, b) -> a.from().getCurrencyCode().compareTo(b.from().getCurrencyCode()));
+        List<Money> missing = new ArrayList<>(unconverted.values());
+        missing.sort((a, b) -> a.currency().getCurrencyCode().compareTo(b.currency().getCurrencyCode()));
+        return new AgingReport(asOf, buckets, total, invoices, applied, missing);
+    }
+}
@@ -0,0 +1,18 @@
+package com.invoiceme.application.queries.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetAgingReportQuery {
+    private UUID companyId;
+    private LocalDate asOf;
+}
@@ -0,0 +1,21 @@
+package com.invoiceme.application.queries.sync;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.domain.sync.Tombstone;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ChangeSet {
+    private final List<Invoice> invoices;
+    private final List<Customer> customers;
+    private final List<Payment> payments;
+    private final List<Tombstone> tombstones;
+    private final SyncToken nextToken;
+    private final boolean hasMore;
+}
@@ -0,0 +1,94 @@
+package com.invoiceme.application.queries.sync;
+
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.payment.Payment;
+import com.invoiceme.domain.sync.Tombstone;
+import com.invoiceme.infrastructure.jfr.ExportRowsEvent;
+import com.invoiceme.infrastructure.persistence.customer.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.payment.PaymentRepository;
+import com.invoiceme.infrastructure.persistence.sync.TombstoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Service
+public class GetChangesSinceHandler {
+    private final InvoiceRepository invoiceRepository;
+    private final CustomerRepository customerRepository;
+    private final PaymentRepository paymentRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final long settleWindowMs;
+
+    public GetChangesSinceHandler(InvoiceRepository invoiceRepository,
+                                  CustomerRepository customerRepository,
+                                  PaymentRepository paymentRepository,
+                                  TombstoneRepository tombstoneRepository,
+                                  @Value("${sync.settle-window-ms:5000}") long settleWindowMs) {
+        this.invoiceRepository = invoiceRepository;
+        this.customerRepository = customerRepository;
+        this.paymentRepository = paymentRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.settleWindowMs = settleWindowMs;
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeSet handle(GetChangesSinceQuery query) {
+        ExportRowsEvent event = ExportRowsEvent.start(query.getCompanyId());
+        try {
+            return changesSince(query, event);
+        } catch (RuntimeException e) {
+            event.fail(e);
+            throw e;
+        } finally {
+            event.finish();
+        }
+    }
+
+    private ChangeSet changesSince(GetChangesSinceQuery query, ExportRowsEvent event) {
+        SyncToken since = SyncToken.parse(query.getSince());
+        UUID companyId = query.getCompanyId();
+        Pageable limit = PageRequest.of(0, query.getLimit());
+
+        // Timestamps are assigned before commit, so only hand out rows older than the settle
+        // window; a slower transaction with an earlier timestamp cannot then be skipped.
+        LocalDateTime until = LocalDateTime.now().minusNanos(settleWindowMs * 1_000_000L);
+
+        List<Invoice> invoices = invoiceRepository.findChangedSince(companyId,
+                since.getInvoices().getTimestamp(), since.getInvoices().getId(), until, limit);
+        List<Customer> customers = customerRepository.findChangedSince(companyId,
+                since.getCustomers().getTimestamp(), since.getCustomers().getId(), until, limit);
+        List<Payment> payments = paymentRepository.findChangedSince(companyId,
+                since.getPayments().getTimestamp(), since.getPayments().getId(), until, limit);
+        List<Tombstone> tombstones = tombstoneRepository.findChangedSince(companyId,
+                since.getTombstones().getTimestamp(), since.getTombstones().getId(), until, limit);
+
+        SyncToken next = new SyncToken(
+                advance(since.getInvoices(), invoices, Invoice::getUpdatedAt, Invoice::getId),
+                advance(since.getCustomers(), customers, Customer::getUpdatedAt, Customer::getId),
+                advance(since.getPayments(), payments, Payment::getCreatedAt, Payment::getId),
+                advance(since.getTombstones(), tombstones, Tombstone::getDeletedAt, Tombstone::getId));
+        boolean hasMore = invoices.size() == query.getLimit() || customers.size() == query.getLimit()
+                || payments.size() == query.getLimit() || tombstones.size() == query.getLimit();
+        event.exported(invoices.size(), customers.size(), payments.size(), tombstones.size(), hasMore);
+
+        return new ChangeSet(invoices, customers, payments, tombstones, next, hasMore);
+    }
+
+    private <T> SyncToken.Cursor advance(SyncToken.Cursor current, List<T> rows,
+                                         Function<T, LocalDateTime> timestamp, Function<T, UUID> id) {
+        if (rows.isEmpty()) {
+            return current;
+        }
+        T last = rows.get(rows.size() - 1);
+        return new SyncToken.Cursor(timestamp.apply(last), id.apply(last));
+    }
+}
@@ -0,0 +1,18 @@
+package com.invoiceme.application.queries.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetChangesSinceQuery {
+    private UUID companyId;
+    private String since;
+    private int limit;
+}
@@ -0,0 +1,70 @@
+package com.invoiceme.application.queries.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque delta-sync watermark. Holds one keyset cursor (timestamp, id) per synced
+ * entity type, so each type can be paged independently.
+ */
+@Getter
+@AllArgsConstructor
+public class SyncToken {
+    private static final String FORMAT_VERSION = "1";
+
+    private final Cursor invoices;
+    private final Cursor customers;
+    private final Cursor payments;
+    private final Cursor tombstones;
+
+    public static SyncToken initial() {
+        return new SyncToken(Cursor.START, Cursor.START, Cursor.START, Cursor.START);
+    }
+
+    public static SyncToken parse(String token) {
+        if (token == null || token.isBlank()) {
+            return initial();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|");
+            if (parts.length != 5 || !FORMAT_VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            return new SyncToken(Cursor.parse(parts[1]), Cursor.parse(parts[2]),
+                    Cursor.parse(parts[3]), Cursor.parse(parts[4]));
+        } catch (DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid sync token");
+        }
+    }
+
+    public String encode() {
+        String raw = String.join("|", FORMAT_VERSION, invoices.format(), customers.format(),
+                payments.format(), tombstones.format());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Cursor {
+        public static final Cursor START = new Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0L, 0L));
+
+        private final LocalDateTime timestamp;
+        private final UUID id;
+
+        private String format() {
+            return timestamp + "," + id;
+        }
+
+        private static Cursor parse(String value) {
+            String[] parts = value.split(",");
+            return new Cursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        }
+    }
+}
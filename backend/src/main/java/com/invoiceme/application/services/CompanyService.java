@@ -1,6 +1,8 @@
 package com.invoiceme.application.services;
 
+import com.invoiceme.application.commands.StaleVersionException;
 import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.money.Money;
 import com.invoiceme.domain.user.CompanyMembership;
 import com.invoiceme.domain.user.User;
 import com.invoiceme.infrastructure.persistence.CompanyMembershipRepository;
@@ -36,11 +38,25 @@ public class CompanyService {
                 .orElseThrow(() -> new IllegalArgumentException("Company not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
+    public Long getCompanyVersion(UUID id) {
+        return companyRepository.findVersionById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Company not found with id: " + id));
+    }
+
+    /**
+     * {@code expectedVersion} makes the update conditional on the company's current version;
+     * null updates unconditionally.
+     */
     @Transactional
-    public Company updateCompany(UUID id, String name, String logoUrl) {
+    public Company updateCompany(UUID id, String name, String logoUrl, String baseCurrency, Long expectedVersion) {
         Company company = getCompanyById(id);
+        StaleVersionException.check("Company", expectedVersion, company.getVersion());
         company.updateName(name);
         company.updateLogoUrl(logoUrl);
+        if (baseCurrency != null) {
+            company.updateBaseCurrency(Money.currency(baseCurrency));
+        }
         return companyRepository.save(company);
     }
 
@@ -0,0 +1,56 @@
+package com.invoiceme.application.services;
+
+import com.invoiceme.domain.fx.FxRate;
+import com.invoiceme.domain.fx.FxRateSnapshot;
+import com.invoiceme.infrastructure.persistence.fx.FxRateRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the current {@link FxRateSnapshot}. Readers take the snapshot without locking; rate
+ * changes are written to {@code fx_rates} and then published as a new snapshot.
+ */
+@Service
+public class FxRateService {
+    private final FxRateRepository fxRateRepository;
+    // Serializes writers only, so a refresh cannot publish rates older than a concurrent save
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile FxRateSnapshot snapshot = FxRateSnapshot.EMPTY;
+
+    public FxRateService(FxRateRepository fxRateRepository) {
+        this.fxRateRepository = fxRateRepository;
+    }
+
+    public FxRateSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Inserts or replaces rates (by pair and date).
+     */
+    public FxRateSnapshot save(List<FxRate> rates) {
+        writeLock.lock();
+        try {
+            fxRateRepository.saveAll(rates);
+            snapshot = snapshot.with(rates);
+            return snapshot;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads every rate, picking up rates saved by other nodes.
+     */
+    public FxRateSnapshot refresh() {
+        writeLock.lock();
+        try {
+            snapshot = FxRateSnapshot.of(fxRateRepository.findAll());
+            return snapshot;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
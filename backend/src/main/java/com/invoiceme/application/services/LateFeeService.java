@@ -0,0 +1,186 @@
+package com.invoiceme.application.services;
+
+import com.invoiceme.application.commands.latefee.ApplyLateFeesCommand;
+import com.invoiceme.application.commands.latefee.ApplyLateFeesHandler;
+import com.invoiceme.application.commands.latefee.ApplyLateFeesResult;
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.latefee.LateFeePolicy;
+import com.invoiceme.domain.latefee.LateFeeRun;
+import com.invoiceme.domain.latefee.LateFeeType;
+import com.invoiceme.infrastructure.persistence.CompanyRepository;
+import com.invoiceme.infrastructure.persistence.latefee.LateFeeBatchRepository.FeeTotal;
+import com.invoiceme.infrastructure.persistence.latefee.LateFeePolicyRepository;
+import com.invoiceme.infrastructure.persistence.latefee.LateFeeRunRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manages late-fee policies and runs them. A run walks a company's overdue invoices in
+ * (dueDate, id) order, one batch per transaction through {@link ApplyLateFeesHandler}, and
+ * records a {@link LateFeeRun} with what it charged. Runs are repeatable: an invoice is charged
+ * only the fee it owes on the run's date and has not been charged yet, at most one per run.
+ */
+@Service
+public class LateFeeService {
+    private static final Logger log = LoggerFactory.getLogger(LateFeeService.class);
+
+    private final LateFeePolicyRepository lateFeePolicyRepository;
+    private final LateFeeRunRepository lateFeeRunRepository;
+    private final CompanyRepository companyRepository;
+    private final ApplyLateFeesHandler applyLateFeesHandler;
+    private final int batchSize;
+    private final Counter checked;
+    private final Counter charged;
+    private final Timer liveRuns;
+    private final Timer dryRuns;
+
+    public LateFeeService(LateFeePolicyRepository lateFeePolicyRepository,
+                          LateFeeRunRepository lateFeeRunRepository,
+                          CompanyRepository companyRepository,
+                          ApplyLateFeesHandler applyLateFeesHandler,
+                          MeterRegistry meterRegistry,
+                          @Value("${late-fees.batch-size:1000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("late-fees.batch-size must be positive");
+        }
+        this.lateFeePolicyRepository = lateFeePolicyRepository;
+        this.lateFeeRunRepository = lateFeeRunRepository;
+        this.companyRepository = companyRepository;
+        this.applyLateFeesHandler = applyLateFeesHandler;
+        this.batchSize = batchSize;
+        this.checked = Counter.builder("invoiceme.latefees.checked")
+                .description("Overdue invoices checked by live late-fee runs")
+                .register(meterRegistry);
+        this.charged = Counter.builder("invoiceme.latefees.charged")
+                .description("Late fees charged")
+                .register(meterRegistry);
+        this.liveRuns = Timer.builder("invoiceme.latefees.run")
+                .description("Time to run a company's late-fee policy over its overdue invoices")
+                .tag("dry_run", "false")
+                .register(meterRegistry);
+        this.dryRuns = Timer.builder("invoiceme.latefees.run")
+                .description("Time to run a company's late-fee policy over its overdue invoices")
+                .tag("dry_run", "true")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LateFeePolicy> getPolicy(UUID companyId) {
+        return lateFeePolicyRepository.findByCompanyId(companyId);
+    }
+
+    @Transactional
+    public LateFeePolicy savePolicy(UUID companyId, String feeType, BigDecimal amount, int graceDays,
+                                    Integer repeatDays, BigDecimal maxTotal, boolean active) {
+        LateFeeType type = parseFeeType(feeType);
+        Optional<LateFeePolicy> existing = lateFeePolicyRepository.findByCompanyId(companyId);
+        if (existing.isPresent()) {
+            existing.get().update(type, amount, graceDays, repeatDays, maxTotal, active);
+            return lateFeePolicyRepository.save(existing.get());
+        }
+        Company company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new IllegalArgumentException("Company not found with id: " + companyId));
+        LateFeePolicy policy = LateFeePolicy.create(company, type, amount, graceDays, repeatDays, maxTotal);
+        policy.setActive(active);
+        return lateFeePolicyRepository.save(policy);
+    }
+
+    @Transactional
+    public void deletePolicy(UUID companyId) {
+        lateFeePolicyRepository.delete(lateFeePolicyRepository.findByCompanyId(companyId)
+                .orElseThrow(() -> new IllegalArgumentException("No late fee policy configured")));
+    }
+
+    @Transactional(readOnly = true)
+    public List<LateFeeRun> listRuns(UUID companyId, int limit) {
+        List<LateFeeRun> runs = lateFeeRunRepository.findLatest(companyId, PageRequest.of(0, limit));
+        runs.forEach(run -> run.getTotals().size());
+        return runs;
+    }
+
+    public List<UUID> findCompaniesWithActivePolicies() {
+        return lateFeePolicyRepository.findActiveCompanyIds();
+    }
+
+    /**
+     * Applies the company's policy to its invoices overdue on {@code asOf}. A dry run charges
+     * nothing and may use an inactive policy, to preview it. Each batch commits on its own, so a
+     * failed run keeps the fees of the batches before the failure; running again resumes it.
+     */
+    public LateFeeRun run(UUID companyId, LocalDate asOf, boolean dryRun, String triggeredBy) {
+        LateFeePolicy policy = lateFeePolicyRepository.findByCompanyId(companyId)
+                .orElseThrow(() -> new IllegalArgumentException("No late fee policy configured"));
+        if (!dryRun && !policy.isActive()) {
+            throw new IllegalStateException("Late fee policy is not active");
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        int invoicesChecked = 0;
+        Map<Currency, FeeTotal> fees = new TreeMap<>(Comparator.comparing(Currency::getCurrencyCode));
+        ApplyLateFeesCommand command = ApplyLateFeesCommand.first(companyId, policy, asOf, dryRun, batchSize);
+        while (true) {
+            ApplyLateFeesResult result = applyLateFeesHandler.handle(command);
+            if (!result.leased()) {
+                if (invoicesChecked == 0) {
+                    throw new IllegalStateException("A late fee run is already in progress for this company");
+                }
+                log.warn("Late fee run for company {} stopped after {} invoices: another run took over",
+                        companyId, invoicesChecked);
+                break;
+            }
+            invoicesChecked += result.checked();
+            result.fees().forEach(fee -> fees.merge(fee.currency(), fee, (a, b) ->
+                    new FeeTotal(a.currency(), a.fees() + b.fees(), a.amount().add(b.amount()))));
+            if (!dryRun) {
+                checked.increment(result.checked());
+                charged.increment(result.fees().stream().mapToInt(FeeTotal::fees).sum());
+            }
+            if (result.checked() < batchSize) {
+                break;
+            }
+            command = command.next(result);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        (dryRun ? dryRuns : liveRuns).record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        List<LateFeeRun.Total> totals = new ArrayList<>(fees.size());
+        fees.values().forEach(fee -> totals.add(new LateFeeRun.Total(fee.currency(), fee.fees(), fee.amount())));
+        int feesCharged = totals.stream().mapToInt(LateFeeRun.Total::getFees).sum();
+        LateFeeRun run = lateFeeRunRepository.save(LateFeeRun.record(companyId, asOf, dryRun, triggeredBy,
+                invoicesChecked, feesCharged, totals, startedAt, TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+        log.info("Late fee {}run for company {} as of {}: {} invoices checked, {} fees in {} ms ({} invoices/s)",
+                dryRun ? "dry " : "", companyId, asOf, invoicesChecked, feesCharged, run.getDurationMs(),
+                run.getThroughput());
+        return run;
+    }
+
+    private static LateFeeType parseFeeType(String feeType) {
+        try {
+            return LateFeeType.valueOf(feeType == null ? "" : feeType.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown late fee type: " + feeType);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.invoiceme.application.services;
+
+import com.invoiceme.application.events.MailQueuedEvent;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.mail.MailKind;
+import com.invoiceme.domain.mail.MailMessage;
+import com.invoiceme.domain.mail.MailRetryPolicy;
+import com.invoiceme.infrastructure.persistence.AdvisoryLocks;
+import com.invoiceme.infrastructure.persistence.mail.MailMessageRepository;
+import com.invoiceme.infrastructure.persistence.mail.PaymentReminderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The outbound mail queue. Mail is queued in the transaction of the change it is about and sent
+ * later by the mail workers, so no request waits for SMTP and no mail is lost to a rollback.
+ * Workers claim messages with a lease: a message is sent at least once, and twice only when a
+ * worker dies between sending it and recording that.
+ */
+@Service
+public class MailQueueService {
+    // Every node runs the reminder job; the lease keeps them from queuing the same day at once
+    private static final UUID REMINDER_LEASE_KEY = new UUID(0, AdvisoryLocks.PAYMENT_REMINDERS);
+
+    private final MailMessageRepository mailMessageRepository;
+    private final PaymentReminderRepository paymentReminderRepository;
+    private final AdvisoryLocks advisoryLocks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final List<Integer> reminderDays;
+    private final int reminderCatchUpDays;
+    private final Duration lease;
+    private final MailRetryPolicy retryPolicy;
+
+    public MailQueueService(MailMessageRepository mailMessageRepository,
+                            PaymentReminderRepository paymentReminderRepository,
+                            AdvisoryLocks advisoryLocks,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${mail.enabled:false}") boolean enabled,
+                            @Value("${mail.reminders.days:-3,1,7,14}") List<Integer> reminderDays,
+                            @Value("${mail.reminders.catch-up-days:3}") int reminderCatchUpDays,
+                            @Value("${mail.lease-ms:120000}") long leaseMs,
+                            @Value("${mail.retry.initial-delay-ms:60000}") long initialDelayMs,
+                            @Value("${mail.retry.max-delay-ms:3600000}") long maxDelayMs,
+                            @Value("${mail.retry.max-attempts:8}") int maxAttempts) {
+        if (reminderCatchUpDays < 0) {
+            throw new IllegalArgumentException("mail.reminders.catch-up-days cannot be negative");
+        }
+        this.mailMessageRepository = mailMessageRepository;
+        this.paymentReminderRepository = paymentReminderRepository;
+        this.advisoryLocks = advisoryLocks;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.reminderDays = List.copyOf(reminderDays);
+        this.reminderCatchUpDays = reminderCatchUpDays;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.retryPolicy = new MailRetryPolicy(Duration.ofMillis(initialDelayMs), Duration.ofMillis(maxDelayMs),
+                maxAttempts);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the delivery of an invoice that was just marked as sent; a no-op when mail is disabled.
+     */
+    @Transactional
+    public void enqueueDelivery(Invoice invoice) {
+        if (!enabled || invoice.getCompany() == null || mailMessageRepository.existsByInvoiceIdAndKindAndScheduleDay(
+                invoice.getId(), MailKind.INVOICE_DELIVERY, 0)) {
+            return;
+        }
+        mailMessageRepository.save(MailMessage.delivery(invoice, LocalDateTime.now()));
+        eventPublisher.publishEvent(new MailQueuedEvent(invoice.getId()));
+    }
+
+    /**
+     * Queues the reminders of the schedule that are due on {@code today}, including those of the
+     * last {@code catch-up-days} days in case a run was missed. The workers pick them up at their
+     * next poll. Returns how many were queued, or 0 while another node is running the job.
+     */
+    @Transactional
+    public int enqueueReminders(LocalDate today) {
+        if (!enabled || !advisoryLocks.tryLock(AdvisoryLocks.PAYMENT_REMINDERS, REMINDER_LEASE_KEY)) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int queued = 0;
+        for (int day : reminderDays) {
+            LocalDate toDueDate = today.minusDays(day);
+            queued += paymentReminderRepository.enqueue(day, toDueDate.minusDays(reminderCatchUpDays), toDueDate, now);
+        }
+        return queued;
+    }
+
+    /**
+     * Leases up to {@code limit} due messages to the caller, with their invoices and customers.
+     */
+    @Transactional
+    public Claim claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> ids = mailMessageRepository.findDueIds(now, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return Claim.NONE;
+        }
+        UUID token = UUID.randomUUID();
+        if (mailMessageRepository.claim(ids, token, now, now.plus(lease)) == 0) {
+            return Claim.NONE;
+        }
+        return new Claim(token, mailMessageRepository.findClaimed(token));
+    }
+
+    @Transactional
+    public void recordSent(Claim claim, List<UUID> ids) {
+        if (!ids.isEmpty()) {
+            mailMessageRepository.markSent(ids, claim.token(), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Schedules the next attempt of each failed message, or fails it for good after the last one.
+     */
+    @Transactional
+    public void recordFailures(Claim claim, Map<UUID, String> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (MailMessage message : mailMessageRepository.findClaimed(List.copyOf(errors.keySet()), claim.token())) {
+            message.recordFailure(errors.get(message.getId()), now, retryPolicy.delayAfter(message.getAttempts()));
+        }
+    }
+
+    @Transactional
+    public void cancel(Claim claim, List<UUID> ids) {
+        if (!ids.isEmpty()) {
+            mailMessageRepository.findClaimed(ids, claim.token()).forEach(MailMessage::cancel);
+        }
+    }
+
+    /**
+     * How long the oldest message due has been waiting for a worker.
+     */
+    @Transactional(readOnly = true)
+    public Duration queueLag() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oldest = mailMessageRepository.findOldestDue(now);
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, now);
+    }
+
+    @Transactional(readOnly = true)
+    public long queueDepth() {
+        return mailMessageRepository.countPending();
+    }
+
+    /**
+     * Messages leased to one worker under {@code token}.
+     */
+    public record Claim(UUID token, List<MailMessage> messages) {
+        public static final Claim NONE = new Claim(null, List.of());
+
+        public boolean isEmpty() {
+            return messages.isEmpty();
+        }
+    }
+}
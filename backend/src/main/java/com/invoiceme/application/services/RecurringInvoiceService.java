@@ -0,0 +1,107 @@
+package com.invoiceme.application.services;
+
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.money.Money;
+import com.invoiceme.domain.recurring.RecurrenceFrequency;
+import com.invoiceme.domain.recurring.RecurringInvoice;
+import com.invoiceme.domain.recurring.RecurringInvoiceLine;
+import com.invoiceme.infrastructure.persistence.CompanyRepository;
+import com.invoiceme.infrastructure.persistence.customer.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.recurring.RecurringInvoiceRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Manages recurring invoice templates. Their invoices are generated by
+ * {@link com.invoiceme.application.commands.recurring.GenerateRecurringInvoicesHandler}.
+ */
+@Service
+public class RecurringInvoiceService {
+    private final RecurringInvoiceRepository recurringInvoiceRepository;
+    private final CompanyRepository companyRepository;
+    private final CustomerRepository customerRepository;
+
+    public RecurringInvoiceService(RecurringInvoiceRepository recurringInvoiceRepository,
+                                   CompanyRepository companyRepository,
+                                   CustomerRepository customerRepository) {
+        this.recurringInvoiceRepository = recurringInvoiceRepository;
+        this.companyRepository = companyRepository;
+        this.customerRepository = customerRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurringInvoice> listTemplates(UUID companyId) {
+        List<RecurringInvoice> templates = recurringInvoiceRepository.findByCompanyId(companyId);
+        templates.forEach(template -> template.getLines().size());
+        return templates;
+    }
+
+    @Transactional(readOnly = true)
+    public RecurringInvoice getTemplate(UUID companyId, UUID id) {
+        RecurringInvoice template = findTemplate(companyId, id);
+        template.getLines().size();
+        return template;
+    }
+
+    @Transactional
+    public RecurringInvoice createTemplate(UUID companyId, UUID customerId, String currency, String frequency,
+                                           LocalDate startDate, LocalDate endDate, int paymentTermsDays,
+                                           List<RecurringInvoiceLine> lines) {
+        Company company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new IllegalArgumentException("Company not found with id: " + companyId));
+        return recurringInvoiceRepository.save(RecurringInvoice.create(company, findCustomer(companyId, customerId),
+                parseCurrency(currency), parseFrequency(frequency), startDate, endDate, paymentTermsDays, lines));
+    }
+
+    @Transactional
+    public RecurringInvoice updateTemplate(UUID companyId, UUID id, UUID customerId, String currency, String frequency,
+                                           LocalDate startDate, LocalDate endDate, int paymentTermsDays,
+                                           List<RecurringInvoiceLine> lines) {
+        RecurringInvoice template = findTemplate(companyId, id);
+        template.update(findCustomer(companyId, customerId), parseCurrency(currency), parseFrequency(frequency),
+                startDate, endDate, paymentTermsDays, lines);
+        return recurringInvoiceRepository.save(template);
+    }
+
+    @Transactional
+    public void deleteTemplate(UUID companyId, UUID id) {
+        recurringInvoiceRepository.delete(findTemplate(companyId, id));
+    }
+
+    /**
+     * Records why generation failed, so the scheduler leaves the template alone for a while.
+     */
+    @Transactional
+    public void recordFailure(UUID id, String error) {
+        recurringInvoiceRepository.findById(id).ifPresent(template -> template.recordFailure(error));
+    }
+
+    private RecurringInvoice findTemplate(UUID companyId, UUID id) {
+        return recurringInvoiceRepository.findByIdAndCompanyId(id, companyId)
+                .orElseThrow(() -> new IllegalArgumentException("Recurring invoice not found with id: " + id));
+    }
+
+    private Customer findCustomer(UUID companyId, UUID customerId) {
+        return customerRepository.findByIdAndCompanyId(customerId, companyId)
+                .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + customerId));
+    }
+
+    private static Currency parseCurrency(String currency) {
+        return currency == null ? null : Money.currency(currency);
+    }
+
+    private static RecurrenceFrequency parseFrequency(String frequency) {
+        try {
+            return RecurrenceFrequency.valueOf(frequency == null ? "" : frequency.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown frequency: " + frequency);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.invoiceme.application.services;
+
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.tax.TaxRule;
+import com.invoiceme.domain.tax.TaxRuleSet;
+import com.invoiceme.infrastructure.concurrency.RequestCoalescer;
+import com.invoiceme.infrastructure.persistence.CompanyRepository;
+import com.invoiceme.infrastructure.persistence.customer.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.tax.TaxRuleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Manages tax rules and caches each company's rules compiled into a {@link TaxRuleSet}.
+ * Changes made on this node invalidate the cache when their transaction ends; changes made on
+ * other nodes are picked up when the entry expires.
+ */
+@Service
+public class TaxRuleService {
+    private final TaxRuleRepository taxRuleRepository;
+    private final CompanyRepository companyRepository;
+    private final CustomerRepository customerRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final long ttlNanos;
+    private final ConcurrentMap<UUID, Compiled> compiled = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, so a compile that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter compilations;
+
+    public TaxRuleService(TaxRuleRepository taxRuleRepository,
+                          CompanyRepository companyRepository,
+                          CustomerRepository customerRepository,
+                          RequestCoalescer requestCoalescer,
+                          MeterRegistry meterRegistry,
+                          @Value("${tax.rules-cache-ttl-ms:60000}") long ttlMs) {
+        this.taxRuleRepository = taxRuleRepository;
+        this.companyRepository = companyRepository;
+        this.customerRepository = customerRepository;
+        this.requestCoalescer = requestCoalescer;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.compilations = Counter.builder("invoiceme.tax.rules.compiled")
+                .description("Tax rule sets compiled on a cache miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The compiled rules of a company; only a cache miss reads the database.
+     */
+    public TaxRuleSet rulesFor(UUID companyId) {
+        Compiled entry = compiled.get(companyId);
+        if (entry != null && System.nanoTime() - entry.compiledAt() < ttlNanos) {
+            return entry.rules();
+        }
+        return requestCoalescer.execute("tax-rules", companyId, () -> compile(companyId));
+    }
+
+    private TaxRuleSet compile(UUID companyId) {
+        long generation = invalidations.get();
+        long compiledAt = System.nanoTime();
+        TaxRuleSet rules = TaxRuleSet.compile(taxRuleRepository.findWithExemptionsByCompanyId(companyId));
+        compilations.increment();
+        if (invalidations.get() == generation) {
+            compiled.put(companyId, new Compiled(rules, compiledAt));
+        }
+        return rules;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaxRule> listRules(UUID companyId) {
+        return taxRuleRepository.findWithExemptionsByCompanyId(companyId).stream()
+                .sorted(Comparator.comparingInt(TaxRule::getPriority).thenComparing(TaxRule::getName))
+                .toList();
+    }
+
+    @Transactional
+    public TaxRule createRule(UUID companyId, String name, BigDecimal rate, boolean compound, int priority) {
+        Company company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new IllegalArgumentException("Company not found with id: " + companyId));
+        TaxRule rule = taxRuleRepository.save(TaxRule.create(company, name, rate, compound, priority));
+        invalidate(companyId);
+        return rule;
+    }
+
+    @Transactional
+    public TaxRule updateRule(UUID companyId, UUID id, String name, BigDecimal rate, boolean compound, int priority,
+                              boolean active) {
+        TaxRule rule = getRule(companyId, id);
+        rule.update(name, rate, compound, priority, active);
+        invalidate(companyId);
+        return taxRuleRepository.save(rule);
+    }
+
+    @Transactional
+    public void deleteRule(UUID companyId, UUID id) {
+        taxRuleRepository.delete(getRule(companyId, id));
+        invalidate(companyId);
+    }
+
+    @Transactional
+    public TaxRule setExemption(UUID companyId, UUID id, UUID customerId, boolean exempt) {
+        TaxRule rule = getRule(companyId, id);
+        if (exempt) {
+            customerRepository.findByIdAndCompanyId(customerId, companyId)
+                    .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + customerId));
+            rule.exempt(customerId);
+        } else {
+            rule.removeExemption(customerId);
+        }
+        invalidate(companyId);
+        return taxRuleRepository.save(rule);
+    }
+
+    private TaxRule getRule(UUID companyId, UUID id) {
+        return taxRuleRepository.findByIdAndCompanyId(id, companyId)
+                .orElseThrow(() -> new IllegalArgumentException("Tax rule not found with id: " + id));
+    }
+
+    // Again once the transaction ends, in case a compile read the rules before it committed
+    private void invalidate(UUID companyId) {
+        evict(companyId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(companyId);
+                }
+            });
+        }
+    }
+
+    private void evict(UUID companyId) {
+        invalidations.incrementAndGet();
+        compiled.remove(companyId);
+    }
+
+    private record Compiled(TaxRuleSet rules, long compiledAt) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.invoiceme.domain.company;
 
+import com.invoiceme.domain.money.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Currency;
 import java.util.UUID;
 
 @Entity
@@ -29,12 +31,21 @@ public class Company {
     @Column(name = "company_code", unique = true, nullable = false)
     private UUID companyCode;
 
+    // Reports across invoice currencies are converted into this one
+    @Column(name = "base_currency", nullable = false, length = 3)
+    @Builder.Default
+    private Currency baseCurrency = Money.DEFAULT_CURRENCY;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -42,6 +53,9 @@ public class Company {
         if (companyCode == null) {
             companyCode = UUID.randomUUID();
         }
+        if (baseCurrency == null) {
+            baseCurrency = Money.DEFAULT_CURRENCY;
+        }
     }
 
     @PreUpdate
@@ -60,6 +74,12 @@ public class Company {
         this.logoUrl = logoUrl;
     }
 
+    public void updateBaseCurrency(Currency baseCurrency) {
+        if (baseCurrency != null) {
+            this.baseCurrency = baseCurrency;
+        }
+    }
+
     public void regenerateCompanyCode() {
         this.companyCode = UUID.randomUUID();
     }
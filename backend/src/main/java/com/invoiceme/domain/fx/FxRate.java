@@ -0,0 +1,61 @@
+package com.invoiceme.domain.fx;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+
+/**
+ * One unit of {@code baseCurrency} is worth {@code rate} units of {@code quoteCurrency} from
+ * {@code rateDate} until the pair's next rate.
+ */
+@Entity
+@Table(name = "fx_rates")
+@IdClass(FxRate.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRate {
+    @Id
+    @Column(name = "base_currency", length = 3)
+    private Currency baseCurrency;
+
+    @Id
+    @Column(name = "quote_currency", length = 3)
+    private Currency quoteCurrency;
+
+    @Id
+    @Column(name = "rate_date")
+    private LocalDate rateDate;
+
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal rate;
+
+    public static FxRate of(Currency baseCurrency, Currency quoteCurrency, LocalDate rateDate, BigDecimal rate) {
+        if (baseCurrency == null || quoteCurrency == null || rateDate == null || rate == null) {
+            throw new IllegalArgumentException("An FX rate needs two currencies, a date and a rate");
+        }
+        if (baseCurrency.equals(quoteCurrency)) {
+            throw new IllegalArgumentException("An FX rate needs two different currencies");
+        }
+        if (rate.signum() <= 0) {
+            throw new IllegalArgumentException("FX rate must be greater than zero");
+        }
+        return new FxRate(baseCurrency, quoteCurrency, rateDate, rate);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Currency baseCurrency;
+        private Currency quoteCurrency;
+        private LocalDate rateDate;
+    }
+}
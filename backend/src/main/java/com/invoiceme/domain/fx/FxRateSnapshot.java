@@ -0,0 +1,123 @@
+package com.invoiceme.domain.fx;
+
+import com.invoiceme.domain.money.Money;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * An immutable copy of all FX rates, indexed by currency pair and date. Changes produce a new
+ * snapshot, so conversions never lock or query the database. A pair loaded in one direction
+ * also converts the other way, and pairs without a rate of their own go through
+ * {@link Money#DEFAULT_CURRENCY}.
+ */
+public final class FxRateSnapshot {
+    public static final FxRateSnapshot EMPTY = new FxRateSnapshot(Map.of());
+
+    private static final MathContext PRECISION = MathContext.DECIMAL64;
+
+    private final Map<Pair, NavigableMap<LocalDate, BigDecimal>> rates;
+
+    private FxRateSnapshot(Map<Pair, NavigableMap<LocalDate, BigDecimal>> rates) {
+        this.rates = rates;
+    }
+
+    public static FxRateSnapshot of(Collection<FxRate> rates) {
+        return EMPTY.with(rates);
+    }
+
+    /**
+     * A copy with {@code added} on top; a rate for an existing pair and date replaces it.
+     */
+    public FxRateSnapshot with(Collection<FxRate> added) {
+        Map<Pair, TreeMap<LocalDate, BigDecimal>> copy = new HashMap<>();
+        rates.forEach((pair, byDate) -> copy.put(pair, new TreeMap<>(byDate)));
+        for (FxRate rate : added) {
+            copy.computeIfAbsent(new Pair(rate.getBaseCurrency(), rate.getQuoteCurrency()), pair -> new TreeMap<>())
+                    .put(rate.getRateDate(), rate.getRate());
+        }
+        Map<Pair, NavigableMap<LocalDate, BigDecimal>> frozen = new HashMap<>();
+        copy.forEach((pair, byDate) -> frozen.put(pair, Collections.unmodifiableNavigableMap(byDate)));
+        return new FxRateSnapshot(Map.copyOf(frozen));
+    }
+
+    /**
+     * The rate converting {@code from} into {@code to} in effect on {@code date}.
+     */
+    public Optional<Rate> rate(Currency from, Currency to, LocalDate date) {
+        if (from.equals(to)) {
+            return Optional.of(new Rate(from, to, date, BigDecimal.ONE));
+        }
+        Rate rate = find(from, to, date);
+        if (rate == null && !from.equals(Money.DEFAULT_CURRENCY) && !to.equals(Money.DEFAULT_CURRENCY)) {
+            Rate first = find(from, Money.DEFAULT_CURRENCY, date);
+            Rate second = first == null ? null : find(Money.DEFAULT_CURRENCY, to, date);
+            if (second != null) {
+                LocalDate older = first.date().isBefore(second.date()) ? first.date() : second.date();
+                rate = new Rate(from, to, older, first.value().multiply(second.value(), PRECISION));
+            }
+        }
+        return Optional.ofNullable(rate);
+    }
+
+    private Rate find(Currency from, Currency to, LocalDate date) {
+        NavigableMap<LocalDate, BigDecimal> direct = rates.get(new Pair(from, to));
+        Map.Entry<LocalDate, BigDecimal> entry = direct == null ? null : direct.floorEntry(date);
+        if (entry != null) {
+            return new Rate(from, to, entry.getKey(), entry.getValue());
+        }
+        NavigableMap<LocalDate, BigDecimal> inverse = rates.get(new Pair(to, from));
+        entry = inverse == null ? null : inverse.floorEntry(date);
+        if (entry != null) {
+            return new Rate(from, to, entry.getKey(), BigDecimal.ONE.divide(entry.getValue(), PRECISION));
+        }
+        return null;
+    }
+
+    public int size() {
+        return rates.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * The latest rate of every loaded pair.
+     */
+    public List<PairSummary> pairs() {
+        List<PairSummary> pairs = new ArrayList<>(rates.size());
+        rates.forEach((pair, byDate) -> pairs.add(new PairSummary(pair.base().getCurrencyCode(),
+                pair.quote().getCurrencyCode(), byDate.size(), byDate.firstKey(), byDate.lastKey(),
+                byDate.lastEntry().getValue())));
+        pairs.sort(Comparator.comparing(PairSummary::base).thenComparing(PairSummary::quote));
+        return pairs;
+    }
+
+    private record Pair(Currency base, Currency quote) {
+    }
+
+    public record Rate(Currency from, Currency to, LocalDate date, BigDecimal value) {
+        public Money convert(Money amount) {
+            if (!amount.currency().equals(from)) {
+                throw new IllegalArgumentException("Cannot convert " + amount.currency() + " at a " + from + " rate");
+            }
+            if (from.equals(to)) {
+                return amount;
+            }
+            return Money.of(amount.toBigDecimal().multiply(value), to);
+        }
+    }
+
+    public record PairSummary(String base, String quote, int rates, LocalDate firstDate, LocalDate lastDate,
+                              BigDecimal lastRate) {
+    }
+}
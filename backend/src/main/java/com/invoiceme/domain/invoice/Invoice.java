@@ -2,21 +2,25 @@ package com.invoiceme.domain.invoice;
 
 import com.invoiceme.domain.company.Company;
 import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.money.Money;
+import com.invoiceme.domain.money.MoneyConverter;
+import com.invoiceme.domain.tax.TaxSchedule;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Currency;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices", uniqueConstraints = @UniqueConstraint(
+        name = "idx_invoices_recurring_period", columnNames = {"recurring_invoice_id", "recurring_period"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -43,16 +47,40 @@ public class Invoice {
     @Column(name = "due_date", nullable = false)
     private LocalDate dueDate;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
 
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "tax_amount", nullable = false, precision = 19, scale = 2)
+    private Money taxAmount;
+
+    @Convert(converter = MoneyConverter.class)
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal balance;
+    private Money balance;
+
+    @Column(nullable = false, length = 3)
+    private Currency currency = Money.DEFAULT_CURRENCY;
+
+    // Late fees charged so far, maintained in bulk by the late-fee engine; included in the totals
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "late_fee_total", nullable = false, precision = 19, scale = 2)
+    private Money lateFeeTotal;
+
+    @Column(name = "late_fees_applied", nullable = false)
+    private int lateFeesApplied;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id")
     private Company company;
 
+    // Set on invoices generated from a recurring template, one per template period
+    @Column(name = "recurring_invoice_id")
+    private UUID recurringInvoiceId;
+
+    @Column(name = "recurring_period")
+    private LocalDate recurringPeriod;
+
     @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<InvoiceLineItem> lineItems = new ArrayList<>();
 
@@ -62,6 +90,10 @@ public class Invoice {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -70,10 +102,16 @@ public class Invoice {
             status = InvoiceStatus.DRAFT;
         }
         if (balance == null) {
-            balance = BigDecimal.ZERO;
+            balance = Money.zero(currency);
         }
         if (totalAmount == null) {
-            totalAmount = BigDecimal.ZERO;
+            totalAmount = Money.zero(currency);
+        }
+        if (taxAmount == null) {
+            taxAmount = Money.zero(currency);
+        }
+        if (lateFeeTotal == null) {
+            lateFeeTotal = Money.zero(currency);
         }
         validate();
         // Don't recalculate here - it's done in addLineItem() and will be preserved
@@ -83,7 +121,8 @@ public class Invoice {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
         validate();
-        calculateTotalAmount();
+        // Totals are kept current by the line item methods; recalculating here would also
+        // reset the balance of invoices that have payments
     }
 
     private void validate() {
@@ -104,31 +143,56 @@ public class Invoice {
         }
     }
 
+    public Money getTotalAmount() {
+        return inCurrency(totalAmount);
+    }
+
+    public Money getBalance() {
+        return inCurrency(balance);
+    }
+
+    public Money getTaxAmount() {
+        return inCurrency(taxAmount);
+    }
+
+    public Money getLateFeeTotal() {
+        return inCurrency(lateFeeTotal);
+    }
+
+    // The line amounts before tax
+    public Money getSubtotal() {
+        return getTotalAmount().minus(getTaxAmount());
+    }
+
+    // The amount columns carry no currency of their own
+    Money inCurrency(Money amount) {
+        return amount == null ? null : amount.withCurrency(currency);
+    }
+
+    // Only drafts change their lines, and drafts cannot have payments, so the balance is the total
     private void calculateTotalAmount() {
-        if (lineItems != null && !lineItems.isEmpty()) {
-            this.totalAmount = lineItems.stream()
-                    .map(InvoiceLineItem::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            // Balance should equal total amount for new invoices (before any payments)
-            // Only preserve existing balance if it's been explicitly set by payment processing
-            this.balance = this.totalAmount;
-        } else {
-            this.totalAmount = BigDecimal.ZERO;
-            this.balance = BigDecimal.ZERO;
-        }
+        this.taxAmount = Money.sum(currency, lineItems, InvoiceLineItem::getTaxAmount);
+        this.totalAmount = Money.sum(currency, lineItems, InvoiceLineItem::getAmount).plus(this.taxAmount);
+        this.balance = this.totalAmount;
     }
 
-    public void calculateBalance(BigDecimal totalPayments) {
-        this.balance = this.totalAmount.subtract(totalPayments);
-        if (this.balance.compareTo(BigDecimal.ZERO) <= 0) {
-            this.balance = BigDecimal.ZERO;
-            if (this.status == InvoiceStatus.SENT) {
+    public void calculateBalance(Money totalPayments) {
+        this.balance = getTotalAmount().minus(totalPayments);
+        if (this.balance.signum() <= 0) {
+            this.balance = Money.zero(currency);
+            if (this.status == InvoiceStatus.SENT || this.status == InvoiceStatus.OVERDUE) {
                 this.status = InvoiceStatus.PAID;
             }
         }
     }
 
     public static Invoice create(Customer customer, String invoiceNumber, LocalDate issueDate, LocalDate dueDate, Company company) {
+        return create(customer, invoiceNumber, issueDate, dueDate, company,
+                company != null && company.getBaseCurrency() != null ? company.getBaseCurrency() : Money.DEFAULT_CURRENCY);
+    }
+
+    public static Invoice create(Customer customer, String invoiceNumber, LocalDate issueDate, LocalDate dueDate, Company company,
+                                 Currency currency) {
         Invoice invoice = new Invoice();
         invoice.setCustomer(customer);
         invoice.setInvoiceNumber(invoiceNumber);
@@ -136,39 +200,80 @@ public class Invoice {
         invoice.setDueDate(dueDate);
         invoice.setCompany(company);
         invoice.setStatus(InvoiceStatus.DRAFT);
-        invoice.setTotalAmount(BigDecimal.ZERO);
-        invoice.setBalance(BigDecimal.ZERO);
+        invoice.setCurrency(currency);
+        invoice.setTotalAmount(Money.zero(currency));
+        invoice.setTaxAmount(Money.zero(currency));
+        invoice.setBalance(Money.zero(currency));
+        invoice.setLateFeeTotal(Money.zero(currency));
         return invoice;
     }
 
     public void addLineItem(InvoiceLineItem lineItem) {
+        addLineItem(lineItem, TaxSchedule.NONE);
+    }
+
+    /**
+     * Adds a line taxed with {@code taxes}, the schedule of this invoice's customer.
+     */
+    public void addLineItem(InvoiceLineItem lineItem, TaxSchedule taxes) {
         if (status != InvoiceStatus.DRAFT) {
             throw new IllegalStateException("Cannot add line items to invoice with status: " + status);
         }
         lineItem.setInvoice(this);
+        lineItem.applyTax(taxes);
         this.lineItems.add(lineItem);
-        calculateTotalAmount();
+        this.taxAmount = getTaxAmount().plus(lineItem.getTaxAmount());
+        this.totalAmount = getTotalAmount().plus(lineItem.getAmount()).plus(lineItem.getTaxAmount());
+        this.balance = this.totalAmount;
+        touch();
     }
 
     public void removeLineItem(InvoiceLineItem lineItem) {
         if (status != InvoiceStatus.DRAFT) {
             throw new IllegalStateException("Cannot remove line items from invoice with status: " + status);
         }
-        this.lineItems.remove(lineItem);
+        if (this.lineItems.remove(lineItem)) {
+            this.taxAmount = getTaxAmount().minus(lineItem.getTaxAmount());
+            this.totalAmount = getTotalAmount().minus(lineItem.getAmount()).minus(lineItem.getTaxAmount());
+            this.balance = this.totalAmount;
+        }
         lineItem.setInvoice(null);
-        calculateTotalAmount();
+        touch();
     }
 
     public void updateLineItems(List<InvoiceLineItem> newLineItems) {
+        updateLineItems(newLineItems, TaxSchedule.NONE);
+    }
+
+    public void updateLineItems(List<InvoiceLineItem> newLineItems, TaxSchedule taxes) {
         if (status != InvoiceStatus.DRAFT) {
             throw new IllegalStateException("Cannot update line items for invoice with status: " + status);
         }
         this.lineItems.clear();
         newLineItems.forEach(item -> {
             item.setInvoice(this);
+            item.applyTax(taxes);
             this.lineItems.add(item);
         });
         calculateTotalAmount();
+        touch();
+    }
+
+    /**
+     * Re-taxes the existing lines, e.g. after the customer changed.
+     */
+    public void applyTaxes(TaxSchedule taxes) {
+        if (status != InvoiceStatus.DRAFT) {
+            throw new IllegalStateException("Cannot change taxes of invoice with status: " + status);
+        }
+        lineItems.forEach(item -> item.applyTax(taxes));
+        calculateTotalAmount();
+        touch();
+    }
+
+    // Line items are an inverse collection, so changing them alone would not bump the version
+    private void touch() {
+        this.updatedAt = LocalDateTime.now();
     }
 
     public void markAsSent() {
@@ -182,12 +287,22 @@ public class Invoice {
     }
 
     public void update(Customer customer, LocalDate issueDate, LocalDate dueDate) {
+        update(customer, issueDate, dueDate, null);
+    }
+
+    /**
+     * A draft's lines are priced in its currency, so changing it relabels them as well.
+     */
+    public void update(Customer customer, LocalDate issueDate, LocalDate dueDate, Currency currency) {
         if (status != InvoiceStatus.DRAFT) {
             throw new IllegalStateException("Cannot update invoice with status: " + status);
         }
         this.customer = customer;
         this.issueDate = issueDate;
         this.dueDate = dueDate;
+        if (currency != null) {
+            this.currency = currency;
+        }
     }
 }
 
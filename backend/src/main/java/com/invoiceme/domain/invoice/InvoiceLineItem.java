@@ -1,12 +1,14 @@
 package com.invoiceme.domain.invoice;
 
+import com.invoiceme.domain.money.Money;
+import com.invoiceme.domain.money.MoneyConverter;
+import com.invoiceme.domain.tax.TaxSchedule;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -31,11 +33,21 @@ public class InvoiceLineItem {
     @Column(nullable = false)
     private Integer quantity;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "unit_price", nullable = false, precision = 19, scale = 2)
-    private BigDecimal unitPrice;
+    private Money unitPrice;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "tax_amount", nullable = false, precision = 19, scale = 2)
+    private Money taxAmount;
+
+    // The number of the late fee this line charges; null on ordinary lines
+    @Column(name = "late_fee_sequence")
+    private Integer lateFeeSequence;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -44,6 +56,9 @@ public class InvoiceLineItem {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         calculateAmount();
+        if (taxAmount == null) {
+            taxAmount = Money.ZERO;
+        }
     }
 
     @PreUpdate
@@ -51,23 +66,45 @@ public class InvoiceLineItem {
         calculateAmount();
     }
 
+    public Money getUnitPrice() {
+        return inInvoiceCurrency(unitPrice);
+    }
+
+    public Money getAmount() {
+        return inInvoiceCurrency(amount);
+    }
+
+    public Money getTaxAmount() {
+        return inInvoiceCurrency(taxAmount);
+    }
+
+    void applyTax(TaxSchedule taxes) {
+        this.taxAmount = taxes.taxOn(getAmount());
+    }
+
+    // Lines are priced in the currency of their invoice
+    private Money inInvoiceCurrency(Money value) {
+        return invoice == null ? value : invoice.inCurrency(value);
+    }
+
     private void calculateAmount() {
         if (quantity != null && unitPrice != null) {
-            this.amount = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            this.amount = unitPrice.times(quantity);
         }
     }
 
-    public static InvoiceLineItem create(Invoice invoice, String description, Integer quantity, BigDecimal unitPrice) {
+    public static InvoiceLineItem create(Invoice invoice, String description, Integer quantity, Money unitPrice) {
         InvoiceLineItem item = new InvoiceLineItem();
         item.setInvoice(invoice);
         item.setDescription(description);
         item.setQuantity(quantity);
         item.setUnitPrice(unitPrice);
+        item.setTaxAmount(Money.zero(unitPrice.currency()));
         item.calculateAmount();
         return item;
     }
 
-    public void update(String description, Integer quantity, BigDecimal unitPrice) {
+    public void update(String description, Integer quantity, Money unitPrice) {
         this.description = description;
         this.quantity = quantity;
         this.unitPrice = unitPrice;
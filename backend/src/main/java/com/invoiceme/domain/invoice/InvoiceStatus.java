@@ -3,7 +3,7 @@ package com.invoiceme.domain.invoice;
 public enum InvoiceStatus {
     DRAFT,
     SENT,
+    // A sent invoice still unpaid after its due date; set by the overdue job, not by clients
+    OVERDUE,
     PAID
 }
-
-
@@ -0,0 +1,128 @@
+package com.invoiceme.domain.latefee;
+
+import com.invoiceme.domain.company.Company;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * How a company charges for late payment. The first fee is charged {@code graceDays} after an
+ * invoice's due date and, with {@code repeatDays}, another one every {@code repeatDays} after
+ * that, until the fees of the invoice reach {@code maxTotal}. Fees are applied in bulk by
+ * {@link com.invoiceme.application.commands.latefee.ApplyLateFeesHandler}.
+ */
+@Entity
+@Table(name = "late_fee_policies")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LateFeePolicy {
+    private static final BigDecimal MAX_PERCENTAGE = new BigDecimal("100");
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false, unique = true)
+    private Company company;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "fee_type", nullable = false, length = 20)
+    private LateFeeType feeType;
+
+    // The flat fee, or the percent of the balance
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(name = "grace_days", nullable = false)
+    private int graceDays;
+
+    // Null for a one-time fee
+    @Column(name = "repeat_days")
+    private Integer repeatDays;
+
+    // Null for no cap; in the invoice's currency
+    @Column(name = "max_total", precision = 19, scale = 2)
+    private BigDecimal maxTotal;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        validate();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+        validate();
+    }
+
+    private void validate() {
+        if (company == null) {
+            throw new IllegalArgumentException("Late fee policy must belong to a company");
+        }
+        if (feeType == null) {
+            throw new IllegalArgumentException("Late fee type is required");
+        }
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Late fee amount must be greater than zero");
+        }
+        if (feeType == LateFeeType.PERCENTAGE && amount.compareTo(MAX_PERCENTAGE) > 0) {
+            throw new IllegalArgumentException("Late fee percentage cannot exceed 100");
+        }
+        if (graceDays < 0) {
+            throw new IllegalArgumentException("Grace period cannot be negative");
+        }
+        if (repeatDays != null && repeatDays <= 0) {
+            throw new IllegalArgumentException("Repeat interval must be at least one day");
+        }
+        if (maxTotal != null && maxTotal.signum() <= 0) {
+            throw new IllegalArgumentException("Late fee cap must be greater than zero");
+        }
+    }
+
+    public static LateFeePolicy create(Company company, LateFeeType feeType, BigDecimal amount, int graceDays,
+                                       Integer repeatDays, BigDecimal maxTotal) {
+        LateFeePolicy policy = new LateFeePolicy();
+        policy.setCompany(company);
+        policy.update(feeType, amount, graceDays, repeatDays, maxTotal, true);
+        return policy;
+    }
+
+    public void update(LateFeeType feeType, BigDecimal amount, int graceDays, Integer repeatDays,
+                       BigDecimal maxTotal, boolean active) {
+        this.feeType = feeType;
+        this.amount = amount;
+        this.graceDays = graceDays;
+        this.repeatDays = repeatDays;
+        this.maxTotal = maxTotal;
+        this.active = active;
+        validate();
+    }
+
+    public boolean isRepeating() {
+        return repeatDays != null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.invoiceme.domain.latefee;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The audit record of one late-fee run over a company's overdue invoices. A dry run records the
+ * fees it would have charged.
+ */
+@Entity
+@Table(name = "late_fee_runs")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LateFeeRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDate asOf;
+
+    @Column(name = "dry_run", nullable = false)
+    private boolean dryRun;
+
+    @Column(name = "triggered_by", nullable = false, length = 100)
+    private String triggeredBy;
+
+    @Column(name = "invoices_checked", nullable = false)
+    private int invoicesChecked;
+
+    @Column(name = "fees_charged", nullable = false)
+    private int feesCharged;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "duration_ms", nullable = false)
+    private long durationMs;
+
+    @ElementCollection
+    @CollectionTable(name = "late_fee_run_totals", joinColumns = @JoinColumn(name = "late_fee_run_id"))
+    private List<Total> totals = new ArrayList<>();
+
+    public static LateFeeRun record(UUID companyId, LocalDate asOf, boolean dryRun, String triggeredBy,
+                                    int invoicesChecked, int feesCharged, List<Total> totals,
+                                    LocalDateTime startedAt, long durationMs) {
+        return new LateFeeRun(null, companyId, asOf, dryRun, triggeredBy, invoicesChecked, feesCharged,
+                startedAt, durationMs, new ArrayList<>(totals));
+    }
+
+    // Invoices checked per second
+    public long getThroughput() {
+        return durationMs == 0 ? invoicesChecked * 1000L : invoicesChecked * 1000L / durationMs;
+    }
+
+    /**
+     * The fees of a run in one currency.
+     */
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Total {
+        @Column(nullable = false, length = 3)
+        private Currency currency;
+
+        @Column(nullable = false)
+        private int fees;
+
+        @Column(nullable = false, precision = 19, scale = 2)
+        private BigDecimal amount;
+    }
+}
@@ -0,0 +1,8 @@
+package com.invoiceme.domain.latefee;
+
+public enum LateFeeType {
+    // A fixed amount in the invoice's currency
+    FLAT,
+    // A percent of the invoice's open balance
+    PERCENTAGE
+}
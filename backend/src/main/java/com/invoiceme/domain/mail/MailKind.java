@@ -0,0 +1,8 @@
+package com.invoiceme.domain.mail;
+
+public enum MailKind {
+    // The invoice itself, queued when it is marked as sent
+    INVOICE_DELIVERY,
+    // A reminder of the open balance, queued on the days of the reminder schedule
+    PAYMENT_REMINDER
+}
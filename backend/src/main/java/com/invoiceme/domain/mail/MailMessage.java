@@ -0,0 +1,105 @@
+package com.invoiceme.domain.mail;
+
+import com.invoiceme.domain.invoice.Invoice;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A queued outbound mail about an invoice. Only the recipient is fixed when it is queued; the
+ * content is rendered when it is sent, so a reminder shows the balance of that moment.
+ */
+@Entity
+@Table(name = "mail_messages", uniqueConstraints = @UniqueConstraint(
+        name = "idx_mail_messages_schedule", columnNames = {"invoice_id", "kind", "schedule_day"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MailMessage {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "invoice_id", nullable = false)
+    private Invoice invoice;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private MailKind kind;
+
+    @Column(name = "schedule_day", nullable = false)
+    private int scheduleDay;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MailStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public static MailMessage delivery(Invoice invoice, LocalDateTime now) {
+        MailMessage message = new MailMessage();
+        message.setCompanyId(invoice.getCompany().getId());
+        message.setInvoice(invoice);
+        message.setKind(MailKind.INVOICE_DELIVERY);
+        message.setRecipient(invoice.getCustomer().getEmail());
+        message.setStatus(MailStatus.PENDING);
+        message.setNextAttemptAt(now);
+        message.setCreatedAt(now);
+        return message;
+    }
+
+    /**
+     * Records a failed attempt: the message is retried after {@code delay}, or fails for good
+     * when {@code delay} is null.
+     */
+    public void recordFailure(String error, LocalDateTime now, Duration delay) {
+        this.lastError = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+        this.claimToken = null;
+        if (delay == null) {
+            this.status = MailStatus.FAILED;
+        } else {
+            this.nextAttemptAt = now.plus(delay);
+        }
+    }
+
+    public void cancel() {
+        this.status = MailStatus.CANCELLED;
+        this.claimToken = null;
+    }
+}
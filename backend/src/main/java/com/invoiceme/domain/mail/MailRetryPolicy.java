@@ -0,0 +1,31 @@
+package com.invoiceme.domain.mail;
+
+import java.time.Duration;
+
+/**
+ * Exponential backoff: the delay doubles with every failed attempt, from {@code initialDelay}
+ * up to {@code maxDelay}, and the message fails for good after {@code maxAttempts}.
+ */
+public record MailRetryPolicy(Duration initialDelay, Duration maxDelay, int maxAttempts) {
+    public MailRetryPolicy {
+        if (initialDelay.isNegative() || initialDelay.isZero() || maxDelay.compareTo(initialDelay) < 0) {
+            throw new IllegalArgumentException("Retry delays must be positive, the maximum at least the initial one");
+        }
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("At least one attempt is required");
+        }
+    }
+
+    /**
+     * The delay before the next attempt after {@code attempts} failed ones, or null when none is left.
+     */
+    public Duration delayAfter(int attempts) {
+        if (attempts >= maxAttempts) {
+            return null;
+        }
+        // Doubling past 2^30 would only be capped anyway
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = initialDelay.multipliedBy(1L << doublings);
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+}
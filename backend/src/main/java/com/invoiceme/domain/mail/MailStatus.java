@@ -0,0 +1,10 @@
+package com.invoiceme.domain.mail;
+
+public enum MailStatus {
+    PENDING,
+    SENT,
+    // Gave up after the last retry
+    FAILED,
+    // No longer needed when its turn came, e.g. a reminder for an invoice paid meanwhile
+    CANCELLED
+}
@@ -0,0 +1,131 @@
+package com.invoiceme.domain.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An amount held as a count of hundredths (the scale of the {@code DECIMAL(19,2)} amount columns)
+ * in a currency. Arithmetic is exact and throws {@link ArithmeticException} on overflow instead of
+ * wrapping; amounts in different currencies cannot be combined.
+ */
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+    public static final int SCALE = 2;
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Rounds half up to the column scale, as the database would when storing the value.
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        Objects.requireNonNull(amount, "amount");
+        return new Money(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact(), currency);
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Parses an ISO 4217 code; currencies with more than {@link #SCALE} decimals cannot be stored.
+     */
+    public static Currency currency(String code) {
+        Currency currency;
+        try {
+            currency = Currency.getInstance(code == null ? "" : code.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown currency: " + code);
+        }
+        if (currency.getDefaultFractionDigits() > SCALE) {
+            throw new IllegalArgumentException("Unsupported currency: " + code);
+        }
+        return currency;
+    }
+
+    public static Money zero(Currency currency) {
+        return DEFAULT_CURRENCY.equals(currency) ? ZERO : new Money(0, currency);
+    }
+
+    /**
+     * Sums the amounts of {@code items} into a single {@code long}, so only the result is allocated.
+     */
+    public static <T> Money sum(Currency currency, List<T> items, Function<? super T, Money> amount) {
+        long total = 0;
+        for (int i = 0, size = items.size(); i < size; i++) {
+            total = Math.addExact(total, amount.apply(items.get(i)).minorUnitsIn(currency));
+        }
+        return total == 0 ? zero(currency) : new Money(total, currency);
+    }
+
+    /**
+     * The same number of minor units in {@code currency}: a relabelling, not a conversion.
+     */
+    public Money withCurrency(Currency currency) {
+        return this.currency.equals(currency) ? this : new Money(minorUnits, currency);
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnitsIn(currency)), currency);
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, other.minorUnitsIn(currency)), currency);
+    }
+
+    public Money times(long quantity) {
+        return new Money(Math.multiplyExact(minorUnits, quantity), currency);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public Money max(Money other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    public Money min(Money other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnitsIn(currency));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    private long minorUnitsIn(Currency expected) {
+        if (!currency.equals(expected)) {
+            throw new IllegalArgumentException("Cannot combine " + currency + " and " + expected + " amounts");
+        }
+        return minorUnits;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+}
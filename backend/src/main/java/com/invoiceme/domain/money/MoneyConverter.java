@@ -0,0 +1,25 @@
+package com.invoiceme.domain.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Stores {@link Money} in the existing {@code DECIMAL(19,2)} columns. The columns carry no
+ * currency, so amounts are read back in {@link Money#DEFAULT_CURRENCY}; entities with a
+ * currency column relabel them in their getters.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount);
+    }
+}
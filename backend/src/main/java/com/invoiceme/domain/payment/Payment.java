@@ -1,15 +1,17 @@
 package com.invoiceme.domain.payment;
 
 import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.money.Money;
+import com.invoiceme.domain.money.MoneyConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Currency;
 import java.util.UUID;
 
 @Entity
@@ -27,8 +29,17 @@ public class Payment {
     @JoinColumn(name = "invoice_id", nullable = false)
     private Invoice invoice;
 
+    // Copied from the invoice so tenant-scoped payment queries do not need to join invoices
+    @Column(name = "company_id", nullable = false, updatable = false)
+    private UUID companyId;
+
+    @Convert(converter = MoneyConverter.class)
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
+
+    // Always the invoice's currency
+    @Column(nullable = false, length = 3, updatable = false)
+    private Currency currency = Money.DEFAULT_CURRENCY;
 
     @Column(name = "payment_date", nullable = false)
     private LocalDate paymentDate;
@@ -43,6 +54,10 @@ public class Payment {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -53,9 +68,13 @@ public class Payment {
         if (invoice == null) {
             throw new IllegalArgumentException("Payment must have an invoice");
         }
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amount == null || !amount.isPositive()) {
             throw new IllegalArgumentException("Payment amount must be greater than zero");
         }
+        if (!amount.currency().equals(invoice.getCurrency())) {
+            throw new IllegalArgumentException("Payment currency " + amount.currency().getCurrencyCode()
+                    + " does not match invoice currency " + invoice.getCurrency().getCurrencyCode());
+        }
         if (paymentDate == null) {
             throw new IllegalArgumentException("Payment date cannot be null");
         }
@@ -70,10 +89,16 @@ public class Payment {
         }
     }
 
-    public static Payment create(Invoice invoice, BigDecimal amount, LocalDate paymentDate, 
+    public Money getAmount() {
+        return amount == null ? null : amount.withCurrency(currency);
+    }
+
+    public static Payment create(Invoice invoice, Money amount, LocalDate paymentDate, 
                                  PaymentMethod paymentMethod, String referenceNumber) {
         Payment payment = new Payment();
         payment.setInvoice(invoice);
+        payment.setCompanyId(invoice.getCompany() != null ? invoice.getCompany().getId() : null);
+        payment.setCurrency(invoice.getCurrency());
         payment.setAmount(amount);
         payment.setPaymentDate(paymentDate);
         payment.setPaymentMethod(paymentMethod);
@@ -0,0 +1,23 @@
+package com.invoiceme.domain.recurring;
+
+import java.time.LocalDate;
+
+public enum RecurrenceFrequency {
+    WEEKLY,
+    MONTHLY,
+    QUARTERLY,
+    YEARLY;
+
+    /**
+     * Issue date of period {@code n}, counted from {@code start} so short months do not shift
+     * the periods after them.
+     */
+    public LocalDate period(LocalDate start, int n) {
+        return switch (this) {
+            case WEEKLY -> start.plusWeeks(n);
+            case MONTHLY -> start.plusMonths(n);
+            case QUARTERLY -> start.plusMonths(3L * n);
+            case YEARLY -> start.plusYears(n);
+        };
+    }
+}
@@ -0,0 +1,203 @@
+package com.invoiceme.domain.recurring;
+
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.customer.Customer;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An invoice template issued every period from {@code startDate} until {@code endDate}.
+ * {@code nextRunDate} is the issue date of the next invoice to generate; a template more than
+ * one period behind generates every missed period in turn.
+ */
+@Entity
+@Table(name = "recurring_invoices")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringInvoice {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false)
+    private Company company;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", nullable = false)
+    private Customer customer;
+
+    // The company's base currency at generation time when null
+    @Column(length = 3)
+    private Currency currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "next_run_date", nullable = false)
+    private LocalDate nextRunDate;
+
+    @Column(name = "periods_generated", nullable = false)
+    private int periodsGenerated;
+
+    @Column(name = "payment_terms_days", nullable = false)
+    private int paymentTermsDays;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "last_failed_at")
+    private LocalDateTime lastFailedAt;
+
+    @OneToMany(mappedBy = "recurringInvoice", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("position")
+    private List<RecurringInvoiceLine> lines = new ArrayList<>();
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        validate();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+        validate();
+    }
+
+    private void validate() {
+        if (customer == null) {
+            throw new IllegalArgumentException("Recurring invoice must have a customer");
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("Frequency cannot be null");
+        }
+        if (startDate == null) {
+            throw new IllegalArgumentException("Start date cannot be null");
+        }
+        if (endDate != null && endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+        if (paymentTermsDays < 0) {
+            throw new IllegalArgumentException("Payment terms cannot be negative");
+        }
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("Recurring invoice must have at least one line");
+        }
+    }
+
+    public static RecurringInvoice create(Company company, Customer customer, Currency currency,
+                                          RecurrenceFrequency frequency, LocalDate startDate, LocalDate endDate,
+                                          int paymentTermsDays, List<RecurringInvoiceLine> lines) {
+        RecurringInvoice template = new RecurringInvoice();
+        template.setCompany(company);
+        template.update(customer, currency, frequency, startDate, endDate, paymentTermsDays, lines);
+        return template;
+    }
+
+    /**
+     * Replaces the schedule and lines. Periods already generated stay generated; the next one
+     * is the first period of the new schedule after them.
+     */
+    public void update(Customer customer, Currency currency, RecurrenceFrequency frequency, LocalDate startDate,
+                       LocalDate endDate, int paymentTermsDays, List<RecurringInvoiceLine> lines) {
+        if (frequency == null) {
+            throw new IllegalArgumentException("Frequency cannot be null");
+        }
+        if (startDate == null) {
+            throw new IllegalArgumentException("Start date cannot be null");
+        }
+        if (lines == null) {
+            throw new IllegalArgumentException("Recurring invoice must have at least one line");
+        }
+        boolean rescheduled = frequency != this.frequency || !startDate.equals(this.startDate);
+        this.customer = customer;
+        this.currency = currency;
+        this.frequency = frequency;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.paymentTermsDays = paymentTermsDays;
+        this.lines.clear();
+        for (int i = 0; i < lines.size(); i++) {
+            RecurringInvoiceLine line = lines.get(i);
+            line.setRecurringInvoice(this);
+            line.setPosition(i);
+            this.lines.add(line);
+        }
+        if (rescheduled) {
+            LocalDate after = this.nextRunDate;
+            this.periodsGenerated = 0;
+            this.nextRunDate = startDate;
+            while (after != null && this.nextRunDate.isBefore(after)) {
+                this.periodsGenerated++;
+                this.nextRunDate = frequency.period(startDate, this.periodsGenerated);
+            }
+        }
+        this.active = endDate == null || !this.nextRunDate.isAfter(endDate);
+        this.lastError = null;
+        this.lastFailedAt = null;
+        validate();
+    }
+
+    public boolean isDue(LocalDate today) {
+        return active && !nextRunDate.isAfter(today);
+    }
+
+    public LocalDate dueDateFor(LocalDate period) {
+        return period.plusDays(paymentTermsDays);
+    }
+
+    /**
+     * Moves past the period just generated, deactivating the template after its last period.
+     */
+    public void advance() {
+        periodsGenerated++;
+        nextRunDate = frequency.period(startDate, periodsGenerated);
+        if (endDate != null && nextRunDate.isAfter(endDate)) {
+            active = false;
+        }
+        lastError = null;
+        lastFailedAt = null;
+    }
+
+    public void recordFailure(String error) {
+        String message = error == null ? "Unknown error" : error;
+        lastError = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+        lastFailedAt = LocalDateTime.now();
+    }
+}
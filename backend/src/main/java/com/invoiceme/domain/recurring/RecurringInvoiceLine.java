@@ -0,0 +1,58 @@
+package com.invoiceme.domain.recurring;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A line copied onto every invoice of its template. The price is in the template's currency.
+ */
+@Entity
+@Table(name = "recurring_invoice_lines")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringInvoiceLine {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recurring_invoice_id", nullable = false)
+    private RecurringInvoice recurringInvoice;
+
+    @Column(nullable = false)
+    private int position;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "unit_price", nullable = false, precision = 19, scale = 2)
+    private BigDecimal unitPrice;
+
+    public static RecurringInvoiceLine create(String description, Integer quantity, BigDecimal unitPrice) {
+        if (description == null || description.trim().isEmpty()) {
+            throw new IllegalArgumentException("Line description cannot be null or empty");
+        }
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Line quantity must be greater than zero");
+        }
+        if (unitPrice == null) {
+            throw new IllegalArgumentException("Line unit price cannot be null");
+        }
+        RecurringInvoiceLine line = new RecurringInvoiceLine();
+        line.setDescription(description);
+        line.setQuantity(quantity);
+        line.setUnitPrice(unitPrice);
+        return line;
+    }
+}
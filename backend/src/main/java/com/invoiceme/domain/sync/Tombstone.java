@@ -0,0 +1,56 @@
+package com.invoiceme.domain.sync;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "sync_tombstones")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (deletedAt == null) {
+            deletedAt = LocalDateTime.now();
+        }
+    }
+
+    public static Tombstone create(UUID companyId, EntityType entityType, UUID entityId) {
+        Tombstone tombstone = new Tombstone();
+        tombstone.setCompanyId(companyId);
+        tombstone.setEntityType(entityType);
+        tombstone.setEntityId(entityId);
+        return tombstone;
+    }
+
+    public enum EntityType {
+        CUSTOMER,
+        INVOICE,
+        PAYMENT
+    }
+}
@@ -0,0 +1,115 @@
+package com.invoiceme.domain.tax;
+
+import com.invoiceme.domain.company.Company;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A percentage tax a company charges on invoice lines. Rules apply in {@code priority} order;
+ * a compound rule taxes the line amount plus the taxes of the rules before it.
+ */
+@Entity
+@Table(name = "tax_rules")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaxRule {
+    private static final BigDecimal MAX_RATE = new BigDecimal("100");
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false)
+    private Company company;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(nullable = false, precision = 7, scale = 4)
+    private BigDecimal rate;
+
+    @Column(nullable = false)
+    private boolean compound;
+
+    @Column(nullable = false)
+    private int priority;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @ElementCollection
+    @CollectionTable(name = "tax_rule_exemptions", joinColumns = @JoinColumn(name = "tax_rule_id"))
+    @Column(name = "customer_id", nullable = false)
+    private Set<UUID> exemptCustomerIds = new HashSet<>();
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        validate();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+        validate();
+    }
+
+    private void validate() {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tax rule name cannot be null or empty");
+        }
+        if (rate == null || rate.signum() < 0 || rate.compareTo(MAX_RATE) > 0) {
+            throw new IllegalArgumentException("Tax rate must be between 0 and 100 percent");
+        }
+        if (rate.stripTrailingZeros().scale() > 4) {
+            throw new IllegalArgumentException("Tax rate cannot have more than 4 decimal places");
+        }
+    }
+
+    public static TaxRule create(Company company, String name, BigDecimal rate, boolean compound, int priority) {
+        TaxRule rule = new TaxRule();
+        rule.setCompany(company);
+        rule.update(name, rate, compound, priority, true);
+        return rule;
+    }
+
+    public void update(String name, BigDecimal rate, boolean compound, int priority, boolean active) {
+        this.name = name;
+        this.rate = rate;
+        this.compound = compound;
+        this.priority = priority;
+        this.active = active;
+        validate();
+    }
+
+    public void exempt(UUID customerId) {
+        exemptCustomerIds.add(customerId);
+    }
+
+    public void removeExemption(UUID customerId) {
+        exemptCustomerIds.remove(customerId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.invoiceme.domain.tax;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A company's active tax rules compiled into one {@link TaxSchedule} per distinct set of
+ * exemptions. Immutable, so it can be cached and shared; looking up a customer's schedule is a
+ * single map read however many lines are taxed with it.
+ */
+public final class TaxRuleSet {
+    public static final TaxRuleSet EMPTY = new TaxRuleSet(TaxSchedule.NONE, Map.of(), 0);
+
+    private static final Comparator<TaxRule> ORDER = Comparator.comparingInt(TaxRule::getPriority)
+            .thenComparing(TaxRule::getName)
+            .thenComparing(TaxRule::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final TaxSchedule standard;
+    private final Map<UUID, TaxSchedule> exempted;
+    private final int rules;
+
+    private TaxRuleSet(TaxSchedule standard, Map<UUID, TaxSchedule> exempted, int rules) {
+        this.standard = standard;
+        this.exempted = exempted;
+        this.rules = rules;
+    }
+
+    public static TaxRuleSet compile(List<TaxRule> rules) {
+        List<TaxRule> active = rules.stream()
+                .filter(TaxRule::isActive)
+                .sorted(ORDER)
+                .toList();
+        if (active.isEmpty()) {
+            return EMPTY;
+        }
+
+        // Customers exempt from the same rules share one schedule
+        Map<UUID, Set<TaxRule>> exemptions = new HashMap<>();
+        for (TaxRule rule : active) {
+            for (UUID customerId : rule.getExemptCustomerIds()) {
+                exemptions.computeIfAbsent(customerId, id -> new HashSet<>()).add(rule);
+            }
+        }
+        Map<Set<TaxRule>, TaxSchedule> schedules = new HashMap<>();
+        Map<UUID, TaxSchedule> exempted = new HashMap<>();
+        exemptions.forEach((customerId, exemptFrom) -> exempted.put(customerId,
+                schedules.computeIfAbsent(exemptFrom, skip -> TaxSchedule.of(active.stream()
+                        .filter(rule -> !skip.contains(rule))
+                        .toList()))));
+        return new TaxRuleSet(TaxSchedule.of(active), Map.copyOf(exempted), active.size());
+    }
+
+    public TaxSchedule forCustomer(UUID customerId) {
+        TaxSchedule schedule = customerId == null ? null : exempted.get(customerId);
+        return schedule != null ? schedule : standard;
+    }
+
+    public int size() {
+        return rules;
+    }
+}
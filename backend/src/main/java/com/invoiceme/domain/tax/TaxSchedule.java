@@ -0,0 +1,80 @@
+package com.invoiceme.domain.tax;
+
+import com.invoiceme.domain.money.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * The taxes one customer pays, folded into a single multiplier of the line amount. Taxing a
+ * line is one multiplication, done in {@code long} arithmetic unless it would overflow.
+ */
+public final class TaxSchedule {
+    public static final TaxSchedule NONE = new TaxSchedule(BigDecimal.ZERO);
+
+    // Largest power of ten that fits in a long
+    private static final int MAX_LONG_SCALE = 18;
+
+    private final BigDecimal multiplier;
+    private final long factor;
+    private final long divisor;
+    private final long maxExactAmount;
+
+    private TaxSchedule(BigDecimal multiplier) {
+        this.multiplier = multiplier;
+        long unscaled = 0;
+        long pow = 0;
+        if (multiplier.scale() <= MAX_LONG_SCALE && multiplier.unscaledValue().bitLength() < Long.SIZE) {
+            unscaled = multiplier.unscaledValue().longValue();
+            pow = BigDecimal.ONE.movePointRight(multiplier.scale()).longValue();
+        }
+        this.factor = unscaled;
+        this.divisor = pow;
+        this.maxExactAmount = unscaled == 0 ? 0 : Long.MAX_VALUE / unscaled;
+    }
+
+    /**
+     * Folds {@code rules}, already in priority order, into one schedule.
+     */
+    public static TaxSchedule of(List<TaxRule> rules) {
+        BigDecimal multiplier = BigDecimal.ZERO;
+        for (TaxRule rule : rules) {
+            BigDecimal rate = rule.getRate().movePointLeft(2);
+            multiplier = multiplier.add(rule.isCompound() ? BigDecimal.ONE.add(multiplier).multiply(rate) : rate);
+        }
+        if (multiplier.signum() == 0) {
+            return NONE;
+        }
+        multiplier = multiplier.stripTrailingZeros();
+        return new TaxSchedule(multiplier.scale() < 0 ? multiplier.setScale(0) : multiplier);
+    }
+
+    /**
+     * Tax on one line, rounded half up to the amount's minor unit.
+     */
+    public Money taxOn(Money amount) {
+        long minor = amount.minorUnits();
+        if (minor == 0 || isEmpty()) {
+            return Money.zero(amount.currency());
+        }
+        if (divisor != 0 && Math.abs(minor) <= maxExactAmount) {
+            long product = minor * factor;
+            long tax = product / divisor;
+            if (Math.abs(product % divisor) * 2 >= divisor) {
+                tax += Long.signum(product);
+            }
+            return Money.ofMinor(tax, amount.currency());
+        }
+        BigDecimal tax = BigDecimal.valueOf(minor).multiply(multiplier).setScale(0, RoundingMode.HALF_UP);
+        return Money.ofMinor(tax.longValueExact(), amount.currency());
+    }
+
+    public BigDecimal multiplier() {
+        return multiplier;
+    }
+
+    public boolean isEmpty() {
+        return multiplier.signum() == 0;
+    }
+}
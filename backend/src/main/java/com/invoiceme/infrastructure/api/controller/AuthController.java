@@ -9,6 +9,7 @@ import com.invoiceme.infrastructure.api.dto.auth.LoginResponseDTO;
 import com.invoiceme.infrastructure.api.dto.auth.SignupRequestDTO;
 import com.invoiceme.infrastructure.config.security.CustomUserDetails;
 import com.invoiceme.infrastructure.config.security.JwtTokenProvider;
+import com.invoiceme.infrastructure.jfr.LoginEvent;
 import com.invoiceme.infrastructure.persistence.CompanyMembershipRepository;
 import com.invoiceme.infrastructure.persistence.CompanyRepository;
 import com.invoiceme.infrastructure.persistence.UserRepository;
@@ -17,8 +18,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -54,9 +57,17 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<LoginResponseDTO> login(@Valid @RequestBody LoginRequestDTO request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+            );
+        } catch (AuthenticationException e) {
+            event.finish(e instanceof BadCredentialsException ? "bad_credentials" : "error", null);
+            throw e;
+        }
 
         String token = jwtTokenProvider.generateToken(authentication);
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
@@ -78,6 +89,7 @@ public class AuthController {
                 .companyLogoUrl(defaultMembership != null ? defaultMembership.getCompany().getLogoUrl() : null)
                 .role(defaultMembership != null ? defaultMembership.getRole().name() : null)
                 .build();
+        event.finish("success", userDetails.getDefaultCompanyId());
         
         return ResponseEntity.ok(response);
     }
@@ -119,9 +131,17 @@ public class AuthController {
         membershipRepository.save(membership);
 
         // Auto-login after signup
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+            );
+        } catch (AuthenticationException e) {
+            event.finish(e instanceof BadCredentialsException ? "bad_credentials" : "error", null);
+            throw e;
+        }
 
         String token = jwtTokenProvider.generateToken(authentication);
 
@@ -177,9 +197,17 @@ public class AuthController {
         membershipRepository.save(membership);
 
         // Auto-login after joining
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+            );
+        } catch (AuthenticationException e) {
+            event.finish(e instanceof BadCredentialsException ? "bad_credentials" : "error", null);
+            throw e;
+        }
 
         String token = jwtTokenProvider.generateToken(authentication);
 
@@ -10,10 +10,12 @@ import com.invoiceme.infrastructure.api.dto.user.CompanyMemberResponseDTO;
 import com.invoiceme.infrastructure.api.dto.user.InviteUserRequestDTO;
 import com.invoiceme.infrastructure.config.security.CustomUserDetails;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -30,7 +32,10 @@ public class CompanyController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CompanyResponseDTO> getCompany(@PathVariable UUID id, Authentication authentication) {
+    public ResponseEntity<CompanyResponseDTO> getCompany(
+            @PathVariable UUID id,
+            Authentication authentication,
+            WebRequest webRequest) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         
         // Verify user has access to this company
@@ -38,6 +43,10 @@ public class CompanyController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
+        if (webRequest.checkNotModified(EntityTags.of(companyService.getCompanyVersion(id)))) {
+            return null;
+        }
+
         Company company = companyService.getCompanyById(id);
         return ResponseEntity.ok(mapToResponseDTO(company));
     }
@@ -46,7 +55,8 @@ public class CompanyController {
     public ResponseEntity<CompanyResponseDTO> updateCompany(
             @PathVariable UUID id,
             @Valid @RequestBody CompanyRequestDTO request,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         
@@ -55,8 +65,11 @@ public class CompanyController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        Company company = companyService.updateCompany(id, request.getName(), request.getLogoUrl());
-        return ResponseEntity.ok(mapToResponseDTO(company));
+        // If-Match is checked against the company loaded in the update's transaction; stale answers 412
+        long[] expected = EntityTags.ifMatch(webRequest.getHeader(HttpHeaders.IF_MATCH), 1);
+        Company company = companyService.updateCompany(id, request.getName(), request.getLogoUrl(),
+                request.getBaseCurrency(), expected == null ? null : expected[0]);
+        return ResponseEntity.ok().eTag(EntityTags.of(company.getVersion())).body(mapToResponseDTO(company));
     }
 
     @GetMapping("/{id}/members")
@@ -151,6 +164,7 @@ public class CompanyController {
                 .id(company.getId())
                 .name(company.getName())
                 .logoUrl(company.getLogoUrl())
+                .baseCurrency(company.getBaseCurrency().getCurrencyCode())
                 .companyCode(company.getCompanyCode())
                 .createdAt(company.getCreatedAt())
                 .updatedAt(company.getUpdatedAt())
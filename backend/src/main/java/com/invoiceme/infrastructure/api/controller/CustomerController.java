@@ -14,10 +14,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -29,6 +31,7 @@ public class CustomerController {
     private final UpdateCustomerHandler updateCustomerHandler;
     private final DeleteCustomerHandler deleteCustomerHandler;
     private final GetCustomerByIdHandler getCustomerByIdHandler;
+    private final GetCustomerVersionHandler getCustomerVersionHandler;
     private final ListAllCustomersHandler listAllCustomersHandler;
     private final CustomerMapper customerMapper;
 
@@ -37,12 +40,14 @@ public class CustomerController {
             UpdateCustomerHandler updateCustomerHandler,
             DeleteCustomerHandler deleteCustomerHandler,
             GetCustomerByIdHandler getCustomerByIdHandler,
+            GetCustomerVersionHandler getCustomerVersionHandler,
             ListAllCustomersHandler listAllCustomersHandler,
             CustomerMapper customerMapper) {
         this.createCustomerHandler = createCustomerHandler;
         this.updateCustomerHandler = updateCustomerHandler;
         this.deleteCustomerHandler = deleteCustomerHandler;
         this.getCustomerByIdHandler = getCustomerByIdHandler;
+        this.getCustomerVersionHandler = getCustomerVersionHandler;
         this.listAllCustomersHandler = listAllCustomersHandler;
         this.customerMapper = customerMapper;
     }
@@ -60,27 +65,34 @@ public class CustomerController {
                 request.getPhone()
         );
         Customer customer = createCustomerHandler.handle(command);
-        return ResponseEntity.status(HttpStatus.CREATED).body(customerMapper.toResponseDTO(customer));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(EntityTags.of(customer.getVersion()))
+                .body(customerMapper.toResponseDTO(customer));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<CustomerResponseDTO> updateCustomer(
             @PathVariable UUID id,
             @Valid @RequestBody CustomerRequestDTO request,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         UUID companyId = userDetails.getDefaultCompanyId();
         
+        long[] expected = EntityTags.ifMatch(webRequest.getHeader(HttpHeaders.IF_MATCH), 1);
         UpdateCustomerCommand command = new UpdateCustomerCommand(
                 id,
                 companyId,
                 request.getName(),
                 request.getEmail(),
                 request.getAddress(),
-                request.getPhone()
+                request.getPhone(),
+                expected == null ? null : expected[0]
         );
         Customer customer = updateCustomerHandler.handle(command);
-        return ResponseEntity.ok(customerMapper.toResponseDTO(customer));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(customer.getVersion()))
+                .body(customerMapper.toResponseDTO(customer));
     }
 
     @DeleteMapping("/{id}")
@@ -94,10 +106,17 @@ public class CustomerController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable UUID id, Authentication authentication) {
+    public ResponseEntity<CustomerResponseDTO> getCustomerById(
+            @PathVariable UUID id,
+            Authentication authentication,
+            WebRequest webRequest) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         UUID companyId = userDetails.getDefaultCompanyId();
         
+        if (webRequest.checkNotModified(currentETag(companyId, id))) {
+            return null;
+        }
+        
         GetCustomerByIdQuery query = new GetCustomerByIdQuery(id, companyId);
         Customer customer = getCustomerByIdHandler.handle(query);
         return ResponseEntity.ok(customerMapper.toResponseDTO(customer));
@@ -120,11 +139,11 @@ public class CustomerController {
             String sortField = sortParams[0];
             // Validate sort field to prevent SQL injection
             if (!isValidSortField(sortField)) {
-                sortField = "name"; // Default to name if invalid
+                throw new IllegalArgumentException("Unsupported sort key: " + sortField + " (use name, email, createdAt or updatedAt)");
             }
-            pageable = PageRequest.of(page, size, Sort.by(direction, sortField));
+            pageable = PageRequest.of(page, size, Sort.by(direction, sortField).and(Sort.by(direction, "id")));
         } else {
-            pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "name"));
+            pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "name", "id"));
         }
         
         ListAllCustomersQuery query = new ListAllCustomersQuery(companyId, pageable);
@@ -144,8 +163,13 @@ public class CustomerController {
         return ResponseEntity.ok(response);
     }
     
+    private String currentETag(UUID companyId, UUID id) {
+        return EntityTags.of(getCustomerVersionHandler.handle(new GetCustomerVersionQuery(id, companyId)));
+    }
+    
     private boolean isValidSortField(String field) {
-        return field != null && (field.equals("name") || field.equals("email") 
+        // Each key is backed by a (company, key, id) index
+        return field != null && (field.equals("name") || field.equals("email")
                 || field.equals("createdAt") || field.equals("updatedAt"));
     }
 }
@@ -0,0 +1,54 @@
+package com.invoiceme.infrastructure.api.controller;
+
+import com.invoiceme.application.commands.StaleVersionException;
+
+/**
+ * Builds strong ETags from entity versions. A representation that embeds several
+ * entities (an invoice with its customer name) combines all of their versions.
+ */
+final class EntityTags {
+    private EntityTags() {
+    }
+
+    /**
+     * The versions in an If-Match header, or null when there is none or it is {@code *}. A tag
+     * this class did not issue, a weak tag or a list of tags matches no current version.
+     */
+    static long[] ifMatch(String header, int versions) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        String tag = header.trim();
+        if (!tag.startsWith("\"v") || !tag.endsWith("\"") || tag.length() < 4) {
+            throw stale();
+        }
+        String[] parts = tag.substring(2, tag.length() - 1).split("\\.", -1);
+        if (parts.length != versions) {
+            throw stale();
+        }
+        long[] parsed = new long[versions];
+        try {
+            for (int i = 0; i < versions; i++) {
+                parsed[i] = Long.parseLong(parts[i]);
+            }
+        } catch (NumberFormatException e) {
+            throw stale();
+        }
+        return parsed;
+    }
+
+    private static StaleVersionException stale() {
+        return new StaleVersionException("If-Match does not name a version of this resource");
+    }
+
+    static String of(Long... versions) {
+        StringBuilder tag = new StringBuilder("\"v");
+        for (int i = 0; i < versions.length; i++) {
+            if (i > 0) {
+                tag.append('.');
+            }
+            tag.append(versions[i] == null ? 0L : versions[i]);
+        }
+        return tag.append('"').toString();
+    }
+}
@@ -0,0 +1,25 @@
+package com.invoiceme.infrastructure.api.controller;
+
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
+import com.invoiceme.infrastructure.events.ChangeEventBroker;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class EventStreamController {
+    private final ChangeEventBroker changeEventBroker;
+
+    public EventStreamController(ChangeEventBroker changeEventBroker) {
+        this.changeEventBroker = changeEventBroker;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        return changeEventBroker.subscribe(userDetails.getDefaultCompanyId());
+    }
+}
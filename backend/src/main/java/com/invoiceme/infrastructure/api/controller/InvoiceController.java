@@ -8,18 +8,23 @@ import com.invoiceme.infrastructure.api.dto.common.PageResponseDTO;
 import com.invoiceme.infrastructure.api.dto.invoice.InvoiceRequestDTO;
 import com.invoiceme.infrastructure.api.dto.invoice.InvoiceResponseDTO;
 import com.invoiceme.infrastructure.api.mapper.InvoiceMapper;
+import com.invoiceme.infrastructure.concurrency.RequestCoalescer;
 import com.invoiceme.infrastructure.config.security.CustomUserDetails;
+import com.invoiceme.infrastructure.persistence.invoice.InvoiceVersion;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,32 +32,44 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/invoices")
 @CrossOrigin(origins = "${cors.allowed-origins}")
 public class InvoiceController {
+    // Backed by a (company, key, id) and a (customer, key, id) index
+    private static final Set<String> INDEXED_SORT_FIELDS = Set.of("createdAt", "dueDate");
+    // Accepted before the list was limited to indexed keys; still served, but sorted without an index
+    private static final Set<String> DEPRECATED_SORT_FIELDS = Set.of("invoiceNumber", "status", "issueDate",
+            "updatedAt", "totalAmount", "taxAmount", "balance", "currency");
+
     private final CreateInvoiceHandler createInvoiceHandler;
     private final UpdateInvoiceHandler updateInvoiceHandler;
     private final MarkInvoiceAsSentHandler markInvoiceAsSentHandler;
     private final GetInvoiceByIdHandler getInvoiceByIdHandler;
+    private final GetInvoiceVersionHandler getInvoiceVersionHandler;
     private final ListAllInvoicesHandler listAllInvoicesHandler;
     private final ListInvoicesByStatusHandler listInvoicesByStatusHandler;
     private final ListInvoicesByCustomerHandler listInvoicesByCustomerHandler;
     private final InvoiceMapper invoiceMapper;
+    private final RequestCoalescer requestCoalescer;
 
     public InvoiceController(
             CreateInvoiceHandler createInvoiceHandler,
             UpdateInvoiceHandler updateInvoiceHandler,
             MarkInvoiceAsSentHandler markInvoiceAsSentHandler,
             GetInvoiceByIdHandler getInvoiceByIdHandler,
+            GetInvoiceVersionHandler getInvoiceVersionHandler,
             ListAllInvoicesHandler listAllInvoicesHandler,
             ListInvoicesByStatusHandler listInvoicesByStatusHandler,
             ListInvoicesByCustomerHandler listInvoicesByCustomerHandler,
-            InvoiceMapper invoiceMapper) {
+            InvoiceMapper invoiceMapper,
+            RequestCoalescer requestCoalescer) {
         this.createInvoiceHandler = createInvoiceHandler;
         this.updateInvoiceHandler = updateInvoiceHandler;
         this.markInvoiceAsSentHandler = markInvoiceAsSentHandler;
         this.getInvoiceByIdHandler = getInvoiceByIdHandler;
+        this.getInvoiceVersionHandler = getInvoiceVersionHandler;
         this.listAllInvoicesHandler = listAllInvoicesHandler;
         this.listInvoicesByStatusHandler = listInvoicesByStatusHandler;
         this.listInvoicesByCustomerHandler = listInvoicesByCustomerHandler;
         this.invoiceMapper = invoiceMapper;
+        this.requestCoalescer = requestCoalescer;
     }
 
     @PostMapping
@@ -65,6 +82,7 @@ public class InvoiceController {
         command.setCustomerId(request.getCustomerId());
         command.setIssueDate(request.getIssueDate());
         command.setDueDate(request.getDueDate());
+        command.setCurrency(request.getCurrency());
         command.setLineItems(request.getLineItems().stream()
                 .map(item -> new CreateInvoiceCommand.LineItemDto(
                         item.getDescription(),
@@ -73,23 +91,33 @@ public class InvoiceController {
                 .collect(Collectors.toList()));
 
         Invoice invoice = createInvoiceHandler.handle(command);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toResponseDTO(invoice));
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(eTagFor(invoice)).body(toResponseDTO(invoice));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<InvoiceResponseDTO> updateInvoice(
             @PathVariable UUID id,
             @Valid @RequestBody InvoiceRequestDTO request,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         UUID companyId = userDetails.getDefaultCompanyId();
         
+        // If-Match lets clients skip a read-before-write; the handler compares it with the invoice it
+        // loads in the update's transaction and a stale tag answers 412
+        long[] expected = EntityTags.ifMatch(webRequest.getHeader(HttpHeaders.IF_MATCH), 2);
+        
         UpdateInvoiceCommand command = new UpdateInvoiceCommand();
         command.setCompanyId(companyId);
         command.setId(id);
+        if (expected != null) {
+            command.setExpectedVersion(expected[0]);
+            command.setExpectedCustomerVersion(expected[1]);
+        }
         command.setCustomerId(request.getCustomerId());
         command.setIssueDate(request.getIssueDate());
         command.setDueDate(request.getDueDate());
+        command.setCurrency(request.getCurrency());
         command.setLineItems(request.getLineItems().stream()
                 .map(item -> new UpdateInvoiceCommand.LineItemDto(
                         item.getDescription(),
@@ -98,7 +126,7 @@ public class InvoiceController {
                 .collect(Collectors.toList()));
 
         Invoice invoice = updateInvoiceHandler.handle(command);
-        return ResponseEntity.ok(toResponseDTO(invoice));
+        return ResponseEntity.ok().eTag(eTagFor(invoice)).body(toResponseDTO(invoice));
     }
 
     @PatchMapping("/{id}/mark-sent")
@@ -108,17 +136,27 @@ public class InvoiceController {
         
         MarkInvoiceAsSentCommand command = new MarkInvoiceAsSentCommand(companyId, id);
         Invoice invoice = markInvoiceAsSentHandler.handle(command);
-        return ResponseEntity.ok(toResponseDTO(invoice));
+        return ResponseEntity.ok().eTag(eTagFor(invoice)).body(toResponseDTO(invoice));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<InvoiceResponseDTO> getInvoiceById(@PathVariable UUID id, Authentication authentication) {
+    public ResponseEntity<InvoiceResponseDTO> getInvoiceById(
+            @PathVariable UUID id,
+            Authentication authentication,
+            WebRequest webRequest) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         UUID companyId = userDetails.getDefaultCompanyId();
         
+        // Answer If-None-Match from a version-only lookup before loading the aggregate
+        if (webRequest.checkNotModified(currentETag(companyId, id))) {
+            return null;
+        }
+        
         GetInvoiceByIdQuery query = new GetInvoiceByIdQuery(companyId, id);
-        Invoice invoice = getInvoiceByIdHandler.handle(query);
-        return ResponseEntity.ok(toResponseDTO(invoice));
+        // Concurrent reads of the same invoice share one query and mapping
+        InvoiceResponseDTO response = requestCoalescer.execute("invoice", companyId + ":" + id,
+                () -> toResponseDTO(getInvoiceByIdHandler.handle(query)));
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping
@@ -131,10 +169,7 @@ public class InvoiceController {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         UUID companyId = userDetails.getDefaultCompanyId();
         
-        String[] sortParams = sort.split(",");
-        Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc")
-                ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
+        Pageable pageable = pageable(page, size, sort);
 
         Page<Invoice> invoicePage;
         if (status != null && !status.isEmpty()) {
@@ -156,7 +191,7 @@ public class InvoiceController {
         response.setFirst(invoicePage.isFirst());
         response.setLast(invoicePage.isLast());
 
-        return ResponseEntity.ok(response);
+        return ok(sort).body(response);
     }
 
     @GetMapping("/customers/{customerId}")
@@ -169,10 +204,7 @@ public class InvoiceController {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         UUID companyId = userDetails.getDefaultCompanyId();
         
-        String[] sortParams = sort.split(",");
-        Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc")
-                ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
+        Pageable pageable = pageable(page, size, sort);
 
         ListInvoicesByCustomerQuery query = new ListInvoicesByCustomerQuery(companyId, customerId, pageable);
         Page<Invoice> invoicePage = listInvoicesByCustomerHandler.handle(query);
@@ -188,7 +220,16 @@ public class InvoiceController {
         response.setFirst(invoicePage.isFirst());
         response.setLast(invoicePage.isLast());
 
-        return ResponseEntity.ok(response);
+        return ok(sort).body(response);
+    }
+
+    private String currentETag(UUID companyId, UUID id) {
+        InvoiceVersion version = getInvoiceVersionHandler.handle(new GetInvoiceVersionQuery(companyId, id));
+        return EntityTags.of(version.getInvoiceVersion(), version.getCustomerVersion());
+    }
+
+    private String eTagFor(Invoice invoice) {
+        return EntityTags.of(invoice.getVersion(), invoice.getCustomer().getVersion());
     }
 
     private InvoiceResponseDTO toResponseDTO(Invoice invoice) {
@@ -200,5 +241,30 @@ public class InvoiceController {
         }
         return dto;
     }
-}
 
+    private Pageable pageable(int page, int size, String sort) {
+        String[] sortParams = sort.split(",");
+        Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc")
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+        String sortField = sortParams[0];
+        if (!INDEXED_SORT_FIELDS.contains(sortField) && !DEPRECATED_SORT_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException("Unsupported sort key: " + sortField + " (use createdAt or dueDate)");
+        }
+        // id breaks ties so pages stay stable when timestamps or dates collide
+        return PageRequest.of(page, size, Sort.by(direction, sortField).and(Sort.by(direction, "id")));
+    }
+
+    /**
+     * 200, announcing the deprecation when the page was sorted by a key without an index.
+     */
+    private ResponseEntity.BodyBuilder ok(String sort) {
+        String sortField = sort.split(",")[0];
+        if (INDEXED_SORT_FIELDS.contains(sortField)) {
+            return ResponseEntity.ok();
+        }
+        return ResponseEntity.ok()
+                .header("Deprecation", "true")
+                .header(HttpHeaders.WARNING, "299 - \"Sorting invoices by " + sortField
+                        + " is deprecated; use createdAt or dueDate\"");
+    }
+}
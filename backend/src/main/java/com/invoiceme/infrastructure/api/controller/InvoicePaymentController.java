@@ -1,12 +1,17 @@
 package com.invoiceme.infrastructure.api.controller;
 
+import com.invoiceme.application.queries.invoice.GetInvoiceVersionHandler;
+import com.invoiceme.application.queries.invoice.GetInvoiceVersionQuery;
 import com.invoiceme.application.queries.payment.ListPaymentsForInvoiceQuery;
 import com.invoiceme.application.queries.payment.ListPaymentsForInvoiceHandler;
-import com.invoiceme.domain.payment.Payment;
 import com.invoiceme.infrastructure.api.dto.payment.PaymentResponseDTO;
 import com.invoiceme.infrastructure.api.mapper.PaymentMapper;
+import com.invoiceme.infrastructure.concurrency.RequestCoalescer;
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -16,20 +21,41 @@ import java.util.UUID;
 @CrossOrigin(origins = "${cors.allowed-origins}")
 public class InvoicePaymentController {
     private final ListPaymentsForInvoiceHandler listPaymentsForInvoiceHandler;
+    private final GetInvoiceVersionHandler getInvoiceVersionHandler;
     private final PaymentMapper paymentMapper;
+    private final RequestCoalescer requestCoalescer;
 
     public InvoicePaymentController(
             ListPaymentsForInvoiceHandler listPaymentsForInvoiceHandler,
-            PaymentMapper paymentMapper) {
+            GetInvoiceVersionHandler getInvoiceVersionHandler,
+            PaymentMapper paymentMapper,
+            RequestCoalescer requestCoalescer) {
         this.listPaymentsForInvoiceHandler = listPaymentsForInvoiceHandler;
+        this.getInvoiceVersionHandler = getInvoiceVersionHandler;
         this.paymentMapper = paymentMapper;
+        this.requestCoalescer = requestCoalescer;
     }
 
     @GetMapping("/{invoiceId}/payments")
-    public ResponseEntity<List<PaymentResponseDTO>> listPaymentsForInvoice(@PathVariable UUID invoiceId) {
+    public ResponseEntity<List<PaymentResponseDTO>> listPaymentsForInvoice(
+            @PathVariable UUID invoiceId,
+            Authentication authentication,
+            WebRequest webRequest) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        UUID companyId = userDetails.getDefaultCompanyId();
+        
+        // Every recorded payment bumps the invoice version, so it also tags the payment list
+        String eTag = EntityTags.of(getInvoiceVersionHandler
+                .handle(new GetInvoiceVersionQuery(companyId, invoiceId))
+                .getInvoiceVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        
         ListPaymentsForInvoiceQuery query = new ListPaymentsForInvoiceQuery(invoiceId);
-        List<Payment> payments = listPaymentsForInvoiceHandler.handle(query);
-        return ResponseEntity.ok(paymentMapper.toResponseDTOList(payments));
+        List<PaymentResponseDTO> payments = requestCoalescer.execute("invoice-payments", companyId + ":" + invoiceId,
+                () -> paymentMapper.toResponseDTOList(listPaymentsForInvoiceHandler.handle(query)));
+        return ResponseEntity.ok(payments);
     }
 }
 
@@ -0,0 +1,121 @@
+package com.invoiceme.infrastructure.api.controller;
+
+import com.invoiceme.application.services.CompanyService;
+import com.invoiceme.application.services.LateFeeService;
+import com.invoiceme.domain.latefee.LateFeePolicy;
+import com.invoiceme.domain.latefee.LateFeeRun;
+import com.invoiceme.infrastructure.api.dto.latefee.LateFeePolicyRequestDTO;
+import com.invoiceme.infrastructure.api.dto.latefee.LateFeePolicyResponseDTO;
+import com.invoiceme.infrastructure.api.dto.latefee.LateFeeRunResponseDTO;
+import com.invoiceme.infrastructure.concurrency.Expensive;
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
+import com.invoiceme.infrastructure.deadline.Deadline;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/late-fees")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class LateFeeController {
+    private static final int MAX_RUNS = 100;
+
+    private final LateFeeService lateFeeService;
+    private final CompanyService companyService;
+
+    public LateFeeController(LateFeeService lateFeeService, CompanyService companyService) {
+        this.lateFeeService = lateFeeService;
+        this.companyService = companyService;
+    }
+
+    @GetMapping("/policy")
+    public ResponseEntity<LateFeePolicyResponseDTO> getPolicy(Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        return lateFeeService.getPolicy(userDetails.getDefaultCompanyId())
+                .map(policy -> ResponseEntity.ok(toResponseDTO(policy)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/policy")
+    public ResponseEntity<LateFeePolicyResponseDTO> savePolicy(
+            @Valid @RequestBody LateFeePolicyRequestDTO request,
+            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        if (!isAdmin(userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        LateFeePolicy policy = lateFeeService.savePolicy(userDetails.getDefaultCompanyId(), request.getFeeType(),
+                request.getAmount(), request.getGraceDays(), request.getRepeatDays(), request.getMaxTotal(),
+                request.getActive() == null || request.getActive());
+        return ResponseEntity.ok(toResponseDTO(policy));
+    }
+
+    @DeleteMapping("/policy")
+    public ResponseEntity<Void> deletePolicy(Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        if (!isAdmin(userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        lateFeeService.deletePolicy(userDetails.getDefaultCompanyId());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Runs the company's policy now. With {@code dryRun} the response reports the fees the run
+     * would charge without charging them.
+     */
+    @PostMapping("/runs")
+    @Expensive
+    @Deadline("${late-fees.run-deadline-ms:300000}")
+    public ResponseEntity<LateFeeRunResponseDTO> run(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        if (!isAdmin(userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        LateFeeRun run = lateFeeService.run(userDetails.getDefaultCompanyId(),
+                asOf == null ? LocalDate.now() : asOf, dryRun, userDetails.getUsername());
+        return ResponseEntity.ok(toResponseDTO(run));
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<List<LateFeeRunResponseDTO>> listRuns(
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        return ResponseEntity.ok(lateFeeService.listRuns(userDetails.getDefaultCompanyId(),
+                        Math.max(1, Math.min(limit, MAX_RUNS))).stream()
+                .map(this::toResponseDTO)
+                .toList());
+    }
+
+    private boolean isAdmin(CustomUserDetails userDetails) {
+        return companyService.isUserAdminOfCompany(userDetails.getUserId(), userDetails.getDefaultCompanyId());
+    }
+
+    private LateFeePolicyResponseDTO toResponseDTO(LateFeePolicy policy) {
+        return new LateFeePolicyResponseDTO(policy.getId(), policy.getFeeType().name(), policy.getAmount(),
+                policy.getGraceDays(), policy.getRepeatDays(), policy.getMaxTotal(), policy.isActive(),
+                policy.getUpdatedAt());
+    }
+
+    private LateFeeRunResponseDTO toResponseDTO(LateFeeRun run) {
+        return new LateFeeRunResponseDTO(run.getId(), run.getAsOf(), run.isDryRun(), run.getTriggeredBy(),
+                run.getInvoicesChecked(), run.getFeesCharged(), run.getTotals().stream()
+                        .map(total -> new LateFeeRunResponseDTO.TotalDTO(total.getCurrency().getCurrencyCode(),
+                                total.getFees(), total.getAmount()))
+                        .toList(),
+                run.getStartedAt(), run.getDurationMs(), run.getThroughput());
+    }
+}
@@ -2,15 +2,21 @@ package com.invoiceme.infrastructure.api.controller;
 
 import com.invoiceme.application.commands.payment.RecordPaymentCommand;
 import com.invoiceme.application.commands.payment.RecordPaymentHandler;
+import com.invoiceme.application.queries.invoice.GetInvoiceVersionHandler;
+import com.invoiceme.application.queries.invoice.GetInvoiceVersionQuery;
 import com.invoiceme.application.queries.payment.*;
 import com.invoiceme.domain.payment.Payment;
 import com.invoiceme.infrastructure.api.dto.payment.PaymentRequestDTO;
 import com.invoiceme.infrastructure.api.dto.payment.PaymentResponseDTO;
 import com.invoiceme.infrastructure.api.mapper.PaymentMapper;
+import com.invoiceme.infrastructure.concurrency.RequestCoalescer;
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,18 +27,27 @@ import java.util.UUID;
 public class PaymentController {
     private final RecordPaymentHandler recordPaymentHandler;
     private final GetPaymentByIdHandler getPaymentByIdHandler;
+    private final GetPaymentVersionHandler getPaymentVersionHandler;
     private final ListPaymentsForInvoiceHandler listPaymentsForInvoiceHandler;
+    private final GetInvoiceVersionHandler getInvoiceVersionHandler;
     private final PaymentMapper paymentMapper;
+    private final RequestCoalescer requestCoalescer;
 
     public PaymentController(
             RecordPaymentHandler recordPaymentHandler,
             GetPaymentByIdHandler getPaymentByIdHandler,
+            GetPaymentVersionHandler getPaymentVersionHandler,
             ListPaymentsForInvoiceHandler listPaymentsForInvoiceHandler,
-            PaymentMapper paymentMapper) {
+            GetInvoiceVersionHandler getInvoiceVersionHandler,
+            PaymentMapper paymentMapper,
+            RequestCoalescer requestCoalescer) {
         this.recordPaymentHandler = recordPaymentHandler;
         this.getPaymentByIdHandler = getPaymentByIdHandler;
+        this.getPaymentVersionHandler = getPaymentVersionHandler;
         this.listPaymentsForInvoiceHandler = listPaymentsForInvoiceHandler;
+        this.getInvoiceVersionHandler = getInvoiceVersionHandler;
         this.paymentMapper = paymentMapper;
+        this.requestCoalescer = requestCoalescer;
     }
 
     @PostMapping
@@ -45,21 +60,48 @@ public class PaymentController {
                 request.getReferenceNumber()
         );
         Payment payment = recordPaymentHandler.handle(command);
-        return ResponseEntity.status(HttpStatus.CREATED).body(paymentMapper.toResponseDTO(payment));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(EntityTags.of(payment.getVersion()))
+                .body(paymentMapper.toResponseDTO(payment));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PaymentResponseDTO> getPaymentById(@PathVariable UUID id) {
+    public ResponseEntity<PaymentResponseDTO> getPaymentById(
+            @PathVariable UUID id,
+            Authentication authentication,
+            WebRequest webRequest) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        UUID companyId = userDetails.getDefaultCompanyId();
+        
+        if (webRequest.checkNotModified(EntityTags.of(getPaymentVersionHandler.handle(new GetPaymentVersionQuery(companyId, id))))) {
+            return null;
+        }
+        
         GetPaymentByIdQuery query = new GetPaymentByIdQuery(id);
         Payment payment = getPaymentByIdHandler.handle(query);
         return ResponseEntity.ok(paymentMapper.toResponseDTO(payment));
     }
 
     @GetMapping("/invoices/{invoiceId}")
-    public ResponseEntity<List<PaymentResponseDTO>> listPaymentsForInvoice(@PathVariable UUID invoiceId) {
+    public ResponseEntity<List<PaymentResponseDTO>> listPaymentsForInvoice(
+            @PathVariable UUID invoiceId,
+            Authentication authentication,
+            WebRequest webRequest) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        UUID companyId = userDetails.getDefaultCompanyId();
+        
+        // Every recorded payment bumps the invoice version, so it also tags the payment list
+        String eTag = EntityTags.of(getInvoiceVersionHandler
+                .handle(new GetInvoiceVersionQuery(companyId, invoiceId))
+                .getInvoiceVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        
         ListPaymentsForInvoiceQuery query = new ListPaymentsForInvoiceQuery(invoiceId);
-        List<Payment> payments = listPaymentsForInvoiceHandler.handle(query);
-        return ResponseEntity.ok(paymentMapper.toResponseDTOList(payments));
+        List<PaymentResponseDTO> payments = requestCoalescer.execute("invoice-payments", companyId + ":" + invoiceId,
+                () -> paymentMapper.toResponseDTOList(listPaymentsForInvoiceHandler.handle(query)));
+        return ResponseEntity.ok(payments);
     }
 }
 
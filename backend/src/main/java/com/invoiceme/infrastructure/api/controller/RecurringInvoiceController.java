@@ -0,0 +1,114 @@
+package com.invoiceme.infrastructure.api.controller;
+
+import com.invoiceme.application.services.CompanyService;
+import com.invoiceme.application.services.RecurringInvoiceService;
+import com.invoiceme.domain.recurring.RecurringInvoice;
+import com.invoiceme.domain.recurring.RecurringInvoiceLine;
+import com.invoiceme.infrastructure.api.dto.recurring.RecurringInvoiceRequestDTO;
+import com.invoiceme.infrastructure.api.dto.recurring.RecurringInvoiceResponseDTO;
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/recurring-invoices")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class RecurringInvoiceController {
+    private static final int DEFAULT_PAYMENT_TERMS_DAYS = 30;
+
+    private final RecurringInvoiceService recurringInvoiceService;
+    private final CompanyService companyService;
+
+    public RecurringInvoiceController(RecurringInvoiceService recurringInvoiceService, CompanyService companyService) {
+        this.recurringInvoiceService = recurringInvoiceService;
+        this.companyService = companyService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RecurringInvoiceResponseDTO>> listTemplates(Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        return ResponseEntity.ok(recurringInvoiceService.listTemplates(userDetails.getDefaultCompanyId()).stream()
+                .map(this::toResponseDTO)
+                .toList());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RecurringInvoiceResponseDTO> getTemplate(@PathVariable UUID id, Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        return ResponseEntity.ok(toResponseDTO(recurringInvoiceService.getTemplate(userDetails.getDefaultCompanyId(), id)));
+    }
+
+    @PostMapping
+    public ResponseEntity<RecurringInvoiceResponseDTO> createTemplate(
+            @Valid @RequestBody RecurringInvoiceRequestDTO request,
+            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        if (!isAdmin(userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        RecurringInvoice template = recurringInvoiceService.createTemplate(userDetails.getDefaultCompanyId(),
+                request.getCustomerId(), request.getCurrency(), request.getFrequency(), request.getStartDate(),
+                request.getEndDate(), paymentTermsDays(request), toLines(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponseDTO(template));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<RecurringInvoiceResponseDTO> updateTemplate(
+            @PathVariable UUID id,
+            @Valid @RequestBody RecurringInvoiceRequestDTO request,
+            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        if (!isAdmin(userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        RecurringInvoice template = recurringInvoiceService.updateTemplate(userDetails.getDefaultCompanyId(), id,
+                request.getCustomerId(), request.getCurrency(), request.getFrequency(), request.getStartDate(),
+                request.getEndDate(), paymentTermsDays(request), toLines(request));
+        return ResponseEntity.ok(toResponseDTO(template));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTemplate(@PathVariable UUID id, Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        if (!isAdmin(userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        recurringInvoiceService.deleteTemplate(userDetails.getDefaultCompanyId(), id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private boolean isAdmin(CustomUserDetails userDetails) {
+        return companyService.isUserAdminOfCompany(userDetails.getUserId(), userDetails.getDefaultCompanyId());
+    }
+
+    private static int paymentTermsDays(RecurringInvoiceRequestDTO request) {
+        return request.getPaymentTermsDays() == null ? DEFAULT_PAYMENT_TERMS_DAYS : request.getPaymentTermsDays();
+    }
+
+    private static List<RecurringInvoiceLine> toLines(RecurringInvoiceRequestDTO request) {
+        return request.getLineItems().stream()
+                .map(line -> RecurringInvoiceLine.create(line.getDescription(), line.getQuantity(), line.getUnitPrice()))
+                .toList();
+    }
+
+    private RecurringInvoiceResponseDTO toResponseDTO(RecurringInvoice template) {
+        return new RecurringInvoiceResponseDTO(template.getId(), template.getCustomer().getId(),
+                template.getCurrency() == null ? null : template.getCurrency().getCurrencyCode(),
+                template.getFrequency().name(), template.getStartDate(), template.getEndDate(),
+                template.getNextRunDate(), template.getPeriodsGenerated(), template.getPaymentTermsDays(),
+                template.isActive(), template.getLastError(), template.getLastFailedAt(),
+                template.getLines().stream()
+                        .map(line -> new RecurringInvoiceResponseDTO.LineDTO(line.getDescription(), line.getQuantity(),
+                                line.getUnitPrice()))
+                        .toList());
+    }
+}
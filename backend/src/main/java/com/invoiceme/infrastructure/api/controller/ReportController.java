@@ -0,0 +1,61 @@
+package com.invoiceme.infrastructure.api.controller;
+
+import com.invoiceme.application.queries.report.AgingReport;
+import com.invoiceme.application.queries.report.GetAgingReportHandler;
+import com.invoiceme.application.queries.report.GetAgingReportQuery;
+import com.invoiceme.infrastructure.api.dto.report.AgingReportResponseDTO;
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class ReportController {
+    private final GetAgingReportHandler getAgingReportHandler;
+
+    public ReportController(GetAgingReportHandler getAgingReportHandler) {
+        this.getAgingReportHandler = getAgingReportHandler;
+    }
+
+    /**
+     * Open balances by age in the company's base currency, revalued at the rates in effect on
+     * {@code asOf} (today when omitted).
+     */
+    @GetMapping("/aging")
+    public ResponseEntity<AgingReportResponseDTO> aging(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        UUID companyId = userDetails.getDefaultCompanyId();
+
+        AgingReport report = getAgingReportHandler.handle(
+                new GetAgingReportQuery(companyId, asOf != null ? asOf : LocalDate.now()));
+
+        Map<String, BigDecimal> buckets = new LinkedHashMap<>();
+        report.getBuckets().forEach((bucket, amount) -> buckets.put(bucket.name(), amount.toBigDecimal()));
+        AgingReportResponseDTO response = new AgingReportResponseDTO();
+        response.setCurrency(report.getTotal().currency().getCurrencyCode());
+        response.setAsOf(report.getAsOf());
+        response.setBuckets(buckets);
+        response.setTotal(report.getTotal().toBigDecimal());
+        response.setInvoices(report.getInvoices());
+        response.setRates(report.getRates().stream()
+                .map(rate -> new AgingReportResponseDTO.RateDTO(rate.from().getCurrencyCode(),
+                        rate.to().getCurrencyCode(), rate.date(), rate.value()))
+                .toList());
+        response.setUnconverted(report.getUnconverted().stream()
+                .map(amount -> new AgingReportResponseDTO.AmountDTO(amount.currency().getCurrencyCode(),
+                        amount.toBigDecimal()))
+                .toList());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,75 @@
+package com.invoiceme.infrastructure.api.controller;
+
+import com.invoiceme.application.queries.sync.ChangeSet;
+import com.invoiceme.application.queries.sync.GetChangesSinceHandler;
+import com.invoiceme.application.queries.sync.GetChangesSinceQuery;
+import com.invoiceme.infrastructure.api.dto.sync.SyncResponseDTO;
+import com.invoiceme.infrastructure.api.mapper.CustomerMapper;
+import com.invoiceme.infrastructure.api.mapper.InvoiceMapper;
+import com.invoiceme.infrastructure.api.mapper.PaymentMapper;
+import com.invoiceme.infrastructure.concurrency.Expensive;
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
+import com.invoiceme.infrastructure.deadline.Deadline;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/sync")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class SyncController {
+    private static final int MAX_LIMIT = 1000;
+
+    private final GetChangesSinceHandler getChangesSinceHandler;
+    private final InvoiceMapper invoiceMapper;
+    private final CustomerMapper customerMapper;
+    private final PaymentMapper paymentMapper;
+
+    public SyncController(
+            GetChangesSinceHandler getChangesSinceHandler,
+            InvoiceMapper invoiceMapper,
+            CustomerMapper customerMapper,
+            PaymentMapper paymentMapper) {
+        this.getChangesSinceHandler = getChangesSinceHandler;
+        this.invoiceMapper = invoiceMapper;
+        this.customerMapper = customerMapper;
+        this.paymentMapper = paymentMapper;
+    }
+
+    /**
+     * Returns invoices, customers and payments changed since the given token, plus deletions.
+     * Omit {@code since} for a full initial load; keep calling with {@code nextToken} while
+     * {@code hasMore} is true.
+     */
+    @GetMapping
+    @Expensive
+    @Deadline("${request.deadline.export-ms:30000}")
+    public ResponseEntity<SyncResponseDTO> sync(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "200") int limit,
+            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        UUID companyId = userDetails.getDefaultCompanyId();
+
+        GetChangesSinceQuery query = new GetChangesSinceQuery(companyId, since, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        ChangeSet changes = getChangesSinceHandler.handle(query);
+
+        SyncResponseDTO response = new SyncResponseDTO();
+        response.setInvoices(invoiceMapper.toResponseDTOList(changes.getInvoices()));
+        response.setCustomers(changes.getCustomers().stream()
+                .map(customerMapper::toResponseDTO)
+                .toList());
+        response.setPayments(paymentMapper.toResponseDTOList(changes.getPayments()));
+        response.setDeleted(changes.getTombstones().stream()
+                .map(tombstone -> new SyncResponseDTO.DeletedDTO(
+                        tombstone.getEntityType().name(),
+                        tombstone.getEntityId(),
+                        tombstone.getDeletedAt()))
+                .toList());
+        response.setNextToken(changes.getNextToken().encode());
+        response.setHasMore(changes.isHasMore());
+        return ResponseEntity.ok(response);
+    }
+}
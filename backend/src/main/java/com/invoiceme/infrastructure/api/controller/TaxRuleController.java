@@ -0,0 +1,114 @@
+package com.invoiceme.infrastructure.api.controller;
+
+import com.invoiceme.application.services.CompanyService;
+import com.invoiceme.application.services.TaxRuleService;
+import com.invoiceme.domain.tax.TaxRule;
+import com.invoiceme.infrastructure.api.dto.tax.TaxRuleRequestDTO;
+import com.invoiceme.infrastructure.api.dto.tax.TaxRuleResponseDTO;
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/tax-rules")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class TaxRuleController {
+    private final TaxRuleService taxRuleService;
+    private final CompanyService companyService;
+
+    public TaxRuleController(TaxRuleService taxRuleService, CompanyService companyService) {
+        this.taxRuleService = taxRuleService;
+        this.companyService = companyService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TaxRuleResponseDTO>> listRules(Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        return ResponseEntity.ok(taxRuleService.listRules(userDetails.getDefaultCompanyId()).stream()
+                .map(this::toResponseDTO)
+                .toList());
+    }
+
+    @PostMapping
+    public ResponseEntity<TaxRuleResponseDTO> createRule(
+            @Valid @RequestBody TaxRuleRequestDTO request,
+            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        if (!isAdmin(userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        TaxRule rule = taxRuleService.createRule(userDetails.getDefaultCompanyId(), request.getName(),
+                request.getRate(), request.isCompound(), request.getPriority());
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponseDTO(rule));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<TaxRuleResponseDTO> updateRule(
+            @PathVariable UUID id,
+            @Valid @RequestBody TaxRuleRequestDTO request,
+            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        if (!isAdmin(userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        TaxRule rule = taxRuleService.updateRule(userDetails.getDefaultCompanyId(), id, request.getName(),
+                request.getRate(), request.isCompound(), request.getPriority(),
+                request.getActive() == null || request.getActive());
+        return ResponseEntity.ok(toResponseDTO(rule));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable UUID id, Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        if (!isAdmin(userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        taxRuleService.deleteRule(userDetails.getDefaultCompanyId(), id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{id}/exemptions/{customerId}")
+    public ResponseEntity<TaxRuleResponseDTO> exemptCustomer(
+            @PathVariable UUID id,
+            @PathVariable UUID customerId,
+            Authentication authentication) {
+        return setExemption(id, customerId, true, authentication);
+    }
+
+    @DeleteMapping("/{id}/exemptions/{customerId}")
+    public ResponseEntity<TaxRuleResponseDTO> removeExemption(
+            @PathVariable UUID id,
+            @PathVariable UUID customerId,
+            Authentication authentication) {
+        return setExemption(id, customerId, false, authentication);
+    }
+
+    private ResponseEntity<TaxRuleResponseDTO> setExemption(UUID id, UUID customerId, boolean exempt,
+                                                            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        if (!isAdmin(userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        TaxRule rule = taxRuleService.setExemption(userDetails.getDefaultCompanyId(), id, customerId, exempt);
+        return ResponseEntity.ok(toResponseDTO(rule));
+    }
+
+    private boolean isAdmin(CustomUserDetails userDetails) {
+        return companyService.isUserAdminOfCompany(userDetails.getUserId(), userDetails.getDefaultCompanyId());
+    }
+
+    private TaxRuleResponseDTO toResponseDTO(TaxRule rule) {
+        return new TaxRuleResponseDTO(rule.getId(), rule.getName(), rule.getRate(), rule.isCompound(),
+                rule.getPriority(), rule.isActive(), rule.getExemptCustomerIds().stream().sorted().toList());
+    }
+}
@@ -1,6 +1,7 @@
 package com.invoiceme.infrastructure.api.dto.company;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,5 +16,9 @@ public class CompanyRequestDTO {
     private String name;
     
     private String logoUrl;
+
+    // ISO 4217; unchanged when absent
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Base currency must be a three-letter ISO 4217 code")
+    private String baseCurrency;
 }
 
@@ -16,6 +16,7 @@ public class CompanyResponseDTO {
     private UUID id;
     private String name;
     private String logoUrl;
+    private String baseCurrency;
     private UUID companyCode;  // Share this with employees to join
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -0,0 +1,18 @@
+package com.invoiceme.infrastructure.api.dto.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventDTO {
+    private String type;
+    private UUID invoiceId;
+    private UUID paymentId;
+}
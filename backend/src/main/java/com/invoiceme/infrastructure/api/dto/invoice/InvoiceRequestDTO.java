@@ -3,6 +3,7 @@ package com.invoiceme.infrastructure.api.dto.invoice;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -27,6 +28,10 @@ public class InvoiceRequestDTO {
     @NotNull(message = "Due date is required")
     private LocalDate dueDate;
 
+    // ISO 4217; defaults to the company's base currency
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String currency;
+
     @Valid
     @NotEmpty(message = "At least one line item is required")
     private List<LineItemDTO> lineItems;
@@ -23,8 +23,14 @@ public class InvoiceResponseDTO {
     private String status;
     private LocalDate issueDate;
     private LocalDate dueDate;
+    private BigDecimal subtotal;
+    private BigDecimal taxAmount;
+    private BigDecimal lateFeeTotal;
     private BigDecimal totalAmount;
     private BigDecimal balance;
+    private String currency;
+    private UUID recurringInvoiceId;
+    private LocalDate recurringPeriod;
     private List<LineItemDTO> lineItems;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -39,6 +45,7 @@ public class InvoiceResponseDTO {
         private Integer quantity;
         private BigDecimal unitPrice;
         private BigDecimal amount;
+        private BigDecimal taxAmount;
     }
 }
 
@@ -0,0 +1,39 @@
+package com.invoiceme.infrastructure.api.dto.latefee;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LateFeePolicyRequestDTO {
+    // FLAT or PERCENTAGE
+    @NotNull(message = "Fee type is required")
+    private String feeType;
+
+    // The flat fee in each invoice's currency, or the percent of its balance, e.g. 1.5
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0", inclusive = false, message = "Amount must be greater than zero")
+    private BigDecimal amount;
+
+    @Min(value = 0, message = "Grace period cannot be negative")
+    private int graceDays;
+
+    // Charge again every repeatDays; once if absent
+    @Min(value = 1, message = "Repeat interval must be at least one day")
+    private Integer repeatDays;
+
+    // The most an invoice is charged in fees; no cap if absent
+    @DecimalMin(value = "0", inclusive = false, message = "Cap must be greater than zero")
+    private BigDecimal maxTotal;
+
+    private Boolean active;
+}
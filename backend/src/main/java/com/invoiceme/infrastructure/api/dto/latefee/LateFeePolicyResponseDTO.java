@@ -0,0 +1,25 @@
+package com.invoiceme.infrastructure.api.dto.latefee;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LateFeePolicyResponseDTO {
+    private UUID id;
+    private String feeType;
+    private BigDecimal amount;
+    private int graceDays;
+    private Integer repeatDays;
+    private BigDecimal maxTotal;
+    private boolean active;
+    private LocalDateTime updatedAt;
+}
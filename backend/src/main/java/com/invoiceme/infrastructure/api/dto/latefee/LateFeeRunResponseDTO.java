@@ -0,0 +1,40 @@
+package com.invoiceme.infrastructure.api.dto.latefee;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LateFeeRunResponseDTO {
+    private UUID id;
+    private LocalDate asOf;
+    private boolean dryRun;
+    private String triggeredBy;
+    private int invoicesChecked;
+    private int feesCharged;
+    private List<TotalDTO> totals;
+    private LocalDateTime startedAt;
+    private long durationMs;
+    // Invoices checked per second
+    private long throughput;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TotalDTO {
+        private String currency;
+        private int fees;
+        private BigDecimal amount;
+    }
+}
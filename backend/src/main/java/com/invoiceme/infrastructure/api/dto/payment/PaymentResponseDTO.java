@@ -18,6 +18,7 @@ public class PaymentResponseDTO {
     private UUID id;
     private UUID invoiceId;
     private BigDecimal amount;
+    private String currency;
     private LocalDate paymentDate;
     private String paymentMethod;
     private String referenceNumber;
@@ -0,0 +1,46 @@
+package com.invoiceme.infrastructure.api.dto.recurring;
+
+import com.invoiceme.infrastructure.api.dto.invoice.InvoiceRequestDTO;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringInvoiceRequestDTO {
+    @NotNull(message = "Customer ID is required")
+    private UUID customerId;
+
+    // ISO 4217; the company's base currency when each invoice is generated if absent
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String currency;
+
+    // WEEKLY, MONTHLY, QUARTERLY or YEARLY
+    @NotNull(message = "Frequency is required")
+    private String frequency;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    // Days from each issue date to its due date; 30 if absent
+    @Min(value = 0, message = "Payment terms cannot be negative")
+    private Integer paymentTermsDays;
+
+    @Valid
+    @NotEmpty(message = "At least one line item is required")
+    private List<InvoiceRequestDTO.LineItemDTO> lineItems;
+}
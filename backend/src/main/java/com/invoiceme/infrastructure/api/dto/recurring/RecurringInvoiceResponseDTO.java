@@ -0,0 +1,42 @@
+package com.invoiceme.infrastructure.api.dto.recurring;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringInvoiceResponseDTO {
+    private UUID id;
+    private UUID customerId;
+    private String currency;
+    private String frequency;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate nextRunDate;
+    private int periodsGenerated;
+    private int paymentTermsDays;
+    private boolean active;
+    private String lastError;
+    private LocalDateTime lastFailedAt;
+    private List<LineDTO> lineItems;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineDTO {
+        private String description;
+        private Integer quantity;
+        private BigDecimal unitPrice;
+    }
+}
@@ -0,0 +1,45 @@
+package com.invoiceme.infrastructure.api.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgingReportResponseDTO {
+    private String currency;
+    private LocalDate asOf;
+    private Map<String, BigDecimal> buckets;
+    private BigDecimal total;
+    private long invoices;
+    private List<RateDTO> rates;
+    private List<AmountDTO> unconverted;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RateDTO {
+        private String from;
+        private String to;
+        private LocalDate date;
+        private BigDecimal rate;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AmountDTO {
+        private String currency;
+        private BigDecimal amount;
+    }
+}
@@ -0,0 +1,36 @@
+package com.invoiceme.infrastructure.api.dto.sync;
+
+import com.invoiceme.infrastructure.api.dto.customer.CustomerResponseDTO;
+import com.invoiceme.infrastructure.api.dto.invoice.InvoiceResponseDTO;
+import com.invoiceme.infrastructure.api.dto.payment.PaymentResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponseDTO {
+    private List<InvoiceResponseDTO> invoices;
+    private List<CustomerResponseDTO> customers;
+    private List<PaymentResponseDTO> payments;
+    private List<DeletedDTO> deleted;
+    private String nextToken;
+    private boolean hasMore;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DeletedDTO {
+        private String entityType;
+        private UUID entityId;
+        private LocalDateTime deletedAt;
+    }
+}
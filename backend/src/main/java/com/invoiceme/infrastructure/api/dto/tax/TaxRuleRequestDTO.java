@@ -0,0 +1,33 @@
+package com.invoiceme.infrastructure.api.dto.tax;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaxRuleRequestDTO {
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must be at most 100 characters")
+    private String name;
+
+    // Percent, e.g. 8.25
+    @NotNull(message = "Rate is required")
+    @DecimalMin(value = "0", message = "Rate cannot be negative")
+    @DecimalMax(value = "100", message = "Rate cannot exceed 100")
+    private BigDecimal rate;
+
+    private boolean compound;
+    private int priority;
+    private Boolean active;
+}
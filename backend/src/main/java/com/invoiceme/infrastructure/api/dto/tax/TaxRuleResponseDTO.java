@@ -0,0 +1,24 @@
+package com.invoiceme.infrastructure.api.dto.tax;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaxRuleResponseDTO {
+    private UUID id;
+    private String name;
+    private BigDecimal rate;
+    private boolean compound;
+    private int priority;
+    private boolean active;
+    private List<UUID> exemptCustomerIds;
+}
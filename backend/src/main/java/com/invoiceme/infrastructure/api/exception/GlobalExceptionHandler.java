@@ -1,22 +1,48 @@
 package com.invoiceme.infrastructure.api.exception;
 
+import com.invoiceme.application.commands.StaleVersionException;
 import com.invoiceme.infrastructure.api.dto.common.ErrorResponseDTO;
+import com.invoiceme.infrastructure.concurrency.ServerBusyException;
+import com.invoiceme.infrastructure.concurrency.TooManyRequestsException;
+import com.invoiceme.infrastructure.deadline.DeadlineExceededException;
+import com.invoiceme.infrastructure.deadline.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.HandlerMapping;
 
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    // PostgreSQL query_canceled: statement_timeout, or a cancel sent after the JDBC query timeout
+    private static final String QUERY_CANCELED = "57014";
+
+    private final MeterRegistry meterRegistry;
+    private final long retryAfterSeconds;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry,
+                                  @Value("${admission.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponseDTO> handleIllegalArgumentException(
@@ -42,6 +68,104 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * 412 when the request was conditional (If-Match), whether its version was already stale when
+     * the entity was loaded or a concurrent commit beat its versioned UPDATE; 409 otherwise.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, HttpServletRequest request) {
+        if (ex instanceof StaleVersionException || request.getHeader(HttpHeaders.IF_MATCH) != null) {
+            ErrorResponseDTO error = new ErrorResponseDTO();
+            error.setTimestamp(LocalDateTime.now());
+            error.setStatus(HttpStatus.PRECONDITION_FAILED.value());
+            error.setError("Precondition Failed");
+            error.setMessage("The resource has changed since it was read; reload it and retry");
+            error.setPath(request.getRequestURI());
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+        }
+        ErrorResponseDTO error = new ErrorResponseDTO();
+        error.setTimestamp(LocalDateTime.now());
+        error.setStatus(HttpStatus.CONFLICT.value());
+        error.setError("Conflict");
+        error.setMessage("The resource was modified concurrently; reload it and retry");
+        error.setPath(request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(ServerBusyException.class)
+    public ResponseEntity<ErrorResponseDTO> handleServerBusyException(
+            ServerBusyException ex, HttpServletRequest request) {
+        ErrorResponseDTO error = new ErrorResponseDTO();
+        error.setTimestamp(LocalDateTime.now());
+        error.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        error.setError("Service Unavailable");
+        error.setMessage(ex.getMessage());
+        error.setPath(request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTooManyRequestsException(
+            TooManyRequestsException ex, HttpServletRequest request) {
+        ErrorResponseDTO error = new ErrorResponseDTO();
+        error.setTimestamp(LocalDateTime.now());
+        error.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        error.setError("Too Many Requests");
+        error.setMessage(ex.getMessage());
+        error.setPath(request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    /**
+     * A statement or transaction cut short: 504 when the request ran out of its deadline,
+     * otherwise (cancelled by the database) 503 with {@code Retry-After}.
+     */
+    @ExceptionHandler({DeadlineExceededException.class, TransactionTimedOutException.class, QueryTimeoutException.class,
+            jakarta.persistence.QueryTimeoutException.class})
+    public ResponseEntity<ErrorResponseDTO> handleTimeoutException(
+            Exception ex, HttpServletRequest request) {
+        boolean expired = ex instanceof DeadlineExceededException || RequestDeadline.currentExpired();
+        if (expired) {
+            requestCounter("invoiceme.deadline.expired", "Requests answered with 504 because their deadline passed",
+                    request).increment();
+        } else {
+            requestCounter("invoiceme.query.cancelled",
+                    "Requests answered with 503 because the database cancelled a statement", request).increment();
+        }
+        ErrorResponseDTO error = new ErrorResponseDTO();
+        error.setTimestamp(LocalDateTime.now());
+        error.setPath(request.getRequestURI());
+        if (expired) {
+            error.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            error.setError("Gateway Timeout");
+            error.setMessage("The request did not complete within its deadline");
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(error);
+        }
+        error.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        error.setError("Service Unavailable");
+        error.setMessage("The query was cancelled; retry after " + retryAfterSeconds + "s");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(error);
+    }
+
+    private static boolean isTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException || cause instanceof TransactionTimedOutException
+                    || cause instanceof QueryTimeoutException || cause instanceof jakarta.persistence.QueryTimeoutException
+                    || cause instanceof SQLTimeoutException
+                    || cause instanceof SQLException sql && QUERY_CANCELED.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDTO> handleValidationExceptions(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
@@ -87,6 +211,11 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleGenericException(
             Exception ex, HttpServletRequest request) {
+        // Timeouts wrapped by another layer or not translated by it, and anything that failed
+        // because the request ran past its deadline
+        if (isTimeout(ex) || RequestDeadline.currentExpired()) {
+            return handleTimeoutException(ex, request);
+        }
         // Log the full exception for debugging
         ex.printStackTrace();
         
@@ -98,5 +227,13 @@ public class GlobalExceptionHandler {
         error.setPath(request.getRequestURI());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
-}
 
+    private Counter requestCounter(String name, String description, HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return Counter.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry);
+    }
+}
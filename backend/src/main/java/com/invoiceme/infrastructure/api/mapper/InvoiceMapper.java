@@ -9,7 +9,7 @@ import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring", uses = {})
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
 public interface InvoiceMapper {
     @Mapping(target = "customerId", source = "customer.id")
     @Mapping(target = "customerName", source = "customer.name")
@@ -22,11 +22,17 @@ public interface InvoiceMapper {
     @Mapping(target = "invoiceNumber", ignore = true)
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "totalAmount", ignore = true)
+    @Mapping(target = "taxAmount", ignore = true)
     @Mapping(target = "balance", ignore = true)
     @Mapping(target = "lineItems", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "customer", ignore = true)
+    @Mapping(target = "recurringInvoiceId", ignore = true)
+    @Mapping(target = "recurringPeriod", ignore = true)
+    @Mapping(target = "lateFeeTotal", ignore = true)
+    @Mapping(target = "lateFeesApplied", ignore = true)
     Invoice toDomain(InvoiceRequestDTO dto);
     
     InvoiceResponseDTO.LineItemDTO toLineItemDTO(InvoiceLineItem lineItem);
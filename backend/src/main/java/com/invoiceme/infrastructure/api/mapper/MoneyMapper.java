@@ -0,0 +1,20 @@
+package com.invoiceme.infrastructure.api.mapper;
+
+import com.invoiceme.domain.money.Money;
+import org.mapstruct.Mapper;
+
+import java.math.BigDecimal;
+
+/**
+ * The API keeps exchanging amounts as decimals with two places.
+ */
+@Mapper(componentModel = "spring")
+public interface MoneyMapper {
+    default BigDecimal toDecimal(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    default Money toMoney(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount);
+    }
+}
@@ -8,7 +8,7 @@ import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring", uses = {})
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
 public interface PaymentMapper {
     @Mapping(target = "invoiceId", source = "invoice.id")
     PaymentResponseDTO toResponseDTO(Payment payment);
@@ -18,6 +18,10 @@ public interface PaymentMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "invoice", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    // Taken from the invoice when the payment is recorded
+    @Mapping(target = "companyId", ignore = true)
+    @Mapping(target = "currency", ignore = true)
     Payment toDomain(PaymentRequestDTO dto);
 }
 
@@ -0,0 +1,172 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether a request may start, based on the number of requests already in flight and
+ * the number of threads waiting for a pooled connection. Rejecting early keeps request threads
+ * from piling up behind an exhausted pool. After a rejection the node reports itself saturated
+ * for {@code admission.degraded-hold-ms} so readiness does not flap with every request.
+ */
+@Component
+public class AdmissionController {
+    private static final Logger log = LoggerFactory.getLogger(AdmissionController.class);
+
+    public enum Decision {
+        ADMITTED, IN_FLIGHT_LIMIT, POOL_SATURATED
+    }
+
+    private final Supplier<PoolStats> poolStats;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final int maxPendingAcquisitions;
+    private final Duration degradedHold;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<Instant> lastRejectedAt = new AtomicReference<>();
+    private final Counter inFlightRejections;
+    private final Counter poolRejections;
+
+    @Autowired
+    public AdmissionController(
+            ObjectProvider<DataSource> dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${admission.enabled:true}") boolean enabled,
+            @Value("${admission.max-in-flight:100}") int maxInFlight,
+            @Value("${admission.max-pending-acquisitions:20}") int maxPendingAcquisitions,
+            @Value("${admission.degraded-hold-ms:10000}") long degradedHoldMs) {
+        this(new HikariPoolStats(dataSource), Clock.systemUTC(), meterRegistry, enabled, maxInFlight,
+                maxPendingAcquisitions, Duration.ofMillis(degradedHoldMs));
+    }
+
+    AdmissionController(Supplier<PoolStats> poolStats, Clock clock, MeterRegistry meterRegistry, boolean enabled,
+                        int maxInFlight, int maxPendingAcquisitions, Duration degradedHold) {
+        this.poolStats = poolStats;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.maxPendingAcquisitions = maxPendingAcquisitions;
+        this.degradedHold = degradedHold;
+        Gauge.builder("invoiceme.admission.in_flight", inFlight, AtomicInteger::get)
+                .description("API requests currently being processed")
+                .register(meterRegistry);
+        this.inFlightRejections = rejectionCounter(meterRegistry, "in_flight");
+        this.poolRejections = rejectionCounter(meterRegistry, "pool_pending");
+    }
+
+    /**
+     * Admits the request unless a limit is exceeded. Every {@link Decision#ADMITTED} must be
+     * followed by a {@link #release()}.
+     */
+    public Decision tryAdmit() {
+        if (!enabled) {
+            return Decision.ADMITTED;
+        }
+        if (poolStats.get().pending() > maxPendingAcquisitions) {
+            reject(poolRejections);
+            return Decision.POOL_SATURATED;
+        }
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            reject(inFlightRejections);
+            return Decision.IN_FLIGHT_LIMIT;
+        }
+        return Decision.ADMITTED;
+    }
+
+    public void release() {
+        if (enabled) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public Saturation saturation() {
+        PoolStats pool = poolStats.get();
+        Instant rejectedAt = lastRejectedAt.get();
+        boolean recentlyRejected = rejectedAt != null && clock.instant().isBefore(rejectedAt.plus(degradedHold));
+        boolean saturated = recentlyRejected || pool.pending() > maxPendingAcquisitions || inFlight.get() >= maxInFlight;
+        return new Saturation(saturated, inFlight.get(), maxInFlight, maxPendingAcquisitions, rejectedAt, pool);
+    }
+
+    private void reject(Counter counter) {
+        counter.increment();
+        Instant previous = lastRejectedAt.getAndSet(clock.instant());
+        if (previous == null || !clock.instant().isBefore(previous.plus(degradedHold))) {
+            log.warn("Shedding load: {}", saturation());
+        }
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("invoiceme.admission.rejected")
+                .description("API requests answered with 503 before any work was done")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public record PoolStats(int active, int idle, int pending, int total, int max) {
+        static final PoolStats UNKNOWN = new PoolStats(0, 0, 0, 0, 0);
+    }
+
+    public record Saturation(boolean saturated, int inFlight, int maxInFlight, int maxPendingAcquisitions,
+                             Instant lastRejectedAt, PoolStats pool) {
+    }
+
+    /**
+     * Reads the Hikari pool behind the (proxied) DataSource. The pool MXBean only exists once
+     * the pool has started, so it is looked up until found.
+     */
+    private static final class HikariPoolStats implements Supplier<PoolStats> {
+        private final ObjectProvider<DataSource> dataSource;
+        private volatile HikariDataSource hikari;
+
+        private HikariPoolStats(ObjectProvider<DataSource> dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public PoolStats get() {
+            HikariDataSource pool = hikari();
+            HikariPoolMXBean mxBean = pool != null ? pool.getHikariPoolMXBean() : null;
+            if (mxBean == null) {
+                return PoolStats.UNKNOWN;
+            }
+            return new PoolStats(mxBean.getActiveConnections(), mxBean.getIdleConnections(),
+                    mxBean.getThreadsAwaitingConnection(), mxBean.getTotalConnections(), pool.getMaximumPoolSize());
+        }
+
+        private HikariDataSource hikari() {
+            HikariDataSource pool = hikari;
+            if (pool == null) {
+                DataSource candidate = dataSource.getIfAvailable();
+                try {
+                    if (candidate != null && candidate.isWrapperFor(HikariDataSource.class)) {
+                        pool = candidate.unwrap(HikariDataSource.class);
+                        hikari = pool;
+                    }
+                } catch (SQLException e) {
+                    return null;
+                }
+            }
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.infrastructure.api.dto.common.ErrorResponseDTO;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Answers API requests with {@code 503 Service Unavailable} and {@code Retry-After} when the
+ * {@link AdmissionController} refuses them. Runs ahead of authentication, which already needs
+ * a database connection. The event stream is long-lived and not counted.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionFilter extends OncePerRequestFilter {
+    private final AdmissionController admissionController;
+    private final ObjectMapper objectMapper;
+    private final long retryAfterSeconds;
+
+    public AdmissionFilter(AdmissionController admissionController, ObjectMapper objectMapper,
+                           @Value("${admission.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.admissionController = admissionController;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/") || path.startsWith("/api/events/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdmissionController.Decision decision = admissionController.tryAdmit();
+        if (decision != AdmissionController.Decision.ADMITTED) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ErrorResponseDTO error = new ErrorResponseDTO();
+            error.setTimestamp(LocalDateTime.now());
+            error.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            error.setError("Service Unavailable");
+            error.setMessage("The server is busy; retry after " + retryAfterSeconds + "s");
+            error.setPath(request.getRequestURI());
+            objectMapper.writeValue(response.getOutputStream(), error);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admissionController.release();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code DEGRADED} while the node is saturated. Only the readiness group maps that
+ * status to 503, so the load balancer stops routing here without the node being restarted.
+ */
+@Component
+public class ConnectionPoolHealthIndicator implements HealthIndicator {
+    public static final Status DEGRADED = new Status("DEGRADED", "Connection pool or request limit saturated");
+
+    private final AdmissionController admissionController;
+
+    public ConnectionPoolHealthIndicator(AdmissionController admissionController) {
+        this.admissionController = admissionController;
+    }
+
+    @Override
+    public Health health() {
+        AdmissionController.Saturation saturation = admissionController.saturation();
+        AdmissionController.PoolStats pool = saturation.pool();
+        Health.Builder builder = saturation.saturated() ? Health.status(DEGRADED) : Health.up();
+        builder.withDetail("active", pool.active())
+                .withDetail("idle", pool.idle())
+                .withDetail("pending", pool.pending())
+                .withDetail("maxPoolSize", pool.max())
+                .withDetail("maxPendingAcquisitions", saturation.maxPendingAcquisitions())
+                .withDetail("inFlight", saturation.inFlight())
+                .withDetail("maxInFlight", saturation.maxInFlight());
+        if (saturation.lastRejectedAt() != null) {
+            builder.withDetail("lastRejectedAt", saturation.lastRejectedAt().toString());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method whose requests go through the {@link WeightedFairQueue}, so one
+ * company cannot take all the slots for heavy work such as exports.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Expensive {
+
+    /**
+     * Relative cost of one request; a company's turn comes later the more it has spent.
+     */
+    int cost() default 1;
+}
@@ -0,0 +1,88 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of handlers running at once to the size of the connection pool. With
+ * virtual threads there is no request thread pool bounding this any more, so without a cap
+ * every request would start a transaction and queue inside the pool. Callers wait here in
+ * arrival order and get a 503 after the permit timeout. A handler called from another handler
+ * runs under its caller's permit.
+ */
+@Aspect
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class JdbcConcurrencyLimiter {
+    private final Semaphore permits;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+    private final ThreadLocal<Boolean> holdingPermit = new ThreadLocal<>();
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    public JdbcConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${jdbc.max-concurrent-handlers:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentHandlers,
+            @Value("${jdbc.permit-timeout-ms:${spring.datasource.hikari.connection-timeout:5000}}") long timeoutMs,
+            @Value("${admission.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.permits = new Semaphore(maxConcurrentHandlers, true);
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.waitTimer = Timer.builder("invoiceme.jdbc.permit.wait")
+                .description("Time handlers waited for one of the pool-sized permits")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("invoiceme.jdbc.permit.timeouts")
+                .description("Handlers refused because no permit became free in time")
+                .register(meterRegistry);
+    }
+
+    @Around("execution(* com.invoiceme.application..*Handler.handle(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        return call(joinPoint::proceed);
+    }
+
+    Object call(Work work) throws Throwable {
+        if (holdingPermit.get() != null) {
+            return work.run();
+        }
+        long start = System.nanoTime();
+        boolean acquired = permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            timeouts.increment();
+            throw new ServerBusyException("No database capacity available", retryAfterSeconds);
+        }
+        holdingPermit.set(Boolean.TRUE);
+        try {
+            return work.run();
+        } finally {
+            holdingPermit.remove();
+            permits.release();
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @FunctionalInterface
+    interface Work {
+        Object run() throws Throwable;
+    }
+}
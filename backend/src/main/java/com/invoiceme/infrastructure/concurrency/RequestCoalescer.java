@@ -0,0 +1,91 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import com.invoiceme.infrastructure.jfr.CacheLookupEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical reads: while a load for a key is in flight,
+ * concurrent callers for the same key wait for and share its result instead of
+ * running their own query.
+ */
+@Component
+public class RequestCoalescer {
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("invoiceme.coalescer.in_flight", inFlight, ConcurrentMap::size)
+                .description("Number of distinct keys currently being loaded")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code loader} for the given group and key unless an identical load is already
+     * running, in which case the caller blocks until that load finishes and receives its
+     * result (or its exception). The key must include everything that scopes the result,
+     * such as the company id.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String group, Object key, Supplier<T> loader) {
+        String flightKey = group + ':' + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        if (existing != null) {
+            counter(group, "follower").increment();
+            try {
+                return (T) await(existing);
+            } finally {
+                event.finish("coalescer:" + group, CacheLookupEvent.HIT);
+            }
+        }
+
+        counter(group, "leader").increment();
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+            event.finish("coalescer:" + group, CacheLookupEvent.MISS);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Coalesced request failed", cause);
+        }
+    }
+
+    private Counter counter(String group, String role) {
+        return counters.computeIfAbsent(group + ':' + role, ignored -> Counter.builder("invoiceme.coalescer.requests")
+                .description("Reads served by running a load (leader) or by sharing an in-flight load (follower)")
+                .tag("group", group)
+                .tag("role", role)
+                .register(meterRegistry));
+    }
+}
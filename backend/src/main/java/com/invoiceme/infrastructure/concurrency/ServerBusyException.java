@@ -0,0 +1,18 @@
+package com.invoiceme.infrastructure.concurrency;
+
+/**
+ * The request was refused because the server is at capacity; answered with 503 and
+ * {@code Retry-After}.
+ */
+public class ServerBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServerBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
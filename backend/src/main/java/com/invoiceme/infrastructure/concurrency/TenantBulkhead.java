@@ -0,0 +1,55 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits how many requests of one company run at once. Companies are hashed onto a fixed set
+ * of semaphores (stripes) rather than given one each, so memory does not grow with the number
+ * of tenants; two companies on the same stripe share its permits, which stays rare with enough
+ * stripes.
+ */
+@Component
+public class TenantBulkhead {
+    private final Semaphore[] stripes;
+    private final boolean enabled;
+
+    public TenantBulkhead(
+            @Value("${tenant.bulkhead.enabled:true}") boolean enabled,
+            @Value("${tenant.bulkhead.max-concurrent:8}") int maxConcurrent,
+            @Value("${tenant.bulkhead.stripes:256}") int stripes) {
+        this.enabled = enabled;
+        this.stripes = new Semaphore[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Semaphore(maxConcurrent);
+        }
+    }
+
+    /**
+     * Takes a permit for the company without waiting. Every {@code true} must be followed by a
+     * {@link #exit(UUID)}.
+     */
+    public boolean tryEnter(UUID companyId) {
+        return !enabled || stripe(companyId).tryAcquire();
+    }
+
+    public void exit(UUID companyId) {
+        if (enabled) {
+            stripe(companyId).release();
+        }
+    }
+
+    int availablePermits(UUID companyId) {
+        return stripe(companyId).availablePermits();
+    }
+
+    private Semaphore stripe(UUID companyId) {
+        int hash = companyId.hashCode();
+        // Spread the high bits so that UUIDs differing only there still land on different stripes
+        hash ^= hash >>> 16;
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+}
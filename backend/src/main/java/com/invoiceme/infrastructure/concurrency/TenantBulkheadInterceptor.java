@@ -0,0 +1,94 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
+import com.invoiceme.infrastructure.metrics.TenantUsageTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.UUID;
+
+/**
+ * Applies the per-company limits once the user is known: a {@link TenantBulkhead} permit for
+ * every request, plus a {@link WeightedFairQueue} slot for {@link Expensive} endpoints. A
+ * company over its limit gets 429 right away rather than tying up a request thread.
+ */
+@Component
+public class TenantBulkheadInterceptor implements HandlerInterceptor {
+    private static final String ADMITTED = TenantBulkheadInterceptor.class.getName() + ".admitted";
+
+    private final TenantBulkhead bulkhead;
+    private final WeightedFairQueue fairQueue;
+    private final TenantUsageTracker usage;
+    private final long retryAfterSeconds;
+
+    public TenantBulkheadInterceptor(TenantBulkhead bulkhead, WeightedFairQueue fairQueue, TenantUsageTracker usage,
+                                     @Value("${tenant.bulkhead.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.bulkhead = bulkhead;
+        this.fairQueue = fairQueue;
+        this.usage = usage;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        UUID companyId = currentCompanyId();
+        if (companyId == null || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        if (!bulkhead.tryEnter(companyId)) {
+            usage.rejected(companyId, "concurrency");
+            throw new TooManyRequestsException("Too many concurrent requests for this company", retryAfterSeconds);
+        }
+        Expensive expensive = method.getMethodAnnotation(Expensive.class);
+        if (expensive != null) {
+            long start = System.nanoTime();
+            try {
+                fairQueue.acquire(companyId, expensive.cost());
+            } catch (TooManyRequestsException e) {
+                bulkhead.exit(companyId);
+                usage.rejected(companyId, "queue_full");
+                throw e;
+            } catch (ServerBusyException | InterruptedException e) {
+                bulkhead.exit(companyId);
+                usage.rejected(companyId, "queue_timeout");
+                throw e;
+            }
+            usage.queued(companyId, System.nanoTime() - start);
+        }
+        usage.started(companyId);
+        request.setAttribute(ADMITTED, new Admitted(companyId, expensive != null, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(ADMITTED) instanceof Admitted admitted)) {
+            return;
+        }
+        request.removeAttribute(ADMITTED);
+        if (admitted.queued()) {
+            fairQueue.release();
+        }
+        bulkhead.exit(admitted.companyId());
+        usage.finished(admitted.companyId(), System.nanoTime() - admitted.startedAt());
+    }
+
+    private static UUID currentCompanyId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user) {
+            return user.getDefaultCompanyId();
+        }
+        return null;
+    }
+
+    private record Admitted(UUID companyId, boolean queued, long startedAt) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.invoiceme.infrastructure.concurrency;
+
+/**
+ * The request was refused because its company is over its own limit; answered with 429 and
+ * {@code Retry-After}. Other companies are not affected.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
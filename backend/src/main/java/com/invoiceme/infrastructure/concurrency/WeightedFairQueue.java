@@ -0,0 +1,204 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shares a few slots for expensive requests between companies in proportion to their weight.
+ * Each queued request gets a finish tag: the point in virtual time where its company's
+ * previous requests end, plus its cost divided by the company's weight. Free slots go to the
+ * smallest tag, so a company that queued ten exports waits behind another company's first one
+ * instead of ahead of it. Tags are forgotten once the queue is idle.
+ */
+@Component
+public class WeightedFairQueue {
+    private final int slots;
+    private final int maxQueuedPerTenant;
+    private final long maxWaitNanos;
+    private final long retryAfterSeconds;
+    private final Map<UUID, Double> weights;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition granted = lock.newCondition();
+    private final PriorityQueue<Waiter> waiting = new PriorityQueue<>(
+            Comparator.comparingDouble((Waiter waiter) -> waiter.finish).thenComparingLong(waiter -> waiter.sequence));
+    private final Map<UUID, Double> lastFinish = new HashMap<>();
+    private final Map<UUID, Integer> queuedPerTenant = new HashMap<>();
+    private int available;
+    private double virtualTime;
+    private long sequence;
+    private volatile int waitingCount;
+    private final Timer waitTimer;
+
+    @Autowired
+    public WeightedFairQueue(
+            MeterRegistry meterRegistry,
+            @Value("${tenant.fair-queue.slots:4}") int slots,
+            @Value("${tenant.fair-queue.max-queued-per-tenant:4}") int maxQueuedPerTenant,
+            @Value("${tenant.fair-queue.max-wait-ms:10000}") long maxWaitMs,
+            @Value("${admission.retry-after-seconds:2}") long retryAfterSeconds,
+            @Value("${tenant.fair-queue.weights:}") String weights) {
+        this(meterRegistry, slots, maxQueuedPerTenant, Duration.ofMillis(maxWaitMs), retryAfterSeconds,
+                parseWeights(weights));
+    }
+
+    WeightedFairQueue(MeterRegistry meterRegistry, int slots, int maxQueuedPerTenant, Duration maxWait,
+                      long retryAfterSeconds, Map<UUID, Double> weights) {
+        this.slots = slots;
+        this.available = slots;
+        this.maxQueuedPerTenant = maxQueuedPerTenant;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.weights = Map.copyOf(weights);
+        Gauge.builder("invoiceme.tenant.queue.waiting", this, queue -> queue.waitingCount)
+                .description("Expensive requests waiting for a fair queue slot")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("invoiceme.tenant.queue.wait")
+                .description("Time expensive requests waited for a fair queue slot")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Blocks until the company's turn comes. Every successful return must be followed by a
+     * {@link #release()}.
+     *
+     * @throws TooManyRequestsException if the company already has the maximum number of requests queued
+     * @throws ServerBusyException      if no slot came free in time
+     */
+    public void acquire(UUID companyId, int cost) throws InterruptedException {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            int queued = queuedPerTenant.getOrDefault(companyId, 0);
+            if (queued >= maxQueuedPerTenant) {
+                throw new TooManyRequestsException("Too many queued requests for this company", retryAfterSeconds);
+            }
+            double startTag = Math.max(virtualTime, lastFinish.getOrDefault(companyId, 0.0));
+            double finishTag = startTag + cost / weights.getOrDefault(companyId, 1.0);
+            lastFinish.put(companyId, finishTag);
+            if (available > 0 && waiting.isEmpty()) {
+                available--;
+                virtualTime = startTag;
+                return;
+            }
+
+            Waiter waiter = new Waiter(startTag, finishTag, sequence++);
+            waiting.add(waiter);
+            waitingCount = waiting.size();
+            queuedPerTenant.put(companyId, queued + 1);
+            try {
+                await(waiter);
+            } finally {
+                queuedPerTenant.computeIfPresent(companyId, (id, count) -> count > 1 ? count - 1 : null);
+            }
+        } finally {
+            lock.unlock();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            available++;
+            dispatch();
+            if (waiting.isEmpty() && available == slots) {
+                lastFinish.clear();
+                virtualTime = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int waiting() {
+        return waitingCount;
+    }
+
+    private void await(Waiter waiter) throws InterruptedException {
+        long remaining = maxWaitNanos;
+        try {
+            while (!waiter.granted) {
+                if (remaining <= 0) {
+                    waiting.remove(waiter);
+                    waitingCount = waiting.size();
+                    throw new ServerBusyException("No capacity for expensive requests available", retryAfterSeconds);
+                }
+                remaining = granted.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            if (waiter.granted) {
+                // Granted while being interrupted: hand the slot on
+                available++;
+                dispatch();
+            } else {
+                waiting.remove(waiter);
+                waitingCount = waiting.size();
+            }
+            throw e;
+        }
+    }
+
+    private void dispatch() {
+        boolean any = false;
+        while (available > 0 && !waiting.isEmpty()) {
+            Waiter next = waiting.poll();
+            next.granted = true;
+            available--;
+            virtualTime = Math.max(virtualTime, next.start);
+            any = true;
+        }
+        waitingCount = waiting.size();
+        if (any) {
+            granted.signalAll();
+        }
+    }
+
+    // e.g. 3f1c...=0.5,9a2b...=2
+    static Map<UUID, Double> parseWeights(String value) {
+        Map<UUID, Double> weights = new HashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected companyId=weight, got: " + entry);
+            }
+            double weight = Double.parseDouble(parts[1].trim());
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Weight must be positive: " + entry);
+            }
+            weights.put(UUID.fromString(parts[0].trim()), weight);
+        }
+        return weights;
+    }
+
+    private static final class Waiter {
+        private final double start;
+        private final double finish;
+        private final long sequence;
+        private boolean granted;
+
+        private Waiter(double start, double finish, long sequence) {
+            this.start = start;
+            this.finish = finish;
+            this.sequence = sequence;
+        }
+    }
+}
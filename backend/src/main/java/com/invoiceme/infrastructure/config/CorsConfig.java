@@ -23,6 +23,8 @@ public class CorsConfig {
                         .allowedOrigins(allowedOrigins.split(","))
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders("ETag", "Server-Timing", "Retry-After", "RateLimit-Limit", "RateLimit-Remaining",
+                                "RateLimit-Reset", "RateLimit-Policy", "Deprecation", "Warning")
                         .allowCredentials(true);
             }
         };
@@ -0,0 +1,39 @@
+package com.invoiceme.infrastructure.config;
+
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource bean in a datasource-proxy so JDBC activity can be observed
+ * without touching repositories. Any {@link QueryExecutionListener} or
+ * {@link MethodExecutionListener} bean is attached to the proxy.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(
+            ObjectProvider<QueryExecutionListener> queryListeners,
+            ObjectProvider<MethodExecutionListener> methodListeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource);
+                queryListeners.orderedStream().forEach(builder::listener);
+                methodListeners.orderedStream().forEach(builder::methodListener);
+                return builder.build();
+            }
+        };
+    }
+}
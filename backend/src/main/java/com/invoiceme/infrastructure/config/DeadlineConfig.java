@@ -0,0 +1,34 @@
+package com.invoiceme.infrastructure.config;
+
+import com.invoiceme.infrastructure.deadline.DeadlineInterceptor;
+import com.invoiceme.infrastructure.deadline.DeadlineTransactionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class DeadlineConfig implements WebMvcConfigurer {
+    private final DeadlineInterceptor deadlineInterceptor;
+
+    public DeadlineConfig(DeadlineInterceptor deadlineInterceptor) {
+        this.deadlineInterceptor = deadlineInterceptor;
+    }
+
+    // Replaces Spring Boot's JpaTransactionManager, customized the same way
+    @Bean
+    public PlatformTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        DeadlineTransactionManager transactionManager = new DeadlineTransactionManager();
+        customizers.ifAvailable(transactionManagerCustomizers -> transactionManagerCustomizers.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(deadlineInterceptor).addPathPatterns("/api/**");
+    }
+}
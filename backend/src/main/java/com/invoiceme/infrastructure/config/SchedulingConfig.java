@@ -0,0 +1,11 @@
+package com.invoiceme.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs register with Spring Boot's task scheduler, which runs them on virtual threads
+// when spring.threads.virtual.enabled is set and on spring.task.scheduling.pool.size threads otherwise
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,23 @@
+package com.invoiceme.infrastructure.config;
+
+import com.invoiceme.infrastructure.concurrency.TenantBulkheadInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class TenantIsolationConfig implements WebMvcConfigurer {
+    private final TenantBulkheadInterceptor tenantBulkheadInterceptor;
+
+    public TenantIsolationConfig(TenantBulkheadInterceptor tenantBulkheadInterceptor) {
+        this.tenantBulkheadInterceptor = tenantBulkheadInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // The event stream is long-lived and would hold a permit for as long as it is open
+        registry.addInterceptor(tenantBulkheadInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/auth/**", "/api/events/**");
+    }
+}
@@ -0,0 +1,82 @@
+package com.invoiceme.infrastructure.config.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with {@link ReplicaRoutingDataSource} when
+ * {@code replica.enabled} is set. The primary pool is configured from {@code spring.datasource.*}
+ * as before; each replica gets a read-only copy of its settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${replica.urls}") String urls,
+            @Value("${replica.username:${spring.datasource.username:}}") String username,
+            @Value("${replica.password:${spring.datasource.password:}}") String password,
+            @Value("${replica.pool-size:10}") int poolSize,
+            @Value("${replica.max-lag-ms:2000}") long maxLagMs,
+            @Value("${replica.lag-check-interval-ms:1000}") long lagCheckIntervalMs,
+            @Value("${replica.read-your-writes-ms:5000}") long readYourWritesMs) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<ReplicaLagMonitor.Replica> replicas = new ArrayList<>();
+        for (String url : StringUtils.commaDelimitedListToStringArray(urls)) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setPoolName(primary.getPoolName() + "-" + name);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(metrics);
+            replicas.add(new ReplicaLagMonitor.Replica(name, replica));
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("replica.enabled is set but replica.urls is empty");
+        }
+
+        String lagQuery = environment.getProperty("replica.lag-query", ReplicaLagMonitor.POSTGRES_LAG_QUERY);
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replicas, lagQuery, Duration.ofMillis(maxLagMs), meterRegistry);
+        lagMonitor.start(Duration.ofMillis(lagCheckIntervalMs));
+        return new ReplicaRoutingDataSource(primary, lagMonitor, Duration.ofMillis(readYourWritesMs),
+                Clock.systemUTC(), meterRegistry);
+    }
+
+    /**
+     * Hibernate otherwise keeps the first connection of a request for the whole session (open
+     * in view), so a write following a read in the same request would reach the replica.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+}
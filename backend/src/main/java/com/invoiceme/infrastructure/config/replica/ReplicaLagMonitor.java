@@ -0,0 +1,141 @@
+package com.invoiceme.infrastructure.config.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls each replica for its replication lag and hands out replicas whose lag is within the
+ * bound, round robin. A replica that cannot be queried, or whose lag query returns NULL, is
+ * treated as too far behind.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    /**
+     * Milliseconds since the last replayed transaction, or 0 when everything received has been
+     * replayed (an idle primary would otherwise look like growing lag). NULL while no WAL
+     * receiver is streaming: having replayed everything received says nothing once the
+     * connection to the primary is gone. Without pg_read_all_stats the status column reads
+     * NULL, and a running receiver process is taken as streaming.
+     */
+    public static final String POSTGRES_LAG_QUERY = "SELECT CASE"
+            + " WHEN NOT pg_is_in_recovery() THEN 0"
+            + " WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver"
+            + " WHERE COALESCE(status, 'streaming') = 'streaming') THEN NULL"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(List<Replica> replicas, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLag.toMillis();
+        for (Replica replica : this.replicas) {
+            Gauge.builder("invoiceme.replica.lag", replica, r -> r.reachable ? r.lagMs : Double.NaN)
+                    .description("Replication lag of a read replica; NaN while it cannot be queried")
+                    .tag("replica", replica.name())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    public void start(Duration interval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * The next replica within the lag bound, or null when none is.
+     */
+    public Replica nextHealthy() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.reachable && replica.lagMs <= maxLagMs) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    void refresh() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(2);
+                try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    resultSet.next();
+                    long lagMs = (long) resultSet.getDouble(1);
+                    if (resultSet.wasNull()) {
+                        throw new SQLException("not receiving WAL from the primary");
+                    }
+                    replica.lagMs = lagMs;
+                }
+                if (!replica.reachable) {
+                    log.info("Replica {} reachable, lag {} ms", replica.name(), replica.lagMs);
+                }
+                replica.reachable = true;
+            } catch (SQLException | RuntimeException e) {
+                if (replica.reachable) {
+                    log.warn("Replica {} unreachable, routing its reads to the primary: {}", replica.name(), e.getMessage());
+                }
+                replica.reachable = false;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean reachable;
+        private volatile long lagMs;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+    }
+}
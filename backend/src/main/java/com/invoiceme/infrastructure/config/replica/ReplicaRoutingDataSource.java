@@ -0,0 +1,143 @@
+package com.invoiceme.infrastructure.config.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Sends read-only transactions of authenticated users to a replica within the lag bound and
+ * everything else to the primary. A user whose write committed within the read-your-writes
+ * window keeps reading from the primary. The window is tracked per node.
+ *
+ * <p>The physical connection is fetched lazily, on the first statement, because the
+ * transaction's read-only flag is only known after the transaction manager asked for one.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+    static final String PRIMARY = "primary";
+    private static final int PRUNE_THRESHOLD = 1024;
+
+    private final HikariDataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Duration readYourWrites;
+    private final Clock clock;
+    private final ConcurrentMap<String, Instant> recentWriters = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, ReplicaLagMonitor lagMonitor, Duration readYourWrites,
+                                    Clock clock, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.clock = clock;
+        Router router = new Router(meterRegistry);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    private String route() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recordWrite(user);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (user == null || wroteRecently(user)) {
+            return PRIMARY;
+        }
+        ReplicaLagMonitor.Replica replica = lagMonitor.nextHealthy();
+        return replica != null ? replica.name() : PRIMARY;
+    }
+
+    private void recordWrite(String user) {
+        Instant now = clock.instant();
+        recentWriters.put(user, now);
+        if (recentWriters.size() > PRUNE_THRESHOLD) {
+            recentWriters.values().removeIf(writtenAt -> !now.isBefore(writtenAt.plus(readYourWrites)));
+        }
+    }
+
+    private boolean wroteRecently(String user) {
+        Instant writtenAt = recentWriters.get(user);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (clock.instant().isBefore(writtenAt.plus(readYourWrites))) {
+            return true;
+        }
+        recentWriters.remove(user, writtenAt);
+        return false;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    public void close() {
+        lagMonitor.close();
+        for (ReplicaLagMonitor.Replica replica : lagMonitor.replicas()) {
+            if (replica.dataSource() instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+        primary.close();
+    }
+
+    private final class Router extends AbstractRoutingDataSource {
+        private final Map<String, DataSource> targets = new HashMap<>();
+        private final Map<String, Counter> connections = new HashMap<>();
+
+        private Router(MeterRegistry meterRegistry) {
+            targets.put(PRIMARY, primary);
+            lagMonitor.replicas().forEach(replica -> targets.put(replica.name(), replica.dataSource()));
+            targets.keySet().forEach(target -> connections.put(target, Counter.builder("invoiceme.datasource.connections")
+                    .description("Connections handed out by the routing data source, per target")
+                    .tag("target", target)
+                    .register(meterRegistry)));
+            setTargetDataSources(new HashMap<>(targets));
+            setDefaultTargetDataSource(primary);
+            setLenientFallback(false);
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return route();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            String target = route();
+            connections.get(target).increment();
+            return targets.get(target).getConnection();
+        }
+    }
+}
@@ -24,6 +24,14 @@ public class CustomUserDetails implements UserDetails {
     private final Collection<? extends GrantedAuthority> authorities;
 
     public CustomUserDetails(User user, List<CompanyMembership> memberships) {
+        this(user, memberships, false);
+    }
+
+    /**
+     * {@code operator} adds {@code ROLE_OPERATOR}, which is not tied to a company and guards the
+     * service-wide actuator endpoints.
+     */
+    public CustomUserDetails(User user, List<CompanyMembership> memberships, boolean operator) {
         this.userId = user.getId();
         this.username = user.getUsername();
         this.password = user.getPassword();
@@ -33,9 +41,13 @@ public class CustomUserDetails implements UserDetails {
         this.memberships = memberships;
         
         // Build authorities from memberships
-        this.authorities = memberships.stream()
+        List<SimpleGrantedAuthority> authorities = memberships.stream()
                 .map(m -> new SimpleGrantedAuthority("ROLE_" + m.getRole().name()))
                 .collect(Collectors.toList());
+        if (operator) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + SecurityConfig.OPERATOR));
+        }
+        this.authorities = authorities;
     }
 
     @Override
@@ -6,6 +6,7 @@ import com.invoiceme.infrastructure.persistence.CompanyMembershipRepository;
 import com.invoiceme.infrastructure.persistence.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -20,11 +22,14 @@ public class CustomUserDetailsService implements UserDetailsService {
     
     private final UserRepository userRepository;
     private final CompanyMembershipRepository membershipRepository;
+    private final Set<String> operators;
 
     public CustomUserDetailsService(UserRepository userRepository, 
-                                   CompanyMembershipRepository membershipRepository) {
+                                   CompanyMembershipRepository membershipRepository,
+                                   @Value("${security.operators:}") Set<String> operators) {
         this.userRepository = userRepository;
         this.membershipRepository = membershipRepository;
+        this.operators = operators;
     }
 
     @Override
@@ -41,7 +46,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         List<CompanyMembership> memberships = membershipRepository.findByUserId(user.getId());
         log.info("Found {} memberships for user", memberships.size());
 
-        CustomUserDetails userDetails = new CustomUserDetails(user, memberships);
+        CustomUserDetails userDetails = new CustomUserDetails(user, memberships, operators.contains(user.getUsername()));
         log.info("Created CustomUserDetails with authorities: {}", userDetails.getAuthorities());
         
         return userDetails;
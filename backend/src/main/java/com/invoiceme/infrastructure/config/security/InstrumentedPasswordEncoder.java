@@ -0,0 +1,38 @@
+package com.invoiceme.infrastructure.config.security;
+
+import com.invoiceme.infrastructure.jfr.PasswordHashEvent;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Emits a flight recorder event for every hash computed by the wrapped encoder.
+ */
+public class InstrumentedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+
+    public InstrumentedPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        String encoded = delegate.encode(rawPassword);
+        event.finish("encode", "encoded");
+        return encoded;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        event.finish("matches", matches ? "match" : "mismatch");
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
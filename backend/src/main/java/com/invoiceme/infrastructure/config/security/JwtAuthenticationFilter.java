@@ -4,12 +4,15 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.invoiceme.infrastructure.jfr.AuthenticationEvent;
+import com.invoiceme.infrastructure.metrics.RequestTimings;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -32,21 +35,49 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         String token = getTokenFromRequest(request);
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsernameFromToken(token);
-            
-            // Load full user details including company memberships
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            
-            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            authenticate(token, request);
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(String token, HttpServletRequest request) {
+        AuthenticationEvent event = new AuthenticationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        if (!jwtTokenProvider.validateToken(token)) {
+            event.tokenVerified(System.nanoTime() - start);
+            event.finish("invalid_token", null);
+            return;
+        }
+        String username = jwtTokenProvider.getUsernameFromToken(token);
+        long verified = System.nanoTime();
+        RequestTimings.record(RequestTimings.JWT, verified - start);
+        event.tokenVerified(verified - start);
+
+        // Load full user details including company memberships
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            event.principalLoaded(System.nanoTime() - verified);
+            event.finish("unknown_user", null);
+            throw e;
+        }
+        long loaded = System.nanoTime() - verified;
+        RequestTimings.record(RequestTimings.PRINCIPAL, loaded);
+        event.principalLoaded(loaded);
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        RequestTimings.authenticated();
+        event.finish("authenticated", userDetails instanceof CustomUserDetails customUserDetails
+                ? customUserDetails.getDefaultCompanyId() : null);
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
@@ -1,7 +1,10 @@
 package com.invoiceme.infrastructure.config.security;
 
+import com.invoiceme.infrastructure.ratelimit.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -18,10 +21,18 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+    /**
+     * Role of the users named in {@code security.operators}. Company roles come from self-service
+     * signup, so endpoints that read or change state shared by every company require this one.
+     */
+    public static final String OPERATOR = "OPERATOR";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -30,15 +41,25 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Re-dispatches of an already authorized request (SSE streams, error pages)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/util/**").permitAll()  // Utility endpoints
+                        // Statements and bind values of every company
+                        .requestMatchers("/actuator/slowqueries", "/actuator/slowqueries/**").hasRole(OPERATOR)
+                        .requestMatchers("/actuator/tenants", "/actuator/tenants/**").hasRole(OPERATOR)
+                        .requestMatchers("/actuator/prometheus").hasRole(OPERATOR)
+                        // The rates are global: any user may read them, only operators change them
+                        .requestMatchers(HttpMethod.GET, "/actuator/fxrates", "/actuator/fxrates/**").authenticated()
+                        .requestMatchers("/actuator/fxrates", "/actuator/fxrates/**").hasRole(OPERATOR)
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/api/swagger-ui/**", "/api/v3/api-docs/**", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         .requestMatchers("/*.html", "/static/**", "/*.css", "/*.js", "/*.png", "/*.jpg", "/*.gif", "/*.ico").permitAll()
                         .requestMatchers("/error", "/favicon.ico").permitAll()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -56,7 +77,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new InstrumentedPasswordEncoder(new BCryptPasswordEncoder());
     }
 }
 
@@ -0,0 +1,18 @@
+package com.invoiceme.infrastructure.deadline;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides {@code request.deadline.default-ms} for a controller method. The value is a
+ * number of milliseconds and may be a property placeholder, e.g.
+ * {@code @Deadline("${request.deadline.export-ms:30000}")}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Deadline {
+
+    String value();
+}
@@ -0,0 +1,11 @@
+package com.invoiceme.infrastructure.deadline;
+
+/**
+ * Work was refused because the request's deadline has passed; answered with 504.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
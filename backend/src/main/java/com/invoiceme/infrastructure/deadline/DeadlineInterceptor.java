@@ -0,0 +1,39 @@
+package com.invoiceme.infrastructure.deadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies a {@link Deadline} on the matched controller method to the request's deadline.
+ */
+@Component
+public class DeadlineInterceptor implements HandlerInterceptor {
+    private final Environment environment;
+    private final Map<String, Duration> budgets = new ConcurrentHashMap<>();
+
+    public DeadlineInterceptor(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        Deadline annotation = method.getMethodAnnotation(Deadline.class);
+        if (annotation != null) {
+            deadline.budget(budgets.computeIfAbsent(annotation.value(),
+                    value -> Duration.ofMillis(Long.parseLong(environment.resolveRequiredPlaceholders(value).trim()))));
+        }
+        return true;
+    }
+}
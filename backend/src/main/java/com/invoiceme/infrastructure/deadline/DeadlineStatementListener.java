@@ -0,0 +1,46 @@
+package com.invoiceme.infrastructure.deadline;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Gives every JDBC statement run during a request the remaining time of its deadline as
+ * query timeout, so the driver cancels it instead of letting it hold the thread and the
+ * connection. A statement issued after the deadline is refused without reaching the database.
+ */
+@Component
+public class DeadlineStatementListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return;
+        }
+        int seconds = deadline.remainingSeconds();
+        if (seconds == 0) {
+            throw new DeadlineExceededException("Request deadline of " + deadline.budget().toMillis()
+                    + "ms exceeded before running a statement");
+        }
+        Statement statement = execInfo.getStatement();
+        try {
+            // Hibernate may already have set a shorter one from the transaction timeout
+            int current = statement.getQueryTimeout();
+            if (current == 0 || current > seconds) {
+                statement.setQueryTimeout(seconds);
+            }
+        } catch (SQLException e) {
+            // The driver does not support timeouts; the transaction timeout still applies
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.invoiceme.infrastructure.deadline;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+/**
+ * Bounds every transaction started during a request by the time left until its deadline.
+ * Hibernate passes the transaction timeout on to the statements it prepares, truncated to whole
+ * seconds; the extra second keeps it from cancelling a statement before the deadline, which
+ * {@link DeadlineStatementListener} enforces on its own.
+ */
+public class DeadlineTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return timeout;
+        }
+        int remaining = deadline.remainingSeconds();
+        if (remaining == 0) {
+            throw new TransactionTimedOutException("Request deadline of " + deadline.budget().toMillis()
+                    + "ms exceeded before the transaction started");
+        }
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remaining + 1 : Math.min(timeout, remaining + 1);
+    }
+}
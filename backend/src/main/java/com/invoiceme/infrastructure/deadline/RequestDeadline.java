@@ -0,0 +1,75 @@
+package com.invoiceme.infrastructure.deadline;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time by which the request on the current thread must be answered. Set by
+ * {@link RequestDeadlineFilter} when the request arrives and adjusted per endpoint by
+ * {@link DeadlineInterceptor}; JDBC statements and transactions started on the thread get
+ * the remaining time as their timeout. Outside a request there is no deadline.
+ */
+public final class RequestDeadline {
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private long deadlineNanos;
+
+    private RequestDeadline(long startNanos, Duration budget) {
+        this.startNanos = startNanos;
+        this.deadlineNanos = startNanos + budget.toNanos();
+    }
+
+    static RequestDeadline begin(Duration budget) {
+        RequestDeadline deadline = new RequestDeadline(System.nanoTime(), budget);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Replaces the budget, still counted from the arrival of the request.
+     */
+    void budget(Duration budget) {
+        deadlineNanos = startNanos + budget.toNanos();
+    }
+
+    public Duration budget() {
+        return Duration.ofNanos(deadlineNanos - startNanos);
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean expired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Remaining time in whole seconds, rounded up, as JDBC and transaction timeouts take it;
+     * 0 once expired.
+     */
+    public int remainingSeconds() {
+        long remaining = remainingNanos();
+        if (remaining <= 0) {
+            return 0;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (remaining + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Whether the current request ran out of time.
+     */
+    public static boolean currentExpired() {
+        RequestDeadline deadline = CURRENT.get();
+        return deadline != null && deadline.expired();
+    }
+}
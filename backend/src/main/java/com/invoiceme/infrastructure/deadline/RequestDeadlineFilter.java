@@ -0,0 +1,50 @@
+package com.invoiceme.infrastructure.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Starts the {@link RequestDeadline} of an API request as soon as it is admitted, so the
+ * user lookup during authentication already runs against it. The event stream is long-lived
+ * and has no deadline.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+    private final boolean enabled;
+    private final Duration defaultBudget;
+
+    public RequestDeadlineFilter(
+            @Value("${request.deadline.enabled:true}") boolean enabled,
+            @Value("${request.deadline.default-ms:10000}") long defaultMs) {
+        this.enabled = enabled;
+        this.defaultBudget = Duration.ofMillis(defaultMs);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !enabled || !path.startsWith("/api/") || path.startsWith("/api/events/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestDeadline.begin(defaultBudget);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.end();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.invoiceme.infrastructure.events;
+
+import com.invoiceme.application.events.ChangeEvent;
+import com.invoiceme.infrastructure.api.dto.events.ChangeEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * Fans committed {@link ChangeEvent}s out to per-company SSE subscribers.
+ *
+ * <p>Publishing never blocks on a client: each subscriber has a small bounded buffer that
+ * drops its oldest entry when full, and a buffer with something in it is drained on a thread of
+ * its own virtual thread, so a slow client only holds up itself. An idle connection holds no thread, just its
+ * emitter and an empty buffer. A send that has not finished within the send timeout drops its
+ * subscriber straight away; its thread ends the response once the container gives up on the
+ * blocked write.
+ */
+@Component
+public class ChangeEventBroker {
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBroker.class);
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final LongFunction<SseEmitter> emitters;
+    private final Counter droppedEvents;
+    private final Counter stalledSubscribers;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long sendTimeoutNanos;
+
+    @Autowired
+    public ChangeEventBroker(
+            MeterRegistry meterRegistry,
+            @Value("${events.stream.buffer-size:64}") int bufferSize,
+            @Value("${events.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${events.stream.heartbeat-ms:25000}") long heartbeatMs,
+            @Value("${events.stream.send-timeout-ms:10000}") long sendTimeoutMs) {
+        // A virtual thread per drain whatever spring.threads.virtual.enabled says, so a heartbeat
+        // to every open connection does not start a platform thread for each of them
+        this(meterRegistry, bufferSize, timeoutMs, heartbeatMs, sendTimeoutMs,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-dispatch-", 1).factory()),
+                SseEmitter::new);
+    }
+
+    ChangeEventBroker(MeterRegistry meterRegistry, int bufferSize, long timeoutMs, long heartbeatMs,
+                      long sendTimeoutMs, ExecutorService dispatcher, LongFunction<SseEmitter> emitters) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.dispatcher = dispatcher;
+        this.emitters = emitters;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreads("sse-heartbeat-"));
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        long checkMs = Math.max(1, sendTimeoutMs / 2);
+        this.heartbeat.scheduleAtFixedRate(this::dropStalledSubscribers, checkMs, checkMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("invoiceme.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open SSE event stream connections")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("invoiceme.events.dropped")
+                .description("Events discarded because a subscriber's buffer was full")
+                .register(meterRegistry);
+        this.stalledSubscribers = Counter.builder("invoiceme.events.stalled")
+                .description("Subscribers dropped because a send did not finish within the send timeout")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID companyId) {
+        SseEmitter emitter = emitters.apply(timeoutMs);
+        Subscriber subscriber = new Subscriber(companyId, emitter);
+        subscribers.computeIfAbsent(companyId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        // Flushes the response headers so the client knows the stream is open
+        subscriber.offer(Message.comment("connected"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChange(ChangeEvent event) {
+        Set<Subscriber> companySubscribers = subscribers.get(event.getCompanyId());
+        if (companySubscribers == null || companySubscribers.isEmpty()) {
+            return;
+        }
+        Message message = Message.event(sequence.incrementAndGet(), event.getType().getEventName(),
+                new ChangeEventDTO(event.getType().getEventName(), event.getInvoiceId(), event.getPaymentId()));
+        for (Subscriber subscriber : companySubscribers) {
+            subscriber.offer(message);
+        }
+    }
+
+    private void sendHeartbeat() {
+        Message ping = Message.comment("ping");
+        for (Set<Subscriber> companySubscribers : subscribers.values()) {
+            for (Subscriber subscriber : companySubscribers) {
+                subscriber.offer(ping);
+            }
+        }
+    }
+
+    void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> companySubscribers : subscribers.values()) {
+            for (Subscriber subscriber : companySubscribers) {
+                long started = subscriber.sendStartedAt;
+                if (started != 0 && now - started > sendTimeoutNanos) {
+                    log.debug("Dropping stalled SSE subscriber for company {}", subscriber.companyId);
+                    stalledSubscribers.increment();
+                    // The emitter stays locked by the blocked send, so its drain completes it
+                    subscriber.stalled = true;
+                    unsubscribe(subscriber);
+                }
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.companyId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        for (Set<Subscriber> companySubscribers : subscribers.values()) {
+            for (Subscriber subscriber : companySubscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        subscribers.clear();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Message(long id, String name, Object data, String comment) {
+        static Message event(long id, String name, Object data) {
+            return new Message(id, name, data, null);
+        }
+
+        static Message comment(String comment) {
+            return new Message(0, null, null, comment);
+        }
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (comment != null) {
+                return SseEmitter.event().comment(comment);
+            }
+            return SseEmitter.event().id(Long.toString(id)).name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+        private final UUID companyId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Message> buffer = new ArrayDeque<>(4);
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // System.nanoTime() when the send in progress started, low bit set so it is never 0; 0 between sends
+        private volatile long sendStartedAt;
+        private volatile boolean stalled;
+
+        private Subscriber(UUID companyId, SseEmitter emitter) {
+            this.companyId = companyId;
+            this.emitter = emitter;
+        }
+
+        void offer(Message message) {
+            if (closed.get()) {
+                return;
+            }
+            lock.lock();
+            try {
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    droppedEvents.increment();
+                }
+                buffer.addLast(message);
+            } finally {
+                lock.unlock();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // Dispatcher is shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Message next;
+                lock.lock();
+                try {
+                    next = buffer.pollFirst();
+                } finally {
+                    lock.unlock();
+                }
+                if (next == null) {
+                    draining.set(false);
+                    // An offer may have slipped in between the empty poll and releasing the flag
+                    if (hasBuffered()) {
+                        scheduleDrain();
+                    }
+                    return;
+                }
+                if (closed.get()) {
+                    continue;
+                }
+                sendStartedAt = System.nanoTime() | 1;
+                try {
+                    emitter.send(next.toSse());
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping SSE subscriber for company {}: {}", companyId, e.getMessage());
+                    unsubscribe(this);
+                    emitter.completeWithError(e);
+                } finally {
+                    sendStartedAt = 0;
+                }
+                if (stalled) {
+                    emitter.completeWithError(new IOException("SSE send timed out"));
+                }
+            }
+        }
+
+        private boolean hasBuffered() {
+            lock.lock();
+            try {
+                return !buffer.isEmpty();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
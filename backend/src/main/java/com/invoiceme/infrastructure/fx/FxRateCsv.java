@@ -0,0 +1,42 @@
+package com.invoiceme.infrastructure.fx;
+
+import com.invoiceme.domain.fx.FxRate;
+import com.invoiceme.domain.money.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads rates as {@code date,base,quote,rate} lines, e.g. {@code 2025-01-31,EUR,USD,1.0362}.
+ * Blank lines, {@code #} comments and a {@code date,...} header are skipped.
+ */
+final class FxRateCsv {
+
+    private FxRateCsv() {
+    }
+
+    static List<FxRate> parse(String text) {
+        List<FxRate> rates = new ArrayList<>();
+        String[] lines = text.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#") || line.regionMatches(true, 0, "date,", 0, 5)) {
+                continue;
+            }
+            String[] fields = line.split("\\s*,\\s*");
+            if (fields.length != 4) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": expected date,base,quote,rate");
+            }
+            try {
+                rates.add(FxRate.of(Money.currency(fields[1]), Money.currency(fields[2]), LocalDate.parse(fields[0]),
+                        new BigDecimal(fields[3])));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return rates;
+    }
+}
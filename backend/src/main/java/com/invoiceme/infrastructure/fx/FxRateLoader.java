@@ -0,0 +1,92 @@
+package com.invoiceme.infrastructure.fx;
+
+import com.invoiceme.application.services.FxRateService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the first FX rate snapshot at startup, merging in {@code fx.rates-file} when set, and
+ * reloads it periodically so rates saved through another node show up here too.
+ */
+@Component
+public class FxRateLoader {
+    private static final Logger log = LoggerFactory.getLogger(FxRateLoader.class);
+
+    private final FxRateService fxRateService;
+    private final String ratesFile;
+    private final long refreshIntervalMs;
+    private volatile boolean failing;
+    private ScheduledExecutorService scheduler;
+
+    public FxRateLoader(
+            FxRateService fxRateService,
+            MeterRegistry meterRegistry,
+            @Value("${fx.rates-file:}") String ratesFile,
+            @Value("${fx.refresh-interval-ms:300000}") long refreshIntervalMs) {
+        this.fxRateService = fxRateService;
+        this.ratesFile = ratesFile;
+        this.refreshIntervalMs = refreshIntervalMs;
+        Gauge.builder("invoiceme.fx.rates", fxRateService, service -> service.snapshot().size())
+                .description("FX rates in the in-memory snapshot")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        refresh();
+        if (!ratesFile.isBlank()) {
+            load(Path.of(ratesFile));
+        }
+        if (refreshIntervalMs <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-rate-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    void load(Path path) {
+        try {
+            int loaded = fxRateService.save(FxRateCsv.parse(Files.readString(path))).size();
+            log.info("Loaded FX rates from {}; {} rates in memory", path, loaded);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not load FX rates from {}", path, e);
+        }
+    }
+
+    void refresh() {
+        try {
+            fxRateService.refresh();
+            failing = false;
+        } catch (RuntimeException e) {
+            if (!failing) {
+                log.warn("Could not reload FX rates; keeping {} rates in memory", fxRateService.snapshot().size(), e);
+            }
+            failing = true;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.invoiceme.infrastructure.fx;
+
+import com.invoiceme.application.services.FxRateService;
+import com.invoiceme.domain.fx.FxRateSnapshot;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/fxrates}: the latest rate of every pair in memory. A POST with
+ * {@code {"rates": "date,base,quote,rate\n..."}} saves rates and publishes them at once.
+ * Reading requires an authenticated user, the POST an operator (see SecurityConfig).
+ */
+@Component
+@Endpoint(id = "fxrates")
+public class FxRatesEndpoint {
+    private final FxRateService fxRateService;
+
+    public FxRatesEndpoint(FxRateService fxRateService) {
+        this.fxRateService = fxRateService;
+    }
+
+    @ReadOperation
+    public Rates rates() {
+        return summarize(fxRateService.snapshot());
+    }
+
+    @WriteOperation
+    public Rates load(String rates) {
+        try {
+            return summarize(fxRateService.save(FxRateCsv.parse(rates)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    private static Rates summarize(FxRateSnapshot snapshot) {
+        return new Rates(snapshot.size(), snapshot.pairs());
+    }
+
+    public record Rates(int rates, List<FxRateSnapshot.PairSummary> pairs) {
+    }
+}
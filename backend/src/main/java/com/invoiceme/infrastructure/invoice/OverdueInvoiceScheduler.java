@@ -0,0 +1,96 @@
+package com.invoiceme.infrastructure.invoice;
+
+import com.invoiceme.application.commands.invoice.MarkOverdueInvoicesCommand;
+import com.invoiceme.application.commands.invoice.MarkOverdueInvoicesHandler;
+import com.invoiceme.application.commands.invoice.MarkOverdueInvoicesResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Periodically moves sent invoices past their due date to OVERDUE. A run walks the sent
+ * invoices in (dueDate, id) order one batch per transaction, continuing after the last invoice
+ * of the previous batch, so a large backlog becomes many short transactions instead of one
+ * long one, and invoices that could not be transitioned are not read again in the same run.
+ */
+@Component
+public class OverdueInvoiceScheduler implements SchedulingConfigurer {
+    private static final Logger log = LoggerFactory.getLogger(OverdueInvoiceScheduler.class);
+
+    private final MarkOverdueInvoicesHandler markOverdueHandler;
+    private final boolean enabled;
+    private final long intervalMs;
+    private final int batchSize;
+    private final Counter transitioned;
+    private final Timer runs;
+
+    public OverdueInvoiceScheduler(
+            MarkOverdueInvoicesHandler markOverdueHandler,
+            MeterRegistry meterRegistry,
+            @Value("${overdue.enabled:true}") boolean enabled,
+            @Value("${overdue.interval-ms:900000}") long intervalMs,
+            @Value("${overdue.batch-size:500}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("overdue.batch-size must be positive");
+        }
+        this.markOverdueHandler = markOverdueHandler;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+        this.batchSize = batchSize;
+        this.transitioned = Counter.builder("invoiceme.overdue.transitioned")
+                .description("Invoices moved to OVERDUE")
+                .register(meterRegistry);
+        this.runs = Timer.builder("invoiceme.overdue.run")
+                .description("Time to check every sent invoice past its due date")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (enabled && intervalMs > 0) {
+            registrar.addFixedDelayTask(new FixedDelayTask(this::run, Duration.ofMillis(intervalMs), Duration.ZERO));
+        }
+    }
+
+    void run() {
+        try {
+            runOnce(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.warn("Overdue invoice run failed", e);
+        }
+    }
+
+    /**
+     * Marks every sent invoice due before {@code today} as OVERDUE and returns how many were.
+     * Returns 0 without reading anything while another node is running the job.
+     */
+    public int runOnce(LocalDate today) {
+        return runs.record(() -> {
+            int total = 0;
+            MarkOverdueInvoicesCommand command = MarkOverdueInvoicesCommand.first(today, batchSize);
+            while (true) {
+                MarkOverdueInvoicesResult result = markOverdueHandler.handle(command);
+                total += result.transitioned();
+                transitioned.increment(result.transitioned());
+                if (!result.leased() || result.checked() < batchSize) {
+                    break;
+                }
+                command = command.next(result);
+            }
+            if (total > 0) {
+                log.info("Marked {} invoices as overdue", total);
+            }
+            return total;
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.invoiceme.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.UUID;
+
+/**
+ * Bearer token authentication of one request: token verification followed by loading the
+ * principal and its memberships.
+ */
+@Name("invoiceme.Authentication")
+@Label("Request Authentication")
+@Category({"InvoiceMe", "Security"})
+@StackTrace(false)
+public class AuthenticationEvent extends Event {
+    @Label("Company Id")
+    private String companyId;
+
+    @Label("Outcome")
+    @Description("authenticated, invalid_token or unknown_user")
+    private String outcome;
+
+    @Label("Token Verification")
+    @Timespan(Timespan.NANOSECONDS)
+    private long tokenVerification;
+
+    @Label("Principal Load")
+    @Timespan(Timespan.NANOSECONDS)
+    private long principalLoad;
+
+    public void tokenVerified(long nanos) {
+        this.tokenVerification = nanos;
+    }
+
+    public void principalLoaded(long nanos) {
+        this.principalLoad = nanos;
+    }
+
+    public void finish(String outcome, UUID companyId) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.companyId = companyId != null ? companyId.toString() : null;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.invoiceme.infrastructure.jfr;
+
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * A read that could be answered without loading it again: a conditional request validated
+ * against the client's ETag, or a read that joined an identical one already in flight.
+ */
+@Name("invoiceme.CacheLookup")
+@Label("Cache Lookup")
+@Category({"InvoiceMe", "Cache"})
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+
+    @Label("Company Id")
+    private String companyId;
+
+    @Label("Cache")
+    @Description("etag, or coalescer:<group>")
+    private String cache;
+
+    @Label("Result")
+    @Description("hit or miss")
+    private String result;
+
+    public void finish(String cache, String result) {
+        end();
+        if (shouldCommit()) {
+            this.cache = cache;
+            this.result = result;
+            this.companyId = currentCompanyId();
+            commit();
+        }
+    }
+
+    private static String currentCompanyId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails
+                && userDetails.getDefaultCompanyId() != null) {
+            return userDetails.getDefaultCompanyId().toString();
+        }
+        return null;
+    }
+}
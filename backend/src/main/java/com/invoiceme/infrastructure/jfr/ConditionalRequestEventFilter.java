@@ -0,0 +1,38 @@
+package com.invoiceme.infrastructure.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records conditional API requests as cache lookups: a 304 means the client's copy was still
+ * current, anything else means the resource had to be sent (or the write was refused).
+ */
+@Component
+public class ConditionalRequestEventFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/")
+                || (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null && request.getHeader(HttpHeaders.IF_MATCH) == null);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            boolean hit = response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED;
+            event.finish("etag", hit ? CacheLookupEvent.HIT : CacheLookupEvent.MISS);
+        }
+    }
+}
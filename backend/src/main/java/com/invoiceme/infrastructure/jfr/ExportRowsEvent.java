@@ -0,0 +1,45 @@
+package com.invoiceme.infrastructure.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.UUID;
+
+@Name("invoiceme.ExportRows")
+@Label("Export Rows")
+@Description("One batch of rows handed to a client by the delta sync")
+public class ExportRowsEvent extends HandlerEvent {
+    @Label("Rows")
+    private int rows;
+
+    @Label("Invoices")
+    private int invoices;
+
+    @Label("Customers")
+    private int customers;
+
+    @Label("Payments")
+    private int payments;
+
+    @Label("Deletions")
+    private int deletions;
+
+    @Label("Has More")
+    private boolean hasMore;
+
+    public static ExportRowsEvent start(UUID companyId) {
+        ExportRowsEvent event = new ExportRowsEvent();
+        event.begin(companyId);
+        return event;
+    }
+
+    public void exported(int invoices, int customers, int payments, int deletions, boolean hasMore) {
+        this.invoices = invoices;
+        this.customers = customers;
+        this.payments = payments;
+        this.deletions = deletions;
+        this.rows = invoices + customers + payments + deletions;
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,85 @@
+package com.invoiceme.infrastructure.jfr;
+
+import com.invoiceme.infrastructure.metrics.JdbcActivity;
+import com.invoiceme.infrastructure.metrics.Outcome;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.UUID;
+
+/**
+ * Base for events that span a business operation inside a handler. The event's own duration
+ * covers the operation; the JDBC fields break out how much of it was spent in the database.
+ *
+ * <pre>
+ * InvoiceCreatedEvent event = InvoiceCreatedEvent.start(companyId);
+ * try {
+ *     ...
+ * } catch (RuntimeException e) {
+ *     event.fail(e);
+ *     throw e;
+ * } finally {
+ *     event.finish();
+ * }
+ * </pre>
+ *
+ * <p>The fields are protected because JFR does not record private fields of a superclass.
+ */
+@Category({"InvoiceMe", "Business"})
+@StackTrace(false)
+public abstract class HandlerEvent extends Event {
+    @Label("Company Id")
+    protected String companyId;
+
+    @Label("Outcome")
+    @Description("success, rejected, conflict or error")
+    protected String outcome = Outcome.SUCCESS;
+
+    @Label("SQL Statements")
+    protected long sqlStatements;
+
+    @Label("SQL Time")
+    @Timespan(Timespan.NANOSECONDS)
+    protected long sqlTime;
+
+    @Label("Connection Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    protected long connectionWait;
+
+    private transient JdbcActivity.Snapshot jdbcBefore;
+
+    protected void begin(UUID companyId) {
+        if (!isEnabled()) {
+            return;
+        }
+        company(companyId);
+        this.jdbcBefore = JdbcActivity.current().snapshot();
+        begin();
+    }
+
+    protected void company(UUID companyId) {
+        this.companyId = companyId != null ? companyId.toString() : null;
+    }
+
+    public void fail(Throwable e) {
+        this.outcome = Outcome.of(e);
+    }
+
+    public void finish() {
+        if (jdbcBefore == null) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            JdbcActivity.Snapshot activity = JdbcActivity.current().snapshot().since(jdbcBefore);
+            sqlStatements = activity.statements();
+            sqlTime = activity.statementNanos();
+            connectionWait = activity.connectionWaitNanos();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.invoiceme.infrastructure.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.UUID;
+
+@Name("invoiceme.InvoiceCreated")
+@Label("Invoice Created")
+public class InvoiceCreatedEvent extends HandlerEvent {
+    @Label("Invoice Id")
+    private String invoiceId;
+
+    @Label("Line Items")
+    private int lineCount;
+
+    public static InvoiceCreatedEvent start(UUID companyId) {
+        InvoiceCreatedEvent event = new InvoiceCreatedEvent();
+        event.begin(companyId);
+        return event;
+    }
+
+    public void created(UUID invoiceId, int lineCount) {
+        this.invoiceId = invoiceId != null ? invoiceId.toString() : null;
+        this.lineCount = lineCount;
+    }
+}
@@ -0,0 +1,36 @@
+package com.invoiceme.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/**
+ * A username and password login, including the password hash check and token issuance.
+ * Does not carry the username.
+ */
+@Name("invoiceme.Login")
+@Label("Login")
+@Category({"InvoiceMe", "Security"})
+@StackTrace(false)
+public class LoginEvent extends Event {
+    @Label("Company Id")
+    private String companyId;
+
+    @Label("Outcome")
+    @Description("success, bad_credentials or error")
+    private String outcome;
+
+    public void finish(String outcome, UUID companyId) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.companyId = companyId != null ? companyId.toString() : null;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.invoiceme.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One password hash computation. These are deliberately slow and CPU bound, so bursts of
+ * them show up directly in CPU load and request latency.
+ */
+@Name("invoiceme.PasswordHash")
+@Label("Password Hash")
+@Category({"InvoiceMe", "Security"})
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+    @Label("Operation")
+    @Description("encode or matches")
+    private String operation;
+
+    @Label("Outcome")
+    @Description("encoded, match or mismatch")
+    private String outcome;
+
+    public void finish(String operation, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.invoiceme.infrastructure.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.UUID;
+
+@Name("invoiceme.PaymentRecorded")
+@Label("Payment Recorded")
+public class PaymentRecordedEvent extends HandlerEvent {
+    @Label("Invoice Id")
+    private String invoiceId;
+
+    @Label("Payment Id")
+    private String paymentId;
+
+    public static PaymentRecordedEvent start(UUID invoiceId) {
+        PaymentRecordedEvent event = new PaymentRecordedEvent();
+        event.invoiceId = invoiceId != null ? invoiceId.toString() : null;
+        // The company is only known once the invoice is loaded, see recorded()
+        event.begin(null);
+        return event;
+    }
+
+    public void recorded(UUID companyId, UUID paymentId) {
+        company(companyId);
+        this.paymentId = paymentId != null ? paymentId.toString() : null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.invoiceme.infrastructure.latefee;
+
+import com.invoiceme.application.services.LateFeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Periodically runs the late-fee policy of every company that has an active one. Runs are
+ * repeatable, so running more than once a day only charges fees that came due in between, and
+ * a company whose run failed is picked up again by the next one.
+ */
+@Component
+public class LateFeeScheduler implements SchedulingConfigurer {
+    private static final Logger log = LoggerFactory.getLogger(LateFeeScheduler.class);
+    static final String TRIGGERED_BY = "scheduler";
+
+    private final LateFeeService lateFeeService;
+    private final boolean enabled;
+    private final long intervalMs;
+
+    public LateFeeScheduler(
+            LateFeeService lateFeeService,
+            @Value("${late-fees.enabled:true}") boolean enabled,
+            @Value("${late-fees.interval-ms:3600000}") long intervalMs) {
+        this.lateFeeService = lateFeeService;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (enabled && intervalMs > 0) {
+            Duration interval = Duration.ofMillis(intervalMs);
+            // After the first overdue run, which starts with the application
+            registrar.addFixedDelayTask(new FixedDelayTask(this::run, interval, interval));
+        }
+    }
+
+    void run() {
+        try {
+            runOnce(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.warn("Late fee run failed", e);
+        }
+    }
+
+    /**
+     * Runs every active policy as of {@code today} and returns how many fees were charged.
+     */
+    public int runOnce(LocalDate today) {
+        int total = 0;
+        for (UUID companyId : lateFeeService.findCompaniesWithActivePolicies()) {
+            try {
+                total += lateFeeService.run(companyId, today, false, TRIGGERED_BY).getFeesCharged();
+            } catch (RuntimeException e) {
+                log.warn("Late fee run for company {} failed", companyId, e);
+            }
+        }
+        return total;
+    }
+}
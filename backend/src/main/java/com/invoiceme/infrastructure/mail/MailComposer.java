@@ -0,0 +1,76 @@
+package com.invoiceme.infrastructure.mail;
+
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.domain.mail.MailKind;
+import com.invoiceme.domain.mail.MailMessage;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Renders queued messages as plain-text mail from the invoice as it is now.
+ */
+@Component
+public class MailComposer {
+    private static final String DEFAULT_SENDER_NAME = "InvoiceMe";
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public MailComposer(JavaMailSender mailSender, @Value("${mail.from:billing@invoiceme.local}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    /**
+     * Whether the message is still worth sending: reminders stop once the invoice is paid.
+     */
+    public boolean isStillNeeded(MailMessage message) {
+        Invoice invoice = message.getInvoice();
+        return message.getKind() != MailKind.PAYMENT_REMINDER
+                || (invoice.getStatus() != InvoiceStatus.PAID && invoice.getBalance().isPositive());
+    }
+
+    public MimeMessage compose(MailMessage message) throws MessagingException {
+        Invoice invoice = message.getInvoice();
+        String sender = invoice.getCompany() == null ? DEFAULT_SENDER_NAME : invoice.getCompany().getName();
+        MimeMessage mime = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mime, false, "UTF-8");
+        try {
+            helper.setFrom(from, sender);
+        } catch (UnsupportedEncodingException e) {
+            throw new MessagingException("Cannot encode sender name: " + sender, e);
+        }
+        helper.setTo(message.getRecipient());
+        if (message.getKind() == MailKind.INVOICE_DELIVERY) {
+            helper.setSubject("Invoice " + invoice.getInvoiceNumber() + " from " + sender);
+            helper.setText("Hello " + invoice.getCustomer().getName() + ",\n\n"
+                    + "Invoice " + invoice.getInvoiceNumber() + " for " + invoice.getTotalAmount()
+                    + " was issued on " + invoice.getIssueDate() + " and is due on " + invoice.getDueDate() + ".\n\n"
+                    + "Thank you for your business.\n" + sender + "\n");
+        } else {
+            helper.setSubject("Payment reminder: invoice " + invoice.getInvoiceNumber());
+            helper.setText("Hello " + invoice.getCustomer().getName() + ",\n\n"
+                    + "Invoice " + invoice.getInvoiceNumber() + " " + dueText(invoice.getDueDate())
+                    + " The open balance is " + invoice.getBalance() + ".\n\n"
+                    + "If you have already paid, please disregard this reminder.\n" + sender + "\n");
+        }
+        return mime;
+    }
+
+    private static String dueText(LocalDate dueDate) {
+        long days = ChronoUnit.DAYS.between(LocalDate.now(), dueDate);
+        if (days > 0) {
+            return "is due on " + dueDate + ", in " + days + (days == 1 ? " day." : " days.");
+        }
+        return days == 0 ? "is due today." : "was due on " + dueDate + ".";
+    }
+}
@@ -0,0 +1,225 @@
+package com.invoiceme.infrastructure.mail;
+
+import com.invoiceme.application.events.MailQueuedEvent;
+import com.invoiceme.application.services.MailQueueService;
+import com.invoiceme.domain.mail.MailKind;
+import com.invoiceme.domain.mail.MailMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends queued mail from mail.workers workers on Spring Boot's task scheduler. Each worker claims a batch of due messages and
+ * sends the whole batch over one SMTP connection, so a burst of mail costs one handshake per
+ * batch rather than per message. Workers poll the queue, and one is woken when an invoice
+ * delivery is queued so it goes out within moments.
+ */
+@Component
+public class MailDispatcher implements SchedulingConfigurer {
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private final MailQueueService mailQueueService;
+    private final MailComposer mailComposer;
+    private final JavaMailSender mailSender;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final int workers;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final Map<MailKind, Counter> sent = new EnumMap<>(MailKind.class);
+    private final Counter failures;
+    private final Timer sessions;
+    private final Timer deliveryLatency;
+    private final AtomicLong lagMs = new AtomicLong();
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicBoolean wakePending = new AtomicBoolean();
+
+    public MailDispatcher(
+            MailQueueService mailQueueService,
+            MailComposer mailComposer,
+            JavaMailSender mailSender,
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${mail.enabled:false}") boolean enabled,
+            @Value("${mail.workers:2}") int workers,
+            @Value("${mail.batch-size:50}") int batchSize,
+            @Value("${mail.poll-interval-ms:5000}") long pollIntervalMs) {
+        if (workers <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("mail.workers and mail.batch-size must be positive");
+        }
+        this.mailQueueService = mailQueueService;
+        this.mailComposer = mailComposer;
+        this.mailSender = mailSender;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        for (MailKind kind : MailKind.values()) {
+            sent.put(kind, Counter.builder("invoiceme.mail.sent")
+                    .description("Messages accepted by the SMTP server")
+                    .tag("kind", kind.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.failures = Counter.builder("invoiceme.mail.failures")
+                .description("Failed send attempts; the message is retried until it runs out of attempts")
+                .register(meterRegistry);
+        this.sessions = Timer.builder("invoiceme.mail.session")
+                .description("Time to send one batch over one SMTP connection")
+                .register(meterRegistry);
+        this.deliveryLatency = Timer.builder("invoiceme.mail.delivery")
+                .description("Time from queuing a message to its successful send")
+                .register(meterRegistry);
+        Gauge.builder("invoiceme.mail.queue.lag", lagMs, value -> value.get() / 1000.0)
+                .description("Seconds the oldest due message has been waiting for a worker")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("invoiceme.mail.queue.depth", depth, AtomicLong::get)
+                .description("Messages waiting to be sent, including those waiting for a retry")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (!enabled || pollIntervalMs <= 0) {
+            return;
+        }
+        Duration interval = Duration.ofMillis(pollIntervalMs);
+        for (int i = 0; i < workers; i++) {
+            // Staggered, so the workers do not all query an empty queue at once
+            registrar.addFixedDelayTask(new FixedDelayTask(this::run, interval, interval.multipliedBy(i).dividedBy(workers)));
+        }
+        registrar.addFixedDelayTask(new FixedDelayTask(this::refreshQueueStats, interval, Duration.ZERO));
+    }
+
+    // Runs after the commit that queued the mail, on the committing thread, so it only hands off
+    @TransactionalEventListener(fallbackExecution = true)
+    void onMailQueued(MailQueuedEvent event) {
+        if (enabled && wakePending.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                wakePending.set(false);
+                run();
+            }, Instant.now());
+        }
+    }
+
+    void run() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.warn("Mail worker failed", e);
+        }
+    }
+
+    /**
+     * Sends batches until no message is due and returns how many were sent.
+     */
+    public int drain() {
+        int total = 0;
+        while (true) {
+            MailQueueService.Claim claim = mailQueueService.claim(batchSize);
+            if (claim.isEmpty()) {
+                return total;
+            }
+            total += send(claim);
+            if (claim.messages().size() < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private int send(MailQueueService.Claim claim) {
+        Map<MimeMessage, MailMessage> composed = new IdentityHashMap<>();
+        Map<UUID, String> errors = new HashMap<>();
+        List<UUID> cancelled = new ArrayList<>();
+        for (MailMessage message : claim.messages()) {
+            if (!mailComposer.isStillNeeded(message)) {
+                cancelled.add(message.getId());
+                continue;
+            }
+            try {
+                composed.put(mailComposer.compose(message), message);
+            } catch (MessagingException | RuntimeException e) {
+                errors.put(message.getId(), "Cannot compose message: " + e.getMessage());
+            }
+        }
+
+        if (!composed.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                mailSender.send(composed.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                // Without per-message failures the connection itself failed
+                Map<Object, Exception> failed = e.getFailedMessages();
+                composed.forEach((mime, message) -> {
+                    if (failed.isEmpty() || failed.containsKey(mime)) {
+                        Exception cause = failed.getOrDefault(mime, e);
+                        errors.put(message.getId(), cause.getMessage());
+                    }
+                });
+            } catch (MailException e) {
+                composed.values().forEach(message -> errors.put(message.getId(), e.getMessage()));
+            } finally {
+                sessions.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        List<UUID> delivered = new ArrayList<>(composed.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (MailMessage message : composed.values()) {
+            if (!errors.containsKey(message.getId())) {
+                delivered.add(message.getId());
+                sent.get(message.getKind()).increment();
+                deliveryLatency.record(Duration.between(message.getCreatedAt(), now));
+            }
+        }
+        mailQueueService.recordSent(claim, delivered);
+        mailQueueService.cancel(claim, cancelled);
+        if (!errors.isEmpty()) {
+            failures.increment(errors.size());
+            log.warn("Failed to send {} of {} messages: {}", errors.size(), claim.messages().size(),
+                    errors.values().iterator().next());
+            mailQueueService.recordFailures(claim, errors);
+        }
+        return delivered.size();
+    }
+
+    void refreshQueueStats() {
+        try {
+            lagMs.set(mailQueueService.queueLag().toMillis());
+            depth.set(mailQueueService.queueDepth());
+        } catch (RuntimeException e) {
+            log.debug("Could not read mail queue stats", e);
+        }
+    }
+}
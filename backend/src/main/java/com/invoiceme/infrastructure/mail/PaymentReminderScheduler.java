@@ -0,0 +1,54 @@
+package com.invoiceme.infrastructure.mail;
+
+import com.invoiceme.application.services.MailQueueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Periodically queues the payment reminders that are due. Queuing is deduplicated per invoice
+ * and reminder day, so the job can run as often as needed.
+ */
+@Component
+public class PaymentReminderScheduler implements SchedulingConfigurer {
+    private static final Logger log = LoggerFactory.getLogger(PaymentReminderScheduler.class);
+
+    private final MailQueueService mailQueueService;
+    private final boolean enabled;
+    private final long intervalMs;
+
+    public PaymentReminderScheduler(
+            MailQueueService mailQueueService,
+            @Value("${mail.enabled:false}") boolean enabled,
+            @Value("${mail.reminders.interval-ms:3600000}") long intervalMs) {
+        this.mailQueueService = mailQueueService;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (enabled && intervalMs > 0) {
+            Duration interval = Duration.ofMillis(intervalMs);
+            registrar.addFixedDelayTask(new FixedDelayTask(this::run, interval, interval));
+        }
+    }
+
+    void run() {
+        try {
+            int queued = mailQueueService.enqueueReminders(LocalDate.now());
+            if (queued > 0) {
+                log.info("Queued {} payment reminders", queued);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Payment reminder run failed", e);
+        }
+    }
+}
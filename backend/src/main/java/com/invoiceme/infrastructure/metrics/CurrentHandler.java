@@ -0,0 +1,34 @@
+package com.invoiceme.infrastructure.metrics;
+
+/**
+ * Name of the command or query handler running on the current thread, so that JDBC-level
+ * observers can attribute a statement to the code that issued it.
+ */
+public final class CurrentHandler {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private CurrentHandler() {
+    }
+
+    public static String name() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the current handler and returns the previous one, which the caller restores
+     * with {@link #restore(String)} so nested handler calls unwind correctly.
+     */
+    static String enter(String handler) {
+        String previous = CURRENT.get();
+        CURRENT.set(handler);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.invoiceme.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every command and query handler's {@code handle(...)} call and records the JDBC
+ * work done inside it. Runs outside the transaction interceptor so commit time and
+ * connection acquisition are included.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class HandlerMetricsAspect {
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Timer> durationTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, HandlerJdbcMeters> jdbcMeters = new ConcurrentHashMap<>();
+
+    public HandlerMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.invoiceme.application..*Handler.handle(..))")
+    public Object timeHandler(ProceedingJoinPoint joinPoint) throws Throwable {
+        String handler = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String previousHandler = CurrentHandler.enter(handler);
+        JdbcActivity.Snapshot before = JdbcActivity.current().snapshot();
+        long start = System.nanoTime();
+        String outcome = Outcome.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = Outcome.of(e);
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            durationTimer(handler, outcome).record(elapsed, TimeUnit.NANOSECONDS);
+            RequestTimings.record(RequestTimings.HANDLER, elapsed);
+            jdbcMeters(handler).record(JdbcActivity.current().snapshot().since(before));
+            CurrentHandler.restore(previousHandler);
+        }
+    }
+
+    private Timer durationTimer(String handler, String outcome) {
+        return durationTimers.computeIfAbsent(handler + ':' + outcome, ignored -> Timer.builder("invoiceme.handler.duration")
+                .description("Command and query handler execution time, including the transaction")
+                .tag("handler", handler)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private HandlerJdbcMeters jdbcMeters(String handler) {
+        return jdbcMeters.computeIfAbsent(handler, ignored -> new HandlerJdbcMeters(
+                DistributionSummary.builder("invoiceme.handler.db.statements")
+                        .description("JDBC statements executed per handler call")
+                        .tag("handler", handler)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry),
+                Timer.builder("invoiceme.handler.db.statement.time")
+                        .description("Time spent executing JDBC statements per handler call")
+                        .tag("handler", handler)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry),
+                Timer.builder("invoiceme.handler.db.connection.wait")
+                        .description("Time spent waiting for a pooled connection per handler call")
+                        .tag("handler", handler)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry)));
+    }
+
+    private record HandlerJdbcMeters(DistributionSummary statements, Timer statementTime, Timer connectionWait) {
+        void record(JdbcActivity.Snapshot activity) {
+            statements.record(activity.statements());
+            statementTime.record(activity.statementNanos(), TimeUnit.NANOSECONDS);
+            connectionWait.record(activity.connectionWaitNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.invoiceme.infrastructure.metrics;
+
+/**
+ * Running JDBC totals for the current thread. Counters only ever grow; callers take a
+ * {@link #snapshot()} before a unit of work and subtract it afterwards, which keeps nested
+ * measurements (a request around a handler) independent of each other.
+ */
+public final class JdbcActivity {
+    private static final ThreadLocal<JdbcActivity> CURRENT = ThreadLocal.withInitial(JdbcActivity::new);
+
+    private long statements;
+    private long statementNanos;
+    private long connectionWaitNanos;
+    private long statementStartedAt;
+    private long connectionRequestedAt;
+
+    private JdbcActivity() {
+    }
+
+    public static JdbcActivity current() {
+        return CURRENT.get();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(statements, statementNanos, connectionWaitNanos);
+    }
+
+    void statementStarted() {
+        statementStartedAt = System.nanoTime();
+    }
+
+    void statementFinished() {
+        statements++;
+        statementNanos += System.nanoTime() - statementStartedAt;
+    }
+
+    void connectionRequested() {
+        connectionRequestedAt = System.nanoTime();
+    }
+
+    void connectionAcquired() {
+        connectionWaitNanos += System.nanoTime() - connectionRequestedAt;
+    }
+
+    public record Snapshot(long statements, long statementNanos, long connectionWaitNanos) {
+        public Snapshot since(Snapshot earlier) {
+            return new Snapshot(
+                    statements - earlier.statements,
+                    statementNanos - earlier.statementNanos,
+                    connectionWaitNanos - earlier.connectionWaitNanos);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.invoiceme.infrastructure.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Feeds {@link JdbcActivity} from the proxied DataSource: statement count and execution
+ * time, and time spent waiting in {@code DataSource.getConnection()} for a pooled connection.
+ */
+@Component
+public class JdbcActivityListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        JdbcActivity.current().statementStarted();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        JdbcActivity.current().statementFinished();
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        if (isGetConnection(executionContext)) {
+            JdbcActivity.current().connectionRequested();
+        }
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (isGetConnection(executionContext)) {
+            JdbcActivity.current().connectionAcquired();
+        }
+    }
+
+    private static boolean isGetConnection(MethodExecutionContext executionContext) {
+        return executionContext.getTarget() instanceof DataSource
+                && "getConnection".equals(executionContext.getMethod().getName());
+    }
+}
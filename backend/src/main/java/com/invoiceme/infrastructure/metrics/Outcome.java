@@ -0,0 +1,23 @@
+package com.invoiceme.infrastructure.metrics;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Outcome label shared by handler metrics and flight recorder events.
+ */
+public final class Outcome {
+    public static final String SUCCESS = "success";
+
+    private Outcome() {
+    }
+
+    public static String of(Throwable e) {
+        if (e instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        if (e instanceof IllegalArgumentException || e instanceof IllegalStateException) {
+            return "rejected";
+        }
+        return "error";
+    }
+}
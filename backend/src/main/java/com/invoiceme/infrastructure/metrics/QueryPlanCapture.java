@@ -0,0 +1,117 @@
+package com.invoiceme.infrastructure.metrics;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Captures the execution plan of a slow SELECT the first time its normalized form is seen.
+ * On PostgreSQL this is {@code EXPLAIN (ANALYZE, BUFFERS)}, run with the original bind
+ * values in a read-only transaction that is rolled back; other databases get a plain
+ * {@code EXPLAIN}. Plans are captured on a background thread so the request that hit the
+ * slow statement does not pay for it twice.
+ */
+@Component
+public class QueryPlanCapture {
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanCapture.class);
+    private static final String PENDING = "(capturing)";
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final boolean enabled;
+    private final long timeoutMs;
+    private final int maxPlans;
+    private final ConcurrentMap<String, String> plans = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "query-plan-capture");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The DataSource is looked up lazily: this bean is a listener on the DataSource proxy itself
+    public QueryPlanCapture(
+            ObjectProvider<DataSource> dataSource,
+            @Value("${slow-query.explain.enabled:false}") boolean enabled,
+            @Value("${slow-query.explain.timeout-ms:5000}") long timeoutMs,
+            @Value("${slow-query.explain.max-plans:100}") int maxPlans) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.timeoutMs = timeoutMs;
+        this.maxPlans = maxPlans;
+    }
+
+    public String plan(String normalizedSql) {
+        return plans.get(normalizedSql);
+    }
+
+    void captureOnce(String normalizedSql, String sql, Map<Integer, Object> parameters) {
+        if (!enabled || !SqlText.isSelect(sql) || plans.size() >= maxPlans
+                || plans.putIfAbsent(normalizedSql, PENDING) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> plans.put(normalizedSql, explain(sql, parameters)));
+        } catch (RejectedExecutionException e) {
+            plans.remove(normalizedSql);
+        }
+    }
+
+    private String explain(String sql, Map<Integer, Object> parameters) {
+        try (Connection connection = dataSource.getObject().getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try {
+                boolean postgres = connection.getMetaData().getDatabaseProductName()
+                        .toLowerCase(Locale.ROOT).contains("postgres");
+                if (postgres) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET LOCAL statement_timeout = " + timeoutMs);
+                    }
+                }
+                String prefix = postgres ? "EXPLAIN (ANALYZE, BUFFERS) " : "EXPLAIN ";
+                try (PreparedStatement statement = connection.prepareStatement(prefix + sql)) {
+                    for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                        statement.setObject(parameter.getKey(), parameter.getValue());
+                    }
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            plan.append(rows.getString(1)).append('\n');
+                        }
+                    }
+                    return plan.toString().stripTrailing();
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Could not capture plan for slow statement", e);
+            return "(plan capture failed: " + e.getMessage() + ")";
+        }
+    }
+
+    void clear() {
+        plans.clear();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
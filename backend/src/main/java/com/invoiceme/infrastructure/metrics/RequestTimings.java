@@ -0,0 +1,56 @@
+package com.invoiceme.infrastructure.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-request phase durations collected by {@link ServerTimingFilter}. Code on the request
+ * thread calls {@link #record} for the phases it owns; outside a timed request it is a no-op.
+ * The timings are only shown to a caller once {@link #authenticated} has been called.
+ */
+public final class RequestTimings {
+    public static final String JWT = "jwt";
+    public static final String PRINCIPAL = "principal";
+    public static final String HANDLER = "handler";
+    public static final String SERIALIZE = "serialize";
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private boolean authenticated;
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static void record(String phase, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.phaseNanos.merge(phase, nanos, Long::sum);
+        }
+    }
+
+    public static void authenticated() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.authenticated = true;
+        }
+    }
+
+    boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    Map<String, Long> phases() {
+        return phaseNanos;
+    }
+}
@@ -0,0 +1,166 @@
+package com.invoiceme.infrastructure.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Breaks each API request down into JWT verification, principal loading, handler, SQL and
+ * JSON serialization time, and logs it as one key=value line when the request is slower than
+ * {@code server-timing.log-threshold-ms}.
+ *
+ * <p>With {@code server-timing.enabled} the breakdown is also sent to authenticated callers as
+ * a {@code Server-Timing} header. The body is not buffered, so the header is added as the body
+ * starts and covers everything up to serialization. Streaming endpoints are skipped.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final boolean headerEnabled;
+    private final long logThresholdNanos;
+
+    public ServerTimingFilter(
+            @Value("${server-timing.enabled:false}") boolean headerEnabled,
+            @Value("${server-timing.log-threshold-ms:500}") long logThresholdMs) {
+        this.headerEnabled = headerEnabled;
+        this.logThresholdNanos = TimeUnit.MILLISECONDS.toNanos(logThresholdMs);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/") || path.startsWith("/api/events/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        JdbcActivity.Snapshot jdbcBefore = JdbcActivity.current().snapshot();
+        long start = System.nanoTime();
+        TimingResponse timed = new TimingResponse(response, timings, jdbcBefore, start);
+        try {
+            filterChain.doFilter(request, headerEnabled ? timed : response);
+        } finally {
+            // Responses without a body have not had the header yet
+            timed.addHeader();
+            long total = System.nanoTime() - start;
+            JdbcActivity.Snapshot jdbc = JdbcActivity.current().snapshot().since(jdbcBefore);
+            RequestTimings.end();
+
+            if (total >= logThresholdNanos) {
+                log.warn("slow request method={} path={} status={} total_ms={} {} sql_count={} sql_ms={} connection_wait_ms={}",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(), millis(total),
+                        logPhases(timings.phases()), jdbc.statements(), millis(jdbc.statementNanos()),
+                        millis(jdbc.connectionWaitNanos()));
+            }
+        }
+    }
+
+    private static String headerValue(Map<String, Long> phases, JdbcActivity.Snapshot jdbc, long total) {
+        StringBuilder header = new StringBuilder();
+        phases.forEach((phase, nanos) -> header.append(phase).append(";dur=").append(millis(nanos)).append(", "));
+        header.append("sql;dur=").append(millis(jdbc.statementNanos()))
+                .append(";desc=\"").append(jdbc.statements()).append(" statements\", ");
+        header.append("total;dur=").append(millis(total));
+        return header.toString();
+    }
+
+    private static String logPhases(Map<String, Long> phases) {
+        StringBuilder line = new StringBuilder();
+        phases.forEach((phase, nanos) -> {
+            if (line.length() > 0) {
+                line.append(' ');
+            }
+            line.append(phase).append("_ms=").append(millis(nanos));
+        });
+        return line.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Adds the header just before anything can commit the response.
+     */
+    private final class TimingResponse extends HttpServletResponseWrapper {
+        private final RequestTimings timings;
+        private final JdbcActivity.Snapshot jdbcBefore;
+        private final long start;
+        private boolean added;
+
+        private TimingResponse(HttpServletResponse response, RequestTimings timings,
+                               JdbcActivity.Snapshot jdbcBefore, long start) {
+            super(response);
+            this.timings = timings;
+            this.jdbcBefore = jdbcBefore;
+            this.start = start;
+        }
+
+        void addHeader() {
+            if (!headerEnabled || added || isCommitted()) {
+                return;
+            }
+            added = true;
+            if (timings.isAuthenticated()) {
+                JdbcActivity.Snapshot jdbc = JdbcActivity.current().snapshot().since(jdbcBefore);
+                setHeader("Server-Timing", headerValue(timings.phases(), jdbc, System.nanoTime() - start));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
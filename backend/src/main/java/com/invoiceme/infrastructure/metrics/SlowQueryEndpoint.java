@@ -0,0 +1,31 @@
+package com.invoiceme.infrastructure.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/slowqueries}: the slowest statements of the current and previous window.
+ * A DELETE clears them. Operators only (see SecurityConfig): the statements and bind values
+ * belong to every company.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+    private final SlowQueryRecorder recorder;
+
+    public SlowQueryEndpoint(SlowQueryRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public SlowQueryRecorder.Report slowQueries() {
+        return recorder.report();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+    }
+}
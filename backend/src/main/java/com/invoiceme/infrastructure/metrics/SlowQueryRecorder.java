@@ -0,0 +1,278 @@
+package com.invoiceme.infrastructure.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the slowest JDBC statements of the current and the previous time window, grouped by
+ * normalized SQL. Each entry carries the bind values of its slowest execution, the handlers
+ * that issued it and, when enabled, the plan captured the first time it was seen. Read through
+ * the {@code slowqueries} actuator endpoint.
+ *
+ * <p>Bind values are redacted unless their placeholder is bound to a column on the
+ * {@code slow-query.visible-columns} allowlist (ids, timestamps, status, limits). A placeholder
+ * whose column cannot be told is redacted too.
+ */
+@Component
+public class SlowQueryRecorder implements QueryExecutionListener {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryRecorder.class);
+    private static final int MAX_BIND_LENGTH = 64;
+    private static final int MAX_HANDLERS = 10;
+
+    private final QueryPlanCapture planCapture;
+    private final Clock clock;
+    private final boolean enabled;
+    private final long thresholdMs;
+    private final int topN;
+    private final Duration window;
+    private final List<String> visibleColumns;
+
+    // Not a monitor: a virtual thread blocked on a monitor pins its carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private Window current;
+    private Window previous;
+
+    @Autowired
+    public SlowQueryRecorder(
+            QueryPlanCapture planCapture,
+            @Value("${slow-query.enabled:true}") boolean enabled,
+            @Value("${slow-query.threshold-ms:100}") long thresholdMs,
+            @Value("${slow-query.top-n:20}") int topN,
+            @Value("${slow-query.window-minutes:15}") long windowMinutes,
+            @Value("${slow-query.visible-columns:id,*_id,*_at,*_date,status,version,currency,limit,offset}")
+            String visibleColumns) {
+        this(planCapture, Clock.systemUTC(), enabled, thresholdMs, topN, Duration.ofMinutes(windowMinutes), visibleColumns);
+    }
+
+    SlowQueryRecorder(QueryPlanCapture planCapture, Clock clock, boolean enabled, long thresholdMs, int topN,
+                      Duration window, String visibleColumns) {
+        this.planCapture = planCapture;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.thresholdMs = thresholdMs;
+        this.topN = topN;
+        this.window = window;
+        this.visibleColumns = Arrays.stream(visibleColumns.split(","))
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .filter(column -> !column.isEmpty())
+                .toList();
+        this.current = new Window(clock.instant());
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!enabled || execInfo.getElapsedTime() < thresholdMs || queryInfoList.isEmpty()) {
+            return;
+        }
+        QueryInfo query = queryInfoList.get(0);
+        if (SqlText.isExplain(query.getQuery())) {
+            return;
+        }
+        Map<Integer, Object> parameters = query.getParametersList().isEmpty()
+                ? Map.of()
+                : parameters(query.getParametersList().get(0));
+        record(query.getQuery(), parameters, execInfo.getElapsedTime(), execInfo.isBatch() ? execInfo.getBatchSize() : 0);
+    }
+
+    void record(String sql, Map<Integer, Object> parameters, long elapsedMs, int batchSize) {
+        String normalized = SqlText.normalize(sql);
+        String handler = CurrentHandler.name();
+        Instant now = clock.instant();
+        boolean firstInWindow;
+        lock.lock();
+        try {
+            roll(now);
+            Entry entry = current.entries.get(normalized);
+            firstInWindow = entry == null;
+            if (firstInWindow) {
+                entry = new Entry(normalized);
+                current.entries.put(normalized, entry);
+            }
+            entry.count++;
+            entry.totalMs += elapsedMs;
+            entry.lastSeenAt = now;
+            if (handler != null && entry.handlers.size() < MAX_HANDLERS) {
+                entry.handlers.add(handler);
+            }
+            if (elapsedMs >= entry.maxMs) {
+                entry.maxMs = elapsedMs;
+                entry.slowestHandler = handler;
+                entry.slowestBinds = redact(sql, parameters);
+                entry.slowestBatchSize = batchSize;
+            }
+            current.evictBeyond(topN);
+        } finally {
+            lock.unlock();
+        }
+        if (firstInWindow) {
+            log.warn("slow statement elapsed_ms={} handler={} sql={}", elapsedMs, handler, normalized);
+        }
+        planCapture.captureOnce(normalized, sql, parameters);
+    }
+
+    public Report report() {
+        lock.lock();
+        try {
+            roll(clock.instant());
+            return new Report(thresholdMs, window.toMinutes(),
+                    current.summarize(planCapture), previous == null ? null : previous.summarize(planCapture));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void reset() {
+        lock.lock();
+        try {
+            current = new Window(clock.instant());
+            previous = null;
+        } finally {
+            lock.unlock();
+        }
+        planCapture.clear();
+    }
+
+    private void roll(Instant now) {
+        if (now.isBefore(current.start.plus(window))) {
+            return;
+        }
+        Instant start = current.start.plus(window);
+        if (now.isBefore(start.plus(window))) {
+            previous = current;
+        } else {
+            // Idle for more than a whole window: nothing recent to keep
+            previous = null;
+            start = now;
+        }
+        current = new Window(start);
+    }
+
+    private static Map<Integer, Object> parameters(List<ParameterSetOperation> operations) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            if (args.length > 0 && args[0] instanceof Integer index) {
+                boolean setNull = "setNull".equals(operation.getMethod().getName());
+                parameters.put(index, setNull || args.length < 2 ? null : args[1]);
+            }
+        }
+        return parameters;
+    }
+
+    private List<String> redact(String sql, Map<Integer, Object> parameters) {
+        List<String> columns = SqlText.placeholderColumns(sql);
+        List<String> binds = new ArrayList<>(parameters.size());
+        new TreeMap<>(parameters).forEach((index, value) -> {
+            String column = index - 1 < columns.size() ? columns.get(index - 1) : null;
+            binds.add(isVisible(column) ? render(value) : "<redacted>");
+        });
+        return binds;
+    }
+
+    private boolean isVisible(String column) {
+        if (column == null) {
+            return false;
+        }
+        // "*_id" matches by suffix, anything else only the exact column
+        return visibleColumns.stream().anyMatch(allowed -> allowed.startsWith("*")
+                ? column.endsWith(allowed.substring(1))
+                : column.equals(allowed));
+    }
+
+    private static String render(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = String.valueOf(value);
+        if (text.length() > MAX_BIND_LENGTH) {
+            text = text.substring(0, MAX_BIND_LENGTH) + "...";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+
+    private static final class Window {
+        private final Instant start;
+        private final Map<String, Entry> entries = new HashMap<>();
+
+        private Window(Instant start) {
+            this.start = start;
+        }
+
+        private void evictBeyond(int topN) {
+            while (entries.size() > topN) {
+                entries.values().stream()
+                        .min(Comparator.comparingLong(entry -> entry.maxMs))
+                        .ifPresent(fastest -> entries.remove(fastest.sql));
+            }
+        }
+
+        private WindowReport summarize(QueryPlanCapture planCapture) {
+            List<SlowStatement> statements = entries.values().stream()
+                    .sorted(Comparator.comparingLong((Entry entry) -> entry.maxMs).reversed())
+                    .map(entry -> new SlowStatement(entry.sql, entry.count, entry.totalMs, entry.maxMs,
+                            (double) entry.totalMs / entry.count, List.copyOf(entry.handlers), entry.lastSeenAt,
+                            new SlowestExecution(entry.slowestHandler, entry.slowestBinds, entry.slowestBatchSize),
+                            planCapture.plan(entry.sql)))
+                    .toList();
+            return new WindowReport(start, statements);
+        }
+    }
+
+    private static final class Entry {
+        private final String sql;
+        private final Set<String> handlers = new LinkedHashSet<>();
+        private long count;
+        private long totalMs;
+        private long maxMs;
+        private Instant lastSeenAt;
+        private String slowestHandler;
+        private List<String> slowestBinds;
+        private int slowestBatchSize;
+
+        private Entry(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    public record Report(long thresholdMs, long windowMinutes, WindowReport current, WindowReport previous) {
+    }
+
+    public record WindowReport(Instant start, List<SlowStatement> statements) {
+    }
+
+    public record SlowStatement(String sql, long count, long totalMs, long maxMs, double meanMs, List<String> handlers,
+                                Instant lastSeenAt, SlowestExecution slowest, String plan) {
+    }
+
+    public record SlowestExecution(String handler, List<String> binds, int batchSize) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.invoiceme.infrastructure.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SQL string helpers for the slow statement log: a normalized form that groups executions
+ * of the same statement, and the column each {@code ?} placeholder is bound to.
+ */
+final class SqlText {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern LIST_CONTINUATION = Pattern.compile("\\?\\s*,\\s*$");
+    private static final Pattern INSERT = Pattern.compile(
+            "(?is)^\\s*insert\\s+into\\s+\\S+\\s*\\(([^)]*)\\)\\s*values\\s*\\((.*)\\)\\s*$");
+    private static final Pattern ROW_LIMIT = Pattern.compile(
+            "(?i)\\b(limit|offset|fetch\\s+(?:first|next))\\s*$");
+    private static final Pattern COMPARED_COLUMN = Pattern.compile(
+            "(?i)([\\w.\"]+)\\s*(?:=|<>|!=|<=|>=|<|>|\\bnot\\s+like\\b|\\blike\\b|\\bilike\\b|\\bnot\\s+in\\b|\\bin\\b)\\s*\\(?\\s*$");
+
+    private SqlText() {
+    }
+
+    /**
+     * Collapses whitespace, replaces literals with {@code ?} and folds placeholder lists
+     * ({@code in (?, ?, ?)}) so that one statement shape maps to one key.
+     */
+    static String normalize(String sql) {
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        return PLACEHOLDER_LIST.matcher(normalized).replaceAll("(?...)");
+    }
+
+    static boolean isSelect(String sql) {
+        String start = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return start.startsWith("select");
+    }
+
+    static boolean isExplain(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("explain");
+    }
+
+    /**
+     * Column name for each placeholder in order, {@code limit} or {@code offset} for row limits,
+     * or {@code null} where it cannot be told (function arguments, {@code insert ... select}).
+     * Table aliases are dropped.
+     */
+    static List<String> placeholderColumns(String sql) {
+        Matcher insert = INSERT.matcher(sql);
+        if (insert.matches()) {
+            return insertColumns(insert.group(1), insert.group(2));
+        }
+        List<String> columns = new ArrayList<>();
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                String before = sql.substring(Math.max(0, i - 200), i);
+                Matcher limit = ROW_LIMIT.matcher(before);
+                Matcher column = COMPARED_COLUMN.matcher(before);
+                if (limit.find()) {
+                    columns.add(limit.group(1).equalsIgnoreCase("offset") ? "offset" : "limit");
+                } else if (column.find()) {
+                    columns.add(bareColumn(column.group(1)));
+                } else if (LIST_CONTINUATION.matcher(before).find() && !columns.isEmpty()) {
+                    columns.add(columns.get(columns.size() - 1));
+                } else {
+                    columns.add(null);
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static List<String> insertColumns(String columnList, String values) {
+        String[] names = columnList.split(",");
+        String[] expressions = values.split(",");
+        List<String> columns = new ArrayList<>();
+        for (int i = 0; i < expressions.length; i++) {
+            if (expressions[i].contains("?")) {
+                columns.add(i < names.length ? bareColumn(names[i]) : null);
+            }
+        }
+        return columns;
+    }
+
+    private static String bareColumn(String identifier) {
+        String column = identifier.trim();
+        int dot = column.lastIndexOf('.');
+        if (dot >= 0) {
+            column = column.substring(dot + 1);
+        }
+        return column.replace("\"", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,30 @@
+package com.invoiceme.infrastructure.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/tenants}: the companies using the most request time since the last reset.
+ * A DELETE starts over. Operators only (see SecurityConfig): it lists every company.
+ */
+@Component
+@Endpoint(id = "tenants")
+public class TenantUsageEndpoint {
+    private final TenantUsageTracker tracker;
+
+    public TenantUsageEndpoint(TenantUsageTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @ReadOperation
+    public TenantUsageTracker.Report tenants() {
+        return tracker.report();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        tracker.reset();
+    }
+}
@@ -0,0 +1,115 @@
+package com.invoiceme.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request counts, time spent and rejections per company since the last reset, read through the
+ * {@code tenants} actuator endpoint to find noisy neighbours. Kept out of Micrometer tags so
+ * the number of series does not grow with the number of companies; Prometheus only gets the
+ * rejection totals per reason.
+ */
+@Component
+public class TenantUsageTracker {
+    private final ConcurrentMap<UUID, Usage> usage = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> rejections = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int topN;
+    private volatile Instant since = Instant.now();
+
+    public TenantUsageTracker(MeterRegistry meterRegistry, @Value("${tenant.usage.top-n:20}") int topN) {
+        this.meterRegistry = meterRegistry;
+        this.topN = topN;
+    }
+
+    public void started(UUID companyId) {
+        Usage tenant = usage(companyId);
+        tenant.requests.increment();
+        tenant.inFlight.incrementAndGet();
+    }
+
+    public void finished(UUID companyId, long elapsedNanos) {
+        Usage tenant = usage(companyId);
+        tenant.inFlight.decrementAndGet();
+        tenant.busyNanos.add(elapsedNanos);
+    }
+
+    public void queued(UUID companyId, long waitNanos) {
+        usage(companyId).queueWaitNanos.add(waitNanos);
+    }
+
+    public void rejected(UUID companyId, String reason) {
+        usage(companyId).rejected.increment();
+        rejections.computeIfAbsent(reason, key -> Counter.builder("invoiceme.tenant.rejected")
+                        .description("Requests refused because their company was over its limits")
+                        .tag("reason", key)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * The companies that kept the server busiest, most first.
+     */
+    public Report report() {
+        List<TenantUsage> tenants = usage.entrySet().stream()
+                .map(entry -> entry.getValue().summarize(entry.getKey()))
+                .filter(tenant -> tenant.requests() > 0 || tenant.inFlight() > 0 || tenant.rejected() > 0)
+                .sorted(Comparator.comparingDouble(TenantUsage::busyMs).reversed())
+                .limit(topN)
+                .toList();
+        return new Report(since, tenants);
+    }
+
+    public void reset() {
+        // Entries stay (one per company) so requests in flight are still counted correctly
+        usage.values().forEach(Usage::clearTotals);
+        since = Instant.now();
+    }
+
+    private Usage usage(UUID companyId) {
+        return usage.computeIfAbsent(companyId, id -> new Usage());
+    }
+
+    private static final class Usage {
+        private final LongAdder requests = new LongAdder();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder queueWaitNanos = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private void clearTotals() {
+            requests.reset();
+            busyNanos.reset();
+            queueWaitNanos.reset();
+            rejected.reset();
+        }
+
+        private TenantUsage summarize(UUID companyId) {
+            return new TenantUsage(companyId, requests.sum(), inFlight.get(), millis(busyNanos),
+                    millis(queueWaitNanos), rejected.sum());
+        }
+
+        private static double millis(LongAdder nanos) {
+            return nanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    public record Report(Instant since, List<TenantUsage> busiest) {
+    }
+
+    public record TenantUsage(UUID companyId, long requests, int inFlight, double busyMs, double queueWaitMs,
+                              long rejected) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.invoiceme.infrastructure.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Transaction-scoped PostgreSQL advisory locks, used as leases so that only one node works on
+ * a key at a time. Other databases have no advisory locks, and every lock is granted.
+ */
+@Component
+public class AdvisoryLocks {
+    // Namespaces keep the keys of different kinds of work apart
+    public static final int RECURRING_INVOICES = 1;
+    public static final int OVERDUE_INVOICES = 2;
+    public static final int LATE_FEES = 3;
+    public static final int PAYMENT_REMINDERS = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseProduct databaseProduct;
+
+    public AdvisoryLocks(JdbcTemplate jdbcTemplate, DatabaseProduct databaseProduct) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseProduct = databaseProduct;
+    }
+
+    /**
+     * Takes the lock on {@code key} without waiting. It is held until the current transaction
+     * ends. Keys are hashed to 32 bits, so two keys may share a lock; that only delays one of them.
+     */
+    public boolean tryLock(int namespace, UUID key) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Advisory locks are held by a transaction; none is active");
+        }
+        if (!databaseProduct.isPostgres()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?, ?)",
+                Boolean.class, namespace, key.hashCode()));
+    }
+}
@@ -2,6 +2,8 @@ package com.invoiceme.infrastructure.persistence;
 
 import com.invoiceme.domain.company.Company;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,5 +12,8 @@ import java.util.UUID;
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, UUID> {
     Optional<Company> findByCompanyCode(UUID companyCode);
+
+    @Query("SELECT c.version FROM Company c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
 }
 
@@ -0,0 +1,37 @@
+package com.invoiceme.infrastructure.persistence;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The database behind the primary data source, for the few statements written in SQL that
+ * differ between PostgreSQL and the H2 database of the dev profile.
+ */
+@Component
+public class DatabaseProduct {
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public DatabaseProduct(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = Objects.requireNonNull(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgres")));
+            postgres = result;
+        }
+        return result;
+    }
+
+    // A function generating a random UUID per row
+    public String randomUuidFunction() {
+        return isPostgres() ? "gen_random_uuid()" : "RANDOM_UUID()";
+    }
+}
@@ -3,11 +3,13 @@ package com.invoiceme.infrastructure.persistence.customer;
 import com.invoiceme.domain.customer.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,6 +28,23 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
     
     @Query("SELECT c FROM Customer c WHERE c.id = :id AND c.company.id = :companyId")
     Optional<Customer> findByIdAndCompanyId(@Param("id") UUID id, @Param("companyId") UUID companyId);
+    
+    // Same lookup with the company joined in, for callers that read company settings
+    @EntityGraph(attributePaths = {"company"})
+    @Query("SELECT c FROM Customer c WHERE c.id = :id AND c.company.id = :companyId")
+    Optional<Customer> findWithCompanyByIdAndCompanyId(@Param("id") UUID id, @Param("companyId") UUID companyId);
+    
+    @Query("SELECT c FROM Customer c WHERE c.company.id = :companyId " +
+           "AND c.updatedAt >= :since AND (c.updatedAt > :since OR c.id > :afterId) " +
+           "AND c.updatedAt <= :until ORDER BY c.updatedAt, c.id")
+    List<Customer> findChangedSince(@Param("companyId") UUID companyId,
+                                    @Param("since") LocalDateTime since,
+                                    @Param("afterId") UUID afterId,
+                                    @Param("until") LocalDateTime until,
+                                    Pageable pageable);
+    
+    @Query("SELECT c.version FROM Customer c WHERE c.id = :id AND c.company.id = :companyId")
+    Optional<Long> findVersionByIdAndCompanyId(@Param("id") UUID id, @Param("companyId") UUID companyId);
 }
 
 
@@ -0,0 +1,9 @@
+package com.invoiceme.infrastructure.persistence.fx;
+
+import com.invoiceme.domain.fx.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRate, FxRate.Key> {
+}
@@ -0,0 +1,14 @@
+package com.invoiceme.infrastructure.persistence.invoice;
+
+import java.math.BigDecimal;
+
+/**
+ * Open balance of one currency in one age bucket: 0 is not yet due, then 1-30, 31-60, 61-90
+ * and over 90 days past due.
+ */
+public interface AgingTotal {
+    String getCurrency();
+    Integer getBucket();
+    BigDecimal getBalance();
+    Long getInvoices();
+}
@@ -6,10 +6,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,27 +21,10 @@ import java.util.UUID;
 public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
     
-    @EntityGraph(attributePaths = {"customer"})
-    @Query("SELECT i FROM Invoice i WHERE i.status = :status")
-    Page<Invoice> findByStatus(@Param("status") InvoiceStatus status, Pageable pageable);
-    
-    @EntityGraph(attributePaths = {"customer"})
-    @Query("SELECT i FROM Invoice i WHERE i.customer.id = :customerId")
-    Page<Invoice> findByCustomerId(@Param("customerId") UUID customerId, Pageable pageable);
-    
-    @EntityGraph(attributePaths = {"customer"})
-    @Query("SELECT i FROM Invoice i WHERE i.customer.id = :customerId AND i.status = :status")
-    Page<Invoice> findByCustomerIdAndStatus(@Param("customerId") UUID customerId, 
-                                            @Param("status") InvoiceStatus status, 
-                                            Pageable pageable);
-    
-    @EntityGraph(attributePaths = {"customer"})
-    @Query("SELECT i FROM Invoice i")
-    Page<Invoice> findAllWithCustomer(Pageable pageable);
-    
     boolean existsByInvoiceNumber(String invoiceNumber);
     
-    // Company-scoped queries
+    // Company-scoped queries. Pages sorted by createdAt or dueDate, then id, are read in index
+    // order (V9__Add_composite_tenant_indexes.sql)
     @EntityGraph(attributePaths = {"customer"})
     @Query("SELECT i FROM Invoice i WHERE i.company.id = :companyId")
     Page<Invoice> findByCompanyId(@Param("companyId") UUID companyId, Pageable pageable);
@@ -57,6 +44,58 @@ public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
     Page<Invoice> findByCustomerIdAndCompanyId(@Param("customerId") UUID customerId,
                                                @Param("companyId") UUID companyId,
                                                Pageable pageable);
+    
+    // Keyset scan over (updatedAt, id) for delta sync. The plain >= bound is what lets the
+    // index range-scan in order; the OR only drops rows already sent at the boundary
+    @EntityGraph(attributePaths = {"customer"})
+    @Query("SELECT i FROM Invoice i WHERE i.company.id = :companyId " +
+           "AND i.updatedAt >= :since AND (i.updatedAt > :since OR i.id > :afterId) " +
+           "AND i.updatedAt <= :until ORDER BY i.updatedAt, i.id")
+    List<Invoice> findChangedSince(@Param("companyId") UUID companyId,
+                                   @Param("since") LocalDateTime since,
+                                   @Param("afterId") UUID afterId,
+                                   @Param("until") LocalDateTime until,
+                                   Pageable pageable);
+    
+    // Aging totals grouped in the database, so the report converts one row per currency and
+    // bucket instead of every open invoice
+    @Query(value = "SELECT currency, CASE WHEN due_date >= :asOf THEN 0 WHEN due_date >= :days30 THEN 1 " +
+           "WHEN due_date >= :days60 THEN 2 WHEN due_date >= :days90 THEN 3 ELSE 4 END AS bucket, " +
+           "SUM(balance) AS balance, COUNT(*) AS invoices FROM invoices " +
+           "WHERE company_id = :companyId AND status IN ('SENT', 'OVERDUE') AND balance > 0 AND issue_date <= :asOf " +
+           "GROUP BY currency, bucket", nativeQuery = true)
+    List<AgingTotal> sumOpenBalancesByAge(@Param("companyId") UUID companyId,
+                                          @Param("asOf") LocalDate asOf,
+                                          @Param("days30") LocalDate days30,
+                                          @Param("days60") LocalDate days60,
+                                          @Param("days90") LocalDate days90);
+    
+    // The next sent invoices past due after (afterDueDate, afterId), read from the partial index
+    // of sent invoices (V14__Add_overdue_status.sql); the status literal lets the planner match it
+    @Query("SELECT i.id AS id, i.company.id AS companyId, i.dueDate AS dueDate FROM Invoice i " +
+           "WHERE i.status = com.invoiceme.domain.invoice.InvoiceStatus.SENT AND i.dueDate < :today " +
+           "AND i.dueDate >= :afterDueDate AND (i.dueDate > :afterDueDate OR i.id > :afterId) " +
+           "ORDER BY i.dueDate, i.id")
+    List<OverdueCandidate> findOverdueCandidates(@Param("today") LocalDate today,
+                                                 @Param("afterDueDate") LocalDate afterDueDate,
+                                                 @Param("afterId") UUID afterId,
+                                                 Pageable pageable);
+    
+    // Bumps the version so a concurrent write of a loaded invoice fails instead of restoring SENT,
+    // and updatedAt so delta sync picks the change up
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Invoice i SET i.status = com.invoiceme.domain.invoice.InvoiceStatus.OVERDUE, " +
+           "i.version = i.version + 1, i.updatedAt = :now " +
+           "WHERE i.id IN :ids AND i.status = com.invoiceme.domain.invoice.InvoiceStatus.SENT AND i.dueDate < :today")
+    int markOverdue(@Param("ids") List<UUID> ids, @Param("today") LocalDate today, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT i.id FROM Invoice i WHERE i.id IN :ids AND i.status = com.invoiceme.domain.invoice.InvoiceStatus.OVERDUE")
+    List<UUID> findOverdueIds(@Param("ids") List<UUID> ids);
+    
+    // Version-only lookup for conditional requests; does not hydrate the aggregate
+    @Query("SELECT i.version AS invoiceVersion, c.version AS customerVersion FROM Invoice i JOIN i.customer c " +
+           "WHERE i.id = :id AND i.company.id = :companyId")
+    Optional<InvoiceVersion> findVersionByIdAndCompanyId(@Param("id") UUID id, @Param("companyId") UUID companyId);
 }
 
 
@@ -0,0 +1,10 @@
+package com.invoiceme.infrastructure.persistence.invoice;
+
+/**
+ * Versions of everything an invoice representation is built from. The customer version is
+ * included because the invoice response embeds the customer name.
+ */
+public interface InvoiceVersion {
+    Long getInvoiceVersion();
+    Long getCustomerVersion();
+}
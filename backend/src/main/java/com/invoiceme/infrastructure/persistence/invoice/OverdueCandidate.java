@@ -0,0 +1,13 @@
+package com.invoiceme.infrastructure.persistence.invoice;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A sent invoice past its due date; (dueDate, id) is the overdue job's keyset position.
+ */
+public interface OverdueCandidate {
+    UUID getId();
+    UUID getCompanyId();
+    LocalDate getDueDate();
+}
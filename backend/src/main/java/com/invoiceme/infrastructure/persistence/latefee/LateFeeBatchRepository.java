@@ -0,0 +1,130 @@
+package com.invoiceme.infrastructure.persistence.latefee;
+
+import com.invoiceme.domain.latefee.LateFeePolicy;
+import com.invoiceme.domain.latefee.LateFeeType;
+import com.invoiceme.infrastructure.persistence.DatabaseProduct;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies late fees to a batch of overdue invoices with set-based statements: the fee of each
+ * invoice is computed by the database from its balance and the fees it already carries, so no
+ * invoice is loaded. Every statement is restricted to the ids of the batch, which the caller
+ * locks first, so the fee lines and the invoice totals always agree.
+ */
+@Repository
+public class LateFeeBatchRepository {
+    public static final String FEE_DESCRIPTION = "Late fee";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabaseProduct databaseProduct;
+
+    public LateFeeBatchRepository(NamedParameterJdbcTemplate jdbcTemplate, DatabaseProduct databaseProduct) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseProduct = databaseProduct;
+    }
+
+    /**
+     * The next {@code limit} overdue invoices of a company due on or before {@code lastDueDate},
+     * after the keyset position ({@code afterDueDate}, {@code afterId}). With {@code lock} the rows
+     * stay locked until the transaction ends.
+     */
+    public List<Candidate> findCandidates(UUID companyId, LocalDate lastDueDate, LocalDate afterDueDate,
+                                          UUID afterId, int limit, boolean lock) {
+        String sql = "SELECT i.id, i.due_date FROM invoices i " +
+                "WHERE i.company_id = :companyId AND i.status = 'OVERDUE' AND i.due_date <= :lastDueDate " +
+                "AND i.due_date >= :afterDueDate AND (i.due_date > :afterDueDate OR i.id > :afterId) " +
+                "ORDER BY i.due_date, i.id LIMIT :limit" + (lock ? " FOR UPDATE" : "");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("companyId", companyId)
+                .addValue("lastDueDate", lastDueDate)
+                .addValue("afterDueDate", afterDueDate)
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) ->
+                new Candidate(rs.getObject("id", UUID.class), rs.getObject("due_date", LocalDate.class)));
+    }
+
+    /**
+     * The fees the invoices {@code ids} are due on {@code asOf}, summed per currency.
+     */
+    public List<FeeTotal> preview(LateFeePolicy policy, LocalDate asOf, List<UUID> ids) {
+        Fee fee = Fee.of(policy);
+        String sql = "SELECT i.currency, COUNT(*) AS fees, SUM(" + fee.amount() + ") AS amount " +
+                "FROM invoices i WHERE " + fee.due() + " GROUP BY i.currency";
+        return jdbcTemplate.query(sql, fee.params(policy, asOf, ids), (rs, rowNum) ->
+                new FeeTotal(Currency.getInstance(rs.getString("currency")), rs.getInt("fees"),
+                        rs.getBigDecimal("amount")));
+    }
+
+    /**
+     * Charges the fees {@link #preview} reports: appends a fee line to each invoice and adds the
+     * fee to its total and balance. Returns the number of fees charged.
+     */
+    public int apply(LateFeePolicy policy, LocalDate asOf, List<UUID> ids, LocalDateTime now) {
+        Fee fee = Fee.of(policy);
+        MapSqlParameterSource params = fee.params(policy, asOf, ids)
+                .addValue("description", FEE_DESCRIPTION)
+                .addValue("now", now);
+        jdbcTemplate.update("INSERT INTO invoice_line_items (id, invoice_id, description, quantity, unit_price, " +
+                "amount, tax_amount, late_fee_sequence, created_at) " +
+                "SELECT " + databaseProduct.randomUuidFunction() + ", i.id, :description, 1, " + fee.amount() + ", " +
+                fee.amount() + ", 0, i.late_fees_applied + 1, :now FROM invoices i WHERE " + fee.due(), params);
+        // The version bump makes clients holding the invoice refetch it
+        return jdbcTemplate.update("UPDATE invoices i SET balance = i.balance + " + fee.amount() + ", " +
+                "total_amount = i.total_amount + " + fee.amount() + ", " +
+                "late_fee_total = i.late_fee_total + " + fee.amount() + ", " +
+                "late_fees_applied = i.late_fees_applied + 1, version = i.version + 1, updated_at = :now " +
+                "WHERE " + fee.due(), params);
+    }
+
+    public record Candidate(UUID id, LocalDate dueDate) {
+    }
+
+    public record FeeTotal(Currency currency, int fees, BigDecimal amount) {
+    }
+
+    /**
+     * The SQL of a policy's fee, and of the condition that an invoice owes one, over {@code invoices i}.
+     */
+    private record Fee(String amount, String due) {
+        static Fee of(LateFeePolicy policy) {
+            String amount = policy.getFeeType() == LateFeeType.PERCENTAGE
+                    ? "ROUND(i.balance * :amount / 100, 2)"
+                    : "ROUND(:amount, 2)";
+            if (policy.getMaxTotal() != null) {
+                amount = "LEAST(" + amount + ", :maxTotal - i.late_fee_total)";
+            }
+            StringBuilder due = new StringBuilder("i.id IN (:ids) AND i.status = 'OVERDUE' AND i.balance > 0 ");
+            if (policy.isRepeating()) {
+                // The nth fee is due graceDays + (n - 1) * repeatDays after the due date
+                due.append("AND i.due_date + (:graceDays + i.late_fees_applied * :repeatDays) <= :asOf ");
+            } else {
+                due.append("AND i.late_fees_applied = 0 AND i.due_date + :graceDays <= :asOf ");
+            }
+            if (policy.getMaxTotal() != null) {
+                due.append("AND i.late_fee_total < :maxTotal ");
+            }
+            due.append("AND ").append(amount).append(" > 0");
+            return new Fee(amount, due.toString());
+        }
+
+        MapSqlParameterSource params(LateFeePolicy policy, LocalDate asOf, List<UUID> ids) {
+            return new MapSqlParameterSource()
+                    .addValue("ids", ids)
+                    .addValue("asOf", asOf)
+                    .addValue("amount", policy.getAmount())
+                    .addValue("graceDays", policy.getGraceDays())
+                    .addValue("repeatDays", policy.getRepeatDays())
+                    .addValue("maxTotal", policy.getMaxTotal());
+        }
+    }
+}
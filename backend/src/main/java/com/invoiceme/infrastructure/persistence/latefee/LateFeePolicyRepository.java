@@ -0,0 +1,20 @@
+package com.invoiceme.infrastructure.persistence.latefee;
+
+import com.invoiceme.domain.latefee.LateFeePolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface LateFeePolicyRepository extends JpaRepository<LateFeePolicy, UUID> {
+    @Query("SELECT p FROM LateFeePolicy p WHERE p.company.id = :companyId")
+    Optional<LateFeePolicy> findByCompanyId(@Param("companyId") UUID companyId);
+
+    @Query("SELECT p.company.id FROM LateFeePolicy p WHERE p.active = true")
+    List<UUID> findActiveCompanyIds();
+}
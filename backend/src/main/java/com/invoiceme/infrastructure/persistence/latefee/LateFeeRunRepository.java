@@ -0,0 +1,18 @@
+package com.invoiceme.infrastructure.persistence.latefee;
+
+import com.invoiceme.domain.latefee.LateFeeRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LateFeeRunRepository extends JpaRepository<LateFeeRun, UUID> {
+    // A company's latest runs, paged in the database; totals are batch-fetched by the caller
+    @Query("SELECT r FROM LateFeeRun r WHERE r.companyId = :companyId ORDER BY r.startedAt DESC, r.id")
+    List<LateFeeRun> findLatest(@Param("companyId") UUID companyId, Pageable pageable);
+}
@@ -0,0 +1,53 @@
+package com.invoiceme.infrastructure.persistence.mail;
+
+import com.invoiceme.domain.mail.MailKind;
+import com.invoiceme.domain.mail.MailMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MailMessageRepository extends JpaRepository<MailMessage, UUID> {
+    boolean existsByInvoiceIdAndKindAndScheduleDay(UUID invoiceId, MailKind kind, int scheduleDay);
+
+    // The head of the queue, from the partial index on pending messages
+    @Query("SELECT m.id FROM MailMessage m WHERE m.status = com.invoiceme.domain.mail.MailStatus.PENDING " +
+           "AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt, m.id")
+    List<UUID> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Leases the messages still due to the caller; a concurrent claim gets the others
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MailMessage m SET m.claimToken = :token, m.nextAttemptAt = :leaseUntil, " +
+           "m.attempts = m.attempts + 1, m.version = m.version + 1 " +
+           "WHERE m.id IN :ids AND m.status = com.invoiceme.domain.mail.MailStatus.PENDING AND m.nextAttemptAt <= :now")
+    int claim(@Param("ids") List<UUID> ids, @Param("token") UUID token, @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT m FROM MailMessage m JOIN FETCH m.invoice i JOIN FETCH i.customer LEFT JOIN FETCH i.company " +
+           "WHERE m.claimToken = :token")
+    List<MailMessage> findClaimed(@Param("token") UUID token);
+
+    @Query("SELECT m FROM MailMessage m WHERE m.id IN :ids AND m.claimToken = :token")
+    List<MailMessage> findClaimed(@Param("ids") List<UUID> ids, @Param("token") UUID token);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MailMessage m SET m.status = com.invoiceme.domain.mail.MailStatus.SENT, m.sentAt = :now, " +
+           "m.claimToken = NULL, m.lastError = NULL, m.version = m.version + 1 " +
+           "WHERE m.id IN :ids AND m.claimToken = :token")
+    int markSent(@Param("ids") List<UUID> ids, @Param("token") UUID token, @Param("now") LocalDateTime now);
+
+    // When the oldest message due has been waiting since; null when none is
+    @Query("SELECT MIN(m.nextAttemptAt) FROM MailMessage m WHERE m.status = com.invoiceme.domain.mail.MailStatus.PENDING " +
+           "AND m.nextAttemptAt <= :now")
+    LocalDateTime findOldestDue(@Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(m) FROM MailMessage m WHERE m.status = com.invoiceme.domain.mail.MailStatus.PENDING")
+    long countPending();
+}
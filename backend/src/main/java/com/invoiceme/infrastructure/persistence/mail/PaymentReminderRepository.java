@@ -0,0 +1,50 @@
+package com.invoiceme.infrastructure.persistence.mail;
+
+import com.invoiceme.domain.mail.MailKind;
+import com.invoiceme.domain.mail.MailStatus;
+import com.invoiceme.infrastructure.persistence.DatabaseProduct;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Queues payment reminders for every open invoice of every company with one statement per
+ * reminder day. Invoices that already have the day's reminder are left out, so queuing again
+ * never duplicates one; the unique index on (invoice, kind, day) backs this up.
+ */
+@Repository
+public class PaymentReminderRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabaseProduct databaseProduct;
+
+    public PaymentReminderRepository(NamedParameterJdbcTemplate jdbcTemplate, DatabaseProduct databaseProduct) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseProduct = databaseProduct;
+    }
+
+    /**
+     * Queues the reminder {@code day} days from the due date for open invoices due between
+     * {@code fromDueDate} and {@code toDueDate}, and returns how many were queued.
+     */
+    public int enqueue(int day, LocalDate fromDueDate, LocalDate toDueDate, LocalDateTime now) {
+        String sql = "INSERT INTO mail_messages (id, company_id, invoice_id, kind, schedule_day, recipient, status, " +
+                "attempts, next_attempt_at, created_at, version) " +
+                "SELECT " + databaseProduct.randomUuidFunction() + ", i.company_id, i.id, :kind, :day, c.email, " +
+                ":status, 0, :now, :now, 0 " +
+                "FROM invoices i JOIN customers c ON c.id = i.customer_id " +
+                "WHERE i.status IN ('SENT', 'OVERDUE') AND i.due_date >= :fromDueDate AND i.due_date <= :toDueDate " +
+                "AND i.balance > 0 AND i.company_id IS NOT NULL " +
+                "AND NOT EXISTS (SELECT 1 FROM mail_messages m WHERE m.invoice_id = i.id AND m.kind = :kind " +
+                "AND m.schedule_day = :day)";
+        return jdbcTemplate.update(sql, new MapSqlParameterSource()
+                .addValue("kind", MailKind.PAYMENT_REMINDER.name())
+                .addValue("status", MailStatus.PENDING.name())
+                .addValue("day", day)
+                .addValue("fromDueDate", fromDueDate)
+                .addValue("toDueDate", toDueDate)
+                .addValue("now", now));
+    }
+}
@@ -1,11 +1,13 @@
 package com.invoiceme.infrastructure.persistence.payment;
 
 import com.invoiceme.domain.payment.Payment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,8 +17,22 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     @Query("SELECT p FROM Payment p WHERE p.invoice.id = :invoiceId ORDER BY p.paymentDate DESC, p.createdAt DESC")
     List<Payment> findByInvoiceId(@Param("invoiceId") UUID invoiceId);
     
-    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.invoice.id = :invoiceId")
+    // Native so the sum stays a plain decimal instead of going through the Money converter
+    @Query(value = "SELECT COALESCE(SUM(amount), 0) FROM payments WHERE invoice_id = :invoiceId", nativeQuery = true)
     java.math.BigDecimal getTotalPaymentsByInvoiceId(@Param("invoiceId") UUID invoiceId);
+    
+    // Payments are immutable, so createdAt is their change watermark
+    @Query("SELECT p FROM Payment p WHERE p.companyId = :companyId " +
+           "AND p.createdAt >= :since AND (p.createdAt > :since OR p.id > :afterId) " +
+           "AND p.createdAt <= :until ORDER BY p.createdAt, p.id")
+    List<Payment> findChangedSince(@Param("companyId") UUID companyId,
+                                   @Param("since") LocalDateTime since,
+                                   @Param("afterId") UUID afterId,
+                                   @Param("until") LocalDateTime until,
+                                   Pageable pageable);
+    
+    @Query("SELECT p.version FROM Payment p WHERE p.id = :id AND p.companyId = :companyId")
+    Optional<Long> findVersionByIdAndCompanyId(@Param("id") UUID id, @Param("companyId") UUID companyId);
 }
 
 
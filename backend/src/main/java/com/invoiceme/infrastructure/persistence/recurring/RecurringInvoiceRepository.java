@@ -0,0 +1,46 @@
+package com.invoiceme.infrastructure.persistence.recurring;
+
+import com.invoiceme.domain.recurring.RecurringInvoice;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RecurringInvoiceRepository extends JpaRepository<RecurringInvoice, UUID> {
+    // Companies with a template due, leaving out templates that failed since retryAfter
+    @Query("SELECT DISTINCT r.company.id FROM RecurringInvoice r WHERE r.active = true AND r.nextRunDate <= :today " +
+           "AND (r.lastFailedAt IS NULL OR r.lastFailedAt < :retryAfter)")
+    List<UUID> findCompanyIdsWithDueTemplates(@Param("today") LocalDate today,
+                                              @Param("retryAfter") LocalDateTime retryAfter);
+
+    // One chunk of a company's due templates; their lines are batch fetched
+    @EntityGraph(attributePaths = {"customer", "company"})
+    @Query("SELECT r FROM RecurringInvoice r WHERE r.company.id = :companyId AND r.active = true " +
+           "AND r.nextRunDate <= :today AND (r.lastFailedAt IS NULL OR r.lastFailedAt < :retryAfter) " +
+           "ORDER BY r.nextRunDate, r.id")
+    List<RecurringInvoice> findDue(@Param("companyId") UUID companyId, @Param("today") LocalDate today,
+                                   @Param("retryAfter") LocalDateTime retryAfter, Pageable pageable);
+
+    @Query("SELECT r.id FROM RecurringInvoice r WHERE r.company.id = :companyId AND r.active = true " +
+           "AND r.nextRunDate <= :today AND (r.lastFailedAt IS NULL OR r.lastFailedAt < :retryAfter) " +
+           "ORDER BY r.nextRunDate, r.id")
+    List<UUID> findDueIds(@Param("companyId") UUID companyId, @Param("today") LocalDate today,
+                          @Param("retryAfter") LocalDateTime retryAfter, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "company"})
+    @Query("SELECT r FROM RecurringInvoice r WHERE r.id = :id AND r.company.id = :companyId")
+    Optional<RecurringInvoice> findByIdAndCompanyId(@Param("id") UUID id, @Param("companyId") UUID companyId);
+
+    @EntityGraph(attributePaths = {"customer"})
+    @Query("SELECT r FROM RecurringInvoice r WHERE r.company.id = :companyId ORDER BY r.createdAt, r.id")
+    List<RecurringInvoice> findByCompanyId(@Param("companyId") UUID companyId);
+}
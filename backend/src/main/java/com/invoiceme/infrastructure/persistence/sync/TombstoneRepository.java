@@ -0,0 +1,24 @@
+package com.invoiceme.infrastructure.persistence.sync;
+
+import com.invoiceme.domain.sync.Tombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, UUID> {
+    @Query("SELECT t FROM Tombstone t WHERE t.companyId = :companyId " +
+           "AND t.deletedAt >= :since AND (t.deletedAt > :since OR t.id > :afterId) " +
+           "AND t.deletedAt <= :until ORDER BY t.deletedAt, t.id")
+    List<Tombstone> findChangedSince(@Param("companyId") UUID companyId,
+                                     @Param("since") LocalDateTime since,
+                                     @Param("afterId") UUID afterId,
+                                     @Param("until") LocalDateTime until,
+                                     Pageable pageable);
+}
@@ -0,0 +1,24 @@
+package com.invoiceme.infrastructure.persistence.tax;
+
+import com.invoiceme.domain.tax.TaxRule;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TaxRuleRepository extends JpaRepository<TaxRule, UUID> {
+    // Every rule of a company with its exemptions, in one query
+    @EntityGraph(attributePaths = {"exemptCustomerIds"})
+    @Query("SELECT r FROM TaxRule r WHERE r.company.id = :companyId")
+    List<TaxRule> findWithExemptionsByCompanyId(@Param("companyId") UUID companyId);
+
+    @EntityGraph(attributePaths = {"exemptCustomerIds"})
+    @Query("SELECT r FROM TaxRule r WHERE r.id = :id AND r.company.id = :companyId")
+    Optional<TaxRule> findByIdAndCompanyId(@Param("id") UUID id, @Param("companyId") UUID companyId);
+}
@@ -0,0 +1,127 @@
+package com.invoiceme.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the application nodes sharing the rate limits. When enabled, every node records a
+ * heartbeat in {@code rate_limit_nodes} (PostgreSQL) and counts the nodes seen recently; each
+ * node then allows its share of every limit. This assumes the load balancer spreads a
+ * company's requests evenly, which round robin does. Disabled, or while the database cannot
+ * be reached, the last known count is used (1 to start with).
+ */
+@Component
+public class RateLimitCluster {
+    private static final Logger log = LoggerFactory.getLogger(RateLimitCluster.class);
+
+    static final String HEARTBEAT = "INSERT INTO rate_limit_nodes (node_id, seen_at) VALUES (?, now())"
+            + " ON CONFLICT (node_id) DO UPDATE SET seen_at = EXCLUDED.seen_at";
+    static final String COUNT_LIVE = "SELECT count(*) FROM rate_limit_nodes"
+            + " WHERE seen_at > now() - ? * interval '1 millisecond'";
+    static final String DELETE_STALE = "DELETE FROM rate_limit_nodes"
+            + " WHERE seen_at < now() - ? * interval '1 millisecond'";
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final boolean enabled;
+    private final long intervalMs;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile int nodes = 1;
+    private volatile boolean failing;
+    private ScheduledExecutorService scheduler;
+
+    public RateLimitCluster(
+            ObjectProvider<DataSource> dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.cluster.enabled:false}") boolean enabled,
+            @Value("${rate-limit.cluster.heartbeat-ms:5000}") long intervalMs) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+        Gauge.builder("invoiceme.ratelimit.nodes", this, RateLimitCluster::nodes)
+                .description("Nodes the rate limits are divided between")
+                .register(meterRegistry);
+    }
+
+    public int nodes() {
+        return nodes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::heartbeat, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    void heartbeat() {
+        try (Connection connection = dataSource.getObject().getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(HEARTBEAT)) {
+                statement.setString(1, nodeId);
+                statement.executeUpdate();
+            }
+            // A node counts as gone after missing three heartbeats
+            int live;
+            try (PreparedStatement statement = connection.prepareStatement(COUNT_LIVE)) {
+                statement.setLong(1, intervalMs * 3);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    live = resultSet.getInt(1);
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_STALE)) {
+                statement.setLong(1, intervalMs * 100);
+                statement.executeUpdate();
+            }
+            if (live != nodes) {
+                log.info("Rate limits now shared between {} nodes", live);
+            }
+            nodes = Math.max(1, live);
+            failing = false;
+        } catch (SQLException | RuntimeException e) {
+            if (!failing) {
+                log.warn("Rate limit heartbeat failed; keeping the share for {} nodes", nodes, e);
+            }
+            failing = true;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        try (Connection connection = dataSource.getObject().getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM rate_limit_nodes WHERE node_id = ?")) {
+            statement.setString(1, nodeId);
+            statement.executeUpdate();
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Could not remove rate limit heartbeat", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.invoiceme.infrastructure.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.infrastructure.api.dto.common.ErrorResponseDTO;
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Applies the {@link RateLimiter} right after {@code JwtAuthenticationFilter}, so limits are
+ * keyed by the signed-in user and company before any handler runs. Every limited response
+ * carries {@code RateLimit-Limit}, {@code RateLimit-Remaining}, {@code RateLimit-Reset} and
+ * {@code RateLimit-Policy}; refused requests get 429 with {@code Retry-After}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/") || path.startsWith("/api/events/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.Decision decision = check(request);
+        if (decision == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        response.setHeader("RateLimit-Policy", decision.limit() + ";w=" + decision.window().toSeconds());
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorResponseDTO error = new ErrorResponseDTO();
+        error.setTimestamp(LocalDateTime.now());
+        error.setStatus(429);
+        error.setError("Too Many Requests");
+        error.setMessage("Rate limit exceeded; retry after " + decision.retryAfterSeconds() + "s");
+        error.setPath(request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private RateLimiter.Decision check(HttpServletRequest request) {
+        RateLimitGroup group = RateLimitGroup.of(request);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user) {
+            return rateLimiter.check(group, user.getUserId(), user.getDefaultCompanyId(), null);
+        }
+        return rateLimiter.check(group, null, null, request.getRemoteAddr());
+    }
+}
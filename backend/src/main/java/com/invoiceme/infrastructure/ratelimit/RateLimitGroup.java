@@ -0,0 +1,41 @@
+package com.invoiceme.infrastructure.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Endpoint groups with separate limits. Each has defaults per user, per company and, for
+ * requests without a signed-in user, per client address; all per minute and overridable
+ * under {@code rate-limit.<group>.*}.
+ */
+public enum RateLimitGroup {
+    AUTH(0, 0, 30),
+    WRITES(120, 600, 120),
+    READS(600, 3000, 600),
+    EXPORTS(20, 60, 20);
+
+    final int defaultPerUser;
+    final int defaultPerCompany;
+    final int defaultPerClient;
+
+    RateLimitGroup(int defaultPerUser, int defaultPerCompany, int defaultPerClient) {
+        this.defaultPerUser = defaultPerUser;
+        this.defaultPerCompany = defaultPerCompany;
+        this.defaultPerClient = defaultPerClient;
+    }
+
+    public String key() {
+        return name().toLowerCase();
+    }
+
+    public static RateLimitGroup of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (path.equals("/api/sync") || path.startsWith("/api/sync/")) {
+            return EXPORTS;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? READS : WRITES;
+    }
+}
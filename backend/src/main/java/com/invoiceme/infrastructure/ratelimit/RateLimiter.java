@@ -0,0 +1,222 @@
+package com.invoiceme.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per user, company and client address, without locks. A bucket is stored as
+ * a single timestamp (GCRA): the time at which it would be full again. Taking a token moves
+ * the timestamp forward by one refill interval with a compare-and-set; a request is refused
+ * while the timestamp is further ahead than the burst allows. Refill is implied by time
+ * passing, so idle buckets need no upkeep and are dropped once full.
+ *
+ * <p>At most {@code rate-limit.max-buckets} keys get a bucket of their own. Once that many are
+ * tracked, full buckets are swept out at most once per {@code max-buckets / 16} new keys, and a new
+ * key that finds no room shares one overflow bucket with the other such keys of its kind.
+ *
+ * <p>With several nodes, each one enforces its share of the limit (see {@link RateLimitCluster}).
+ */
+@Component
+public class RateLimiter {
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final String OVERFLOW = "*";
+
+    private final boolean enabled;
+    private final Map<RateLimitGroup, Policy> policies;
+    private final int maxBuckets;
+    private final int sweepEvery;
+    private final AtomicLong keysAtCapacity = new AtomicLong();
+    private final LongSupplier nanoTime;
+    private final IntSupplier nodes;
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<RateLimitGroup, Counter> rejections = new EnumMap<>(RateLimitGroup.class);
+
+    @Autowired
+    public RateLimiter(
+            Environment environment,
+            RateLimitCluster cluster,
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.max-buckets:100000}") int maxBuckets) {
+        this(policies(environment), System::nanoTime, cluster::nodes, meterRegistry, enabled, maxBuckets);
+    }
+
+    RateLimiter(Map<RateLimitGroup, Policy> policies, LongSupplier nanoTime, IntSupplier nodes,
+                MeterRegistry meterRegistry, boolean enabled, int maxBuckets) {
+        this.policies = new EnumMap<>(policies);
+        this.nanoTime = nanoTime;
+        this.nodes = nodes;
+        this.enabled = enabled;
+        this.maxBuckets = maxBuckets;
+        this.sweepEvery = Math.max(1, maxBuckets / 16);
+        Gauge.builder("invoiceme.ratelimit.buckets", buckets, Map::size)
+                .description("Rate limit buckets currently tracked")
+                .register(meterRegistry);
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            rejections.put(group, Counter.builder("invoiceme.ratelimit.rejected")
+                    .description("Requests refused with 429 by the rate limiter")
+                    .tag("group", group.key())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Takes a token from every bucket that applies: the user's and the company's when signed
+     * in, the client address's otherwise. A request refused by one bucket takes nothing from the
+     * others. Returns the most restrictive outcome, or null when no limit applies.
+     */
+    public Decision check(RateLimitGroup group, UUID userId, UUID companyId, String clientAddress) {
+        if (!enabled) {
+            return null;
+        }
+        Policy policy = policies.get(group);
+        long now = nanoTime.getAsLong();
+        int share = Math.max(1, nodes.getAsInt());
+        Decision decision;
+        if (userId == null) {
+            decision = take(group.key() + ":client:", clientAddress, policy.perClient(), policy.window(), share, now);
+        } else {
+            String userScope = group.key() + ":user:";
+            decision = take(userScope, userId.toString(), policy.perUser(), policy.window(), share, now);
+            if (companyId != null && (decision == null || decision.allowed())) {
+                Decision company = take(group.key() + ":company:", companyId.toString(), policy.perCompany(),
+                        policy.window(), share, now);
+                if (company != null && !company.allowed() && decision != null) {
+                    refund(userScope, userId.toString(), policy.perUser(), policy.window(), share);
+                }
+                if (decision == null || (company != null && company.moreRestrictiveThan(decision))) {
+                    decision = company;
+                }
+            }
+        }
+        if (decision != null && !decision.allowed()) {
+            rejections.get(group).increment();
+        }
+        return decision;
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private Decision take(String scope, String id, int limit, Duration window, int share, long now) {
+        if (limit <= 0) {
+            return null;
+        }
+        // Each node allows its share of the limit at the same rate per window
+        int localLimit = localLimit(limit, share);
+        long interval = window.toNanos() / localLimit;
+        long tolerance = interval * (localLimit - 1);
+        AtomicLong bucket = bucket(scope, id);
+        while (true) {
+            long full = bucket.get();
+            long base = full == EMPTY ? now : Math.max(full, now);
+            long allowedAt = base - tolerance;
+            if (now < allowedAt) {
+                return new Decision(false, localLimit, 0, seconds(base - now), seconds(allowedAt - now), window);
+            }
+            long next = base + interval;
+            if (bucket.compareAndSet(full, next)) {
+                int remaining = (int) ((now + tolerance - base) / interval);
+                return new Decision(true, localLimit, remaining, seconds(next - now), 0, window);
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken for a request another bucket refused.
+     */
+    private void refund(String scope, String id, int limit, Duration window, int share) {
+        AtomicLong bucket = buckets.get(scope + id);
+        if (bucket == null) {
+            bucket = buckets.get(scope + OVERFLOW);
+        }
+        if (bucket != null) {
+            bucket.addAndGet(-(window.toNanos() / localLimit(limit, share)));
+        }
+    }
+
+    private static int localLimit(int limit, int share) {
+        return Math.max(1, limit / share);
+    }
+
+    private AtomicLong bucket(String scope, String id) {
+        String key = scope + id;
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets && !sweep()) {
+            return buckets.computeIfAbsent(scope + OVERFLOW, k -> new AtomicLong(EMPTY));
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(EMPTY));
+    }
+
+    /**
+     * Drops the buckets that have refilled completely, which are the same as no bucket at all.
+     * Only the first of every {@code sweepEvery} new keys at capacity scans the map; returns
+     * whether the caller may add its key.
+     */
+    private boolean sweep() {
+        if (keysAtCapacity.getAndIncrement() % sweepEvery != 0) {
+            return false;
+        }
+        long now = nanoTime.getAsLong();
+        buckets.values().removeIf(candidate -> candidate.get() - now <= 0);
+        return buckets.size() < maxBuckets;
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(0, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static Map<RateLimitGroup, Policy> policies(Environment environment) {
+        Map<RateLimitGroup, Policy> policies = new EnumMap<>(RateLimitGroup.class);
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            String prefix = "rate-limit." + group.key() + ".";
+            policies.put(group, new Policy(
+                    environment.getProperty(prefix + "per-user", Integer.class, group.defaultPerUser),
+                    environment.getProperty(prefix + "per-company", Integer.class, group.defaultPerCompany),
+                    environment.getProperty(prefix + "per-client", Integer.class, group.defaultPerClient),
+                    Duration.ofSeconds(environment.getProperty(prefix + "window-seconds", Long.class, 60L))));
+        }
+        return policies;
+    }
+
+    /**
+     * Requests allowed per window; 0 turns a limit off.
+     */
+    record Policy(int perUser, int perCompany, int perClient, Duration window) {
+    }
+
+    /**
+     * The outcome for one bucket, carried into the {@code RateLimit-*} headers. {@code resetSeconds}
+     * is the time until the bucket is full again.
+     */
+    public record Decision(boolean allowed, int limit, int remaining, long resetSeconds, long retryAfterSeconds,
+                           Duration window) {
+
+        boolean moreRestrictiveThan(Decision other) {
+            if (allowed != other.allowed) {
+                return !allowed;
+            }
+            return allowed ? remaining < other.remaining : retryAfterSeconds > other.retryAfterSeconds;
+        }
+    }
+}
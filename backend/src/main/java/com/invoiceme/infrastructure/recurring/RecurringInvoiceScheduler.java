@@ -0,0 +1,186 @@
+package com.invoiceme.infrastructure.recurring;
+
+import com.invoiceme.application.commands.recurring.GenerateRecurringInvoicesCommand;
+import com.invoiceme.application.commands.recurring.GenerateRecurringInvoicesHandler;
+import com.invoiceme.application.commands.recurring.GenerateRecurringInvoicesResult;
+import com.invoiceme.application.services.RecurringInvoiceService;
+import com.invoiceme.infrastructure.persistence.recurring.RecurringInvoiceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Generates the invoices of due recurring templates. Every run finds the companies with
+ * templates due and spreads them over a pool of workers; each worker generates one company's
+ * invoices a chunk of templates per transaction. Workers are
+ * Spring Boot task executor threads, so they are virtual threads when those are enabled. Nodes share the work through per-company
+ * leases: a company leased by another node is skipped until the next run.
+ * <p>
+ * When a chunk fails, its templates are retried one per transaction so one bad template does
+ * not hold up the rest. A template that still fails records the error and is left alone for
+ * {@code recurring.retry-after-ms}.
+ */
+@Component
+public class RecurringInvoiceScheduler implements SchedulingConfigurer {
+    private static final Logger log = LoggerFactory.getLogger(RecurringInvoiceScheduler.class);
+
+    private final GenerateRecurringInvoicesHandler generateHandler;
+    private final RecurringInvoiceService recurringInvoiceService;
+    private final RecurringInvoiceRepository recurringInvoiceRepository;
+    private final boolean enabled;
+    private final long intervalMs;
+    private final int chunkSize;
+    private final long retryAfterMs;
+    private final AsyncTaskExecutor workers;
+    private final Counter generated;
+    private final Counter failures;
+    private final Counter leaseSkipped;
+    private final Timer runs;
+
+    public RecurringInvoiceScheduler(
+            GenerateRecurringInvoicesHandler generateHandler,
+            RecurringInvoiceService recurringInvoiceService,
+            RecurringInvoiceRepository recurringInvoiceRepository,
+            MeterRegistry meterRegistry,
+            SimpleAsyncTaskExecutorBuilder executorBuilder,
+            @Value("${recurring.enabled:true}") boolean enabled,
+            @Value("${recurring.interval-ms:60000}") long intervalMs,
+            @Value("${recurring.workers:4}") int workers,
+            @Value("${recurring.chunk-size:50}") int chunkSize,
+            @Value("${recurring.retry-after-ms:3600000}") long retryAfterMs) {
+        if (workers <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("recurring.workers and recurring.chunk-size must be positive");
+        }
+        this.generateHandler = generateHandler;
+        this.recurringInvoiceService = recurringInvoiceService;
+        this.recurringInvoiceRepository = recurringInvoiceRepository;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+        this.chunkSize = chunkSize;
+        this.retryAfterMs = retryAfterMs;
+        this.workers = executorBuilder
+                .threadNamePrefix("recurring-invoice-")
+                .concurrencyLimit(workers)
+                .build();
+        this.generated = Counter.builder("invoiceme.recurring.invoices.generated")
+                .description("Invoices generated from recurring templates")
+                .register(meterRegistry);
+        this.failures = Counter.builder("invoiceme.recurring.failures")
+                .description("Recurring templates whose generation failed")
+                .register(meterRegistry);
+        this.leaseSkipped = Counter.builder("invoiceme.recurring.lease.skipped")
+                .description("Companies skipped because another node held their lease")
+                .register(meterRegistry);
+        this.runs = Timer.builder("invoiceme.recurring.run")
+                .description("Time to generate the invoices of every due template")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (enabled && intervalMs > 0) {
+            Duration interval = Duration.ofMillis(intervalMs);
+            registrar.addFixedDelayTask(new FixedDelayTask(this::run, interval, interval));
+        }
+    }
+
+    void run() {
+        try {
+            runOnce(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.warn("Recurring invoice run failed", e);
+        }
+    }
+
+    /**
+     * Generates every invoice due on or before {@code today} and returns how many were generated.
+     */
+    public int runOnce(LocalDate today) {
+        return runs.record(() -> {
+            LocalDateTime retryAfter = LocalDateTime.now().minus(retryAfterMs, ChronoUnit.MILLIS);
+            List<Future<Integer>> companies = new ArrayList<>();
+            for (UUID companyId : recurringInvoiceRepository.findCompanyIdsWithDueTemplates(today, retryAfter)) {
+                companies.add(workers.submit(() -> generateForCompany(companyId, today, retryAfter)));
+            }
+            int total = 0;
+            for (Future<Integer> company : companies) {
+                try {
+                    total += company.get();
+                } catch (ExecutionException e) {
+                    log.warn("Recurring invoice generation failed for a company", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Generated {} recurring invoices for {} companies", total, companies.size());
+            }
+            return total;
+        });
+    }
+
+    private int generateForCompany(UUID companyId, LocalDate today, LocalDateTime retryAfter) {
+        int total = 0;
+        while (true) {
+            GenerateRecurringInvoicesResult result;
+            try {
+                result = generateHandler.handle(GenerateRecurringInvoicesCommand.chunk(companyId, today, chunkSize, retryAfter));
+            } catch (RuntimeException e) {
+                log.warn("Recurring invoice chunk failed for company {}; retrying its templates one at a time", companyId, e);
+                result = generateOneByOne(companyId, today, retryAfter);
+            }
+            total += result.invoices();
+            generated.increment(result.invoices());
+            if (!result.leased()) {
+                leaseSkipped.increment();
+                return total;
+            }
+            if (result.templates() < chunkSize) {
+                return total;
+            }
+        }
+    }
+
+    // Every template of the chunk ends up generated or marked failed, so the next chunk moves on
+    private GenerateRecurringInvoicesResult generateOneByOne(UUID companyId, LocalDate today, LocalDateTime retryAfter) {
+        List<UUID> templateIds = recurringInvoiceRepository.findDueIds(companyId, today, retryAfter,
+                PageRequest.of(0, chunkSize));
+        int invoices = 0;
+        for (UUID templateId : templateIds) {
+            try {
+                GenerateRecurringInvoicesResult result = generateHandler.handle(
+                        GenerateRecurringInvoicesCommand.template(companyId, templateId, today));
+                if (!result.leased()) {
+                    return new GenerateRecurringInvoicesResult(false, 0, invoices);
+                }
+                invoices += result.invoices();
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Recurring invoice {} failed; retrying after {} ms", templateId, retryAfterMs, e);
+                recurringInvoiceService.recordFailure(templateId, e.getMessage());
+            }
+        }
+        return new GenerateRecurringInvoicesResult(true, templateIds.size(), invoices);
+    }
+}
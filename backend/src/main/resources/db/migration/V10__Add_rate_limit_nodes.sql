@@ -0,0 +1,5 @@
+-- Heartbeats of the application nodes; rate limits are divided between the live ones
+CREATE TABLE IF NOT EXISTS rate_limit_nodes (
+    node_id VARCHAR(36) PRIMARY KEY,
+    seen_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
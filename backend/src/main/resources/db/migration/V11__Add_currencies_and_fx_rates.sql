@@ -0,0 +1,15 @@
+-- Amount columns keep their DECIMAL(19,2) type; these say which currency they are in.
+-- Payments are always in the currency of their invoice.
+ALTER TABLE companies ADD COLUMN base_currency VARCHAR(3) NOT NULL DEFAULT 'USD';
+ALTER TABLE invoices ADD COLUMN currency VARCHAR(3) NOT NULL DEFAULT 'USD';
+ALTER TABLE payments ADD COLUMN currency VARCHAR(3) NOT NULL DEFAULT 'USD';
+
+-- One unit of base_currency is worth rate units of quote_currency from rate_date until the
+-- pair's next rate. Read into memory as a whole; there is no lookup by row.
+CREATE TABLE IF NOT EXISTS fx_rates (
+    base_currency VARCHAR(3) NOT NULL,
+    quote_currency VARCHAR(3) NOT NULL,
+    rate_date DATE NOT NULL,
+    rate DECIMAL(19, 8) NOT NULL CHECK (rate > 0),
+    PRIMARY KEY (base_currency, quote_currency, rate_date)
+);
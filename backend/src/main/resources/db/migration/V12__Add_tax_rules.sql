@@ -0,0 +1,28 @@
+-- Tax is kept per line and summed on the invoice; total_amount stays the amount due, so the
+-- subtotal is total_amount - tax_amount. Existing rows are untaxed.
+ALTER TABLE invoices ADD COLUMN tax_amount DECIMAL(19, 2) NOT NULL DEFAULT 0;
+ALTER TABLE invoice_line_items ADD COLUMN tax_amount DECIMAL(19, 2) NOT NULL DEFAULT 0;
+
+-- rate is a percentage. Rules apply in priority order; a compound rule taxes the line amount
+-- plus the taxes of the rules before it.
+CREATE TABLE IF NOT EXISTS tax_rules (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    company_id UUID NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    name VARCHAR(100) NOT NULL,
+    rate DECIMAL(7, 4) NOT NULL CHECK (rate >= 0),
+    compound BOOLEAN NOT NULL DEFAULT FALSE,
+    priority INTEGER NOT NULL DEFAULT 0,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_tax_rules_company_id ON tax_rules(company_id);
+
+-- Customers a rule does not apply to
+CREATE TABLE IF NOT EXISTS tax_rule_exemptions (
+    tax_rule_id UUID NOT NULL REFERENCES tax_rules(id) ON DELETE CASCADE,
+    customer_id UUID NOT NULL REFERENCES customers(id) ON DELETE CASCADE,
+    PRIMARY KEY (tax_rule_id, customer_id)
+);
@@ -0,0 +1,41 @@
+-- Invoice templates generated on a schedule. Period n of a template is issued on
+-- start_date + n * frequency, so months of different length do not shift later periods.
+CREATE TABLE IF NOT EXISTS recurring_invoices (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    company_id UUID NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    customer_id UUID NOT NULL REFERENCES customers(id) ON DELETE CASCADE,
+    currency VARCHAR(3),
+    frequency VARCHAR(20) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE,
+    next_run_date DATE NOT NULL,
+    periods_generated INTEGER NOT NULL DEFAULT 0,
+    payment_terms_days INTEGER NOT NULL DEFAULT 30,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    last_error VARCHAR(500),
+    last_failed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- The scheduler reads active templates by company in run order
+CREATE INDEX IF NOT EXISTS idx_recurring_invoices_company_due ON recurring_invoices(company_id, next_run_date, id)
+    WHERE active;
+
+CREATE TABLE IF NOT EXISTS recurring_invoice_lines (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    recurring_invoice_id UUID NOT NULL REFERENCES recurring_invoices(id) ON DELETE CASCADE,
+    position INTEGER NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+    unit_price DECIMAL(19, 2) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_recurring_invoice_lines_template ON recurring_invoice_lines(recurring_invoice_id, position);
+
+-- At most one invoice per template and period, however often or wherever it is generated
+ALTER TABLE invoices ADD COLUMN recurring_invoice_id UUID REFERENCES recurring_invoices(id) ON DELETE SET NULL;
+ALTER TABLE invoices ADD COLUMN recurring_period DATE;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_invoices_recurring_period ON invoices(recurring_invoice_id, recurring_period)
+    WHERE recurring_invoice_id IS NOT NULL;
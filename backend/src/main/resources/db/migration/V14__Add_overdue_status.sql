@@ -0,0 +1,11 @@
+-- Sent invoices past their due date become OVERDUE. The overdue job walks this index in
+-- (due_date, id) order; transitioned rows leave it, so it only holds invoices still to check.
+CREATE INDEX IF NOT EXISTS idx_invoices_sent_due_date ON invoices(due_date, id) WHERE status = 'SENT';
+
+-- OVERDUE is as selective as SENT, so the open-status list indexes cover it too
+DROP INDEX IF EXISTS idx_invoices_company_open_created_at;
+DROP INDEX IF EXISTS idx_invoices_company_open_due_date;
+CREATE INDEX IF NOT EXISTS idx_invoices_company_open_created_at ON invoices(company_id, status, created_at, id)
+    WHERE status IN ('DRAFT', 'SENT', 'OVERDUE');
+CREATE INDEX IF NOT EXISTS idx_invoices_company_open_due_date ON invoices(company_id, status, due_date, id)
+    WHERE status IN ('DRAFT', 'SENT', 'OVERDUE');
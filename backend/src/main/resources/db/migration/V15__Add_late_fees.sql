@@ -0,0 +1,48 @@
+-- One late-fee policy per company. FLAT charges amount (in each invoice's currency), PERCENTAGE
+-- charges amount percent of the open balance. The first fee is due grace_days after the due
+-- date and, with repeat_days, another every repeat_days after that, up to max_total per invoice.
+CREATE TABLE IF NOT EXISTS late_fee_policies (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    company_id UUID NOT NULL UNIQUE REFERENCES companies(id) ON DELETE CASCADE,
+    fee_type VARCHAR(20) NOT NULL,
+    amount DECIMAL(19, 4) NOT NULL CHECK (amount > 0),
+    grace_days INTEGER NOT NULL DEFAULT 0 CHECK (grace_days >= 0),
+    repeat_days INTEGER CHECK (repeat_days > 0),
+    max_total DECIMAL(19, 2) CHECK (max_total > 0),
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- Fees charged so far, so each run charges only the fees that came due since the last one
+ALTER TABLE invoices ADD COLUMN late_fee_total DECIMAL(19, 2) NOT NULL DEFAULT 0;
+ALTER TABLE invoices ADD COLUMN late_fees_applied INTEGER NOT NULL DEFAULT 0;
+
+-- Fee lines carry their number; the nth fee of an invoice can only be charged once
+ALTER TABLE invoice_line_items ADD COLUMN late_fee_sequence INTEGER;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_line_items_late_fee ON invoice_line_items(invoice_id, late_fee_sequence)
+    WHERE late_fee_sequence IS NOT NULL;
+
+-- Audit of every run, dry runs included
+CREATE TABLE IF NOT EXISTS late_fee_runs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    company_id UUID NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    as_of DATE NOT NULL,
+    dry_run BOOLEAN NOT NULL,
+    triggered_by VARCHAR(100) NOT NULL,
+    invoices_checked INTEGER NOT NULL,
+    fees_charged INTEGER NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    duration_ms BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_late_fee_runs_company_started ON late_fee_runs(company_id, started_at);
+
+CREATE TABLE IF NOT EXISTS late_fee_run_totals (
+    late_fee_run_id UUID NOT NULL REFERENCES late_fee_runs(id) ON DELETE CASCADE,
+    currency VARCHAR(3) NOT NULL,
+    fees INTEGER NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (late_fee_run_id, currency)
+);
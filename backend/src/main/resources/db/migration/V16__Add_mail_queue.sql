@@ -0,0 +1,34 @@
+-- Outbound mail. Rows are rendered and sent by the mail workers; a worker claims a row by
+-- stamping claim_token and pushing next_attempt_at out by the lease, so a crashed worker's
+-- rows become due again once the lease runs out.
+CREATE TABLE IF NOT EXISTS mail_messages (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    company_id UUID NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    invoice_id UUID NOT NULL REFERENCES invoices(id) ON DELETE CASCADE,
+    kind VARCHAR(30) NOT NULL,
+    -- Days from the due date a reminder is scheduled for; 0 for deliveries
+    schedule_day INTEGER NOT NULL DEFAULT 0,
+    recipient VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    claim_token UUID,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- One message per invoice, kind and scheduled day, however often the reminder job runs
+CREATE UNIQUE INDEX IF NOT EXISTS idx_mail_messages_schedule ON mail_messages(invoice_id, kind, schedule_day);
+
+-- The queue: pending messages in the order they are due
+CREATE INDEX IF NOT EXISTS idx_mail_messages_pending ON mail_messages(next_attempt_at, id)
+    WHERE status = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS idx_mail_messages_claim_token ON mail_messages(claim_token)
+    WHERE claim_token IS NOT NULL;
+
+-- Reminders are queued across companies by due date for SENT and OVERDUE invoices
+CREATE INDEX IF NOT EXISTS idx_invoices_open_due_date ON invoices(due_date, id)
+    WHERE status IN ('SENT', 'OVERDUE');
@@ -0,0 +1,4 @@
+-- The remaining customer list sort keys (name and updated_at are covered by V8/V9), so every
+-- allowed key returns a page in index order
+CREATE INDEX IF NOT EXISTS idx_customers_company_email ON customers(company_id, email, id);
+CREATE INDEX IF NOT EXISTS idx_customers_company_created_at ON customers(company_id, created_at, id);
@@ -0,0 +1,5 @@
+-- V9 backfilled payments.company_id but left it nullable. Payments recorded since then carry
+-- their invoice's company; this catches any that slipped in between. A payment whose invoice has
+-- no company is visible to no tenant and makes SET NOT NULL fail until it is assigned one.
+UPDATE payments p SET company_id = i.company_id FROM invoices i WHERE i.id = p.invoice_id AND p.company_id IS NULL;
+ALTER TABLE payments ALTER COLUMN company_id SET NOT NULL;
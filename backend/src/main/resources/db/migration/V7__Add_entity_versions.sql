@@ -0,0 +1,5 @@
+-- Optimistic-locking versions, also used as the source of HTTP ETags
+ALTER TABLE companies ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE customers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE invoices ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE payments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
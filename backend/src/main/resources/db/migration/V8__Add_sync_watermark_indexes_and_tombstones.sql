@@ -0,0 +1,16 @@
+-- Keyset indexes backing GET /api/sync (watermark = updated_at/created_at, tie-break = id)
+CREATE INDEX IF NOT EXISTS idx_invoices_company_updated_at ON invoices(company_id, updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_customers_company_updated_at ON customers(company_id, updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_payments_created_at ON payments(created_at, id);
+
+-- Deletions, so sync clients can drop rows from their local replica
+CREATE TABLE IF NOT EXISTS sync_tombstones (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    company_id UUID NOT NULL,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id UUID NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_sync_tombstones_company FOREIGN KEY (company_id) REFERENCES companies(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_tombstones_company_deleted_at ON sync_tombstones(company_id, deleted_at, id);
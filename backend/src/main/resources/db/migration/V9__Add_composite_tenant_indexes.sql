@@ -0,0 +1,36 @@
+-- Every list query is scoped to a company (or a customer) and ordered by an allowed sort key
+-- with id as tie-break, so these indexes return a page in order without a sort step.
+-- Allowed invoice sort keys: created_at, due_date.
+CREATE INDEX IF NOT EXISTS idx_invoices_company_created_at ON invoices(company_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_invoices_company_due_date ON invoices(company_id, due_date, id);
+
+-- Status filters. DRAFT and SENT are the selective values; PAID makes up most of the table and
+-- is served by the company indexes above with a status filter.
+CREATE INDEX IF NOT EXISTS idx_invoices_company_open_created_at ON invoices(company_id, status, created_at, id)
+    WHERE status IN ('DRAFT', 'SENT');
+CREATE INDEX IF NOT EXISTS idx_invoices_company_open_due_date ON invoices(company_id, status, due_date, id)
+    WHERE status IN ('DRAFT', 'SENT');
+
+CREATE INDEX IF NOT EXISTS idx_invoices_customer_created_at ON invoices(customer_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_invoices_customer_due_date ON invoices(customer_id, due_date, id);
+
+-- Payments of an invoice, newest first
+CREATE INDEX IF NOT EXISTS idx_payments_invoice_payment_date ON payments(invoice_id, payment_date, created_at);
+
+-- Payments carry their invoice's company so the sync keyset scan can stay on one index
+ALTER TABLE payments ADD COLUMN company_id UUID;
+UPDATE payments p SET company_id = i.company_id FROM invoices i WHERE i.id = p.invoice_id;
+ALTER TABLE payments ADD CONSTRAINT fk_payments_company FOREIGN KEY (company_id) REFERENCES companies(id) ON DELETE RESTRICT;
+CREATE INDEX IF NOT EXISTS idx_payments_company_created_at ON payments(company_id, created_at, id);
+
+-- Customer list, default order by name (updated_at is covered by idx_customers_company_updated_at)
+CREATE INDEX IF NOT EXISTS idx_customers_company_name ON customers(company_id, name, id);
+
+-- Superseded by the composites above, which start with the same column
+DROP INDEX IF EXISTS idx_invoices_company_id;
+DROP INDEX IF EXISTS idx_invoices_customer_id;
+DROP INDEX IF EXISTS idx_payments_invoice_id;
+DROP INDEX IF EXISTS idx_customers_company_id;
+DROP INDEX IF EXISTS idx_payments_created_at;
+-- Never used on its own: every status filter also filters on company
+DROP INDEX IF EXISTS idx_invoices_status;
@@ -0,0 +1,60 @@
+package com.invoiceme.domain.fx;
+
+import com.invoiceme.domain.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FxRateSnapshotTest {
+
+    private static final Currency USD = Money.DEFAULT_CURRENCY;
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency GBP = Currency.getInstance("GBP");
+    private static final LocalDate MAY_1 = LocalDate.of(2025, 5, 1);
+    private static final LocalDate JUNE_1 = LocalDate.of(2025, 6, 1);
+
+    @Test
+    public void testRateInEffectOnDate() {
+        FxRateSnapshot snapshot = FxRateSnapshot.of(List.of(
+                FxRate.of(EUR, USD, MAY_1, new BigDecimal("1.10")),
+                FxRate.of(EUR, USD, JUNE_1, new BigDecimal("1.20"))));
+
+        assertTrue(snapshot.rate(EUR, USD, MAY_1.minusDays(1)).isEmpty());
+        assertEquals(new BigDecimal("1.10"), snapshot.rate(EUR, USD, JUNE_1.minusDays(1)).orElseThrow().value());
+        assertEquals(JUNE_1, snapshot.rate(EUR, USD, JUNE_1.plusDays(10)).orElseThrow().date());
+        assertEquals(Money.of(new BigDecimal("120.00"), USD),
+                snapshot.rate(EUR, USD, JUNE_1).orElseThrow().convert(Money.of(new BigDecimal("100.00"), EUR)));
+    }
+
+    @Test
+    public void testInverseAndCrossRates() {
+        FxRateSnapshot snapshot = FxRateSnapshot.of(List.of(
+                FxRate.of(EUR, USD, MAY_1, new BigDecimal("1.25")),
+                FxRate.of(GBP, USD, MAY_1, new BigDecimal("1.50"))));
+
+        assertEquals(Money.of(new BigDecimal("80.00"), EUR),
+                snapshot.rate(USD, EUR, MAY_1).orElseThrow().convert(Money.of(new BigDecimal("100.00"), USD)));
+        assertEquals(Money.of(new BigDecimal("120.00"), EUR),
+                snapshot.rate(GBP, EUR, MAY_1).orElseThrow().convert(Money.of(new BigDecimal("100.00"), GBP)));
+        assertThrows(IllegalArgumentException.class,
+                () -> snapshot.rate(GBP, EUR, MAY_1).orElseThrow().convert(Money.of(BigDecimal.ONE, USD)));
+    }
+
+    @Test
+    public void testWithLeavesOriginalUnchanged() {
+        FxRateSnapshot original = FxRateSnapshot.of(List.of(FxRate.of(EUR, USD, MAY_1, new BigDecimal("1.10"))));
+        FxRateSnapshot updated = original.with(List.of(
+                FxRate.of(EUR, USD, MAY_1, new BigDecimal("1.15")),
+                FxRate.of(GBP, USD, MAY_1, new BigDecimal("1.30"))));
+
+        assertEquals(1, original.size());
+        assertEquals(new BigDecimal("1.10"), original.rate(EUR, USD, MAY_1).orElseThrow().value());
+        assertEquals(2, updated.size());
+        assertEquals(new BigDecimal("1.15"), updated.rate(EUR, USD, MAY_1).orElseThrow().value());
+    }
+}
@@ -0,0 +1,31 @@
+package com.invoiceme.domain.mail;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MailRetryPolicyTest {
+
+    @Test
+    public void testDelaysDoubleUpToTheMaximum() {
+        MailRetryPolicy policy = new MailRetryPolicy(Duration.ofMinutes(1), Duration.ofMinutes(10), 50);
+
+        assertEquals(Duration.ofMinutes(1), policy.delayAfter(1));
+        assertEquals(Duration.ofMinutes(2), policy.delayAfter(2));
+        assertEquals(Duration.ofMinutes(8), policy.delayAfter(4));
+        assertEquals(Duration.ofMinutes(10), policy.delayAfter(5));
+        assertEquals(Duration.ofMinutes(10), policy.delayAfter(49));
+    }
+
+    @Test
+    public void testNoDelayAfterTheLastAttempt() {
+        MailRetryPolicy policy = new MailRetryPolicy(Duration.ofMinutes(1), Duration.ofHours(1), 3);
+
+        assertNotNull(policy.delayAfter(2));
+        assertNull(policy.delayAfter(3));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MailRetryPolicy(Duration.ofMinutes(5), Duration.ofMinutes(1), 3));
+    }
+}
@@ -0,0 +1,53 @@
+package com.invoiceme.domain.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Test
+    public void testDecimalsRoundTripAtColumnScale() {
+        Money money = Money.of(new BigDecimal("125.505"));
+
+        assertEquals(12_551, money.minorUnits());
+        assertEquals(new BigDecimal("125.51"), money.toBigDecimal());
+        assertEquals(Money.of(new BigDecimal("10")), Money.of(new BigDecimal("10.00")));
+    }
+
+    @Test
+    public void testArithmetic() {
+        Money price = Money.of(new BigDecimal("125.50"));
+
+        assertEquals(Money.of(new BigDecimal("4643.50")), price.times(37));
+        assertEquals(Money.of(new BigDecimal("-0.50")), price.minus(Money.of(new BigDecimal("126.00"))));
+        assertEquals(Money.of(new BigDecimal("376.50")),
+                Money.sum(Money.DEFAULT_CURRENCY, List.of(price, price, price), Function.identity()));
+    }
+
+    @Test
+    public void testOverflowThrowsInsteadOfWrapping() {
+        Money large = Money.ofMinor(Long.MAX_VALUE / 2 + 1, Money.DEFAULT_CURRENCY);
+
+        assertThrows(ArithmeticException.class, () -> large.plus(large));
+        assertThrows(ArithmeticException.class, () -> large.times(2));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e30")));
+    }
+
+    @Test
+    public void testCurrenciesAreNotMixed() {
+        Money dollars = Money.of(new BigDecimal("1.00"));
+        Money euros = Money.of(new BigDecimal("1.00"), EUR);
+
+        assertThrows(IllegalArgumentException.class, () -> dollars.plus(euros));
+        assertThrows(IllegalArgumentException.class, () -> dollars.compareTo(euros));
+        assertNotEquals(dollars, euros);
+    }
+}
@@ -0,0 +1,64 @@
+package com.invoiceme.domain.tax;
+
+import com.invoiceme.domain.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaxRuleSetTest {
+
+    @Test
+    public void testCompoundRuleTaxesEarlierTaxes() {
+        TaxRuleSet rules = TaxRuleSet.compile(List.of(
+                rule("Provincial", "10", true, 1),
+                rule("Federal", "5", false, 0)));
+
+        TaxSchedule taxes = rules.forCustomer(UUID.randomUUID());
+
+        // 5% of 100, then 10% of 105
+        assertEquals(Money.of(new BigDecimal("15.50")), taxes.taxOn(Money.of(new BigDecimal("100.00"))));
+        assertEquals(0, new BigDecimal("0.155").compareTo(taxes.multiplier()));
+    }
+
+    @Test
+    public void testExemptAndInactiveRulesAreSkipped() {
+        UUID exempt = UUID.randomUUID();
+        TaxRule federal = rule("Federal", "5", false, 0);
+        TaxRule provincial = rule("Provincial", "10", true, 1);
+        TaxRule retired = rule("Retired", "20", false, 2);
+        provincial.exempt(exempt);
+        retired.setActive(false);
+
+        TaxRuleSet rules = TaxRuleSet.compile(List.of(federal, provincial, retired));
+        Money amount = Money.of(new BigDecimal("100.00"));
+
+        assertEquals(2, rules.size());
+        assertEquals(Money.of(new BigDecimal("5.00")), rules.forCustomer(exempt).taxOn(amount));
+        assertEquals(Money.of(new BigDecimal("15.50")), rules.forCustomer(UUID.randomUUID()).taxOn(amount));
+        assertTrue(TaxRuleSet.EMPTY.forCustomer(exempt).isEmpty());
+    }
+
+    @Test
+    public void testRoundsHalfUpLikeDecimalArithmetic() {
+        TaxSchedule taxes = TaxRuleSet.compile(List.of(
+                rule("State", "6.25", false, 0),
+                rule("City", "0.875", true, 1))).forCustomer(null);
+
+        for (long minor : new long[]{1, 7, 8, 99, 12_345, -10, -12_345, Long.MAX_VALUE / 1_000, -(Long.MAX_VALUE / 1_000)}) {
+            BigDecimal expected = BigDecimal.valueOf(minor).multiply(taxes.multiplier()).setScale(0, RoundingMode.HALF_UP);
+            assertEquals(expected.longValueExact(), taxes.taxOn(Money.ofMinor(minor, Money.DEFAULT_CURRENCY)).minorUnits(),
+                    "tax on " + minor);
+        }
+    }
+
+    private static TaxRule rule(String name, String rate, boolean compound, int priority) {
+        TaxRule rule = TaxRule.create(null, name, new BigDecimal(rate), compound, priority);
+        rule.setId(UUID.randomUUID());
+        return rule;
+    }
+}
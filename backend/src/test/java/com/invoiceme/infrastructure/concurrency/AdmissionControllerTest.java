@@ -0,0 +1,93 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControllerTest {
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private int pending;
+    private AdmissionController admission;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        pending = 0;
+        admission = new AdmissionController(() -> new AdmissionController.PoolStats(10, 0, pending, 10, 10), clock,
+                meterRegistry, true, 2, 5, Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void testRequestsBeyondInFlightLimitAreRejected() {
+        assertEquals(AdmissionController.Decision.ADMITTED, admission.tryAdmit());
+        assertEquals(AdmissionController.Decision.ADMITTED, admission.tryAdmit());
+        assertEquals(AdmissionController.Decision.IN_FLIGHT_LIMIT, admission.tryAdmit());
+
+        admission.release();
+        assertEquals(AdmissionController.Decision.ADMITTED, admission.tryAdmit());
+        assertEquals(1.0, meterRegistry.get("invoiceme.admission.rejected").tag("reason", "in_flight").counter().count());
+    }
+
+    @Test
+    public void testRequestsAreRejectedWhileConnectionAcquisitionsQueueUp() {
+        pending = 6;
+        assertEquals(AdmissionController.Decision.POOL_SATURATED, admission.tryAdmit());
+        assertEquals(0, admission.saturation().inFlight());
+
+        pending = 5;
+        assertEquals(AdmissionController.Decision.ADMITTED, admission.tryAdmit());
+    }
+
+    @Test
+    public void testReadinessStaysDegradedForHoldPeriodAfterRejection() {
+        ConnectionPoolHealthIndicator health = new ConnectionPoolHealthIndicator(admission);
+        assertEquals(Status.UP, health.health().getStatus());
+
+        pending = 6;
+        admission.tryAdmit();
+        pending = 0;
+        assertEquals(ConnectionPoolHealthIndicator.DEGRADED, health.health().getStatus());
+
+        clock.advance(Duration.ofSeconds(11));
+        assertEquals(Status.UP, health.health().getStatus());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
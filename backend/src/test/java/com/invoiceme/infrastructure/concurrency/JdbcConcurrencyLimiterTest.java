@@ -0,0 +1,63 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JdbcConcurrencyLimiterTest {
+
+    private final JdbcConcurrencyLimiter limiter = new JdbcConcurrencyLimiter(new SimpleMeterRegistry(), 1, 100, 2);
+
+    @Test
+    public void testCallerWaitsForPermitAndGivesUpAfterTimeout() throws Throwable {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> holder = threads.submit(() -> call(() -> {
+                holding.countDown();
+                release.await();
+                return "first";
+            }));
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            ServerBusyException busy = assertThrows(ServerBusyException.class, () -> limiter.call(() -> "second"));
+            assertEquals(2, busy.getRetryAfterSeconds());
+
+            release.countDown();
+            assertEquals("first", holder.get(5, TimeUnit.SECONDS));
+            assertEquals("third", limiter.call(() -> "third"));
+        }
+        assertEquals(1, limiter.availablePermits());
+    }
+
+    @Test
+    public void testNestedHandlerRunsUnderCallersPermit() throws Throwable {
+        assertEquals("inner", limiter.call(() -> limiter.call(() -> "inner")));
+        assertEquals(1, limiter.availablePermits());
+    }
+
+    @Test
+    public void testPermitIsReleasedWhenHandlerFails() {
+        assertThrows(IllegalArgumentException.class, () -> limiter.call(() -> {
+            throw new IllegalArgumentException("Invoice not found");
+        }));
+        assertEquals(1, limiter.availablePermits());
+    }
+
+    private Object call(JdbcConcurrencyLimiter.Work work) throws Exception {
+        try {
+            return limiter.call(work);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
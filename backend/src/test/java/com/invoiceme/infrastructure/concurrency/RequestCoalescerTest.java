@@ -0,0 +1,126 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry);
+    }
+
+    @Test
+    public void testConcurrentIdenticalReadsShareOneLoad() throws Exception {
+        int callers = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            results.add(executor.submit(() -> coalescer.execute("invoice", "company-1:invoice-1", () -> {
+                loads.incrementAndGet();
+                loadStarted.countDown();
+                awaitQuietly(releaseLoad);
+                return new Object();
+            })));
+            assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> coalescer.execute("invoice", "company-1:invoice-1", () -> {
+                    loads.incrementAndGet();
+                    return new Object();
+                })));
+            }
+            // Followers register before blocking, so wait until all of them have joined the flight
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (requests("follower") < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            releaseLoad.countDown();
+
+            Object first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1.0, requests("leader"));
+            assertEquals(callers - 1, requests("follower"));
+            assertEquals(0.0, meterRegistry.get("invoiceme.coalescer.in_flight").gauge().value());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureIsSharedAndNotCached() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> coalescer.execute("invoice", "k", () -> {
+                loadStarted.countDown();
+                awaitQuietly(releaseLoad);
+                throw new IllegalArgumentException("Invoice not found with id: k");
+            }));
+            assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+            Future<Object> follower = executor.submit(() -> coalescer.execute("invoice", "k", Object::new));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (requests("follower") < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            releaseLoad.countDown();
+
+            Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, leaderError.getCause());
+            assertInstanceOf(IllegalArgumentException.class, followerError.getCause());
+
+            // The failed flight is gone, so the next read loads again
+            assertEquals("fresh", coalescer.execute("invoice", "k", () -> "fresh"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDifferentKeysAreNotCoalesced() {
+        AtomicInteger loads = new AtomicInteger();
+        coalescer.execute("invoice", "company-1:a", loads::incrementAndGet);
+        coalescer.execute("invoice", "company-2:a", loads::incrementAndGet);
+        coalescer.execute("invoice", "company-1:a", loads::incrementAndGet);
+        assertEquals(3, loads.get());
+        assertEquals(3.0, requests("leader"));
+        assertEquals(0.0, requests("follower"));
+    }
+
+    private double requests(String role) {
+        var counter = meterRegistry.find("invoiceme.coalescer.requests").tag("role", role).counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
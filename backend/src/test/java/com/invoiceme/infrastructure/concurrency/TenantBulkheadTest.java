@@ -0,0 +1,48 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TenantBulkheadTest {
+
+    @Test
+    public void testCompanyIsLimitedWithoutAffectingOthers() {
+        TenantBulkhead bulkhead = new TenantBulkhead(true, 2, 256);
+        UUID noisy = UUID.randomUUID();
+        UUID other = otherStripe(bulkhead, noisy);
+
+        assertTrue(bulkhead.tryEnter(noisy));
+        assertTrue(bulkhead.tryEnter(noisy));
+        assertFalse(bulkhead.tryEnter(noisy));
+        assertTrue(bulkhead.tryEnter(other));
+
+        bulkhead.exit(noisy);
+        assertTrue(bulkhead.tryEnter(noisy));
+    }
+
+    @Test
+    public void testDisabledBulkheadAdmitsEverything() {
+        TenantBulkhead bulkhead = new TenantBulkhead(false, 1, 16);
+        UUID companyId = UUID.randomUUID();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bulkhead.tryEnter(companyId));
+        }
+    }
+
+    private static UUID otherStripe(TenantBulkhead bulkhead, UUID companyId) {
+        assertTrue(bulkhead.tryEnter(companyId));
+        try {
+            UUID candidate;
+            do {
+                candidate = UUID.randomUUID();
+            } while (bulkhead.availablePermits(candidate) == bulkhead.availablePermits(companyId));
+            return candidate;
+        } finally {
+            bulkhead.exit(companyId);
+        }
+    }
+}
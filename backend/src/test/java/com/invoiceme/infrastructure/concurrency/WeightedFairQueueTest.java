@@ -0,0 +1,111 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeightedFairQueueTest {
+
+    private static final UUID BUSY = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID QUIET = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    private final List<String> served = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testQuietCompanyIsServedBeforeBusyCompanysBacklog() throws Exception {
+        WeightedFairQueue queue = queue(Map.of());
+        queue.acquire(BUSY, 1);
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            enqueue(queue, threads, BUSY, "busy-1", 1);
+            enqueue(queue, threads, BUSY, "busy-2", 2);
+            enqueue(queue, threads, BUSY, "busy-3", 3);
+            enqueue(queue, threads, QUIET, "quiet-1", 4);
+
+            releaseAll(queue);
+        }
+        assertEquals(List.of("quiet-1", "busy-1", "busy-2", "busy-3"), served);
+    }
+
+    @Test
+    public void testLowWeightThrottlesACompany() throws Exception {
+        WeightedFairQueue queue = queue(Map.of(QUIET, 0.25));
+        queue.acquire(BUSY, 1);
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            enqueue(queue, threads, BUSY, "busy-1", 1);
+            enqueue(queue, threads, BUSY, "busy-2", 2);
+            enqueue(queue, threads, QUIET, "quiet-1", 3);
+
+            releaseAll(queue);
+        }
+        assertEquals(List.of("busy-1", "busy-2", "quiet-1"), served);
+    }
+
+    @Test
+    public void testFullQueueAndTimeoutAreRefused() throws Exception {
+        WeightedFairQueue queue = new WeightedFairQueue(new SimpleMeterRegistry(), 1, 1, Duration.ofMillis(500), 2,
+                Map.of());
+        queue.acquire(BUSY, 1);
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            threads.submit(() -> {
+                queue.acquire(BUSY, 1);
+                return null;
+            });
+            awaitWaiting(queue, 1);
+            assertThrows(TooManyRequestsException.class, () -> queue.acquire(BUSY, 1));
+        }
+        ServerBusyException busy = assertThrows(ServerBusyException.class, () -> queue.acquire(QUIET, 1));
+        assertEquals(2, busy.getRetryAfterSeconds());
+        assertEquals(0, queue.waiting());
+
+        queue.release();
+        queue.acquire(QUIET, 1);
+    }
+
+    private WeightedFairQueue queue(Map<UUID, Double> weights) {
+        return new WeightedFairQueue(new SimpleMeterRegistry(), 1, 10, Duration.ofSeconds(10), 2, weights);
+    }
+
+    private void enqueue(WeightedFairQueue queue, ExecutorService threads, UUID companyId, String label,
+                         int expectedWaiting) throws InterruptedException {
+        threads.submit(() -> {
+            queue.acquire(companyId, 1);
+            served.add(label);
+            return null;
+        });
+        awaitWaiting(queue, expectedWaiting);
+    }
+
+    private void releaseAll(WeightedFairQueue queue) throws InterruptedException {
+        int expected = served.size() + queue.waiting();
+        while (served.size() < expected) {
+            int before = served.size();
+            queue.release();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (served.size() == before && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+        queue.release();
+    }
+
+    private static void awaitWaiting(WeightedFairQueue queue, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.waiting() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, queue.waiting());
+    }
+}
@@ -0,0 +1,169 @@
+package com.invoiceme.infrastructure.config.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private MutableClock clock;
+    private HikariDataSource replicaPool;
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaRoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+        HikariDataSource primaryPool = pool("primary");
+        replicaPool = pool("replica");
+        new JdbcTemplate(replicaPool).execute("CREATE TABLE replication (lag_ms BIGINT)");
+        new JdbcTemplate(replicaPool).execute("INSERT INTO replication VALUES (0)");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        lagMonitor = new ReplicaLagMonitor(List.of(new ReplicaLagMonitor.Replica("replica-1", replicaPool)),
+                "SELECT lag_ms FROM replication", Duration.ofSeconds(2), meterRegistry);
+        lagMonitor.refresh();
+        dataSource = new ReplicaRoutingDataSource(primaryPool, lagMonitor, Duration.ofSeconds(5), clock, meterRegistry);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        signIn("ada");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        dataSource.close();
+    }
+
+    @Test
+    public void testReadOnlyTransactionsGoToTheReplica() {
+        assertEquals("replica", readOnly.execute(status -> node()));
+        assertEquals("primary", readWrite.execute(status -> node()));
+    }
+
+    @Test
+    public void testUserReadsOwnWritesFromPrimaryDuringWindow() {
+        readWrite.executeWithoutResult(status -> node());
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        signIn("grace");
+        assertEquals("replica", readOnly.execute(status -> node()));
+
+        signIn("ada");
+        clock.advance(Duration.ofSeconds(6));
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    public void testRolledBackWriteDoesNotPinReads() {
+        readWrite.executeWithoutResult(status -> {
+            node();
+            status.setRollbackOnly();
+        });
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    public void testLaggingOrUnreachableReplicaIsSkipped() {
+        new JdbcTemplate(replicaPool).update("UPDATE replication SET lag_ms = 5000");
+        lagMonitor.refresh();
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        new JdbcTemplate(replicaPool).update("UPDATE replication SET lag_ms = 100");
+        lagMonitor.refresh();
+        assertEquals("replica", readOnly.execute(status -> node()));
+
+        new JdbcTemplate(replicaPool).execute("DROP TABLE replication");
+        lagMonitor.refresh();
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    public void testReplicaWithUnknownLagIsSkipped() {
+        // What the PostgreSQL lag query reports once the replica has lost its primary
+        new JdbcTemplate(replicaPool).update("UPDATE replication SET lag_ms = NULL");
+        lagMonitor.refresh();
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        new JdbcTemplate(replicaPool).update("UPDATE replication SET lag_ms = 0");
+        lagMonitor.refresh();
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    public void testAnonymousReadsStayOnPrimary() {
+        SecurityContextHolder.clearContext();
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID());
+        pool.setMaximumPoolSize(2);
+        JdbcTemplate jdbc = new JdbcTemplate(pool);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return pool;
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.NO_AUTHORITIES));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
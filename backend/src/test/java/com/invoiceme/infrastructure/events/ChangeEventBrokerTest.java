@@ -0,0 +1,142 @@
+package com.invoiceme.infrastructure.events;
+
+import com.invoiceme.application.events.ChangeEvent;
+import com.invoiceme.infrastructure.api.dto.events.ChangeEventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeEventBrokerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Queue<RecordingEmitter> emitters = new ConcurrentLinkedQueue<>();
+    private final ChangeEventBroker broker = new ChangeEventBroker(meterRegistry, 3, 60_000, 60_000, 200,
+            Executors.newVirtualThreadPerTaskExecutor(), timeout -> {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            });
+
+    private final UUID company = UUID.randomUUID();
+
+    @AfterEach
+    public void tearDown() {
+        emitters.forEach(emitter -> emitter.gate.countDown());
+        broker.shutdown();
+    }
+
+    @Test
+    public void testEventsOnlyReachTheirCompany() throws Exception {
+        RecordingEmitter ours = (RecordingEmitter) broker.subscribe(company);
+        RecordingEmitter theirs = (RecordingEmitter) broker.subscribe(UUID.randomUUID());
+        ours.gate.countDown();
+        theirs.gate.countDown();
+
+        UUID invoiceId = UUID.randomUUID();
+        broker.onChange(ChangeEvent.invoice(company, ChangeEvent.Type.INVOICE_SENT, invoiceId));
+
+        await(() -> ours.events().contains("invoice.sent"));
+        assertEquals(List.of("invoice.sent"), ours.events());
+        assertEquals(invoiceId, ((ChangeEventDTO) ours.payloads.peek()).getInvoiceId());
+        assertTrue(theirs.events().isEmpty());
+    }
+
+    @Test
+    public void testFullBufferDropsTheOldestEvents() throws Exception {
+        // The first send blocks, so everything published meanwhile waits in the buffer of three
+        RecordingEmitter emitter = (RecordingEmitter) broker.subscribe(company);
+        await(() -> emitter.sending);
+        ChangeEvent.Type[] published = {ChangeEvent.Type.INVOICE_CREATED, ChangeEvent.Type.INVOICE_UPDATED,
+                ChangeEvent.Type.INVOICE_SENT, ChangeEvent.Type.INVOICE_OVERDUE, ChangeEvent.Type.PAYMENT_RECORDED};
+        for (ChangeEvent.Type type : published) {
+            broker.onChange(new ChangeEvent(company, type, UUID.randomUUID(), null));
+        }
+        emitter.gate.countDown();
+
+        await(() -> emitter.events().size() == 3);
+        assertEquals(List.of("invoice.sent", "invoice.overdue", "payment.recorded"), emitter.events());
+        assertEquals(2, meterRegistry.counter("invoiceme.events.dropped").count());
+    }
+
+    @Test
+    public void testStalledClientDoesNotDelayOthersAndIsDropped() throws Exception {
+        RecordingEmitter stalled = (RecordingEmitter) broker.subscribe(company);
+        RecordingEmitter other = (RecordingEmitter) broker.subscribe(company);
+        other.gate.countDown();
+        await(() -> stalled.sending);
+
+        broker.onChange(ChangeEvent.invoice(company, ChangeEvent.Type.INVOICE_SENT, UUID.randomUUID()));
+        await(() -> other.events().contains("invoice.sent"));
+
+        await(() -> meterRegistry.counter("invoiceme.events.stalled").count() == 1);
+        assertEquals(1, meterRegistry.get("invoiceme.events.subscribers").gauge().value());
+
+        // Once the blocked write gives up, its drain ends the response
+        stalled.gate.countDown();
+        await(() -> stalled.error != null);
+        assertTrue(stalled.events().isEmpty());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the stream");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Records each frame it is asked to send; sends block until {@link #gate} is opened.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final Queue<String> sent = new ConcurrentLinkedQueue<>();
+        private final Queue<Object> payloads = new ConcurrentLinkedQueue<>();
+        private volatile boolean sending;
+        private volatile Throwable error;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending = true;
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> parts = builder.build();
+            parts.stream().map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(data -> !(data instanceof String))
+                    .forEach(payloads::add);
+            sent.add(parts.stream().map(part -> String.valueOf(part.getData())).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            error = ex;
+        }
+
+        List<String> events() {
+            return sent.stream()
+                    .filter(frame -> frame.startsWith("id:"))
+                    .map(frame -> frame.substring(frame.indexOf("event:") + 6, frame.indexOf('\n', frame.indexOf("event:"))))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.invoiceme.infrastructure.jfr;
+
+import com.invoiceme.infrastructure.concurrency.RequestCoalescer;
+import com.invoiceme.infrastructure.config.security.InstrumentedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecorderEventsTest {
+
+    private Recording recording;
+
+    @BeforeEach
+    public void setUp() {
+        recording = new Recording();
+        recording.enable(InvoiceCreatedEvent.class);
+        recording.enable(PasswordHashEvent.class);
+        recording.enable(CacheLookupEvent.class);
+        recording.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    public void testHandlerEventCarriesCompanyLineCountAndOutcome() throws IOException {
+        UUID companyId = UUID.randomUUID();
+        InvoiceCreatedEvent created = InvoiceCreatedEvent.start(companyId);
+        created.created(UUID.randomUUID(), 3);
+        created.finish();
+
+        InvoiceCreatedEvent rejected = InvoiceCreatedEvent.start(companyId);
+        rejected.fail(new IllegalArgumentException("Customer not found"));
+        rejected.finish();
+
+        List<RecordedEvent> events = events("invoiceme.InvoiceCreated");
+        assertEquals(2, events.size());
+        assertEquals(companyId.toString(), events.get(0).getString("companyId"));
+        assertEquals(3, events.get(0).getInt("lineCount"));
+        assertEquals("success", events.get(0).getString("outcome"));
+        assertEquals("rejected", events.get(1).getString("outcome"));
+        assertNull(events.get(0).getStackTrace());
+    }
+
+    @Test
+    public void testPasswordHashesAreRecorded() throws IOException {
+        InstrumentedPasswordEncoder encoder = new InstrumentedPasswordEncoder(new BCryptPasswordEncoder(4));
+        String hash = encoder.encode("secret");
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+
+        List<String> outcomes = events("invoiceme.PasswordHash").stream()
+                .map(event -> event.getString("operation") + ":" + event.getString("outcome"))
+                .toList();
+        assertEquals(List.of("encode:encoded", "matches:match", "matches:mismatch"), outcomes);
+    }
+
+    @Test
+    public void testCoalescedReadsAreRecordedAsCacheLookups() throws IOException {
+        RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+        coalescer.execute("invoice", "1", () -> "loaded");
+
+        List<RecordedEvent> events = events("invoiceme.CacheLookup");
+        assertEquals(1, events.size());
+        assertEquals("coalescer:invoice", events.get(0).getString("cache"));
+        assertEquals("miss", events.get(0).getString("result"));
+    }
+
+    private List<RecordedEvent> events(String name) throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile("invoiceme", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(name))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.invoiceme.infrastructure.metrics;
+
+import com.invoiceme.application.commands.customer.CreateCustomerCommand;
+import com.invoiceme.application.commands.customer.CreateCustomerHandler;
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.infrastructure.persistence.CompanyRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+public class HandlerMetricsAspectTest {
+
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testHandlerCallRecordsItsDurationAndStatements() {
+        Company company = new Company();
+        company.setName("Metrics Company");
+        UUID companyId = companyRepository.save(company).getId();
+        long calls = calls("success");
+        long recorded = statements() == null ? 0 : statements().count();
+        double executed = statements() == null ? 0 : statements().totalAmount();
+
+        createCustomerHandler.handle(new CreateCustomerCommand(companyId, "Metrics Customer",
+                "metrics-" + companyId + "@example.com", null, null));
+
+        assertEquals(calls + 1, calls("success"));
+        assertEquals(recorded + 1, statements().count());
+        // The email check, the company lookup and the customer insert go through the proxied DataSource
+        assertTrue(statements().totalAmount() - executed >= 3);
+    }
+
+    @Test
+    public void testFailedCallsAreTaggedWithTheirOutcome() {
+        long rejected = calls("rejected");
+
+        assertThrows(IllegalArgumentException.class, () -> createCustomerHandler.handle(
+                new CreateCustomerCommand(UUID.randomUUID(), "Nobody", "nobody@example.com", null, null)));
+
+        assertEquals(rejected + 1, calls("rejected"));
+    }
+
+    private long calls(String outcome) {
+        Timer timer = meterRegistry.find("invoiceme.handler.duration")
+                .tags("handler", "CreateCustomerHandler", "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private DistributionSummary statements() {
+        return meterRegistry.find("invoiceme.handler.db.statements")
+                .tag("handler", "CreateCustomerHandler")
+                .summary();
+    }
+}
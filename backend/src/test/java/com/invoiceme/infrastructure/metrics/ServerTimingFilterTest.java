@@ -0,0 +1,72 @@
+package com.invoiceme.infrastructure.metrics;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerTimingFilterTest {
+
+    @Test
+    public void testBodyIsStreamedWithTheHeaderAddedFirst() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, chainResponse) -> {
+            RequestTimings.authenticated();
+            RequestTimings.record(RequestTimings.HANDLER, 3_000_000);
+            chainResponse.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+            chainResponse.flushBuffer();
+            // Nothing is held back: the bytes reached the real response while the chain was running
+            assertTrue(response.isCommitted());
+            assertEquals("{\"id\":1}", response.getContentAsString());
+        };
+
+        new ServerTimingFilter(true, 500).doFilter(new MockHttpServletRequest("GET", "/api/customers"), response, chain);
+
+        String header = response.getHeader("Server-Timing");
+        assertNotNull(header);
+        assertTrue(header.startsWith("handler;dur=3.00, sql;dur="), header);
+        assertTrue(header.contains("total;dur="), header);
+    }
+
+    @Test
+    public void testBodilessResponsesGetTheHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, chainResponse) -> RequestTimings.authenticated();
+
+        new ServerTimingFilter(true, 500).doFilter(new MockHttpServletRequest("DELETE", "/api/customers/1"), response, chain);
+
+        assertNotNull(response.getHeader("Server-Timing"));
+    }
+
+    @Test
+    public void testUnauthenticatedCallersGetNoHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, chainResponse) -> {
+            RequestTimings.record(RequestTimings.HANDLER, 3_000_000);
+            chainResponse.getWriter().write("{\"token\":\"...\"}");
+        };
+
+        new ServerTimingFilter(true, 500).doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), response, chain);
+
+        assertNull(response.getHeader("Server-Timing"));
+        assertEquals("{\"token\":\"...\"}", response.getContentAsString());
+    }
+
+    @Test
+    public void testHeaderIsOffByDefault() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, chainResponse) -> {
+            RequestTimings.authenticated();
+            chainResponse.getWriter().write("[]");
+        };
+
+        new ServerTimingFilter(false, 500).doFilter(new MockHttpServletRequest("GET", "/api/customers"), response, chain);
+
+        assertNull(response.getHeader("Server-Timing"));
+        assertEquals("[]", response.getContentAsString());
+    }
+}
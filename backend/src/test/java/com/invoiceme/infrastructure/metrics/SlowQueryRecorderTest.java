@@ -0,0 +1,118 @@
+package com.invoiceme.infrastructure.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlowQueryRecorderTest {
+
+    private MutableClock clock;
+    private SlowQueryRecorder recorder;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+        QueryPlanCapture plansDisabled = new QueryPlanCapture(null, false, 1000, 10);
+        recorder = new SlowQueryRecorder(plansDisabled, clock, true, 100, 3, Duration.ofMinutes(15),
+                "id,*_id,*_at,status,limit");
+    }
+
+    @Test
+    public void testExecutionsOfTheSameShapeAreGrouped() {
+        recorder.record("select i1_0.id from invoices i1_0\n where i1_0.company_id=? and i1_0.status=? order by i1_0.created_at desc",
+                Map.of(1, UUID.randomUUID(), 2, "SENT"), 150, 0);
+        recorder.record("select i1_0.id   from invoices i1_0 where i1_0.company_id=? and i1_0.status=? order by i1_0.created_at desc",
+                Map.of(1, UUID.randomUUID(), 2, "PAID"), 450, 0);
+
+        List<SlowQueryRecorder.SlowStatement> statements = recorder.report().current().statements();
+        assertEquals(1, statements.size());
+        SlowQueryRecorder.SlowStatement statement = statements.get(0);
+        assertEquals("select i1_0.id from invoices i1_0 where i1_0.company_id=? and i1_0.status=? order by i1_0.created_at desc",
+                statement.sql());
+        assertEquals(2, statement.count());
+        assertEquals(600, statement.totalMs());
+        assertEquals(450, statement.maxMs());
+        assertEquals("'PAID'", statement.slowest().binds().get(1));
+    }
+
+    @Test
+    public void testLiteralsAndPlaceholderListsAreNormalized() {
+        assertEquals("select * from invoices where id in (?...) and status=? limit ?",
+                SqlText.normalize("select * from invoices where id in (?, ?, ?) and status='DRAFT' limit 20"));
+    }
+
+    @Test
+    public void testOnlyAllowlistedColumnsAreShown() {
+        recorder.record("insert into users (created_at,display_name,email,password,username,id) values (?,?,?,?,?,?)",
+                Map.of(1, "2025-01-01", 2, "Ada", 3, "ada@example.com", 4, "$2a$10$hash", 5, "ada", 6, "u-1"), 200, 0);
+        recorder.record("select u1_0.id from users u1_0 where lower(u1_0.email)=lower(?) and u1_0.company_id=? limit ?",
+                Map.of(1, "ada@example.com", 2, "c-1", 3, 20), 300, 0);
+
+        List<SlowQueryRecorder.SlowStatement> statements = recorder.report().current().statements();
+        assertEquals(List.of("<redacted>", "'c-1'", "20"), statements.get(0).slowest().binds());
+        assertEquals(List.of("'2025-01-01'", "<redacted>", "<redacted>", "<redacted>", "<redacted>", "'u-1'"),
+                statements.get(1).slowest().binds());
+    }
+
+    @Test
+    public void testOnlyTheSlowestShapesAreKept() {
+        for (int i = 0; i < 5; i++) {
+            recorder.record("select * from table_" + (char) ('a' + i) + " where id=?", Map.of(1, i), 100 + i * 10, 0);
+        }
+
+        List<Long> kept = recorder.report().current().statements().stream()
+                .map(SlowQueryRecorder.SlowStatement::maxMs)
+                .toList();
+        assertEquals(List.of(140L, 130L, 120L), kept);
+    }
+
+    @Test
+    public void testWindowRollsOver() {
+        recorder.record("select * from invoices where id=?", Map.of(1, 1), 300, 0);
+
+        clock.advance(Duration.ofMinutes(16));
+        SlowQueryRecorder.Report report = recorder.report();
+        assertTrue(report.current().statements().isEmpty());
+        assertEquals(1, report.previous().statements().size());
+
+        clock.advance(Duration.ofMinutes(30));
+        assertNull(recorder.report().previous());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
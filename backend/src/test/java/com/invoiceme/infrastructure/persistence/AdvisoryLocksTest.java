@@ -0,0 +1,60 @@
+package com.invoiceme.infrastructure.persistence;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdvisoryLocksTest {
+
+    private static EmbeddedPostgres postgres;
+    private static AdvisoryLocks locks;
+    private static TransactionTemplate transactions;
+
+    @BeforeAll
+    public static void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        locks = new AdvisoryLocks(jdbcTemplate, new DatabaseProduct(jdbcTemplate));
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    public static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    public void testLockIsHeldUntilTheTransactionEnds() {
+        UUID company = UUID.randomUUID();
+
+        transactions.executeWithoutResult(status -> {
+            assertTrue(locks.tryLock(AdvisoryLocks.RECURRING_INVOICES, company));
+            assertFalse(inOtherTransaction(AdvisoryLocks.RECURRING_INVOICES, company));
+            assertTrue(inOtherTransaction(AdvisoryLocks.RECURRING_INVOICES, UUID.randomUUID()));
+            assertTrue(inOtherTransaction(AdvisoryLocks.RECURRING_INVOICES + 1, company));
+        });
+
+        assertTrue(inOtherTransaction(AdvisoryLocks.RECURRING_INVOICES, company));
+    }
+
+    @Test
+    public void testLockNeedsATransaction() {
+        assertThrows(IllegalStateException.class, () -> locks.tryLock(AdvisoryLocks.RECURRING_INVOICES, UUID.randomUUID()));
+    }
+
+    private static boolean inOtherTransaction(int namespace, UUID key) {
+        return CompletableFuture.supplyAsync(() -> transactions.execute(status -> locks.tryLock(namespace, key))).join();
+    }
+}
@@ -0,0 +1,139 @@
+package com.invoiceme.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final AtomicInteger nodes = new AtomicInteger(1);
+    private final RateLimiter limiter = new RateLimiter(policies(), now::get, nodes::get, new SimpleMeterRegistry(),
+            true, 1000);
+
+    private final UUID company = UUID.randomUUID();
+
+    @Test
+    public void testBurstIsAllowedThenRefillsOverTime() {
+        UUID user = UUID.randomUUID();
+        for (int remaining = 5; remaining >= 0; remaining--) {
+            RateLimiter.Decision decision = limiter.check(RateLimitGroup.WRITES, user, company, null);
+            assertTrue(decision.allowed());
+            assertEquals(6, decision.limit());
+            assertEquals(remaining, decision.remaining());
+        }
+        RateLimiter.Decision refused = limiter.check(RateLimitGroup.WRITES, user, company, null);
+        assertFalse(refused.allowed());
+        assertEquals(10, refused.retryAfterSeconds());
+        assertEquals(60, refused.resetSeconds());
+
+        // One token back every 10s
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        RateLimiter.Decision refilled = limiter.check(RateLimitGroup.WRITES, user, company, null);
+        assertTrue(refilled.allowed());
+        assertEquals(0, refilled.remaining());
+    }
+
+    @Test
+    public void testCompanyLimitIsSharedByItsUsers() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.check(RateLimitGroup.WRITES, UUID.randomUUID(), company, null).allowed());
+        }
+        assertFalse(limiter.check(RateLimitGroup.WRITES, UUID.randomUUID(), company, null).allowed());
+        assertTrue(limiter.check(RateLimitGroup.WRITES, UUID.randomUUID(), UUID.randomUUID(), null).allowed());
+        // Groups have separate buckets
+        assertTrue(limiter.check(RateLimitGroup.READS, UUID.randomUUID(), company, null).allowed());
+    }
+
+    @Test
+    public void testRequestRefusedByTheCompanyKeepsTheUsersTokens() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.check(RateLimitGroup.WRITES, UUID.randomUUID(), company, null).allowed());
+        }
+        UUID user = UUID.randomUUID();
+        for (int i = 0; i < 6; i++) {
+            assertFalse(limiter.check(RateLimitGroup.WRITES, user, company, null).allowed());
+        }
+
+        // The company gets a token back every 6s; the user's bucket is still full
+        now.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertTrue(limiter.check(RateLimitGroup.WRITES, user, company, null).allowed());
+    }
+
+    @Test
+    public void testRequestRefusedByTheUserKeepsTheCompanysTokens() {
+        UUID user = UUID.randomUUID();
+        for (int i = 0; i < 6; i++) {
+            assertTrue(limiter.check(RateLimitGroup.WRITES, user, company, null).allowed());
+        }
+        assertFalse(limiter.check(RateLimitGroup.WRITES, user, company, null).allowed());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.check(RateLimitGroup.WRITES, UUID.randomUUID(), company, null).allowed());
+        }
+        assertFalse(limiter.check(RateLimitGroup.WRITES, UUID.randomUUID(), company, null).allowed());
+    }
+
+    @Test
+    public void testEachNodeEnforcesItsShare() {
+        nodes.set(2);
+        UUID user = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.check(RateLimitGroup.WRITES, user, company, null).allowed());
+        }
+        RateLimiter.Decision refused = limiter.check(RateLimitGroup.WRITES, user, company, null);
+        assertFalse(refused.allowed());
+        assertEquals(3, refused.limit());
+    }
+
+    @Test
+    public void testAnonymousRequestsAreLimitedPerClientAddress() {
+        assertTrue(limiter.check(RateLimitGroup.AUTH, null, null, "10.0.0.1").allowed());
+        assertTrue(limiter.check(RateLimitGroup.AUTH, null, null, "10.0.0.1").allowed());
+        assertFalse(limiter.check(RateLimitGroup.AUTH, null, null, "10.0.0.1").allowed());
+        assertTrue(limiter.check(RateLimitGroup.AUTH, null, null, "10.0.0.2").allowed());
+        // No user or company limit configured for auth
+        assertNull(limiter.check(RateLimitGroup.AUTH, UUID.randomUUID(), company, null));
+    }
+
+    @Test
+    public void testNewKeysShareAnOverflowBucketOnceTheCapIsReached() {
+        RateLimiter small = new RateLimiter(policies(), now::get, nodes::get, new SimpleMeterRegistry(), true, 16);
+        for (int i = 0; i < 16; i++) {
+            assertTrue(small.check(RateLimitGroup.AUTH, null, null, "10.0.0." + i).allowed());
+        }
+        assertEquals(16, small.bucketCount());
+
+        // Nothing has refilled, so the next addresses are limited together
+        assertTrue(small.check(RateLimitGroup.AUTH, null, null, "10.0.1.1").allowed());
+        assertTrue(small.check(RateLimitGroup.AUTH, null, null, "10.0.1.2").allowed());
+        assertFalse(small.check(RateLimitGroup.AUTH, null, null, "10.0.1.3").allowed());
+        assertEquals(17, small.bucketCount());
+
+        // Once the buckets have refilled, a sweep makes room again
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(small.check(RateLimitGroup.AUTH, null, null, "10.0.2." + i).allowed());
+        }
+        assertEquals(4, small.bucketCount());
+    }
+
+    private static Map<RateLimitGroup, RateLimiter.Policy> policies() {
+        Map<RateLimitGroup, RateLimiter.Policy> policies = new EnumMap<>(RateLimitGroup.class);
+        Duration minute = Duration.ofMinutes(1);
+        policies.put(RateLimitGroup.AUTH, new RateLimiter.Policy(0, 0, 2, minute));
+        policies.put(RateLimitGroup.WRITES, new RateLimiter.Policy(6, 10, 6, minute));
+        policies.put(RateLimitGroup.READS, new RateLimiter.Policy(60, 50, 60, minute));
+        policies.put(RateLimitGroup.EXPORTS, new RateLimiter.Policy(2, 4, 2, minute));
+        return policies;
+    }
+}
@@ -0,0 +1,88 @@
+package com.invoiceme.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Service-wide actuator endpoints: company users, including the admins signup creates, may not
+ * change or read another company's data through them; operators may.
+ */
+@SpringBootTest(properties = "security.operators=ops-" + ActuatorSecurityTest.RUN)
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("dev")
+public class ActuatorSecurityTest {
+    static final String RUN = "actuator-security";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private TestTenant companyAdmin;
+    private TestTenant operator;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        companyAdmin = TestTenant.signUp(mockMvc, userDetailsService, "admin");
+        operator = TestTenant.signUpOnce(mockMvc, userDetailsService, "ops-" + RUN);
+    }
+
+    @Test
+    public void testOnlyOperatorsLoadFxRates() throws Exception {
+        String rates = "{\"rates\":\"2000-01-03,NOK,SEK,0.95\"}";
+
+        mockMvc.perform(companyAdmin.authenticated(post("/actuator/fxrates"))
+                        .contentType(MediaType.APPLICATION_JSON).content(rates))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(operator.authenticated(post("/actuator/fxrates"))
+                        .contentType(MediaType.APPLICATION_JSON).content(rates))
+                .andExpect(status().isOk());
+        mockMvc.perform(companyAdmin.authenticated(get("/actuator/fxrates")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testSlowQueriesAreOperatorOnly() throws Exception {
+        mockMvc.perform(companyAdmin.authenticated(get("/actuator/slowqueries")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(companyAdmin.authenticated(delete("/actuator/slowqueries")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(operator.authenticated(get("/actuator/slowqueries")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testTenantUsageIsOperatorOnly() throws Exception {
+        mockMvc.perform(companyAdmin.authenticated(get("/actuator/tenants")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(companyAdmin.authenticated(delete("/actuator/tenants")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(operator.authenticated(get("/actuator/tenants")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testMetricsAreOperatorOnly() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(companyAdmin.authenticated(get("/actuator/prometheus")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(operator.authenticated(get("/actuator/prometheus")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
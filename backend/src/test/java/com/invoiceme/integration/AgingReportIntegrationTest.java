@@ -0,0 +1,102 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.application.commands.customer.CreateCustomerCommand;
+import com.invoiceme.application.commands.customer.CreateCustomerHandler;
+import com.invoiceme.application.commands.invoice.CreateInvoiceCommand;
+import com.invoiceme.application.commands.invoice.CreateInvoiceHandler;
+import com.invoiceme.application.commands.invoice.MarkInvoiceAsSentCommand;
+import com.invoiceme.application.commands.invoice.MarkInvoiceAsSentHandler;
+import com.invoiceme.application.queries.report.AgingBucket;
+import com.invoiceme.application.queries.report.AgingReport;
+import com.invoiceme.application.queries.report.GetAgingReportHandler;
+import com.invoiceme.application.queries.report.GetAgingReportQuery;
+import com.invoiceme.application.services.FxRateService;
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.fx.FxRate;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.money.Money;
+import com.invoiceme.infrastructure.persistence.CompanyRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@Transactional
+public class AgingReportIntegrationTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+
+    @Autowired
+    private CreateInvoiceHandler createInvoiceHandler;
+
+    @Autowired
+    private MarkInvoiceAsSentHandler markInvoiceAsSentHandler;
+
+    @Autowired
+    private GetAgingReportHandler getAgingReportHandler;
+
+    @Autowired
+    private FxRateService fxRateService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void testBalancesAreRevaluedIntoBaseCurrencyAsOfReportDate() {
+        LocalDate asOf = LocalDate.now();
+        fxRateService.save(List.of(
+                FxRate.of(EUR, Money.DEFAULT_CURRENCY, asOf.minusDays(10), new BigDecimal("1.10")),
+                FxRate.of(EUR, Money.DEFAULT_CURRENCY, asOf.plusDays(5), new BigDecimal("1.50"))));
+
+        Company company = new Company();
+        company.setName("Aging Company");
+        company = companyRepository.save(company);
+        Customer customer = createCustomerHandler.handle(new CreateCustomerCommand(
+                company.getId(), "Jane Roe", "jane.roe@example.com", "1 High St", "555-0100"));
+
+        sendInvoice(company.getId(), customer.getId(), asOf.minusDays(50), asOf.minusDays(40), "250.00", null);
+        sendInvoice(company.getId(), customer.getId(), asOf.minusDays(5), asOf.plusDays(25), "100.00", "EUR");
+        sendInvoice(company.getId(), customer.getId(), asOf.minusDays(100), asOf.minusDays(95), "40.00", "CHF");
+        // Issued after the report date, so not yet open on it
+        sendInvoice(company.getId(), customer.getId(), asOf.plusDays(1), asOf.plusDays(31), "999.00", null);
+        entityManager.flush();
+
+        AgingReport report = getAgingReportHandler.handle(new GetAgingReportQuery(company.getId(), asOf));
+
+        assertEquals(Money.of(new BigDecimal("110.00")), report.getBuckets().get(AgingBucket.CURRENT));
+        assertEquals(Money.of(new BigDecimal("250.00")), report.getBuckets().get(AgingBucket.DAYS_31_60));
+        assertEquals(Money.ZERO, report.getBuckets().get(AgingBucket.OVER_90));
+        assertEquals(Money.of(new BigDecimal("360.00")), report.getTotal());
+        assertEquals(2, report.getInvoices());
+        assertEquals(1, report.getRates().size());
+        assertEquals(asOf.minusDays(10), report.getRates().get(0).date());
+        assertEquals(List.of(Money.of(new BigDecimal("40.00"), Currency.getInstance("CHF"))), report.getUnconverted());
+    }
+
+    private void sendInvoice(UUID companyId, UUID customerId, LocalDate issueDate, LocalDate dueDate,
+                             String amount, String currency) {
+        CreateInvoiceCommand command = new CreateInvoiceCommand(companyId, customerId, issueDate, dueDate,
+                List.of(new CreateInvoiceCommand.LineItemDto("Services", 1, new BigDecimal(amount))), currency);
+        Invoice invoice = createInvoiceHandler.handle(command);
+        markInvoiceAsSentHandler.handle(new MarkInvoiceAsSentCommand(companyId, invoice.getId()));
+    }
+}
@@ -0,0 +1,177 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.support.sql.SqlCaptureConfiguration;
+import com.invoiceme.support.sql.SqlStatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets per endpoint. Each budget is independent of how many rows are returned,
+ * so an N+1 introduced in a repository or mapper fails here. Requests authenticate with a
+ * preloaded principal, so the budgets cover the controller, handler and mapping only.
+ */
+@SpringBootTest(properties = "sync.settle-window-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+@Import(SqlCaptureConfiguration.class)
+public class ApiStatementBudgetTest {
+    private static final int INVOICES = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatementRecorder sqlRecorder;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private TestTenant tenant;
+    private String customerId;
+    private String invoiceId;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tenant = TestTenant.signUp(mockMvc, userDetailsService, "budget");
+        customerId = tenant.createCustomer("Acme", tenant.username() + "@acme.example.com");
+        for (int i = 0; i < INVOICES; i++) {
+            invoiceId = tenant.createInvoice(customerId);
+        }
+        mockMvc.perform(tenant.authenticated(patch("/api/invoices/" + invoiceId + "/mark-sent")))
+                .andExpect(status().isOk());
+        mockMvc.perform(tenant.authenticated(post("/api/payments"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestTenant.paymentJson(invoiceId)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    public void testListInvoicesLoadsLineItemsInOneQuery() throws Exception {
+        // Invoice page and the line items of every invoice on it
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(get("/api/invoices")))
+                        .andExpect(status().isOk()))
+                .assertAtMost(2);
+        // A partial page also needs the count query
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(get("/api/invoices").param("size", "2")))
+                        .andExpect(status().isOk()))
+                .assertAtMost(3);
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(get("/api/invoices").param("status", "DRAFT")))
+                        .andExpect(status().isOk()))
+                .assertAtMost(2);
+    }
+
+    @Test
+    public void testListInvoicesByCustomer() throws Exception {
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(get("/api/invoices/customers/" + customerId)))
+                        .andExpect(status().isOk()))
+                .assertAtMost(2);
+    }
+
+    @Test
+    public void testGetInvoice() throws Exception {
+        // Version lookup for the ETag, invoice with customer, line items
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(get("/api/invoices/" + invoiceId)))
+                        .andExpect(status().isOk()))
+                .assertAtMost(3);
+    }
+
+    @Test
+    public void testCreateInvoice() throws Exception {
+        // Customer lookup, invoice insert, one batched insert for all line items
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(post("/api/invoices"))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(TestTenant.invoiceJson(customerId)))
+                        .andExpect(status().isCreated()))
+                .assertAtMost(3);
+    }
+
+    @Test
+    public void testUpdateInvoice() throws Exception {
+        String draftId = tenant.createInvoice(customerId);
+        // Invoice, customer, current line items, batched insert, invoice update, batched delete
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(put("/api/invoices/" + draftId))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(TestTenant.invoiceJson(customerId)))
+                        .andExpect(status().isOk()))
+                .assertAtMost(6);
+    }
+
+    @Test
+    public void testMarkInvoiceAsSent() throws Exception {
+        String draftId = tenant.createInvoice(customerId);
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(patch("/api/invoices/" + draftId + "/mark-sent")))
+                        .andExpect(status().isOk()))
+                .assertAtMost(3);
+    }
+
+    @Test
+    public void testRecordPayment() throws Exception {
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(post("/api/payments"))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(TestTenant.paymentJson(invoiceId)))
+                        .andExpect(status().isCreated()))
+                .assertAtMost(5);
+    }
+
+    @Test
+    public void testListPaymentsForInvoice() throws Exception {
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(get("/api/invoices/" + invoiceId + "/payments")))
+                        .andExpect(status().isOk()))
+                .assertAtMost(2);
+    }
+
+    @Test
+    public void testCustomers() throws Exception {
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(get("/api/customers")))
+                        .andExpect(status().isOk()))
+                .assertAtMost(1);
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(get("/api/customers/" + customerId)))
+                        .andExpect(status().isOk()))
+                .assertAtMost(2);
+    }
+
+    @Test
+    public void testSortKeys() throws Exception {
+        for (String key : List.of("name", "email", "createdAt", "updatedAt")) {
+            sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(get("/api/customers").param("sort", key + ",desc")))
+                            .andExpect(status().isOk()))
+                    .assertAtMost(1);
+        }
+        // Keys that used to work without an index are still served, with a deprecation notice
+        mockMvc.perform(tenant.authenticated(get("/api/invoices").param("sort", "totalAmount,desc")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Deprecation", "true"));
+        mockMvc.perform(tenant.authenticated(get("/api/invoices").param("sort", "dueDate")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Deprecation"));
+        // Keys that never worked are rejected before querying
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(get("/api/invoices").param("sort", "customer.name")))
+                        .andExpect(status().isBadRequest()))
+                .assertCount(0);
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(get("/api/customers").param("sort", "phone")))
+                        .andExpect(status().isBadRequest()))
+                .assertCount(0);
+    }
+
+    @Test
+    public void testSync() throws Exception {
+        // One keyset query per entity type plus the line items of the returned invoices
+        sqlRecorder.capture(() -> mockMvc.perform(tenant.authenticated(get("/api/sync")))
+                        .andExpect(status().isOk()))
+                .assertAtMost(5);
+    }
+}
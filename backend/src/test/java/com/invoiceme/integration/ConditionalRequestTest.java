@@ -0,0 +1,220 @@
+package com.invoiceme.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.application.commands.customer.UpdateCustomerCommand;
+import com.invoiceme.application.commands.customer.UpdateCustomerHandler;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.infrastructure.persistence.customer.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETags, If-None-Match and If-Match on customers, invoices, payments and companies.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+public class ConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UpdateCustomerHandler updateCustomerHandler;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TestTenant tenant;
+    private String customerId;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tenant = TestTenant.signUp(mockMvc, userDetailsService, "etag");
+        customerId = tenant.createCustomer("Acme", customerEmail());
+    }
+
+    @Test
+    public void testUnchangedResourceAnswers304() throws Exception {
+        String eTag = eTag(mockMvc.perform(tenant.authenticated(get("/api/customers/" + customerId)))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        mockMvc.perform(tenant.authenticated(get("/api/customers/" + customerId)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testWriteChangesTheETag() throws Exception {
+        String before = eTag(mockMvc.perform(tenant.authenticated(get("/api/customers/" + customerId))).andReturn());
+
+        String after = eTag(mockMvc.perform(tenant.authenticated(put("/api/customers/" + customerId))
+                        .header(HttpHeaders.IF_MATCH, before)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(customerJson("Acme Renamed")))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertNotEquals(before, after);
+        mockMvc.perform(tenant.authenticated(get("/api/customers/" + customerId)).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, after));
+    }
+
+    @Test
+    public void testStaleIfMatchAnswers412() throws Exception {
+        String stale = eTag(mockMvc.perform(tenant.authenticated(get("/api/customers/" + customerId))).andReturn());
+        mockMvc.perform(tenant.authenticated(put("/api/customers/" + customerId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(customerJson("Acme One")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(tenant.authenticated(put("/api/customers/" + customerId))
+                        .header(HttpHeaders.IF_MATCH, stale)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(customerJson("Acme Two")))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(tenant.authenticated(put("/api/customers/" + customerId))
+                        .header(HttpHeaders.IF_MATCH, "\"not-ours\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(customerJson("Acme Two")))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("Acme One", customerRepository.findById(UUID.fromString(customerId)).orElseThrow().getName());
+    }
+
+    @Test
+    public void testInvoiceTagCoversItsCustomer() throws Exception {
+        String invoiceId = tenant.createInvoice(customerId);
+        String eTag = eTag(mockMvc.perform(tenant.authenticated(get("/api/invoices/" + invoiceId))).andReturn());
+
+        // Renaming the customer changes the invoice's representation, so its old tag is stale
+        mockMvc.perform(tenant.authenticated(put("/api/customers/" + customerId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(customerJson("Acme Invoiced")))
+                .andExpect(status().isOk());
+        mockMvc.perform(tenant.authenticated(put("/api/invoices/" + invoiceId))
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invoiceJson()))
+                .andExpect(status().isPreconditionFailed());
+
+        String current = eTag(mockMvc.perform(tenant.authenticated(get("/api/invoices/" + invoiceId))).andReturn());
+        mockMvc.perform(tenant.authenticated(put("/api/invoices/" + invoiceId))
+                        .header(HttpHeaders.IF_MATCH, current)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invoiceJson()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testCompanyIfMatch() throws Exception {
+        String companyId = tenant.companyId().toString();
+        String eTag = eTag(mockMvc.perform(tenant.authenticated(get("/api/companies/" + companyId)))
+                .andExpect(status().isOk())
+                .andReturn());
+        String company = "{\"name\":\"ETag Co Renamed\"}";
+
+        mockMvc.perform(tenant.authenticated(put("/api/companies/" + companyId))
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(company))
+                .andExpect(status().isOk());
+        mockMvc.perform(tenant.authenticated(put("/api/companies/" + companyId))
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(company))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void testPaymentTagIsOnlyServedToItsCompany() throws Exception {
+        String invoiceId = tenant.createInvoice(customerId);
+        mockMvc.perform(tenant.authenticated(patch("/api/invoices/" + invoiceId + "/mark-sent")))
+                .andExpect(status().isOk());
+        String paymentId = objectMapper.readTree(mockMvc.perform(tenant.authenticated(post("/api/payments"))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(TestTenant.paymentJson(invoiceId)))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString())
+                .get("id").asText();
+        String eTag = eTag(mockMvc.perform(tenant.authenticated(get("/api/payments/" + paymentId)))
+                .andExpect(status().isOk())
+                .andReturn());
+        mockMvc.perform(tenant.authenticated(get("/api/payments/" + paymentId)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        TestTenant other = TestTenant.signUp(mockMvc, userDetailsService, "etag");
+        mockMvc.perform(other.authenticated(get("/api/payments/" + paymentId)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testWriteCommittedAfterTheVersionCheckIsNotOverwritten() {
+        UUID id = UUID.fromString(customerId);
+        Customer customer = customerRepository.findById(id).orElseThrow();
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> outer.executeWithoutResult(status -> {
+            // The expected version matches when the handler loads the customer...
+            updateCustomerHandler.handle(new UpdateCustomerCommand(id, customer.getCompany().getId(), "Ours",
+                    customer.getEmail(), null, null, customer.getVersion()));
+            // ...and another writer commits before this transaction flushes
+            concurrent.executeWithoutResult(other -> jdbcTemplate.update(
+                    "UPDATE customers SET name = 'Theirs', version = version + 1 WHERE id = ?", id));
+        }));
+
+        assertEquals("Theirs", customerRepository.findById(id).orElseThrow().getName());
+    }
+
+    private static String eTag(MvcResult result) {
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+
+    private String customerJson(String name) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + customerEmail() + "\"}";
+    }
+
+    private String customerEmail() {
+        return tenant.username() + "@acme.example.com";
+    }
+
+    private String invoiceJson() {
+        return TestTenant.invoiceJson(customerId);
+    }
+}
@@ -0,0 +1,84 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.application.events.ChangeEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * /api/events/stream only carries changes that committed, and only the subscriber's company's.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+public class EventStreamIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testOnlyCommittedChangesReachTheCompanysStream() throws Exception {
+        TestTenant ours = TestTenant.signUp(mockMvc, userDetailsService, "sse");
+        TestTenant theirs = TestTenant.signUp(mockMvc, userDetailsService, "sse");
+        MvcResult ourStream = subscribe(ours);
+        MvcResult theirStream = subscribe(theirs);
+
+        UUID rolledBack = UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ChangeEvent.invoice(ours.companyId(),
+                    ChangeEvent.Type.INVOICE_UPDATED, rolledBack));
+            status.setRollbackOnly();
+        });
+        UUID committed = UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(
+                ChangeEvent.invoice(ours.companyId(), ChangeEvent.Type.INVOICE_SENT, committed)));
+
+        // Events reach a subscriber in order, so once the committed one is there the other never will be
+        String body = awaitContent(ourStream, committed.toString());
+        assertTrue(body.contains("event:invoice.sent"));
+        assertFalse(body.contains(rolledBack.toString()));
+        assertFalse(body.contains("invoice.updated"));
+        assertFalse(theirStream.getResponse().getContentAsString().contains(committed.toString()));
+    }
+
+    private MvcResult subscribe(TestTenant tenant) throws Exception {
+        MvcResult stream = mockMvc.perform(tenant.authenticated(get("/api/events/stream"))).andReturn();
+        assertTrue(stream.getRequest().isAsyncStarted());
+        awaitContent(stream, ":connected");
+        return stream;
+    }
+
+    private static String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            String body = stream.getResponse().getContentAsString();
+            if (body.contains(expected)) {
+                return body;
+            }
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + expected);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.invoiceme.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Anonymous requests arriving through a proxy are limited per client, not per proxy. Runs on a
+ * real server because the forwarded address is resolved by Tomcat, not by MockMvc.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "rate-limit.auth.per-client=2")
+@ActiveProfiles("dev")
+public class ForwardedClientAddressTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void testClientsBehindTheProxyHaveTheirOwnBuckets() throws Exception {
+        assertNotEquals(429, login("203.0.113.10"));
+        assertNotEquals(429, login("203.0.113.10"));
+        assertEquals(429, login("203.0.113.10"));
+
+        assertNotEquals(429, login("203.0.113.20"));
+        assertNotEquals(429, login("198.51.100.7, 203.0.113.30"));
+    }
+
+    // Requests come from 127.0.0.1, one of the trusted proxy addresses
+    private int login(String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"nobody\",\"password\":\"wrong-password\"}"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
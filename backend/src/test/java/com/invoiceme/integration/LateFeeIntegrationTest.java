@@ -0,0 +1,161 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.application.commands.customer.CreateCustomerCommand;
+import com.invoiceme.application.commands.customer.CreateCustomerHandler;
+import com.invoiceme.application.commands.invoice.CreateInvoiceCommand;
+import com.invoiceme.application.commands.invoice.CreateInvoiceHandler;
+import com.invoiceme.application.commands.invoice.MarkInvoiceAsSentCommand;
+import com.invoiceme.application.commands.invoice.MarkInvoiceAsSentHandler;
+import com.invoiceme.application.commands.invoice.MarkOverdueInvoicesCommand;
+import com.invoiceme.application.commands.invoice.MarkOverdueInvoicesHandler;
+import com.invoiceme.application.commands.payment.RecordPaymentCommand;
+import com.invoiceme.application.commands.payment.RecordPaymentHandler;
+import com.invoiceme.application.services.LateFeeService;
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.domain.latefee.LateFeeRun;
+import com.invoiceme.infrastructure.persistence.CompanyRepository;
+import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: each batch of a run commits on its own
+@SpringBootTest(properties = "late-fees.batch-size=2")
+@ActiveProfiles("dev")
+public class LateFeeIntegrationTest {
+
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+
+    @Autowired
+    private CreateInvoiceHandler createInvoiceHandler;
+
+    @Autowired
+    private MarkInvoiceAsSentHandler markInvoiceAsSentHandler;
+
+    @Autowired
+    private MarkOverdueInvoicesHandler markOverdueInvoicesHandler;
+
+    @Autowired
+    private RecordPaymentHandler recordPaymentHandler;
+
+    @Autowired
+    private LateFeeService lateFeeService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testFeesAreChargedAfterTheGracePeriodUpToTheCap() {
+        Company company = new Company();
+        company.setName("Late Fee Company");
+        UUID companyId = companyRepository.save(company).getId();
+        Customer customer = createCustomerHandler.handle(new CreateCustomerCommand(
+                companyId, "Slow Payer", "slow@example.com", null, null));
+        LocalDate today = LocalDate.now();
+        UUID inGrace = overdueInvoice(companyId, customer, today.minusDays(3));
+        UUID late = overdueInvoice(companyId, customer, today.minusDays(10));
+        UUID veryLate = overdueInvoice(companyId, customer, today.minusDays(40));
+        UUID draft = createInvoiceHandler.handle(new CreateInvoiceCommand(companyId, customer.getId(),
+                today.minusDays(60), today.minusDays(50),
+                List.of(new CreateInvoiceCommand.LineItemDto("Services", 1, new BigDecimal("100.00"))))).getId();
+
+        // 10% of the balance five days after the due date, then every 30 days, at most 20.00
+        lateFeeService.savePolicy(companyId, "percentage", new BigDecimal("10"), 5, 30, new BigDecimal("20.00"), true);
+
+        LateFeeRun dryRun = lateFeeService.run(companyId, today, true, "test");
+        assertTrue(dryRun.isDryRun());
+        assertEquals(2, dryRun.getInvoicesChecked());
+        assertEquals(2, dryRun.getFeesCharged());
+        assertEquals(new BigDecimal("20.00"), dryRun.getTotals().get(0).getAmount());
+        assertEquals(new BigDecimal("100.00"), balance(late));
+        assertEquals(0, feeLines(companyId));
+
+        LateFeeRun first = lateFeeService.run(companyId, today, false, "test");
+        assertEquals(2, first.getFeesCharged());
+        assertEquals(new BigDecimal("100.00"), balance(inGrace));
+        assertEquals(new BigDecimal("110.00"), balance(late));
+        assertEquals(new BigDecimal("110.00"), balance(veryLate));
+        assertEquals(new BigDecimal("100.00"), balance(draft));
+        assertEquals(2, feeLines(companyId));
+
+        // The second fee of the older invoice is due; 11.00 is capped to the 10.00 left
+        LateFeeRun second = lateFeeService.run(companyId, today, false, "test");
+        assertEquals(1, second.getFeesCharged());
+        Invoice charged = invoiceRepository.findById(veryLate).orElseThrow();
+        assertEquals(new BigDecimal("120.00"), charged.getTotalAmount().toBigDecimal());
+        assertEquals(new BigDecimal("120.00"), charged.getBalance().toBigDecimal());
+        assertEquals(new BigDecimal("20.00"), charged.getLateFeeTotal().toBigDecimal());
+        assertEquals(2, charged.getLateFeesApplied());
+
+        // Nothing else is due today, and nothing more once the cap is reached
+        assertEquals(0, lateFeeService.run(companyId, today, false, "test").getFeesCharged());
+        assertEquals(2, lateFeeService.run(companyId, today.plusDays(60), false, "test").getFeesCharged());
+        assertEquals(new BigDecimal("110.00"), balance(inGrace));
+        assertEquals(new BigDecimal("120.00"), balance(late));
+        assertEquals(new BigDecimal("120.00"), balance(veryLate));
+
+        List<LateFeeRun> runs = lateFeeService.listRuns(companyId, 10);
+        assertEquals(5, runs.size());
+        assertEquals(1, runs.stream().filter(LateFeeRun::isDryRun).count());
+        List<LateFeeRun> latest = lateFeeService.listRuns(companyId, 2);
+        assertEquals(List.of(runs.get(0).getId(), runs.get(1).getId()), latest.stream().map(LateFeeRun::getId).toList());
+        assertTrue(Hibernate.isInitialized(latest.get(0).getTotals()));
+
+        // Fees are part of what the customer owes
+        recordPaymentHandler.handle(new RecordPaymentCommand(veryLate, new BigDecimal("120.00"), today, "CARD", null));
+        assertEquals(InvoiceStatus.PAID, invoiceRepository.findById(veryLate).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void testLiveRunsNeedAnActivePolicy() {
+        Company company = new Company();
+        company.setName("Inactive Late Fee Company");
+        UUID companyId = companyRepository.save(company).getId();
+
+        assertThrows(IllegalArgumentException.class, () -> lateFeeService.run(companyId, LocalDate.now(), true, "test"));
+        lateFeeService.savePolicy(companyId, "FLAT", new BigDecimal("25.00"), 0, null, null, false);
+        assertThrows(IllegalStateException.class, () -> lateFeeService.run(companyId, LocalDate.now(), false, "test"));
+        assertEquals(0, lateFeeService.run(companyId, LocalDate.now(), true, "test").getInvoicesChecked());
+        assertThrows(IllegalArgumentException.class, () -> lateFeeService.savePolicy(companyId, "PERCENTAGE",
+                new BigDecimal("150"), 0, null, null, true));
+    }
+
+    private UUID overdueInvoice(UUID companyId, Customer customer, LocalDate dueDate) {
+        Invoice invoice = createInvoiceHandler.handle(new CreateInvoiceCommand(companyId, customer.getId(),
+                dueDate.minusDays(30), dueDate,
+                List.of(new CreateInvoiceCommand.LineItemDto("Services", 1, new BigDecimal("100.00")))));
+        markInvoiceAsSentHandler.handle(new MarkInvoiceAsSentCommand(companyId, invoice.getId()));
+        markOverdueInvoicesHandler.handle(MarkOverdueInvoicesCommand.first(LocalDate.now(), 1000));
+        return invoice.getId();
+    }
+
+    private BigDecimal balance(UUID invoiceId) {
+        return invoiceRepository.findById(invoiceId).orElseThrow().getBalance().toBigDecimal();
+    }
+
+    private int feeLines(UUID companyId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM invoice_line_items l JOIN invoices i " +
+                "ON i.id = l.invoice_id WHERE i.company_id = ? AND l.late_fee_sequence IS NOT NULL",
+                Integer.class, companyId);
+    }
+}
@@ -0,0 +1,210 @@
+package com.invoiceme.integration;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.invoiceme.application.commands.customer.CreateCustomerCommand;
+import com.invoiceme.application.commands.customer.CreateCustomerHandler;
+import com.invoiceme.application.commands.invoice.CreateInvoiceCommand;
+import com.invoiceme.application.commands.invoice.CreateInvoiceHandler;
+import com.invoiceme.application.commands.invoice.MarkInvoiceAsSentCommand;
+import com.invoiceme.application.commands.invoice.MarkInvoiceAsSentHandler;
+import com.invoiceme.application.commands.payment.RecordPaymentCommand;
+import com.invoiceme.application.commands.payment.RecordPaymentHandler;
+import com.invoiceme.application.services.MailQueueService;
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.mail.MailKind;
+import com.invoiceme.domain.mail.MailMessage;
+import com.invoiceme.domain.mail.MailStatus;
+import com.invoiceme.infrastructure.mail.MailDispatcher;
+import com.invoiceme.infrastructure.metrics.SlowQueryRecorder;
+import com.invoiceme.infrastructure.persistence.CompanyRepository;
+import com.invoiceme.infrastructure.persistence.mail.MailMessageRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: mail is sent after the queuing transaction commits. Workers do not poll,
+// so only the wake-up on a queued delivery and the test's own drains send anything.
+@SpringBootTest(properties = {
+        "mail.enabled=true",
+        "mail.poll-interval-ms=0",
+        "mail.reminders.interval-ms=0",
+        "mail.reminders.days=1",
+        "mail.retry.max-attempts=2",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "slow-query.threshold-ms=0",
+        "slow-query.top-n=1000"})
+@ActiveProfiles("dev")
+public class MailQueueIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+
+    @Autowired
+    private CreateInvoiceHandler createInvoiceHandler;
+
+    @Autowired
+    private MarkInvoiceAsSentHandler markInvoiceAsSentHandler;
+
+    @Autowired
+    private RecordPaymentHandler recordPaymentHandler;
+
+    @Autowired
+    private MailQueueService mailQueueService;
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private MailMessageRepository mailMessageRepository;
+
+    @Autowired
+    private SlowQueryRecorder slowQueryRecorder;
+
+    @Test
+    public void testSentInvoiceIsDeliveredAfterCommit() throws Exception {
+        Customer customer = customer("delivery@example.com");
+        Invoice invoice = sentInvoice(customer, LocalDate.now().plusDays(30));
+
+        assertTrue(smtp.waitForIncomingEmail(10_000, 1));
+        MimeMessage received = smtp.getReceivedMessages()[0];
+        assertEquals("Invoice " + invoice.getInvoiceNumber() + " from Mail Company", received.getSubject());
+        assertEquals("delivery@example.com", received.getAllRecipients()[0].toString());
+        MailMessage message = await(invoice.getId(), MailKind.INVOICE_DELIVERY,
+                queued -> queued.getStatus() == MailStatus.SENT);
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getSentAt());
+    }
+
+    @Test
+    public void testRemindersAreQueuedOnceAndDroppedOncePaid() throws Exception {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        Invoice open = sentInvoice(customer("open@example.com"), yesterday);
+        Invoice paid = sentInvoice(customer("paid@example.com"), yesterday);
+        assertTrue(smtp.waitForIncomingEmail(10_000, 2));
+        await(open.getId(), MailKind.INVOICE_DELIVERY, queued -> queued.getStatus() == MailStatus.SENT);
+        await(paid.getId(), MailKind.INVOICE_DELIVERY, queued -> queued.getStatus() == MailStatus.SENT);
+
+        assertTrue(mailQueueService.enqueueReminders(LocalDate.now()) >= 2);
+        mailQueueService.enqueueReminders(LocalDate.now());
+        assertEquals(1, reminders(open.getId()).size());
+        assertEquals(1, reminders(paid.getId()).size());
+
+        recordPaymentHandler.handle(new RecordPaymentCommand(paid.getId(), new BigDecimal("100.00"), LocalDate.now(),
+                "CARD", null));
+        mailDispatcher.drain();
+
+        assertEquals(MailStatus.SENT, reminders(open.getId()).get(0).getStatus());
+        assertEquals(MailStatus.CANCELLED, reminders(paid.getId()).get(0).getStatus());
+        List<String> openSubjects = subjectsTo("open@example.com");
+        assertEquals(List.of("Invoice " + open.getInvoiceNumber() + " from Mail Company",
+                "Payment reminder: invoice " + open.getInvoiceNumber()), openSubjects);
+        assertEquals(1, subjectsTo("paid@example.com").size());
+    }
+
+    @Test
+    public void testRecipientsStayOutOfTheSlowQueryLog() throws Exception {
+        // Every statement counts as slow here, so the queued message's insert is recorded
+        slowQueryRecorder.reset();
+        Invoice invoice = sentInvoice(customer("hidden@example.com"), LocalDate.now().plusDays(30));
+        await(invoice.getId(), MailKind.INVOICE_DELIVERY, queued -> queued.getStatus() == MailStatus.SENT);
+
+        String report = slowQueryRecorder.report().toString();
+        assertTrue(report.contains("insert into mail_messages"), report);
+        assertTrue(report.contains("'PENDING'"), report);
+        assertFalse(report.contains("hidden@example.com"), report);
+    }
+
+    @Test
+    public void testFailedSendsAreRetriedWithBackoff() throws Exception {
+        smtp.stop();
+        Invoice invoice = sentInvoice(customer("retry@example.com"), LocalDate.now().plusDays(30));
+
+        MailMessage message = await(invoice.getId(), MailKind.INVOICE_DELIVERY, queued -> queued.getLastError() != null);
+        assertEquals(MailStatus.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertTrue(message.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        // Due again; the second failure is the last attempt
+        message.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        mailMessageRepository.save(message);
+        mailDispatcher.drain();
+        message = mailMessageRepository.findById(message.getId()).orElseThrow();
+        assertEquals(MailStatus.FAILED, message.getStatus());
+        assertEquals(2, message.getAttempts());
+    }
+
+    private Customer customer(String email) {
+        Company company = new Company();
+        company.setName("Mail Company");
+        UUID companyId = companyRepository.save(company).getId();
+        return createCustomerHandler.handle(new CreateCustomerCommand(companyId, "Mail Customer", email, null, null));
+    }
+
+    private Invoice sentInvoice(Customer customer, LocalDate dueDate) {
+        UUID companyId = customer.getCompany().getId();
+        Invoice invoice = createInvoiceHandler.handle(new CreateInvoiceCommand(companyId, customer.getId(),
+                dueDate.minusDays(30), dueDate,
+                List.of(new CreateInvoiceCommand.LineItemDto("Services", 1, new BigDecimal("100.00")))));
+        return markInvoiceAsSentHandler.handle(new MarkInvoiceAsSentCommand(companyId, invoice.getId()));
+    }
+
+    private List<String> subjectsTo(String recipient) throws Exception {
+        List<String> subjects = new ArrayList<>();
+        for (MimeMessage message : smtp.getReceivedMessages()) {
+            if (recipient.equals(message.getAllRecipients()[0].toString())) {
+                subjects.add(message.getSubject());
+            }
+        }
+        return subjects;
+    }
+
+    private List<MailMessage> reminders(UUID invoiceId) {
+        return mailMessageRepository.findAll().stream()
+                .filter(message -> message.getKind() == MailKind.PAYMENT_REMINDER)
+                .filter(message -> message.getInvoice().getId().equals(invoiceId))
+                .toList();
+    }
+
+    // The worker woken by the commit records its outcome shortly after the send
+    private MailMessage await(UUID invoiceId, MailKind kind, Predicate<MailMessage> condition)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            MailMessage message = mailMessageRepository.findAll().stream()
+                    .filter(candidate -> candidate.getKind() == kind)
+                    .filter(candidate -> candidate.getInvoice().getId().equals(invoiceId))
+                    .findFirst()
+                    .orElse(null);
+            if (message != null && condition.test(message)) {
+                return message;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for the " + kind + " of invoice " + invoiceId);
+            }
+            Thread.sleep(50);
+        }
+    }
+}
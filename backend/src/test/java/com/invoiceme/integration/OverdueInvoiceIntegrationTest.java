@@ -0,0 +1,123 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.application.commands.customer.CreateCustomerCommand;
+import com.invoiceme.application.commands.customer.CreateCustomerHandler;
+import com.invoiceme.application.commands.invoice.CreateInvoiceCommand;
+import com.invoiceme.application.commands.invoice.CreateInvoiceHandler;
+import com.invoiceme.application.commands.invoice.MarkInvoiceAsSentCommand;
+import com.invoiceme.application.commands.invoice.MarkInvoiceAsSentHandler;
+import com.invoiceme.application.commands.invoice.MarkOverdueInvoicesCommand;
+import com.invoiceme.application.commands.invoice.MarkOverdueInvoicesHandler;
+import com.invoiceme.application.commands.invoice.MarkOverdueInvoicesResult;
+import com.invoiceme.application.commands.payment.RecordPaymentCommand;
+import com.invoiceme.application.commands.payment.RecordPaymentHandler;
+import com.invoiceme.application.events.ChangeEvent;
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.infrastructure.persistence.CompanyRepository;
+import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@Transactional
+@RecordApplicationEvents
+public class OverdueInvoiceIntegrationTest {
+
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+
+    @Autowired
+    private CreateInvoiceHandler createInvoiceHandler;
+
+    @Autowired
+    private MarkInvoiceAsSentHandler markInvoiceAsSentHandler;
+
+    @Autowired
+    private MarkOverdueInvoicesHandler markOverdueInvoicesHandler;
+
+    @Autowired
+    private RecordPaymentHandler recordPaymentHandler;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    public void testSentInvoicesPastDueBecomeOverdueInBatches() {
+        Company company = new Company();
+        company.setName("Overdue Company");
+        UUID companyId = companyRepository.save(company).getId();
+        Customer customer = createCustomerHandler.handle(new CreateCustomerCommand(
+                companyId, "Late Payer", "late@example.com", null, null));
+        LocalDate today = LocalDate.now();
+
+        List<UUID> pastDue = new ArrayList<>();
+        for (int days = 1; days <= 5; days++) {
+            pastDue.add(invoice(companyId, customer, today.minusDays(days), true));
+        }
+        UUID dueToday = invoice(companyId, customer, today, true);
+        UUID draft = invoice(companyId, customer, today.minusDays(1), false);
+
+        // Batches of two walk the backlog in (dueDate, id) order
+        MarkOverdueInvoicesCommand command = MarkOverdueInvoicesCommand.first(today, 2);
+        int batches = 0;
+        MarkOverdueInvoicesResult result;
+        do {
+            result = markOverdueInvoicesHandler.handle(command);
+            assertTrue(result.leased());
+            assertTrue(result.checked() <= 2);
+            command = command.next(result);
+            batches++;
+        } while (result.checked() == 2);
+        assertTrue(batches >= 3, "batches: " + batches);
+
+        for (UUID id : pastDue) {
+            assertEquals(InvoiceStatus.OVERDUE, invoiceRepository.findById(id).orElseThrow().getStatus());
+        }
+        assertEquals(InvoiceStatus.SENT, invoiceRepository.findById(dueToday).orElseThrow().getStatus());
+        assertEquals(InvoiceStatus.DRAFT, invoiceRepository.findById(draft).orElseThrow().getStatus());
+        assertEquals(pastDue.size(), events.stream(ChangeEvent.class)
+                .filter(event -> event.getType() == ChangeEvent.Type.INVOICE_OVERDUE)
+                .filter(event -> companyId.equals(event.getCompanyId()))
+                .count());
+
+        // A second run finds nothing left to transition
+        assertEquals(0, markOverdueInvoicesHandler.handle(MarkOverdueInvoicesCommand.first(today, 100)).checked());
+
+        recordPaymentHandler.handle(new RecordPaymentCommand(pastDue.get(0), new BigDecimal("100.00"), today,
+                "CARD", null));
+        assertEquals(InvoiceStatus.PAID, invoiceRepository.findById(pastDue.get(0)).orElseThrow().getStatus());
+    }
+
+    private UUID invoice(UUID companyId, Customer customer, LocalDate dueDate, boolean send) {
+        Invoice invoice = createInvoiceHandler.handle(new CreateInvoiceCommand(companyId, customer.getId(),
+                dueDate.minusDays(30), dueDate,
+                List.of(new CreateInvoiceCommand.LineItemDto("Services", 1, new BigDecimal("100.00")))));
+        if (send) {
+            markInvoiceAsSentHandler.handle(new MarkInvoiceAsSentCommand(companyId, invoice.getId()));
+        }
+        return invoice.getId();
+    }
+}
@@ -0,0 +1,327 @@
+package com.invoiceme.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.domain.invoice.InvoiceStatus;
+import com.invoiceme.domain.latefee.LateFeePolicy;
+import com.invoiceme.domain.latefee.LateFeeType;
+import com.invoiceme.infrastructure.persistence.customer.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.latefee.LateFeeBatchRepository;
+import com.invoiceme.infrastructure.persistence.mail.MailMessageRepository;
+import com.invoiceme.infrastructure.persistence.mail.PaymentReminderRepository;
+import com.invoiceme.infrastructure.persistence.payment.PaymentRepository;
+import com.invoiceme.infrastructure.persistence.sync.TombstoneRepository;
+import com.invoiceme.support.sql.CapturedStatements;
+import com.invoiceme.support.sql.SqlCaptureConfiguration;
+import com.invoiceme.support.sql.SqlStatementRecorder;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs EXPLAIN for the SQL behind the repository queries against PostgreSQL with the Flyway
+ * schema and a realistic number of tenants, and fails when a plan reads a table sequentially
+ * or sorts rows. Each statement is explained with its actual bind values and again as a
+ * generic plan, which is what a cached prepared statement may end up using.
+ */
+@SpringBootTest
+@Import(SqlCaptureConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class QueryPlanVerificationTest {
+    private static final int COMPANIES = 200;
+    private static final int CUSTOMERS_PER_COMPANY = 50;
+    private static final int LARGE_TENANT_CUSTOMERS = 2_000;
+    private static final int INVOICES_PER_CUSTOMER = 10;
+    private static final int LARGE_CUSTOMER_INVOICES = 2_000;
+    private static final List<String> FORBIDDEN_NODES = List.of("Seq Scan", "Sort", "Incremental Sort");
+
+    // Stopped by its own shutdown hook, after the cached application context is closed
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private SqlStatementRecorder sqlRecorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private LateFeeBatchRepository lateFeeBatchRepository;
+
+    @Autowired
+    private MailMessageRepository mailMessageRepository;
+
+    @Autowired
+    private PaymentReminderRepository paymentReminderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UUID companyId;
+    private UUID customerId;
+    private UUID invoiceId;
+    private String invoiceNumber;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @BeforeAll
+    public void seed() {
+        // One large tenant among many small ones; plans are checked for the large one, where an
+        // in-memory sort or a full scan actually hurts
+        jdbcTemplate.update("INSERT INTO companies (id, name) SELECT gen_random_uuid(), 'Company ' || g "
+                + "FROM generate_series(1, ?) g", COMPANIES);
+        jdbcTemplate.update("INSERT INTO customers (id, name, email, company_id) "
+                + "SELECT gen_random_uuid(), 'Customer ' || g, 'customer-' || g || '-' || c.id || '@example.com', c.id "
+                + "FROM companies c CROSS JOIN LATERAL generate_series(1, CASE WHEN c.name = 'Company 1' THEN ? ELSE ? END) g",
+                LARGE_TENANT_CUSTOMERS, CUSTOMERS_PER_COMPANY);
+        companyId = jdbcTemplate.queryForObject("SELECT id FROM companies WHERE name = 'Company 1'", UUID.class);
+        customerId = jdbcTemplate.queryForObject("SELECT id FROM customers WHERE company_id = ? AND name = 'Customer 1'",
+                UUID.class, companyId);
+        insertInvoices("FROM customers cu CROSS JOIN generate_series(1, " + INVOICES_PER_CUSTOMER + ") g");
+        insertInvoices("FROM customers cu CROSS JOIN generate_series(1, " + LARGE_CUSTOMER_INVOICES + ") g "
+                + "WHERE cu.id = '" + customerId + "'");
+        jdbcTemplate.update("INSERT INTO payments (id, invoice_id, company_id, amount, payment_date, payment_method, created_at) "
+                + "SELECT gen_random_uuid(), id, company_id, total_amount, due_date, 'BANK_TRANSFER', updated_at "
+                + "FROM invoices WHERE status = 'PAID'");
+        jdbcTemplate.update("INSERT INTO sync_tombstones (id, company_id, entity_type, entity_id, deleted_at) "
+                + "SELECT gen_random_uuid(), c.id, 'CUSTOMER', gen_random_uuid(), now() - g * interval '10 minutes' "
+                + "FROM companies c CROSS JOIN LATERAL generate_series(1, CASE WHEN c.id = ? THEN 20000 ELSE 100 END) g",
+                companyId);
+        // A delivery for every invoice that left draft; the unpaid ones' deliveries are still queued
+        jdbcTemplate.update("INSERT INTO mail_messages (id, company_id, invoice_id, kind, recipient, status, attempts, "
+                + "next_attempt_at, sent_at) "
+                + "SELECT gen_random_uuid(), company_id, id, 'INVOICE_DELIVERY', 'customer@example.com', "
+                + "CASE WHEN status = 'PAID' THEN 'SENT' ELSE 'PENDING' END, 1, updated_at, "
+                + "CASE WHEN status = 'PAID' THEN updated_at END "
+                + "FROM invoices WHERE status <> 'DRAFT'");
+        jdbcTemplate.execute("ANALYZE");
+
+        invoiceId = jdbcTemplate.queryForObject("SELECT id FROM invoices WHERE customer_id = ? AND status = 'PAID' LIMIT 1",
+                UUID.class, customerId);
+        invoiceNumber = jdbcTemplate.queryForObject("SELECT invoice_number FROM invoices WHERE id = ?",
+                String.class, invoiceId);
+    }
+
+    // 70% paid, 20% sent, 10% draft, created and due over the last two years
+    private void insertInvoices(String from) {
+        jdbcTemplate.update("INSERT INTO invoices (id, customer_id, company_id, invoice_number, status, issue_date, "
+                + "due_date, total_amount, balance, created_at, updated_at) "
+                + "SELECT gen_random_uuid(), cu.id, cu.company_id, 'INV-' || gen_random_uuid(), "
+                + "CASE WHEN g % 10 < 7 THEN 'PAID' WHEN g % 10 < 9 THEN 'SENT' ELSE 'DRAFT' END, "
+                + "current_date - (random() * 730)::int, current_date - (random() * 700)::int, 100, "
+                + "CASE WHEN g % 10 < 7 THEN 0 ELSE 100 END, "
+                + "now() - random() * interval '730 days', now() - random() * interval '730 days' " + from);
+    }
+
+    @Test
+    public void testInvoiceListsAreReadInIndexOrder() throws Exception {
+        for (String key : List.of("createdAt", "dueDate")) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                Pageable pageable = PageRequest.of(2, 20, Sort.by(direction, key).and(Sort.by(direction, "id")));
+                assertIndexed(sqlRecorder.capture(() -> {
+                    invoiceRepository.findByCompanyId(companyId, pageable);
+                    for (InvoiceStatus status : InvoiceStatus.values()) {
+                        invoiceRepository.findByCompanyIdAndStatus(companyId, status, pageable);
+                    }
+                    invoiceRepository.findByCustomerIdAndCompanyId(customerId, companyId, pageable);
+                }));
+            }
+        }
+    }
+
+    @Test
+    public void testInvoiceLookupsUseIndexes() throws Exception {
+        LocalDateTime since = LocalDateTime.now().minusDays(30);
+        assertIndexed(sqlRecorder.capture(() -> {
+            invoiceRepository.findByIdAndCompanyId(invoiceId, companyId);
+            invoiceRepository.findVersionByIdAndCompanyId(invoiceId, companyId);
+            invoiceRepository.findByInvoiceNumber(invoiceNumber);
+            invoiceRepository.existsByInvoiceNumber(invoiceNumber);
+            invoiceRepository.findChangedSince(companyId, since, new UUID(0, 0), LocalDateTime.now(), PageRequest.of(0, 200));
+            LocalDate today = LocalDate.now();
+            invoiceRepository.sumOpenBalancesByAge(companyId, today, today.minusDays(30), today.minusDays(60), today.minusDays(90));
+            invoiceRepository.findOverdueCandidates(today, today.minusDays(365), new UUID(0, 0), PageRequest.of(0, 500));
+        }));
+    }
+
+    @Test
+    public void testLateFeeBatchUsesIndexes() throws Exception {
+        LateFeePolicy policy = new LateFeePolicy();
+        policy.setFeeType(LateFeeType.PERCENTAGE);
+        policy.setAmount(new BigDecimal("1.5"));
+        policy.setGraceDays(10);
+        policy.setRepeatDays(30);
+        policy.setMaxTotal(new BigDecimal("50.00"));
+        LocalDate today = LocalDate.now();
+        List<UUID> ids = jdbcTemplate.queryForList("SELECT id FROM invoices WHERE company_id = ? AND status = 'SENT' "
+                + "LIMIT 1000", UUID.class, companyId);
+        // The preview groups at most one batch of rows by currency, which sorts them
+        lateFeeBatchRepository.preview(policy, today, ids);
+        assertIndexed(sqlRecorder.capture(() -> {
+            lateFeeBatchRepository.findCandidates(companyId, today.minusDays(10), today.minusDays(365), new UUID(0, 0),
+                    1000, false);
+            // Seeded invoices are not overdue, so this changes nothing
+            lateFeeBatchRepository.apply(policy, today, ids, LocalDateTime.now());
+        }));
+    }
+
+    @Test
+    public void testMailQueueQueriesUseIndexes() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = LocalDate.now();
+        UUID token = UUID.randomUUID();
+        assertIndexed(sqlRecorder.capture(() -> transactionTemplate.executeWithoutResult(status -> {
+            List<UUID> due = mailMessageRepository.findDueIds(now.minusDays(700), PageRequest.of(0, 50));
+            mailMessageRepository.claim(due, token, now.minusDays(700), now);
+            mailMessageRepository.findClaimed(token);
+            mailMessageRepository.markSent(due, token, now);
+            mailMessageRepository.findOldestDue(now);
+            paymentReminderRepository.enqueue(7, today.minusDays(10), today.minusDays(7), now);
+            status.setRollbackOnly();
+        })));
+    }
+
+    @Test
+    public void testPaymentQueriesUseIndexes() throws Exception {
+        LocalDateTime since = LocalDateTime.now().minusDays(30);
+        assertIndexed(sqlRecorder.capture(() -> {
+            paymentRepository.findByInvoiceId(invoiceId);
+            paymentRepository.findVersionByIdAndCompanyId(new UUID(0, 0), companyId);
+            paymentRepository.getTotalPaymentsByInvoiceId(invoiceId);
+            paymentRepository.findChangedSince(companyId, since, new UUID(0, 0), LocalDateTime.now(), PageRequest.of(0, 200));
+        }));
+    }
+
+    @Test
+    public void testCustomerQueriesUseIndexes() throws Exception {
+        LocalDateTime since = LocalDateTime.now().minusDays(30);
+        assertIndexed(sqlRecorder.capture(() -> {
+            for (String key : List.of("name", "email", "createdAt", "updatedAt")) {
+                for (Sort.Direction direction : Sort.Direction.values()) {
+                    customerRepository.findByCompanyId(companyId, PageRequest.of(1, 20, Sort.by(direction, key, "id")));
+                }
+            }
+            customerRepository.findByIdAndCompanyId(customerId, companyId);
+            customerRepository.findVersionByIdAndCompanyId(customerId, companyId);
+            customerRepository.findChangedSince(companyId, since, new UUID(0, 0), LocalDateTime.now(), PageRequest.of(0, 200));
+            tombstoneRepository.findChangedSince(companyId, since, new UUID(0, 0), LocalDateTime.now(), PageRequest.of(0, 200));
+        }));
+    }
+
+    private void assertIndexed(CapturedStatements captured) throws SQLException {
+        List<String> failures = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (CapturedStatements.Statement statement : captured.executed()) {
+                check(connection, statement, "custom plan", failures);
+                try (Statement settings = connection.createStatement()) {
+                    settings.execute("SET plan_cache_mode = force_generic_plan");
+                }
+                try {
+                    check(connection, statement, "generic plan", failures);
+                } finally {
+                    try (Statement settings = connection.createStatement()) {
+                        settings.execute("RESET plan_cache_mode");
+                    }
+                }
+            }
+        }
+        if (!failures.isEmpty()) {
+            fail(String.join("\n\n", failures));
+        }
+    }
+
+    private void check(Connection connection, CapturedStatements.Statement statement, String planType,
+                       List<String> failures) throws SQLException {
+        JsonNode plan;
+        try {
+            plan = objectMapper.readTree(explain(connection, "EXPLAIN (FORMAT JSON) ", statement)).get(0).get("Plan");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        List<String> forbidden = new ArrayList<>();
+        collectForbidden(plan, forbidden);
+        if (!forbidden.isEmpty()) {
+            failures.add(planType + " uses " + forbidden + " for:\n  " + statement.sql() + "\n"
+                    + explain(connection, "EXPLAIN ", statement));
+        }
+    }
+
+    private static void collectForbidden(JsonNode node, List<String> forbidden) {
+        String type = node.get("Node Type").asText();
+        if (FORBIDDEN_NODES.contains(type)) {
+            forbidden.add(node.has("Relation Name") ? type + " on " + node.get("Relation Name").asText() : type);
+        }
+        if (node.has("Plans")) {
+            node.get("Plans").forEach(child -> collectForbidden(child, forbidden));
+        }
+    }
+
+    private static String explain(Connection connection, String prefix, CapturedStatements.Statement statement)
+            throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement(prefix + statement.sql())) {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                explain.setObject(parameter.getKey(), parameter.getValue());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.invoiceme.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routing through the full stack, with the "replica" being a second pool on the same H2
+ * database. The read-your-writes window is off so every signed-in read may use the replica.
+ * Requests authenticate with a preloaded principal, so only handler work is routed.
+ */
+@SpringBootTest(properties = {
+        "replica.enabled=true",
+        "replica.urls=jdbc:h2:mem:invoiceme",
+        "replica.lag-query=SELECT 0",
+        "replica.lag-check-interval-ms=100",
+        "replica.read-your-writes-ms=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+public class ReadReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private TestTenant tenant;
+    private String customerId;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tenant = TestTenant.signUp(mockMvc, userDetailsService, "replica");
+        customerId = tenant.createCustomer("Acme", tenant.username() + "@acme.example.com");
+    }
+
+    @Test
+    public void testQueriesReadFromReplica() throws Exception {
+        Routed routed = routed(() -> mockMvc.perform(tenant.authenticated(get("/api/customers")))
+                .andExpect(status().isOk()));
+        assertTrue(routed.replica() >= 1, routed.toString());
+    }
+
+    @Test
+    public void testConditionalUpdateChecksTheVersionOnThePrimary() throws Exception {
+        String invoiceId = tenant.createInvoice(customerId);
+        String etag = mockMvc.perform(tenant.authenticated(get("/api/invoices/" + invoiceId)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // The If-Match version is compared inside the write transaction, never against a replica
+        Routed routed = routed(() -> mockMvc.perform(tenant.authenticated(put("/api/invoices/" + invoiceId))
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestTenant.invoiceJson(customerId)))
+                .andExpect(status().isOk()));
+        assertEquals(0.0, routed.replica(), routed.toString());
+        assertTrue(routed.primary() >= 1, routed.toString());
+    }
+
+    @Test
+    public void testLoginReadsFromPrimary() throws Exception {
+        Routed routed = routed(() -> mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"nobody\",\"password\":\"wrong\"}")));
+        assertEquals(0.0, routed.replica(), routed.toString());
+    }
+
+    private Routed routed(Callable<?> request) throws Exception {
+        double primary = connections("primary");
+        double replica = connections("replica-1");
+        request.call();
+        return new Routed(connections("primary") - primary, connections("replica-1") - replica);
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("invoiceme.datasource.connections").tag("target", target).counter().count();
+    }
+
+    private record Routed(double primary, double replica) {
+    }
+}
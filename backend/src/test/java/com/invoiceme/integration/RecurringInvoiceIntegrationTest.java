@@ -0,0 +1,135 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.application.commands.customer.CreateCustomerCommand;
+import com.invoiceme.application.commands.customer.CreateCustomerHandler;
+import com.invoiceme.application.commands.invoice.CreateInvoiceCommand;
+import com.invoiceme.application.commands.invoice.CreateInvoiceHandler;
+import com.invoiceme.application.services.RecurringInvoiceService;
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.money.Money;
+import com.invoiceme.domain.recurring.RecurringInvoice;
+import com.invoiceme.domain.recurring.RecurringInvoiceLine;
+import com.invoiceme.infrastructure.persistence.CompanyRepository;
+import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
+import com.invoiceme.infrastructure.recurring.RecurringInvoiceScheduler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: the scheduler generates on its own worker threads, which only see
+ * committed templates.
+ */
+@SpringBootTest(properties = "recurring.enabled=false")
+@ActiveProfiles("dev")
+public class RecurringInvoiceIntegrationTest {
+
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+
+    @Autowired
+    private CreateInvoiceHandler createInvoiceHandler;
+
+    @Autowired
+    private RecurringInvoiceService recurringInvoiceService;
+
+    @Autowired
+    private RecurringInvoiceScheduler scheduler;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Test
+    public void testMissedPeriodsAreGeneratedOnce() {
+        UUID companyId = company("Recurring Company");
+        Customer customer = customer(companyId, "Monthly Ltd");
+        RecurringInvoice template = recurringInvoiceService.createTemplate(companyId, customer.getId(), null,
+                "monthly", LocalDate.of(2025, 1, 31), null, 14, lines());
+
+        scheduler.runOnce(LocalDate.of(2025, 3, 31));
+        scheduler.runOnce(LocalDate.of(2025, 3, 31));
+
+        List<Invoice> invoices = invoices(companyId);
+        assertEquals(List.of(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 31)),
+                invoices.stream().map(Invoice::getRecurringPeriod).toList());
+        Invoice first = invoices.get(0);
+        assertEquals(template.getId(), first.getRecurringInvoiceId());
+        assertEquals(first.getRecurringPeriod(), first.getIssueDate());
+        assertEquals(LocalDate.of(2025, 2, 14), first.getDueDate());
+        assertEquals(Money.of(new BigDecimal("250.00")), first.getTotalAmount());
+
+        template = recurringInvoiceService.getTemplate(companyId, template.getId());
+        assertEquals(3, template.getPeriodsGenerated());
+        assertEquals(LocalDate.of(2025, 4, 30), template.getNextRunDate());
+        assertTrue(template.isActive());
+    }
+
+    @Test
+    public void testFailingTemplateDoesNotHoldUpTheOthers() {
+        UUID companyId = company("Failing Recurring Company");
+        Customer customer = customer(companyId, "Weekly Ltd");
+        LocalDate start = LocalDate.of(2025, 6, 2);
+        RecurringInvoice healthy = recurringInvoiceService.createTemplate(companyId, customer.getId(), null,
+                "WEEKLY", start, start, 7, lines());
+        RecurringInvoice clashing = recurringInvoiceService.createTemplate(companyId, customer.getId(), null,
+                "WEEKLY", start, start, 7, lines());
+        // The period is already invoiced, so generating it again violates the unique index
+        CreateInvoiceCommand existing = new CreateInvoiceCommand(companyId, customer.getId(), start, start,
+                List.of(new CreateInvoiceCommand.LineItemDto("Imported", 1, new BigDecimal("1.00"))));
+        existing.setRecurringInvoiceId(clashing.getId());
+        existing.setRecurringPeriod(start);
+        createInvoiceHandler.handle(existing);
+
+        scheduler.runOnce(start);
+
+        List<Invoice> invoices = invoices(companyId);
+        assertEquals(2, invoices.size());
+        assertEquals(1, invoices.stream().filter(invoice -> healthy.getId().equals(invoice.getRecurringInvoiceId())).count());
+
+        RecurringInvoice done = recurringInvoiceService.getTemplate(companyId, healthy.getId());
+        assertFalse(done.isActive());
+        assertNull(done.getLastError());
+        RecurringInvoice failed = recurringInvoiceService.getTemplate(companyId, clashing.getId());
+        assertNotNull(failed.getLastError());
+        assertNotNull(failed.getLastFailedAt());
+        assertEquals(start, failed.getNextRunDate());
+    }
+
+    private UUID company(String name) {
+        Company company = new Company();
+        company.setName(name);
+        return companyRepository.save(company).getId();
+    }
+
+    private Customer customer(UUID companyId, String name) {
+        return createCustomerHandler.handle(new CreateCustomerCommand(companyId, name,
+                UUID.randomUUID() + "@example.com", null, null));
+    }
+
+    private List<Invoice> invoices(UUID companyId) {
+        return invoiceRepository.findByCompanyId(companyId, Pageable.unpaged()).stream()
+                .sorted(Comparator.comparing(Invoice::getIssueDate))
+                .toList();
+    }
+
+    private static List<RecurringInvoiceLine> lines() {
+        return List.of(
+                RecurringInvoiceLine.create("Retainer", 1, new BigDecimal("200.00")),
+                RecurringInvoiceLine.create("Hosting", 2, new BigDecimal("25.00")));
+    }
+}
@@ -0,0 +1,109 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.infrastructure.deadline.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Statements outliving the request deadline are cancelled by PostgreSQL and answered with 504;
+ * statements cancelled by the database for another reason are answered with 503.
+ */
+@SpringBootTest(properties = "rate-limit.enabled=false")
+@AutoConfigureMockMvc
+@Import(RequestDeadlineTest.SlowEndpoints.class)
+@WithMockUser
+public class RequestDeadlineTest {
+
+    // Stopped by its own shutdown hook, after the cached application context is closed
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Test
+    public void testStatementIsCancelledAtTheDeadline() throws Exception {
+        long start = System.nanoTime();
+        MvcResult result = mockMvc.perform(get("/api/test/sleep")).andReturn();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(504, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        assertTrue(elapsedMs < 4000, "took " + elapsedMs + "ms");
+        assertEquals(1.0, counter("invoiceme.deadline.expired").count());
+    }
+
+    @Test
+    public void testStatementCancelledByTheDatabaseIsRetryable() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/test/statement-timeout")).andReturn();
+
+        assertEquals(503, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        assertNotNull(result.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, counter("invoiceme.query.cancelled").count());
+    }
+
+    private Counter counter(String name) {
+        Counter counter = meterRegistry.find(name).counter();
+        assertNotNull(counter, name);
+        return counter;
+    }
+
+    @TestConfiguration
+    @RestController
+    static class SlowEndpoints {
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @GetMapping("/api/test/sleep")
+        @Deadline("1000")
+        @Transactional(readOnly = true)
+        public Object sleep() {
+            return entityManager.createNativeQuery("SELECT CAST(pg_sleep(10) AS text)").getSingleResult();
+        }
+
+        @GetMapping("/api/test/statement-timeout")
+        @Transactional
+        public Object statementTimeout() {
+            jdbcTemplate.execute("SET LOCAL statement_timeout = 100");
+            return jdbcTemplate.queryForObject("SELECT CAST(pg_sleep(10) AS text)", String.class);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.invoiceme.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Server-Timing is only sent once the JWT filter has authenticated the caller.
+ */
+@SpringBootTest(properties = "server-timing.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+public class ServerTimingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testTimingsAreOnlySentToAuthenticatedCallers() throws Exception {
+        String username = TestTenant.username("timing");
+        TestTenant.register(mockMvc, username)
+                .andExpect(header().doesNotExist("Server-Timing"));
+
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"" + TestTenant.PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"))
+                .andReturn();
+        String token = objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+
+        mockMvc.perform(get("/api/customers").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token"))
+                .andExpect(header().doesNotExist("Server-Timing"));
+
+        String timing = mockMvc.perform(get("/api/customers").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Server-Timing");
+        assertNotNull(timing);
+        assertTrue(timing.startsWith("jwt;dur="), timing);
+        assertTrue(timing.contains("principal;dur="), timing);
+        assertTrue(timing.contains("handler;dur="), timing);
+        assertTrue(timing.contains("sql;dur="), timing);
+    }
+}
@@ -0,0 +1,172 @@
+package com.invoiceme.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.application.queries.sync.ChangeSet;
+import com.invoiceme.application.queries.sync.GetChangesSinceHandler;
+import com.invoiceme.application.queries.sync.GetChangesSinceQuery;
+import com.invoiceme.application.queries.sync.SyncToken;
+import com.invoiceme.infrastructure.persistence.customer.CustomerRepository;
+import com.invoiceme.infrastructure.persistence.invoice.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.payment.PaymentRepository;
+import com.invoiceme.infrastructure.persistence.sync.TombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Delta sync: tokens, keyset paging, tombstones and the settle window.
+ */
+@SpringBootTest(properties = "sync.settle-window-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+public class SyncIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TestTenant tenant;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tenant = TestTenant.signUp(mockMvc, userDetailsService, "sync");
+    }
+
+    @Test
+    public void testMalformedTokensAreRejected() throws Exception {
+        String current = new String(Base64.getUrlDecoder().decode(SyncToken.initial().encode()), StandardCharsets.UTF_8);
+        String otherVersion = Base64.getUrlEncoder().encodeToString(
+                ("2" + current.substring(1)).getBytes(StandardCharsets.UTF_8));
+        String truncated = Base64.getUrlEncoder().encodeToString("1|nope|".getBytes(StandardCharsets.UTF_8));
+        for (String token : new String[]{"not a token", otherVersion, truncated}) {
+            mockMvc.perform(tenant.authenticated(get("/api/sync")).param("since", token))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    public void testPagesThroughRowsSharingATimestamp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            createCustomer("Same Second " + i);
+        }
+        LocalDateTime sameTime = LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        jdbcTemplate.update("UPDATE customers SET updated_at = ? WHERE company_id = ?",
+                Timestamp.valueOf(sameTime), tenant.companyId());
+
+        JsonNode first = sync(null, 2);
+        assertEquals(2, first.get("customers").size());
+        assertTrue(first.get("hasMore").asBoolean());
+
+        // The token carries the last row's (timestamp, id), so the next page resumes inside the tie
+        SyncToken token = SyncToken.parse(first.get("nextToken").asText());
+        assertEquals(sameTime, token.getCustomers().getTimestamp());
+        assertEquals(first.get("customers").get(1).get("id").asText(), token.getCustomers().getId().toString());
+        assertEquals(first.get("nextToken").asText(), token.encode());
+
+        JsonNode second = sync(first.get("nextToken").asText(), 2);
+        assertEquals(1, second.get("customers").size());
+        assertFalse(second.get("hasMore").asBoolean());
+
+        Set<String> ids = new HashSet<>();
+        first.get("customers").forEach(customer -> ids.add(customer.get("id").asText()));
+        second.get("customers").forEach(customer -> ids.add(customer.get("id").asText()));
+        assertEquals(3, ids.size());
+
+        JsonNode caughtUp = sync(second.get("nextToken").asText(), 2);
+        assertEquals(0, caughtUp.get("customers").size());
+        assertFalse(caughtUp.get("hasMore").asBoolean());
+        assertEquals(second.get("nextToken").asText(), caughtUp.get("nextToken").asText());
+    }
+
+    @Test
+    public void testDeletedCustomersAreReportedAsTombstones() throws Exception {
+        String customerId = createCustomer("Short Lived");
+        JsonNode initial = sync(null, 50);
+        assertEquals(customerId, initial.get("customers").get(0).get("id").asText());
+        assertEquals(0, initial.get("deleted").size());
+
+        mockMvc.perform(tenant.authenticated(delete("/api/customers/" + customerId)))
+                .andExpect(status().is2xxSuccessful());
+
+        JsonNode delta = sync(initial.get("nextToken").asText(), 50);
+        assertEquals(0, delta.get("customers").size());
+        assertEquals(1, delta.get("deleted").size());
+        assertEquals("CUSTOMER", delta.get("deleted").get(0).get("entityType").asText());
+        assertEquals(customerId, delta.get("deleted").get(0).get("entityId").asText());
+
+        assertEquals(0, sync(delta.get("nextToken").asText(), 50).get("deleted").size());
+    }
+
+    @Test
+    public void testRowsInsideTheSettleWindowAreHeldBack() throws Exception {
+        GetChangesSinceHandler settling = new GetChangesSinceHandler(invoiceRepository, customerRepository,
+                paymentRepository, tombstoneRepository, 60_000);
+        String customerId = createCustomer("Just Written");
+        GetChangesSinceQuery query = new GetChangesSinceQuery(tenant.companyId(), null, 10);
+
+        ChangeSet fresh = settling.handle(query);
+        assertTrue(fresh.getCustomers().isEmpty());
+        // Nothing handed out, so the watermark must not move past the held-back row
+        assertEquals(SyncToken.initial().encode(), fresh.getNextToken().encode());
+
+        jdbcTemplate.update("UPDATE customers SET updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(2)), UUID.fromString(customerId));
+        ChangeSet settled = settling.handle(query);
+        assertEquals(1, settled.getCustomers().size());
+        assertEquals(customerId, settled.getCustomers().get(0).getId().toString());
+    }
+
+    private JsonNode sync(String since, int limit) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/sync").param("limit", Integer.toString(limit));
+        if (since != null) {
+            request.param("since", since);
+        }
+        return objectMapper.readTree(mockMvc.perform(tenant.authenticated(request))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private String createCustomer(String name) throws Exception {
+        return tenant.createCustomer(name, UUID.randomUUID() + "@example.com");
+    }
+}
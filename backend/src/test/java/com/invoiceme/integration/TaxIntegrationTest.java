@@ -0,0 +1,97 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.application.commands.customer.CreateCustomerCommand;
+import com.invoiceme.application.commands.customer.CreateCustomerHandler;
+import com.invoiceme.application.commands.invoice.CreateInvoiceCommand;
+import com.invoiceme.application.commands.invoice.CreateInvoiceHandler;
+import com.invoiceme.application.commands.invoice.UpdateInvoiceCommand;
+import com.invoiceme.application.commands.invoice.UpdateInvoiceHandler;
+import com.invoiceme.application.services.TaxRuleService;
+import com.invoiceme.domain.company.Company;
+import com.invoiceme.domain.customer.Customer;
+import com.invoiceme.domain.invoice.Invoice;
+import com.invoiceme.domain.money.Money;
+import com.invoiceme.domain.tax.TaxRule;
+import com.invoiceme.domain.tax.TaxRuleSet;
+import com.invoiceme.infrastructure.persistence.CompanyRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@Transactional
+public class TaxIntegrationTest {
+
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+
+    @Autowired
+    private CreateInvoiceHandler createInvoiceHandler;
+
+    @Autowired
+    private UpdateInvoiceHandler updateInvoiceHandler;
+
+    @Autowired
+    private TaxRuleService taxRuleService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Test
+    public void testInvoicesAreTaxedWithCachedCompanyRules() {
+        Company company = new Company();
+        company.setName("Tax Company");
+        company = companyRepository.save(company);
+        UUID companyId = company.getId();
+        Customer taxed = createCustomerHandler.handle(new CreateCustomerCommand(
+                companyId, "Taxed Ltd", "taxed@example.com", null, null));
+        Customer exempt = createCustomerHandler.handle(new CreateCustomerCommand(
+                companyId, "Charity", "charity@example.com", null, null));
+
+        taxRuleService.createRule(companyId, "Federal", new BigDecimal("5"), false, 0);
+        TaxRule provincial = taxRuleService.createRule(companyId, "Provincial", new BigDecimal("10"), true, 1);
+        taxRuleService.setExemption(companyId, provincial.getId(), exempt.getId(), true);
+
+        TaxRuleSet rules = taxRuleService.rulesFor(companyId);
+        assertSame(rules, taxRuleService.rulesFor(companyId));
+
+        Invoice invoice = createInvoiceHandler.handle(new CreateInvoiceCommand(companyId, taxed.getId(),
+                LocalDate.now(), LocalDate.now().plusDays(30), lines()));
+        assertEquals(Money.of(new BigDecimal("300.00")), invoice.getSubtotal());
+        assertEquals(Money.of(new BigDecimal("46.50")), invoice.getTaxAmount());
+        assertEquals(Money.of(new BigDecimal("346.50")), invoice.getTotalAmount());
+        assertEquals(invoice.getTotalAmount(), invoice.getBalance());
+
+        // Moving the invoice to the exempt customer re-taxes its lines
+        UpdateInvoiceCommand update = new UpdateInvoiceCommand();
+        update.setId(invoice.getId());
+        update.setCompanyId(companyId);
+        update.setCustomerId(exempt.getId());
+        update.setIssueDate(invoice.getIssueDate());
+        update.setDueDate(invoice.getDueDate());
+        invoice = updateInvoiceHandler.handle(update);
+        assertEquals(Money.of(new BigDecimal("15.00")), invoice.getTaxAmount());
+        assertEquals(Money.of(new BigDecimal("315.00")), invoice.getTotalAmount());
+
+        // A rule change replaces the compiled rules
+        taxRuleService.updateRule(companyId, provincial.getId(), "Provincial", new BigDecimal("10"), true, 1, false);
+        assertNotSame(rules, taxRuleService.rulesFor(companyId));
+        assertEquals(1, taxRuleService.rulesFor(companyId).size());
+    }
+
+    private static List<CreateInvoiceCommand.LineItemDto> lines() {
+        return List.of(
+                new CreateInvoiceCommand.LineItemDto("Design", 2, new BigDecimal("100.00")),
+                new CreateInvoiceCommand.LineItemDto("Hosting", 1, new BigDecimal("100.00")));
+    }
+}
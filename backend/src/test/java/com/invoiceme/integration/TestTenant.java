@@ -0,0 +1,126 @@
+package com.invoiceme.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.infrastructure.config.security.CustomUserDetails;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A user signed up through the API with a company of their own. Requests made through
+ * {@link #authenticated} carry the user's preloaded principal, so they skip the JWT filter.
+ */
+final class TestTenant {
+    static final String PASSWORD = "secret123";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MockMvc mockMvc;
+    private final String username;
+    private final CustomUserDetails principal;
+
+    private TestTenant(MockMvc mockMvc, String username, CustomUserDetails principal) {
+        this.mockMvc = mockMvc;
+        this.username = username;
+        this.principal = principal;
+    }
+
+    /**
+     * Signs up a new user whose name starts with {@code prefix}.
+     */
+    static TestTenant signUp(MockMvc mockMvc, UserDetailsService userDetailsService, String prefix) throws Exception {
+        String username = username(prefix);
+        register(mockMvc, username);
+        return load(mockMvc, userDetailsService, username);
+    }
+
+    /**
+     * Signs up {@code username} unless an earlier test in the same context already did.
+     */
+    static TestTenant signUpOnce(MockMvc mockMvc, UserDetailsService userDetailsService, String username)
+            throws Exception {
+        try {
+            userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            register(mockMvc, username);
+        }
+        return load(mockMvc, userDetailsService, username);
+    }
+
+    static String username(String prefix) {
+        return prefix + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Posts the signup, for tests that look at the response itself.
+     */
+    static ResultActions register(MockMvc mockMvc, String username) throws Exception {
+        return mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\",\"email\":\""
+                                + username + "@example.com\",\"displayName\":\"" + username + "\",\"companyName\":\""
+                                + username + " Co\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    static String invoiceJson(String customerId) {
+        return "{\"customerId\":\"" + customerId + "\",\"issueDate\":\"" + LocalDate.now()
+                + "\",\"dueDate\":\"" + LocalDate.now().plusDays(30) + "\",\"lineItems\":["
+                + "{\"description\":\"Design\",\"quantity\":2,\"unitPrice\":100.00},"
+                + "{\"description\":\"Build\",\"quantity\":3,\"unitPrice\":150.00}]}";
+    }
+
+    static String paymentJson(String invoiceId) {
+        return "{\"invoiceId\":\"" + invoiceId + "\",\"amount\":50.00,\"paymentDate\":\"" + LocalDate.now()
+                + "\",\"paymentMethod\":\"BANK_TRANSFER\"}";
+    }
+
+    private static TestTenant load(MockMvc mockMvc, UserDetailsService userDetailsService, String username) {
+        return new TestTenant(mockMvc, username, (CustomUserDetails) userDetailsService.loadUserByUsername(username));
+    }
+
+    String username() {
+        return username;
+    }
+
+    UUID companyId() {
+        return principal.getDefaultCompanyId();
+    }
+
+    MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request) {
+        return request.with(user(principal));
+    }
+
+    /**
+     * Creates a customer and returns its id.
+     */
+    String createCustomer(String name, String email) throws Exception {
+        return create("/api/customers", "{\"name\":\"" + name + "\",\"email\":\"" + email + "\"}");
+    }
+
+    /**
+     * Creates a draft invoice from {@link #invoiceJson} and returns its id.
+     */
+    String createInvoice(String customerId) throws Exception {
+        return create("/api/invoices", invoiceJson(customerId));
+    }
+
+    private String create(String path, String json) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(authenticated(post(path))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(json))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString())
+                .get("id").asText();
+    }
+}
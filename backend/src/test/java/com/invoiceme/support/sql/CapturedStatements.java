@@ -0,0 +1,65 @@
+package com.invoiceme.support.sql;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * The statements recorded by {@link SqlStatementRecorder#capture}, with budget assertions
+ * whose failure message lists every statement so the extra query is easy to spot.
+ */
+public class CapturedStatements {
+    private final List<Statement> executed;
+    private final List<String> statements;
+
+    CapturedStatements(List<Statement> executed) {
+        this.executed = List.copyOf(executed);
+        this.statements = this.executed.stream().map(Statement::toString).toList();
+    }
+
+    public int count() {
+        return statements.size();
+    }
+
+    public List<String> statements() {
+        return statements;
+    }
+
+    /**
+     * The statements with the values bound to their first (or only) parameter set.
+     */
+    public List<Statement> executed() {
+        return executed;
+    }
+
+    public CapturedStatements assertAtMost(int budget) {
+        if (statements.size() > budget) {
+            fail("Expected at most " + budget + " SQL statements but " + statements.size() + " were executed:\n"
+                    + describe());
+        }
+        return this;
+    }
+
+    public CapturedStatements assertCount(int expected) {
+        if (statements.size() != expected) {
+            fail("Expected " + expected + " SQL statements but " + statements.size() + " were executed:\n"
+                    + describe());
+        }
+        return this;
+    }
+
+    private String describe() {
+        return statements.stream()
+                .map(sql -> "  " + sql)
+                .collect(Collectors.joining("\n"));
+    }
+
+    public record Statement(String sql, Map<Integer, Object> parameters, int batchSize) {
+        @Override
+        public String toString() {
+            return batchSize > 0 ? sql + " [batch of " + batchSize + "]" : sql;
+        }
+    }
+}
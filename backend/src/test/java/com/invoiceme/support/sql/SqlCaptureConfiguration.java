@@ -0,0 +1,17 @@
+package com.invoiceme.support.sql;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Import into a {@code @SpringBootTest} to get an {@link SqlStatementRecorder} wired into
+ * the application's DataSource proxy.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlCaptureConfiguration {
+
+    @Bean
+    public SqlStatementRecorder sqlStatementRecorder() {
+        return new SqlStatementRecorder();
+    }
+}
@@ -0,0 +1,76 @@
+package com.invoiceme.support.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records the SQL executed on the current thread while a block runs. Attached to the
+ * application DataSource proxy by importing {@link SqlCaptureConfiguration}.
+ *
+ * <pre>
+ * CapturedStatements statements = sqlRecorder.capture(() -&gt; mockMvc.perform(get("/api/invoices")));
+ * statements.assertAtMost(2);
+ * </pre>
+ */
+public class SqlStatementRecorder implements QueryExecutionListener {
+    private final ThreadLocal<List<CapturedStatements.Statement>> recording = new ThreadLocal<>();
+
+    public CapturedStatements capture(Block block) throws Exception {
+        List<CapturedStatements.Statement> statements = new ArrayList<>();
+        List<CapturedStatements.Statement> outer = recording.get();
+        recording.set(statements);
+        try {
+            block.run();
+        } finally {
+            if (outer == null) {
+                recording.remove();
+            } else {
+                recording.set(outer);
+                outer.addAll(statements);
+            }
+        }
+        return new CapturedStatements(statements);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<CapturedStatements.Statement> statements = recording.get();
+        if (statements == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        // A JDBC batch is one round trip however many rows it carries
+        QueryInfo query = queryInfoList.get(0);
+        Map<Integer, Object> parameters = query.getParametersList().isEmpty()
+                ? Map.of()
+                : parameters(query.getParametersList().get(0));
+        statements.add(new CapturedStatements.Statement(query.getQuery(), parameters,
+                execInfo.isBatch() ? execInfo.getBatchSize() : 0));
+    }
+
+    private static Map<Integer, Object> parameters(List<ParameterSetOperation> operations) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            if (args.length > 1 && args[0] instanceof Integer index) {
+                parameters.put(index, "setNull".equals(operation.getMethod().getName()) ? null : args[1]);
+            }
+        }
+        return parameters;
+    }
+
+    @FunctionalInterface
+    public interface Block {
+        void run() throws Exception;
+    }
+}
@@ -6,8 +6,8 @@
 echo "🚀 Starting InvoiceMe Backend..."
 echo ""
 
-# Set Java 17 (required for the project)
-export JAVA_HOME=/opt/homebrew/opt/openjdk@17/libexec/openjdk.jdk/Contents/Home
+# Set Java 21 (required for the project)
+export JAVA_HOME=/opt/homebrew/opt/openjdk@21/libexec/openjdk.jdk/Contents/Home
 export PATH="$JAVA_HOME/bin:$PATH"
 
 # Verify Java version
@@ -45,9 +45,7 @@ export function CustomerDetail({ customerId }: CustomerDetailProps) {
     const unpaidInvoices = invoices.filter(
       invoice => invoice.balance > 0 && invoice.status !== InvoiceStatus.PAID
     );
-    const overdueInvoices = unpaidInvoices.filter(
-      invoice => new Date(invoice.dueDate) < new Date()
-    );
+    const overdueInvoices = invoices.filter(invoice => invoice.status === InvoiceStatus.OVERDUE);
 
     return {
       totalBalance,
@@ -101,6 +101,8 @@ export function CustomerInvoicesTable({ invoices, customerId, loading }: Custome
         return <Badge colorPalette="gray">Draft</Badge>;
       case InvoiceStatus.SENT:
         return <Badge colorPalette="blue">Sent</Badge>;
+      case InvoiceStatus.OVERDUE:
+        return <Badge colorPalette="red">Overdue</Badge>;
       case InvoiceStatus.PAID:
         return <Badge colorPalette="green">Paid</Badge>;
       default:
@@ -212,9 +214,7 @@ export function CustomerInvoicesTable({ invoices, customerId, loading }: Custome
               </Table.Header>
               <Table.Body>
                 {sortedInvoices.map((invoice) => {
-                  const isOverdue = invoice.balance > 0 && 
-                                   invoice.status !== InvoiceStatus.PAID &&
-                                   new Date(invoice.dueDate) < new Date();
+                  const isOverdue = invoice.status === InvoiceStatus.OVERDUE;
                   
                   return (
                     <Table.Row key={invoice.id}>
@@ -68,6 +68,8 @@ export function InvoiceDetail({ invoiceId }: InvoiceDetailProps) {
         return <Badge colorPalette="gray">Draft</Badge>;
       case InvoiceStatus.SENT:
         return <Badge colorPalette="blue">Sent</Badge>;
+      case InvoiceStatus.OVERDUE:
+        return <Badge colorPalette="red">Overdue</Badge>;
       case InvoiceStatus.PAID:
         return <Badge colorPalette="green">Paid</Badge>;
       default:
@@ -63,6 +63,8 @@ export function InvoiceList() {
         return <Badge colorPalette="gray">Draft</Badge>;
       case InvoiceStatus.SENT:
         return <Badge colorPalette="blue">Sent</Badge>;
+      case InvoiceStatus.OVERDUE:
+        return <Badge colorPalette="red">Overdue</Badge>;
       case InvoiceStatus.PAID:
         return <Badge colorPalette="green">Paid</Badge>;
       default:
@@ -82,6 +84,7 @@ export function InvoiceList() {
       { value: 'ALL', label: 'All Statuses' },
       { value: InvoiceStatus.DRAFT, label: 'Draft' },
       { value: InvoiceStatus.SENT, label: 'Sent' },
+      { value: InvoiceStatus.OVERDUE, label: 'Overdue' },
       { value: InvoiceStatus.PAID, label: 'Paid' },
     ],
   });
@@ -85,8 +85,7 @@ export class Invoice {
   }
 
   get isOverdue(): boolean {
-    if (this.isPaid) return false;
-    return new Date(this.dueDate) < new Date();
+    return this.status === InvoiceStatus.OVERDUE;
   }
 
   calculateLineItemAmount(quantity: number, unitPrice: number): number {
@@ -30,7 +30,7 @@ class InvoiceService {
   }
 
   async listInvoicesByStatus(
-    status: string, // DRAFT, SENT, PAID
+    status: string, // DRAFT, SENT, OVERDUE, PAID
     page: number = 0,
     size: number = 10
   ): Promise<PaginatedResponse<Invoice>> {
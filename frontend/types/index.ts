@@ -44,6 +44,7 @@ export interface UpdateCustomerRequest {
 export enum InvoiceStatus {
   DRAFT = 'DRAFT',
   SENT = 'SENT',
+  OVERDUE = 'OVERDUE',
   PAID = 'PAID',
 }
 